@@ -121,6 +121,18 @@ public interface FOOLListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitPlusMinus(FOOLParser.PlusMinusContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code read}
+	 * labeled alternative in {@link FOOLParser#exp}.
+	 * @param ctx the parse tree
+	 */
+	void enterRead(FOOLParser.ReadContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code read}
+	 * labeled alternative in {@link FOOLParser#exp}.
+	 * @param ctx the parse tree
+	 */
+	void exitRead(FOOLParser.ReadContext ctx);
 	/**
 	 * Enter a parse tree produced by the {@code pars}
 	 * labeled alternative in {@link FOOLParser#exp}.
@@ -157,6 +169,18 @@ public interface FOOLListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitInteger(FOOLParser.IntegerContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code parDotCall}
+	 * labeled alternative in {@link FOOLParser#exp}.
+	 * @param ctx the parse tree
+	 */
+	void enterParDotCall(FOOLParser.ParDotCallContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code parDotCall}
+	 * labeled alternative in {@link FOOLParser#exp}.
+	 * @param ctx the parse tree
+	 */
+	void exitParDotCall(FOOLParser.ParDotCallContext ctx);
 	/**
 	 * Enter a parse tree produced by the {@code call}
 	 * labeled alternative in {@link FOOLParser#exp}.
@@ -241,6 +265,18 @@ public interface FOOLListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitTrue(FOOLParser.TrueContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code parCall}
+	 * labeled alternative in {@link FOOLParser#exp}.
+	 * @param ctx the parse tree
+	 */
+	void enterParCall(FOOLParser.ParCallContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code parCall}
+	 * labeled alternative in {@link FOOLParser#exp}.
+	 * @param ctx the parse tree
+	 */
+	void exitParCall(FOOLParser.ParCallContext ctx);
 	/**
 	 * Enter a parse tree produced by the {@code id}
 	 * labeled alternative in {@link FOOLParser#exp}.
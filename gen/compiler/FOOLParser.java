@@ -19,9 +19,9 @@ public class FOOLParser extends Parser {
 	public static final int
 		PLUS=1, MINUS=2, TIMES=3, DIV=4, LPAR=5, RPAR=6, CLPAR=7, CRPAR=8, SEMIC=9, 
 		COLON=10, COMMA=11, DOT=12, OR=13, AND=14, NOT=15, GE=16, LE=17, EQ=18, 
-		ASS=19, TRUE=20, FALSE=21, IF=22, THEN=23, ELSE=24, PRINT=25, LET=26, 
-		IN=27, VAR=28, FUN=29, CLASS=30, EXTENDS=31, NEW=32, NULL=33, INT=34, 
-		BOOL=35, NUM=36, ID=37, WHITESP=38, COMMENT=39, ERR=40;
+		ASS=19, TRUE=20, FALSE=21, IF=22, THEN=23, ELSE=24, PRINT=25, READ=26, 
+		LET=27, IN=28, VAR=29, FUN=30, CLASS=31, EXTENDS=32, NEW=33, NULL=34, 
+		PAR=35, INT=36, BOOL=37, NUM=38, ID=39, WHITESP=40, COMMENT=41, ERR=42;
 	public static final int
 		RULE_prog = 0, RULE_progbody = 1, RULE_cldec = 2, RULE_methdec = 3, RULE_dec = 4, 
 		RULE_exp = 5, RULE_type = 6;
@@ -36,9 +36,9 @@ public class FOOLParser extends Parser {
 		return new String[] {
 			null, "'+'", "'-'", "'*'", "'/'", "'('", "')'", "'{'", "'}'", "';'", 
 			"':'", "','", "'.'", "'||'", "'&&'", "'!'", "'>='", "'<='", "'=='", "'='", 
-			"'true'", "'false'", "'if'", "'then'", "'else'", "'print'", "'let'", 
-			"'in'", "'var'", "'fun'", "'class'", "'extends'", "'new'", "'null'", 
-			"'int'", "'bool'"
+			"'true'", "'false'", "'if'", "'then'", "'else'", "'print'", "'read'", 
+			"'let'", "'in'", "'var'", "'fun'", "'class'", "'extends'", "'new'", "'null'", 
+			"'par'", "'int'", "'bool'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
@@ -46,9 +46,9 @@ public class FOOLParser extends Parser {
 		return new String[] {
 			null, "PLUS", "MINUS", "TIMES", "DIV", "LPAR", "RPAR", "CLPAR", "CRPAR", 
 			"SEMIC", "COLON", "COMMA", "DOT", "OR", "AND", "NOT", "GE", "LE", "EQ", 
-			"ASS", "TRUE", "FALSE", "IF", "THEN", "ELSE", "PRINT", "LET", "IN", "VAR", 
-			"FUN", "CLASS", "EXTENDS", "NEW", "NULL", "INT", "BOOL", "NUM", "ID", 
-			"WHITESP", "COMMENT", "ERR"
+			"ASS", "TRUE", "FALSE", "IF", "THEN", "ELSE", "PRINT", "READ", "LET", 
+			"IN", "VAR", "FUN", "CLASS", "EXTENDS", "NEW", "NULL", "PAR", "INT", 
+			"BOOL", "NUM", "ID", "WHITESP", "COMMENT", "ERR"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -301,8 +301,10 @@ public class FOOLParser extends Parser {
 			case FALSE:
 			case IF:
 			case PRINT:
+			case READ:
 			case NEW:
 			case NULL:
+			case PAR:
 			case NUM:
 			case ID:
 				_localctx = new NoDecProgContext(_localctx);
@@ -923,6 +925,25 @@ public class FOOLParser extends Parser {
 			else return visitor.visitChildren(this);
 		}
 	}
+	public static class ReadContext extends ExpContext {
+		public TerminalNode READ() { return getToken(FOOLParser.READ, 0); }
+		public TerminalNode LPAR() { return getToken(FOOLParser.LPAR, 0); }
+		public TerminalNode RPAR() { return getToken(FOOLParser.RPAR, 0); }
+		public ReadContext(ExpContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof FOOLListener ) ((FOOLListener)listener).enterRead(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof FOOLListener ) ((FOOLListener)listener).exitRead(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof FOOLVisitor ) return ((FOOLVisitor<? extends T>)visitor).visitRead(this);
+			else return visitor.visitChildren(this);
+		}
+	}
 	public static class ParsContext extends ExpContext {
 		public TerminalNode LPAR() { return getToken(FOOLParser.LPAR, 0); }
 		public ExpContext exp() {
@@ -979,6 +1000,40 @@ public class FOOLParser extends Parser {
 			else return visitor.visitChildren(this);
 		}
 	}
+	public static class ParDotCallContext extends ExpContext {
+		public TerminalNode PAR() { return getToken(FOOLParser.PAR, 0); }
+		public List<TerminalNode> ID() { return getTokens(FOOLParser.ID); }
+		public TerminalNode ID(int i) {
+			return getToken(FOOLParser.ID, i);
+		}
+		public TerminalNode DOT() { return getToken(FOOLParser.DOT, 0); }
+		public TerminalNode LPAR() { return getToken(FOOLParser.LPAR, 0); }
+		public TerminalNode RPAR() { return getToken(FOOLParser.RPAR, 0); }
+		public List<ExpContext> exp() {
+			return getRuleContexts(ExpContext.class);
+		}
+		public ExpContext exp(int i) {
+			return getRuleContext(ExpContext.class,i);
+		}
+		public List<TerminalNode> COMMA() { return getTokens(FOOLParser.COMMA); }
+		public TerminalNode COMMA(int i) {
+			return getToken(FOOLParser.COMMA, i);
+		}
+		public ParDotCallContext(ExpContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof FOOLListener ) ((FOOLListener)listener).enterParDotCall(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof FOOLListener ) ((FOOLListener)listener).exitParDotCall(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof FOOLVisitor ) return ((FOOLVisitor<? extends T>)visitor).visitParDotCall(this);
+			else return visitor.visitChildren(this);
+		}
+	}
 	public static class CallContext extends ExpContext {
 		public TerminalNode ID() { return getToken(FOOLParser.ID, 0); }
 		public TerminalNode LPAR() { return getToken(FOOLParser.LPAR, 0); }
@@ -1132,6 +1187,36 @@ public class FOOLParser extends Parser {
 			else return visitor.visitChildren(this);
 		}
 	}
+	public static class ParCallContext extends ExpContext {
+		public TerminalNode PAR() { return getToken(FOOLParser.PAR, 0); }
+		public TerminalNode ID() { return getToken(FOOLParser.ID, 0); }
+		public TerminalNode LPAR() { return getToken(FOOLParser.LPAR, 0); }
+		public TerminalNode RPAR() { return getToken(FOOLParser.RPAR, 0); }
+		public List<ExpContext> exp() {
+			return getRuleContexts(ExpContext.class);
+		}
+		public ExpContext exp(int i) {
+			return getRuleContext(ExpContext.class,i);
+		}
+		public List<TerminalNode> COMMA() { return getTokens(FOOLParser.COMMA); }
+		public TerminalNode COMMA(int i) {
+			return getToken(FOOLParser.COMMA, i);
+		}
+		public ParCallContext(ExpContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof FOOLListener ) ((FOOLListener)listener).enterParCall(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof FOOLListener ) ((FOOLListener)listener).exitParCall(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof FOOLVisitor ) return ((FOOLVisitor<? extends T>)visitor).visitParCall(this);
+			else return visitor.visitChildren(this);
+		}
+	}
 	public static class IdContext extends ExpContext {
 		public TerminalNode ID() { return getToken(FOOLParser.ID, 0); }
 		public IdContext(ExpContext ctx) { copyFrom(ctx); }
@@ -1232,9 +1317,9 @@ public class FOOLParser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(225);
+			setState(258);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,25,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,29,_ctx) ) {
 			case 1:
 				{
 				_localctx = new NotContext(_localctx);
@@ -1244,7 +1329,7 @@ public class FOOLParser extends Parser {
 				setState(153);
 				match(NOT);
 				setState(154);
-				exp(12);
+				exp(15);
 				}
 				break;
 			case 2:
@@ -1320,7 +1405,7 @@ public class FOOLParser extends Parser {
 				setState(177);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << MINUS) | (1L << LPAR) | (1L << NOT) | (1L << TRUE) | (1L << FALSE) | (1L << IF) | (1L << PRINT) | (1L << NEW) | (1L << NULL) | (1L << NUM) | (1L << ID))) != 0)) {
+				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << MINUS) | (1L << LPAR) | (1L << NOT) | (1L << TRUE) | (1L << FALSE) | (1L << IF) | (1L << PRINT) | (1L << READ) | (1L << NEW) | (1L << NULL) | (1L << PAR) | (1L << NUM) | (1L << ID))) != 0)) {
 					{
 					setState(169);
 					exp(0);
@@ -1391,115 +1476,214 @@ public class FOOLParser extends Parser {
 				break;
 			case 10:
 				{
-				_localctx = new IdContext(_localctx);
+				_localctx = new ReadContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
 				setState(196);
-				match(ID);
+				match(READ);
+				setState(197);
+				match(LPAR);
+				setState(198);
+				match(RPAR);
 				}
 				break;
 			case 11:
+				{
+				_localctx = new IdContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(199);
+				match(ID);
+				}
+				break;
+			case 12:
 				{
 				_localctx = new CallContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(197);
+				setState(200);
 				match(ID);
-				setState(198);
+				setState(201);
 				match(LPAR);
-				setState(207);
+				setState(210);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << MINUS) | (1L << LPAR) | (1L << NOT) | (1L << TRUE) | (1L << FALSE) | (1L << IF) | (1L << PRINT) | (1L << NEW) | (1L << NULL) | (1L << NUM) | (1L << ID))) != 0)) {
+				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << MINUS) | (1L << LPAR) | (1L << NOT) | (1L << TRUE) | (1L << FALSE) | (1L << IF) | (1L << PRINT) | (1L << READ) | (1L << NEW) | (1L << NULL) | (1L << PAR) | (1L << NUM) | (1L << ID))) != 0)) {
 					{
-					setState(199);
+					setState(202);
 					exp(0);
-					setState(204);
+					setState(207);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					while (_la==COMMA) {
 						{
 						{
-						setState(200);
+						setState(203);
 						match(COMMA);
-						setState(201);
+						setState(204);
 						exp(0);
 						}
 						}
-						setState(206);
+						setState(209);
 						_errHandler.sync(this);
 						_la = _input.LA(1);
 					}
 					}
 				}
 
-				setState(209);
+				setState(212);
 				match(RPAR);
 				}
 				break;
-			case 12:
+			case 13:
 				{
 				_localctx = new DotCallContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(210);
+				setState(213);
 				match(ID);
-				setState(211);
+				setState(214);
 				match(DOT);
-				setState(212);
+				setState(215);
 				match(ID);
-				setState(213);
+				setState(216);
+				match(LPAR);
+				setState(225);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << MINUS) | (1L << LPAR) | (1L << NOT) | (1L << TRUE) | (1L << FALSE) | (1L << IF) | (1L << PRINT) | (1L << READ) | (1L << NEW) | (1L << NULL) | (1L << PAR) | (1L << NUM) | (1L << ID))) != 0)) {
+					{
+					setState(217);
+					exp(0);
+					setState(222);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while (_la==COMMA) {
+						{
+						{
+						setState(218);
+						match(COMMA);
+						setState(219);
+						exp(0);
+						}
+						}
+						setState(224);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					}
+				}
+
+				setState(227);
+				match(RPAR);
+				}
+				break;
+			case 14:
+				{
+				_localctx = new ParCallContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(228);
+				match(PAR);
+				setState(229);
+				match(ID);
+				setState(230);
 				match(LPAR);
-				setState(222);
+				setState(239);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << MINUS) | (1L << LPAR) | (1L << NOT) | (1L << TRUE) | (1L << FALSE) | (1L << IF) | (1L << PRINT) | (1L << NEW) | (1L << NULL) | (1L << NUM) | (1L << ID))) != 0)) {
+				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << MINUS) | (1L << LPAR) | (1L << NOT) | (1L << TRUE) | (1L << FALSE) | (1L << IF) | (1L << PRINT) | (1L << READ) | (1L << NEW) | (1L << NULL) | (1L << PAR) | (1L << NUM) | (1L << ID))) != 0)) {
 					{
-					setState(214);
+					setState(231);
 					exp(0);
-					setState(219);
+					setState(236);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					while (_la==COMMA) {
 						{
 						{
-						setState(215);
+						setState(232);
 						match(COMMA);
-						setState(216);
+						setState(233);
 						exp(0);
 						}
 						}
-						setState(221);
+						setState(238);
 						_errHandler.sync(this);
 						_la = _input.LA(1);
 					}
 					}
 				}
 
-				setState(224);
+				setState(241);
+				match(RPAR);
+				}
+				break;
+			case 15:
+				{
+				_localctx = new ParDotCallContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(242);
+				match(PAR);
+				setState(243);
+				match(ID);
+				setState(244);
+				match(DOT);
+				setState(245);
+				match(ID);
+				setState(246);
+				match(LPAR);
+				setState(255);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << MINUS) | (1L << LPAR) | (1L << NOT) | (1L << TRUE) | (1L << FALSE) | (1L << IF) | (1L << PRINT) | (1L << READ) | (1L << NEW) | (1L << NULL) | (1L << PAR) | (1L << NUM) | (1L << ID))) != 0)) {
+					{
+					setState(247);
+					exp(0);
+					setState(252);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while (_la==COMMA) {
+						{
+						{
+						setState(248);
+						match(COMMA);
+						setState(249);
+						exp(0);
+						}
+						}
+						setState(254);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					}
+				}
+
+				setState(257);
 				match(RPAR);
 				}
 				break;
 			}
 			_ctx.stop = _input.LT(-1);
-			setState(241);
+			setState(274);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,27,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,31,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					if ( _parseListeners!=null ) triggerExitRuleEvent();
 					_prevctx = _localctx;
 					{
-					setState(239);
+					setState(272);
 					_errHandler.sync(this);
-					switch ( getInterpreter().adaptivePredict(_input,26,_ctx) ) {
+					switch ( getInterpreter().adaptivePredict(_input,30,_ctx) ) {
 					case 1:
 						{
 						_localctx = new TimesDivContext(new ExpContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_exp);
-						setState(227);
-						if (!(precpred(_ctx, 16))) throw new FailedPredicateException(this, "precpred(_ctx, 16)");
-						setState(228);
+						setState(260);
+						if (!(precpred(_ctx, 19))) throw new FailedPredicateException(this, "precpred(_ctx, 19)");
+						setState(261);
 						_la = _input.LA(1);
 						if ( !(_la==TIMES || _la==DIV) ) {
 						_errHandler.recoverInline(this);
@@ -1509,17 +1693,17 @@ public class FOOLParser extends Parser {
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(229);
-						exp(17);
+						setState(262);
+						exp(20);
 						}
 						break;
 					case 2:
 						{
 						_localctx = new PlusMinusContext(new ExpContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_exp);
-						setState(230);
-						if (!(precpred(_ctx, 15))) throw new FailedPredicateException(this, "precpred(_ctx, 15)");
-						setState(231);
+						setState(263);
+						if (!(precpred(_ctx, 18))) throw new FailedPredicateException(this, "precpred(_ctx, 18)");
+						setState(264);
 						_la = _input.LA(1);
 						if ( !(_la==PLUS || _la==MINUS) ) {
 						_errHandler.recoverInline(this);
@@ -1529,17 +1713,17 @@ public class FOOLParser extends Parser {
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(232);
-						exp(16);
+						setState(265);
+						exp(19);
 						}
 						break;
 					case 3:
 						{
 						_localctx = new CompContext(new ExpContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_exp);
-						setState(233);
-						if (!(precpred(_ctx, 14))) throw new FailedPredicateException(this, "precpred(_ctx, 14)");
-						setState(234);
+						setState(266);
+						if (!(precpred(_ctx, 17))) throw new FailedPredicateException(this, "precpred(_ctx, 17)");
+						setState(267);
 						_la = _input.LA(1);
 						if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << GE) | (1L << LE) | (1L << EQ))) != 0)) ) {
 						_errHandler.recoverInline(this);
@@ -1549,17 +1733,17 @@ public class FOOLParser extends Parser {
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(235);
-						exp(15);
+						setState(268);
+						exp(18);
 						}
 						break;
 					case 4:
 						{
 						_localctx = new AndOrContext(new ExpContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_exp);
-						setState(236);
-						if (!(precpred(_ctx, 13))) throw new FailedPredicateException(this, "precpred(_ctx, 13)");
-						setState(237);
+						setState(269);
+						if (!(precpred(_ctx, 16))) throw new FailedPredicateException(this, "precpred(_ctx, 16)");
+						setState(270);
 						_la = _input.LA(1);
 						if ( !(_la==OR || _la==AND) ) {
 						_errHandler.recoverInline(this);
@@ -1569,16 +1753,16 @@ public class FOOLParser extends Parser {
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(238);
-						exp(14);
+						setState(271);
+						exp(17);
 						}
 						break;
 					}
 					} 
 				}
-				setState(243);
+				setState(276);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,27,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,31,_ctx);
 			}
 			}
 		}
@@ -1660,14 +1844,14 @@ public class FOOLParser extends Parser {
 		TypeContext _localctx = new TypeContext(_ctx, getState());
 		enterRule(_localctx, 12, RULE_type);
 		try {
-			setState(247);
+			setState(280);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case INT:
 				_localctx = new IntTypeContext(_localctx);
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(244);
+				setState(277);
 				match(INT);
 				}
 				break;
@@ -1675,7 +1859,7 @@ public class FOOLParser extends Parser {
 				_localctx = new BoolTypeContext(_localctx);
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(245);
+				setState(278);
 				match(BOOL);
 				}
 				break;
@@ -1683,7 +1867,7 @@ public class FOOLParser extends Parser {
 				_localctx = new IdTypeContext(_localctx);
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(246);
+				setState(279);
 				match(ID);
 				}
 				break;
@@ -1712,19 +1896,19 @@ public class FOOLParser extends Parser {
 	private boolean exp_sempred(ExpContext _localctx, int predIndex) {
 		switch (predIndex) {
 		case 0:
-			return precpred(_ctx, 16);
+			return precpred(_ctx, 19);
 		case 1:
-			return precpred(_ctx, 15);
+			return precpred(_ctx, 18);
 		case 2:
-			return precpred(_ctx, 14);
+			return precpred(_ctx, 17);
 		case 3:
-			return precpred(_ctx, 13);
+			return precpred(_ctx, 16);
 		}
 		return true;
 	}
 
 	public static final String _serializedATN =
-		"\u0004\u0001(\u00fa\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
+		"\u0004\u0001*\u011b\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
 		"\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004\u0007\u0004\u0002"+
 		"\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0001\u0000\u0001\u0000\u0001"+
 		"\u0000\u0001\u0001\u0001\u0001\u0004\u0001\u0014\b\u0001\u000b\u0001\f"+
@@ -1757,141 +1941,166 @@ public class FOOLParser extends Parser {
 		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
 		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
 		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
-		"\u0001\u0005\u0005\u0005\u00cb\b\u0005\n\u0005\f\u0005\u00ce\t\u0005\u0003"+
-		"\u0005\u00d0\b\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
-		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0005\u0005\u00da\b\u0005\n"+
-		"\u0005\f\u0005\u00dd\t\u0005\u0003\u0005\u00df\b\u0005\u0001\u0005\u0003"+
-		"\u0005\u00e2\b\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
+		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0005\u0005\u00ce\b\u0005"+
+		"\n\u0005\f\u0005\u00d1\t\u0005\u0003\u0005\u00d3\b\u0005\u0001\u0005\u0001"+
 		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
-		"\u0005\u0001\u0005\u0005\u0005\u00f0\b\u0005\n\u0005\f\u0005\u00f3\t\u0005"+
-		"\u0001\u0006\u0001\u0006\u0001\u0006\u0003\u0006\u00f8\b\u0006\u0001\u0006"+
-		"\u0000\u0001\n\u0007\u0000\u0002\u0004\u0006\b\n\f\u0000\u0004\u0001\u0000"+
-		"\u0003\u0004\u0001\u0000\u0001\u0002\u0001\u0000\u0010\u0012\u0001\u0000"+
-		"\r\u000e\u011c\u0000\u000e\u0001\u0000\u0000\u0000\u0002+\u0001\u0000"+
-		"\u0000\u0000\u0004-\u0001\u0000\u0000\u0000\u0006L\u0001\u0000\u0000\u0000"+
-		"\b\u0096\u0001\u0000\u0000\u0000\n\u00e1\u0001\u0000\u0000\u0000\f\u00f7"+
-		"\u0001\u0000\u0000\u0000\u000e\u000f\u0003\u0002\u0001\u0000\u000f\u0010"+
-		"\u0005\u0000\u0000\u0001\u0010\u0001\u0001\u0000\u0000\u0000\u0011\"\u0005"+
-		"\u001a\u0000\u0000\u0012\u0014\u0003\u0004\u0002\u0000\u0013\u0012\u0001"+
-		"\u0000\u0000\u0000\u0014\u0015\u0001\u0000\u0000\u0000\u0015\u0013\u0001"+
-		"\u0000\u0000\u0000\u0015\u0016\u0001\u0000\u0000\u0000\u0016\u001a\u0001"+
-		"\u0000\u0000\u0000\u0017\u0019\u0003\b\u0004\u0000\u0018\u0017\u0001\u0000"+
-		"\u0000\u0000\u0019\u001c\u0001\u0000\u0000\u0000\u001a\u0018\u0001\u0000"+
-		"\u0000\u0000\u001a\u001b\u0001\u0000\u0000\u0000\u001b#\u0001\u0000\u0000"+
-		"\u0000\u001c\u001a\u0001\u0000\u0000\u0000\u001d\u001f\u0003\b\u0004\u0000"+
-		"\u001e\u001d\u0001\u0000\u0000\u0000\u001f \u0001\u0000\u0000\u0000 \u001e"+
-		"\u0001\u0000\u0000\u0000 !\u0001\u0000\u0000\u0000!#\u0001\u0000\u0000"+
-		"\u0000\"\u0013\u0001\u0000\u0000\u0000\"\u001e\u0001\u0000\u0000\u0000"+
-		"#$\u0001\u0000\u0000\u0000$%\u0005\u001b\u0000\u0000%&\u0003\n\u0005\u0000"+
-		"&\'\u0005\t\u0000\u0000\',\u0001\u0000\u0000\u0000()\u0003\n\u0005\u0000"+
-		")*\u0005\t\u0000\u0000*,\u0001\u0000\u0000\u0000+\u0011\u0001\u0000\u0000"+
-		"\u0000+(\u0001\u0000\u0000\u0000,\u0003\u0001\u0000\u0000\u0000-.\u0005"+
-		"\u001e\u0000\u0000.1\u0005%\u0000\u0000/0\u0005\u001f\u0000\u000002\u0005"+
-		"%\u0000\u00001/\u0001\u0000\u0000\u000012\u0001\u0000\u0000\u000023\u0001"+
-		"\u0000\u0000\u00003@\u0005\u0005\u0000\u000045\u0005%\u0000\u000056\u0005"+
-		"\n\u0000\u00006=\u0003\f\u0006\u000078\u0005\u000b\u0000\u000089\u0005"+
-		"%\u0000\u00009:\u0005\n\u0000\u0000:<\u0003\f\u0006\u0000;7\u0001\u0000"+
-		"\u0000\u0000<?\u0001\u0000\u0000\u0000=;\u0001\u0000\u0000\u0000=>\u0001"+
-		"\u0000\u0000\u0000>A\u0001\u0000\u0000\u0000?=\u0001\u0000\u0000\u0000"+
-		"@4\u0001\u0000\u0000\u0000@A\u0001\u0000\u0000\u0000AB\u0001\u0000\u0000"+
-		"\u0000BC\u0005\u0006\u0000\u0000CG\u0005\u0007\u0000\u0000DF\u0003\u0006"+
-		"\u0003\u0000ED\u0001\u0000\u0000\u0000FI\u0001\u0000\u0000\u0000GE\u0001"+
-		"\u0000\u0000\u0000GH\u0001\u0000\u0000\u0000HJ\u0001\u0000\u0000\u0000"+
-		"IG\u0001\u0000\u0000\u0000JK\u0005\b\u0000\u0000K\u0005\u0001\u0000\u0000"+
-		"\u0000LM\u0005\u001d\u0000\u0000MN\u0005%\u0000\u0000NO\u0005\n\u0000"+
-		"\u0000OP\u0003\f\u0006\u0000P]\u0005\u0005\u0000\u0000QR\u0005%\u0000"+
-		"\u0000RS\u0005\n\u0000\u0000SZ\u0003\f\u0006\u0000TU\u0005\u000b\u0000"+
-		"\u0000UV\u0005%\u0000\u0000VW\u0005\n\u0000\u0000WY\u0003\f\u0006\u0000"+
-		"XT\u0001\u0000\u0000\u0000Y\\\u0001\u0000\u0000\u0000ZX\u0001\u0000\u0000"+
-		"\u0000Z[\u0001\u0000\u0000\u0000[^\u0001\u0000\u0000\u0000\\Z\u0001\u0000"+
-		"\u0000\u0000]Q\u0001\u0000\u0000\u0000]^\u0001\u0000\u0000\u0000^_\u0001"+
-		"\u0000\u0000\u0000_h\u0005\u0006\u0000\u0000`b\u0005\u001a\u0000\u0000"+
-		"ac\u0003\b\u0004\u0000ba\u0001\u0000\u0000\u0000cd\u0001\u0000\u0000\u0000"+
-		"db\u0001\u0000\u0000\u0000de\u0001\u0000\u0000\u0000ef\u0001\u0000\u0000"+
-		"\u0000fg\u0005\u001b\u0000\u0000gi\u0001\u0000\u0000\u0000h`\u0001\u0000"+
-		"\u0000\u0000hi\u0001\u0000\u0000\u0000ij\u0001\u0000\u0000\u0000jk\u0003"+
-		"\n\u0005\u0000kl\u0005\t\u0000\u0000l\u0007\u0001\u0000\u0000\u0000mn"+
-		"\u0005\u001c\u0000\u0000no\u0005%\u0000\u0000op\u0005\n\u0000\u0000pq"+
-		"\u0003\f\u0006\u0000qr\u0005\u0013\u0000\u0000rs\u0003\n\u0005\u0000s"+
-		"t\u0005\t\u0000\u0000t\u0097\u0001\u0000\u0000\u0000uv\u0005\u001d\u0000"+
-		"\u0000vw\u0005%\u0000\u0000wx\u0005\n\u0000\u0000xy\u0003\f\u0006\u0000"+
-		"y\u0086\u0005\u0005\u0000\u0000z{\u0005%\u0000\u0000{|\u0005\n\u0000\u0000"+
-		"|\u0083\u0003\f\u0006\u0000}~\u0005\u000b\u0000\u0000~\u007f\u0005%\u0000"+
-		"\u0000\u007f\u0080\u0005\n\u0000\u0000\u0080\u0082\u0003\f\u0006\u0000"+
-		"\u0081}\u0001\u0000\u0000\u0000\u0082\u0085\u0001\u0000\u0000\u0000\u0083"+
-		"\u0081\u0001\u0000\u0000\u0000\u0083\u0084\u0001\u0000\u0000\u0000\u0084"+
-		"\u0087\u0001\u0000\u0000\u0000\u0085\u0083\u0001\u0000\u0000\u0000\u0086"+
-		"z\u0001\u0000\u0000\u0000\u0086\u0087\u0001\u0000\u0000\u0000\u0087\u0088"+
-		"\u0001\u0000\u0000\u0000\u0088\u0091\u0005\u0006\u0000\u0000\u0089\u008b"+
-		"\u0005\u001a\u0000\u0000\u008a\u008c\u0003\b\u0004\u0000\u008b\u008a\u0001"+
-		"\u0000\u0000\u0000\u008c\u008d\u0001\u0000\u0000\u0000\u008d\u008b\u0001"+
-		"\u0000\u0000\u0000\u008d\u008e\u0001\u0000\u0000\u0000\u008e\u008f\u0001"+
-		"\u0000\u0000\u0000\u008f\u0090\u0005\u001b\u0000\u0000\u0090\u0092\u0001"+
-		"\u0000\u0000\u0000\u0091\u0089\u0001\u0000\u0000\u0000\u0091\u0092\u0001"+
-		"\u0000\u0000\u0000\u0092\u0093\u0001\u0000\u0000\u0000\u0093\u0094\u0003"+
-		"\n\u0005\u0000\u0094\u0095\u0005\t\u0000\u0000\u0095\u0097\u0001\u0000"+
-		"\u0000\u0000\u0096m\u0001\u0000\u0000\u0000\u0096u\u0001\u0000\u0000\u0000"+
-		"\u0097\t\u0001\u0000\u0000\u0000\u0098\u0099\u0006\u0005\uffff\uffff\u0000"+
-		"\u0099\u009a\u0005\u000f\u0000\u0000\u009a\u00e2\u0003\n\u0005\f\u009b"+
-		"\u009c\u0005\u0005\u0000\u0000\u009c\u009d\u0003\n\u0005\u0000\u009d\u009e"+
-		"\u0005\u0006\u0000\u0000\u009e\u00e2\u0001\u0000\u0000\u0000\u009f\u00a1"+
-		"\u0005\u0002\u0000\u0000\u00a0\u009f\u0001\u0000\u0000\u0000\u00a0\u00a1"+
-		"\u0001\u0000\u0000\u0000\u00a1\u00a2\u0001\u0000\u0000\u0000\u00a2\u00e2"+
-		"\u0005$\u0000\u0000\u00a3\u00e2\u0005\u0014\u0000\u0000\u00a4\u00e2\u0005"+
-		"\u0015\u0000\u0000\u00a5\u00e2\u0005!\u0000\u0000\u00a6\u00a7\u0005 \u0000"+
-		"\u0000\u00a7\u00a8\u0005%\u0000\u0000\u00a8\u00b1\u0005\u0005\u0000\u0000"+
-		"\u00a9\u00ae\u0003\n\u0005\u0000\u00aa\u00ab\u0005\u000b\u0000\u0000\u00ab"+
-		"\u00ad\u0003\n\u0005\u0000\u00ac\u00aa\u0001\u0000\u0000\u0000\u00ad\u00b0"+
-		"\u0001\u0000\u0000\u0000\u00ae\u00ac\u0001\u0000\u0000\u0000\u00ae\u00af"+
-		"\u0001\u0000\u0000\u0000\u00af\u00b2\u0001\u0000\u0000\u0000\u00b0\u00ae"+
-		"\u0001\u0000\u0000\u0000\u00b1\u00a9\u0001\u0000\u0000\u0000\u00b1\u00b2"+
-		"\u0001\u0000\u0000\u0000\u00b2\u00b3\u0001\u0000\u0000\u0000\u00b3\u00e2"+
-		"\u0005\u0006\u0000\u0000\u00b4\u00b5\u0005\u0016\u0000\u0000\u00b5\u00b6"+
-		"\u0003\n\u0005\u0000\u00b6\u00b7\u0005\u0017\u0000\u0000\u00b7\u00b8\u0005"+
-		"\u0007\u0000\u0000\u00b8\u00b9\u0003\n\u0005\u0000\u00b9\u00ba\u0005\b"+
-		"\u0000\u0000\u00ba\u00bb\u0005\u0018\u0000\u0000\u00bb\u00bc\u0005\u0007"+
-		"\u0000\u0000\u00bc\u00bd\u0003\n\u0005\u0000\u00bd\u00be\u0005\b\u0000"+
-		"\u0000\u00be\u00e2\u0001\u0000\u0000\u0000\u00bf\u00c0\u0005\u0019\u0000"+
-		"\u0000\u00c0\u00c1\u0005\u0005\u0000\u0000\u00c1\u00c2\u0003\n\u0005\u0000"+
-		"\u00c2\u00c3\u0005\u0006\u0000\u0000\u00c3\u00e2\u0001\u0000\u0000\u0000"+
-		"\u00c4\u00e2\u0005%\u0000\u0000\u00c5\u00c6\u0005%\u0000\u0000\u00c6\u00cf"+
-		"\u0005\u0005\u0000\u0000\u00c7\u00cc\u0003\n\u0005\u0000\u00c8\u00c9\u0005"+
-		"\u000b\u0000\u0000\u00c9\u00cb\u0003\n\u0005\u0000\u00ca\u00c8\u0001\u0000"+
-		"\u0000\u0000\u00cb\u00ce\u0001\u0000\u0000\u0000\u00cc\u00ca\u0001\u0000"+
-		"\u0000\u0000\u00cc\u00cd\u0001\u0000\u0000\u0000\u00cd\u00d0\u0001\u0000"+
-		"\u0000\u0000\u00ce\u00cc\u0001\u0000\u0000\u0000\u00cf\u00c7\u0001\u0000"+
-		"\u0000\u0000\u00cf\u00d0\u0001\u0000\u0000\u0000\u00d0\u00d1\u0001\u0000"+
-		"\u0000\u0000\u00d1\u00e2\u0005\u0006\u0000\u0000\u00d2\u00d3\u0005%\u0000"+
-		"\u0000\u00d3\u00d4\u0005\f\u0000\u0000\u00d4\u00d5\u0005%\u0000\u0000"+
-		"\u00d5\u00de\u0005\u0005\u0000\u0000\u00d6\u00db\u0003\n\u0005\u0000\u00d7"+
-		"\u00d8\u0005\u000b\u0000\u0000\u00d8\u00da\u0003\n\u0005\u0000\u00d9\u00d7"+
-		"\u0001\u0000\u0000\u0000\u00da\u00dd\u0001\u0000\u0000\u0000\u00db\u00d9"+
-		"\u0001\u0000\u0000\u0000\u00db\u00dc\u0001\u0000\u0000\u0000\u00dc\u00df"+
-		"\u0001\u0000\u0000\u0000\u00dd\u00db\u0001\u0000\u0000\u0000\u00de\u00d6"+
-		"\u0001\u0000\u0000\u0000\u00de\u00df\u0001\u0000\u0000\u0000\u00df\u00e0"+
-		"\u0001\u0000\u0000\u0000\u00e0\u00e2\u0005\u0006\u0000\u0000\u00e1\u0098"+
-		"\u0001\u0000\u0000\u0000\u00e1\u009b\u0001\u0000\u0000\u0000\u00e1\u00a0"+
-		"\u0001\u0000\u0000\u0000\u00e1\u00a3\u0001\u0000\u0000\u0000\u00e1\u00a4"+
-		"\u0001\u0000\u0000\u0000\u00e1\u00a5\u0001\u0000\u0000\u0000\u00e1\u00a6"+
-		"\u0001\u0000\u0000\u0000\u00e1\u00b4\u0001\u0000\u0000\u0000\u00e1\u00bf"+
-		"\u0001\u0000\u0000\u0000\u00e1\u00c4\u0001\u0000\u0000\u0000\u00e1\u00c5"+
-		"\u0001\u0000\u0000\u0000\u00e1\u00d2\u0001\u0000\u0000\u0000\u00e2\u00f1"+
-		"\u0001\u0000\u0000\u0000\u00e3\u00e4\n\u0010\u0000\u0000\u00e4\u00e5\u0007"+
-		"\u0000\u0000\u0000\u00e5\u00f0\u0003\n\u0005\u0011\u00e6\u00e7\n\u000f"+
-		"\u0000\u0000\u00e7\u00e8\u0007\u0001\u0000\u0000\u00e8\u00f0\u0003\n\u0005"+
-		"\u0010\u00e9\u00ea\n\u000e\u0000\u0000\u00ea\u00eb\u0007\u0002\u0000\u0000"+
-		"\u00eb\u00f0\u0003\n\u0005\u000f\u00ec\u00ed\n\r\u0000\u0000\u00ed\u00ee"+
-		"\u0007\u0003\u0000\u0000\u00ee\u00f0\u0003\n\u0005\u000e\u00ef\u00e3\u0001"+
-		"\u0000\u0000\u0000\u00ef\u00e6\u0001\u0000\u0000\u0000\u00ef\u00e9\u0001"+
-		"\u0000\u0000\u0000\u00ef\u00ec\u0001\u0000\u0000\u0000\u00f0\u00f3\u0001"+
-		"\u0000\u0000\u0000\u00f1\u00ef\u0001\u0000\u0000\u0000\u00f1\u00f2\u0001"+
-		"\u0000\u0000\u0000\u00f2\u000b\u0001\u0000\u0000\u0000\u00f3\u00f1\u0001"+
-		"\u0000\u0000\u0000\u00f4\u00f8\u0005\"\u0000\u0000\u00f5\u00f8\u0005#"+
-		"\u0000\u0000\u00f6\u00f8\u0005%\u0000\u0000\u00f7\u00f4\u0001\u0000\u0000"+
-		"\u0000\u00f7\u00f5\u0001\u0000\u0000\u0000\u00f7\u00f6\u0001\u0000\u0000"+
-		"\u0000\u00f8\r\u0001\u0000\u0000\u0000\u001d\u0015\u001a \"+1=@GZ]dh\u0083"+
-		"\u0086\u008d\u0091\u0096\u00a0\u00ae\u00b1\u00cc\u00cf\u00db\u00de\u00e1"+
-		"\u00ef\u00f1\u00f7";
+		"\u0005\u0005\u0005\u00dd\b\u0005\n\u0005\f\u0005\u00e0\t\u0005\u0003\u0005"+
+		"\u00e2\b\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
+		"\u0001\u0005\u0001\u0005\u0005\u0005\u00eb\b\u0005\n\u0005\f\u0005\u00ee"+
+		"\t\u0005\u0003\u0005\u00f0\b\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
+		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
+		"\u0005\u0005\u00fb\b\u0005\n\u0005\f\u0005\u00fe\t\u0005\u0003\u0005\u0100"+
+		"\b\u0005\u0001\u0005\u0003\u0005\u0103\b\u0005\u0001\u0005\u0001\u0005"+
+		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
+		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0005\u0005\u0111\b\u0005"+
+		"\n\u0005\f\u0005\u0114\t\u0005\u0001\u0006\u0001\u0006\u0001\u0006\u0003"+
+		"\u0006\u0119\b\u0006\u0001\u0006\u0000\u0001\n\u0007\u0000\u0002\u0004"+
+		"\u0006\b\n\f\u0000\u0004\u0001\u0000\u0003\u0004\u0001\u0000\u0001\u0002"+
+		"\u0001\u0000\u0010\u0012\u0001\u0000\r\u000e\u0144\u0000\u000e\u0001\u0000"+
+		"\u0000\u0000\u0002+\u0001\u0000\u0000\u0000\u0004-\u0001\u0000\u0000\u0000"+
+		"\u0006L\u0001\u0000\u0000\u0000\b\u0096\u0001\u0000\u0000\u0000\n\u0102"+
+		"\u0001\u0000\u0000\u0000\f\u0118\u0001\u0000\u0000\u0000\u000e\u000f\u0003"+
+		"\u0002\u0001\u0000\u000f\u0010\u0005\u0000\u0000\u0001\u0010\u0001\u0001"+
+		"\u0000\u0000\u0000\u0011\"\u0005\u001b\u0000\u0000\u0012\u0014\u0003\u0004"+
+		"\u0002\u0000\u0013\u0012\u0001\u0000\u0000\u0000\u0014\u0015\u0001\u0000"+
+		"\u0000\u0000\u0015\u0013\u0001\u0000\u0000\u0000\u0015\u0016\u0001\u0000"+
+		"\u0000\u0000\u0016\u001a\u0001\u0000\u0000\u0000\u0017\u0019\u0003\b\u0004"+
+		"\u0000\u0018\u0017\u0001\u0000\u0000\u0000\u0019\u001c\u0001\u0000\u0000"+
+		"\u0000\u001a\u0018\u0001\u0000\u0000\u0000\u001a\u001b\u0001\u0000\u0000"+
+		"\u0000\u001b#\u0001\u0000\u0000\u0000\u001c\u001a\u0001\u0000\u0000\u0000"+
+		"\u001d\u001f\u0003\b\u0004\u0000\u001e\u001d\u0001\u0000\u0000\u0000\u001f"+
+		" \u0001\u0000\u0000\u0000 \u001e\u0001\u0000\u0000\u0000 !\u0001\u0000"+
+		"\u0000\u0000!#\u0001\u0000\u0000\u0000\"\u0013\u0001\u0000\u0000\u0000"+
+		"\"\u001e\u0001\u0000\u0000\u0000#$\u0001\u0000\u0000\u0000$%\u0005\u001c"+
+		"\u0000\u0000%&\u0003\n\u0005\u0000&\'\u0005\t\u0000\u0000\',\u0001\u0000"+
+		"\u0000\u0000()\u0003\n\u0005\u0000)*\u0005\t\u0000\u0000*,\u0001\u0000"+
+		"\u0000\u0000+\u0011\u0001\u0000\u0000\u0000+(\u0001\u0000\u0000\u0000"+
+		",\u0003\u0001\u0000\u0000\u0000-.\u0005\u001f\u0000\u0000.1\u0005\'\u0000"+
+		"\u0000/0\u0005 \u0000\u000002\u0005\'\u0000\u00001/\u0001\u0000\u0000"+
+		"\u000012\u0001\u0000\u0000\u000023\u0001\u0000\u0000\u00003@\u0005\u0005"+
+		"\u0000\u000045\u0005\'\u0000\u000056\u0005\n\u0000\u00006=\u0003\f\u0006"+
+		"\u000078\u0005\u000b\u0000\u000089\u0005\'\u0000\u00009:\u0005\n\u0000"+
+		"\u0000:<\u0003\f\u0006\u0000;7\u0001\u0000\u0000\u0000<?\u0001\u0000\u0000"+
+		"\u0000=;\u0001\u0000\u0000\u0000=>\u0001\u0000\u0000\u0000>A\u0001\u0000"+
+		"\u0000\u0000?=\u0001\u0000\u0000\u0000@4\u0001\u0000\u0000\u0000@A\u0001"+
+		"\u0000\u0000\u0000AB\u0001\u0000\u0000\u0000BC\u0005\u0006\u0000\u0000"+
+		"CG\u0005\u0007\u0000\u0000DF\u0003\u0006\u0003\u0000ED\u0001\u0000\u0000"+
+		"\u0000FI\u0001\u0000\u0000\u0000GE\u0001\u0000\u0000\u0000GH\u0001\u0000"+
+		"\u0000\u0000HJ\u0001\u0000\u0000\u0000IG\u0001\u0000\u0000\u0000JK\u0005"+
+		"\b\u0000\u0000K\u0005\u0001\u0000\u0000\u0000LM\u0005\u001e\u0000\u0000"+
+		"MN\u0005\'\u0000\u0000NO\u0005\n\u0000\u0000OP\u0003\f\u0006\u0000P]\u0005"+
+		"\u0005\u0000\u0000QR\u0005\'\u0000\u0000RS\u0005\n\u0000\u0000SZ\u0003"+
+		"\f\u0006\u0000TU\u0005\u000b\u0000\u0000UV\u0005\'\u0000\u0000VW\u0005"+
+		"\n\u0000\u0000WY\u0003\f\u0006\u0000XT\u0001\u0000\u0000\u0000Y\\\u0001"+
+		"\u0000\u0000\u0000ZX\u0001\u0000\u0000\u0000Z[\u0001\u0000\u0000\u0000"+
+		"[^\u0001\u0000\u0000\u0000\\Z\u0001\u0000\u0000\u0000]Q\u0001\u0000\u0000"+
+		"\u0000]^\u0001\u0000\u0000\u0000^_\u0001\u0000\u0000\u0000_h\u0005\u0006"+
+		"\u0000\u0000`b\u0005\u001b\u0000\u0000ac\u0003\b\u0004\u0000ba\u0001\u0000"+
+		"\u0000\u0000cd\u0001\u0000\u0000\u0000db\u0001\u0000\u0000\u0000de\u0001"+
+		"\u0000\u0000\u0000ef\u0001\u0000\u0000\u0000fg\u0005\u001c\u0000\u0000"+
+		"gi\u0001\u0000\u0000\u0000h`\u0001\u0000\u0000\u0000hi\u0001\u0000\u0000"+
+		"\u0000ij\u0001\u0000\u0000\u0000jk\u0003\n\u0005\u0000kl\u0005\t\u0000"+
+		"\u0000l\u0007\u0001\u0000\u0000\u0000mn\u0005\u001d\u0000\u0000no\u0005"+
+		"\'\u0000\u0000op\u0005\n\u0000\u0000pq\u0003\f\u0006\u0000qr\u0005\u0013"+
+		"\u0000\u0000rs\u0003\n\u0005\u0000st\u0005\t\u0000\u0000t\u0097\u0001"+
+		"\u0000\u0000\u0000uv\u0005\u001e\u0000\u0000vw\u0005\'\u0000\u0000wx\u0005"+
+		"\n\u0000\u0000xy\u0003\f\u0006\u0000y\u0086\u0005\u0005\u0000\u0000z{"+
+		"\u0005\'\u0000\u0000{|\u0005\n\u0000\u0000|\u0083\u0003\f\u0006\u0000"+
+		"}~\u0005\u000b\u0000\u0000~\u007f\u0005\'\u0000\u0000\u007f\u0080\u0005"+
+		"\n\u0000\u0000\u0080\u0082\u0003\f\u0006\u0000\u0081}\u0001\u0000\u0000"+
+		"\u0000\u0082\u0085\u0001\u0000\u0000\u0000\u0083\u0081\u0001\u0000\u0000"+
+		"\u0000\u0083\u0084\u0001\u0000\u0000\u0000\u0084\u0087\u0001\u0000\u0000"+
+		"\u0000\u0085\u0083\u0001\u0000\u0000\u0000\u0086z\u0001\u0000\u0000\u0000"+
+		"\u0086\u0087\u0001\u0000\u0000\u0000\u0087\u0088\u0001\u0000\u0000\u0000"+
+		"\u0088\u0091\u0005\u0006\u0000\u0000\u0089\u008b\u0005\u001b\u0000\u0000"+
+		"\u008a\u008c\u0003\b\u0004\u0000\u008b\u008a\u0001\u0000\u0000\u0000\u008c"+
+		"\u008d\u0001\u0000\u0000\u0000\u008d\u008b\u0001\u0000\u0000\u0000\u008d"+
+		"\u008e\u0001\u0000\u0000\u0000\u008e\u008f\u0001\u0000\u0000\u0000\u008f"+
+		"\u0090\u0005\u001c\u0000\u0000\u0090\u0092\u0001\u0000\u0000\u0000\u0091"+
+		"\u0089\u0001\u0000\u0000\u0000\u0091\u0092\u0001\u0000\u0000\u0000\u0092"+
+		"\u0093\u0001\u0000\u0000\u0000\u0093\u0094\u0003\n\u0005\u0000\u0094\u0095"+
+		"\u0005\t\u0000\u0000\u0095\u0097\u0001\u0000\u0000\u0000\u0096m\u0001"+
+		"\u0000\u0000\u0000\u0096u\u0001\u0000\u0000\u0000\u0097\t\u0001\u0000"+
+		"\u0000\u0000\u0098\u0099\u0006\u0005\uffff\uffff\u0000\u0099\u009a\u0005"+
+		"\u000f\u0000\u0000\u009a\u0103\u0003\n\u0005\u000f\u009b\u009c\u0005\u0005"+
+		"\u0000\u0000\u009c\u009d\u0003\n\u0005\u0000\u009d\u009e\u0005\u0006\u0000"+
+		"\u0000\u009e\u0103\u0001\u0000\u0000\u0000\u009f\u00a1\u0005\u0002\u0000"+
+		"\u0000\u00a0\u009f\u0001\u0000\u0000\u0000\u00a0\u00a1\u0001\u0000\u0000"+
+		"\u0000\u00a1\u00a2\u0001\u0000\u0000\u0000\u00a2\u0103\u0005&\u0000\u0000"+
+		"\u00a3\u0103\u0005\u0014\u0000\u0000\u00a4\u0103\u0005\u0015\u0000\u0000"+
+		"\u00a5\u0103\u0005\"\u0000\u0000\u00a6\u00a7\u0005!\u0000\u0000\u00a7"+
+		"\u00a8\u0005\'\u0000\u0000\u00a8\u00b1\u0005\u0005\u0000\u0000\u00a9\u00ae"+
+		"\u0003\n\u0005\u0000\u00aa\u00ab\u0005\u000b\u0000\u0000\u00ab\u00ad\u0003"+
+		"\n\u0005\u0000\u00ac\u00aa\u0001\u0000\u0000\u0000\u00ad\u00b0\u0001\u0000"+
+		"\u0000\u0000\u00ae\u00ac\u0001\u0000\u0000\u0000\u00ae\u00af\u0001\u0000"+
+		"\u0000\u0000\u00af\u00b2\u0001\u0000\u0000\u0000\u00b0\u00ae\u0001\u0000"+
+		"\u0000\u0000\u00b1\u00a9\u0001\u0000\u0000\u0000\u00b1\u00b2\u0001\u0000"+
+		"\u0000\u0000\u00b2\u00b3\u0001\u0000\u0000\u0000\u00b3\u0103\u0005\u0006"+
+		"\u0000\u0000\u00b4\u00b5\u0005\u0016\u0000\u0000\u00b5\u00b6\u0003\n\u0005"+
+		"\u0000\u00b6\u00b7\u0005\u0017\u0000\u0000\u00b7\u00b8\u0005\u0007\u0000"+
+		"\u0000\u00b8\u00b9\u0003\n\u0005\u0000\u00b9\u00ba\u0005\b\u0000\u0000"+
+		"\u00ba\u00bb\u0005\u0018\u0000\u0000\u00bb\u00bc\u0005\u0007\u0000\u0000"+
+		"\u00bc\u00bd\u0003\n\u0005\u0000\u00bd\u00be\u0005\b\u0000\u0000\u00be"+
+		"\u0103\u0001\u0000\u0000\u0000\u00bf\u00c0\u0005\u0019\u0000\u0000\u00c0"+
+		"\u00c1\u0005\u0005\u0000\u0000\u00c1\u00c2\u0003\n\u0005\u0000\u00c2\u00c3"+
+		"\u0005\u0006\u0000\u0000\u00c3\u0103\u0001\u0000\u0000\u0000\u00c4\u00c5"+
+		"\u0005\u001a\u0000\u0000\u00c5\u00c6\u0005\u0005\u0000\u0000\u00c6\u0103"+
+		"\u0005\u0006\u0000\u0000\u00c7\u0103\u0005\'\u0000\u0000\u00c8\u00c9\u0005"+
+		"\'\u0000\u0000\u00c9\u00d2\u0005\u0005\u0000\u0000\u00ca\u00cf\u0003\n"+
+		"\u0005\u0000\u00cb\u00cc\u0005\u000b\u0000\u0000\u00cc\u00ce\u0003\n\u0005"+
+		"\u0000\u00cd\u00cb\u0001\u0000\u0000\u0000\u00ce\u00d1\u0001\u0000\u0000"+
+		"\u0000\u00cf\u00cd\u0001\u0000\u0000\u0000\u00cf\u00d0\u0001\u0000\u0000"+
+		"\u0000\u00d0\u00d3\u0001\u0000\u0000\u0000\u00d1\u00cf\u0001\u0000\u0000"+
+		"\u0000\u00d2\u00ca\u0001\u0000\u0000\u0000\u00d2\u00d3\u0001\u0000\u0000"+
+		"\u0000\u00d3\u00d4\u0001\u0000\u0000\u0000\u00d4\u0103\u0005\u0006\u0000"+
+		"\u0000\u00d5\u00d6\u0005\'\u0000\u0000\u00d6\u00d7\u0005\f\u0000\u0000"+
+		"\u00d7\u00d8\u0005\'\u0000\u0000\u00d8\u00e1\u0005\u0005\u0000\u0000\u00d9"+
+		"\u00de\u0003\n\u0005\u0000\u00da\u00db\u0005\u000b\u0000\u0000\u00db\u00dd"+
+		"\u0003\n\u0005\u0000\u00dc\u00da\u0001\u0000\u0000\u0000\u00dd\u00e0\u0001"+
+		"\u0000\u0000\u0000\u00de\u00dc\u0001\u0000\u0000\u0000\u00de\u00df\u0001"+
+		"\u0000\u0000\u0000\u00df\u00e2\u0001\u0000\u0000\u0000\u00e0\u00de\u0001"+
+		"\u0000\u0000\u0000\u00e1\u00d9\u0001\u0000\u0000\u0000\u00e1\u00e2\u0001"+
+		"\u0000\u0000\u0000\u00e2\u00e3\u0001\u0000\u0000\u0000\u00e3\u0103\u0005"+
+		"\u0006\u0000\u0000\u00e4\u00e5\u0005#\u0000\u0000\u00e5\u00e6\u0005\'"+
+		"\u0000\u0000\u00e6\u00ef\u0005\u0005\u0000\u0000\u00e7\u00ec\u0003\n\u0005"+
+		"\u0000\u00e8\u00e9\u0005\u000b\u0000\u0000\u00e9\u00eb\u0003\n\u0005\u0000"+
+		"\u00ea\u00e8\u0001\u0000\u0000\u0000\u00eb\u00ee\u0001\u0000\u0000\u0000"+
+		"\u00ec\u00ea\u0001\u0000\u0000\u0000\u00ec\u00ed\u0001\u0000\u0000\u0000"+
+		"\u00ed\u00f0\u0001\u0000\u0000\u0000\u00ee\u00ec\u0001\u0000\u0000\u0000"+
+		"\u00ef\u00e7\u0001\u0000\u0000\u0000\u00ef\u00f0\u0001\u0000\u0000\u0000"+
+		"\u00f0\u00f1\u0001\u0000\u0000\u0000\u00f1\u0103\u0005\u0006\u0000\u0000"+
+		"\u00f2\u00f3\u0005#\u0000\u0000\u00f3\u00f4\u0005\'\u0000\u0000\u00f4"+
+		"\u00f5\u0005\f\u0000\u0000\u00f5\u00f6\u0005\'\u0000\u0000\u00f6\u00ff"+
+		"\u0005\u0005\u0000\u0000\u00f7\u00fc\u0003\n\u0005\u0000\u00f8\u00f9\u0005"+
+		"\u000b\u0000\u0000\u00f9\u00fb\u0003\n\u0005\u0000\u00fa\u00f8\u0001\u0000"+
+		"\u0000\u0000\u00fb\u00fe\u0001\u0000\u0000\u0000\u00fc\u00fa\u0001\u0000"+
+		"\u0000\u0000\u00fc\u00fd\u0001\u0000\u0000\u0000\u00fd\u0100\u0001\u0000"+
+		"\u0000\u0000\u00fe\u00fc\u0001\u0000\u0000\u0000\u00ff\u00f7\u0001\u0000"+
+		"\u0000\u0000\u00ff\u0100\u0001\u0000\u0000\u0000\u0100\u0101\u0001\u0000"+
+		"\u0000\u0000\u0101\u0103\u0005\u0006\u0000\u0000\u0102\u0098\u0001\u0000"+
+		"\u0000\u0000\u0102\u009b\u0001\u0000\u0000\u0000\u0102\u00a0\u0001\u0000"+
+		"\u0000\u0000\u0102\u00a3\u0001\u0000\u0000\u0000\u0102\u00a4\u0001\u0000"+
+		"\u0000\u0000\u0102\u00a5\u0001\u0000\u0000\u0000\u0102\u00a6\u0001\u0000"+
+		"\u0000\u0000\u0102\u00b4\u0001\u0000\u0000\u0000\u0102\u00bf\u0001\u0000"+
+		"\u0000\u0000\u0102\u00c4\u0001\u0000\u0000\u0000\u0102\u00c7\u0001\u0000"+
+		"\u0000\u0000\u0102\u00c8\u0001\u0000\u0000\u0000\u0102\u00d5\u0001\u0000"+
+		"\u0000\u0000\u0102\u00e4\u0001\u0000\u0000\u0000\u0102\u00f2\u0001\u0000"+
+		"\u0000\u0000\u0103\u0112\u0001\u0000\u0000\u0000\u0104\u0105\n\u0013\u0000"+
+		"\u0000\u0105\u0106\u0007\u0000\u0000\u0000\u0106\u0111\u0003\n\u0005\u0014"+
+		"\u0107\u0108\n\u0012\u0000\u0000\u0108\u0109\u0007\u0001\u0000\u0000\u0109"+
+		"\u0111\u0003\n\u0005\u0013\u010a\u010b\n\u0011\u0000\u0000\u010b\u010c"+
+		"\u0007\u0002\u0000\u0000\u010c\u0111\u0003\n\u0005\u0012\u010d\u010e\n"+
+		"\u0010\u0000\u0000\u010e\u010f\u0007\u0003\u0000\u0000\u010f\u0111\u0003"+
+		"\n\u0005\u0011\u0110\u0104\u0001\u0000\u0000\u0000\u0110\u0107\u0001\u0000"+
+		"\u0000\u0000\u0110\u010a\u0001\u0000\u0000\u0000\u0110\u010d\u0001\u0000"+
+		"\u0000\u0000\u0111\u0114\u0001\u0000\u0000\u0000\u0112\u0110\u0001\u0000"+
+		"\u0000\u0000\u0112\u0113\u0001\u0000\u0000\u0000\u0113\u000b\u0001\u0000"+
+		"\u0000\u0000\u0114\u0112\u0001\u0000\u0000\u0000\u0115\u0119\u0005$\u0000"+
+		"\u0000\u0116\u0119\u0005%\u0000\u0000\u0117\u0119\u0005\'\u0000\u0000"+
+		"\u0118\u0115\u0001\u0000\u0000\u0000\u0118\u0116\u0001\u0000\u0000\u0000"+
+		"\u0118\u0117\u0001\u0000\u0000\u0000\u0119\r\u0001\u0000\u0000\u0000!"+
+		"\u0015\u001a \"+1=@GZ]dh\u0083\u0086\u008d\u0091\u0096\u00a0\u00ae\u00b1"+
+		"\u00cf\u00d2\u00de\u00e1\u00ec\u00ef\u00fc\u00ff\u0102\u0110\u0112\u0118";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
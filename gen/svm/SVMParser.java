@@ -20,10 +20,13 @@ public class SVMParser extends Parser {
 	protected static final PredictionContextCache _sharedContextCache =
 		new PredictionContextCache();
 	public static final int
-		PUSH=1, POP=2, ADD=3, SUB=4, MULT=5, DIV=6, STOREW=7, LOADW=8, BRANCH=9, 
-		BRANCHEQ=10, BRANCHLESSEQ=11, JS=12, LOADRA=13, STORERA=14, LOADTM=15, 
-		STORETM=16, LOADFP=17, STOREFP=18, COPYFP=19, LOADHP=20, STOREHP=21, PRINT=22, 
-		HALT=23, COL=24, LABEL=25, INTEGER=26, COMMENT=27, WHITESP=28, ERR=29;
+		PUSH=1, POP=2, ADD=3, SUB=4, MULT=5, DIV=6, STOREW=7, LOADW=8, LOADMETHOD=9, 
+		BRANCH=10, BRANCHEQ=11, BRANCHLESSEQ=12, JS=13, LOADRA=14, STORERA=15, 
+		LOADTM=16, STORETM=17, LOADFP=18, STOREFP=19, COPYFP=20, LOADHP=21, STOREHP=22, 
+		ALLOC=23, MEMO=24, MEMOPUT=25, FORK=26, JOINALL=27, DONE=28, PRINT=29, 
+		READ=30, HALT=31, WORD=32, DATA=33, TEXT=34, LINE=35, FUNCTION=36, TASK=37, 
+		CLASS=38, COL=39, LABEL=40, INTEGER=41, STRING=42, COMMENT=43, WHITESP=44, 
+		ERR=45;
 	public static final int
 		RULE_assembly = 0, RULE_instruction = 1;
 	private static String[] makeRuleNames() {
@@ -36,18 +39,22 @@ public class SVMParser extends Parser {
 	private static String[] makeLiteralNames() {
 		return new String[] {
 			null, "'push'", "'pop'", "'add'", "'sub'", "'mult'", "'div'", "'sw'", 
-			"'lw'", "'b'", "'beq'", "'bleq'", "'js'", "'lra'", "'sra'", "'ltm'", 
-			"'stm'", "'lfp'", "'sfp'", "'cfp'", "'lhp'", "'shp'", "'print'", "'halt'", 
-			"':'"
+			"'lw'", "'lm'", "'b'", "'beq'", "'bleq'", "'js'", "'lra'", "'sra'", "'ltm'", 
+			"'stm'", "'lfp'", "'sfp'", "'cfp'", "'lhp'", "'shp'", "'alloc'", "'memo'", 
+			"'mput'", "'fork'", "'joinall'", "'done'", "'print'", "'read'", "'halt'", 
+			"'.word'", "'.data'", "'.text'", "'.line'", "'.function'", "'.task'", 
+			"'.class'", "':'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
 	private static String[] makeSymbolicNames() {
 		return new String[] {
 			null, "PUSH", "POP", "ADD", "SUB", "MULT", "DIV", "STOREW", "LOADW", 
-			"BRANCH", "BRANCHEQ", "BRANCHLESSEQ", "JS", "LOADRA", "STORERA", "LOADTM", 
-			"STORETM", "LOADFP", "STOREFP", "COPYFP", "LOADHP", "STOREHP", "PRINT", 
-			"HALT", "COL", "LABEL", "INTEGER", "COMMENT", "WHITESP", "ERR"
+			"LOADMETHOD", "BRANCH", "BRANCHEQ", "BRANCHLESSEQ", "JS", "LOADRA", "STORERA", 
+			"LOADTM", "STORETM", "LOADFP", "STOREFP", "COPYFP", "LOADHP", "STOREHP", 
+			"ALLOC", "MEMO", "MEMOPUT", "FORK", "JOINALL", "DONE", "PRINT", "READ", 
+			"HALT", "WORD", "DATA", "TEXT", "LINE", "FUNCTION", "TASK", "CLASS", 
+			"COL", "LABEL", "INTEGER", "STRING", "COMMENT", "WHITESP", "ERR"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -98,9 +105,22 @@ public class SVMParser extends Parser {
 
 	 
 	public int[] code = new int[ExecuteVM.CODESIZE];    
+	public int[] data; // initial heap image (.data section)
 	private int i = 0;
+	private int[] heap = new int[ExecuteVM.MEMSIZE];
+	private int h = 0;
+	private boolean dataSection = false;
 	private Map<String,Integer> labelDef = new HashMap<>();
 	private Map<Integer,String> labelRef = new HashMap<>();
+	private Map<Integer,String> dataLabelRef = new HashMap<>();
+	private int lastLabel = 0; // address of the last label defined in the code area
+	public SortedMap<Integer,Integer> dispatchTables = new TreeMap<>(); // address -> length of the tables laid out in the code area
+	public int[] sourceLines = new int[ExecuteVM.CODESIZE]; // address -> source line set by the last .line directive, 0 if none
+	private int line = 0;
+	public CodeMap codeMap = new CodeMap(sourceLines); // source lines, functions and classes of the code
+	public Integer getLabelAddress(String label) { return labelDef.get(label); }
+	public Map<String,Integer> getLabels() { return Collections.unmodifiableMap(labelDef); }
+	public int getCodeSize() { return i; } // words of code assembled so far
 
 	public SVMParser(TokenStream input) {
 		super(input);
@@ -144,7 +164,7 @@ public class SVMParser extends Parser {
 			setState(7);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << PUSH) | (1L << POP) | (1L << ADD) | (1L << SUB) | (1L << MULT) | (1L << DIV) | (1L << STOREW) | (1L << LOADW) | (1L << BRANCH) | (1L << BRANCHEQ) | (1L << BRANCHLESSEQ) | (1L << JS) | (1L << LOADRA) | (1L << STORERA) | (1L << LOADTM) | (1L << STORETM) | (1L << LOADFP) | (1L << STOREFP) | (1L << COPYFP) | (1L << LOADHP) | (1L << STOREHP) | (1L << PRINT) | (1L << HALT) | (1L << LABEL))) != 0)) {
+			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << PUSH) | (1L << POP) | (1L << ADD) | (1L << SUB) | (1L << MULT) | (1L << DIV) | (1L << STOREW) | (1L << LOADW) | (1L << LOADMETHOD) | (1L << BRANCH) | (1L << BRANCHEQ) | (1L << BRANCHLESSEQ) | (1L << JS) | (1L << LOADRA) | (1L << STORERA) | (1L << LOADTM) | (1L << STORETM) | (1L << LOADFP) | (1L << STOREFP) | (1L << COPYFP) | (1L << LOADHP) | (1L << STOREHP) | (1L << ALLOC) | (1L << MEMO) | (1L << MEMOPUT) | (1L << FORK) | (1L << JOINALL) | (1L << DONE) | (1L << PRINT) | (1L << READ) | (1L << HALT) | (1L << WORD) | (1L << DATA) | (1L << TEXT) | (1L << LINE) | (1L << FUNCTION) | (1L << TASK) | (1L << CLASS) | (1L << LABEL))) != 0)) {
 				{
 				{
 				setState(4);
@@ -159,6 +179,9 @@ public class SVMParser extends Parser {
 			match(EOF);
 			 for (Integer j: labelRef.keySet()) 
 											code[j]=labelDef.get(labelRef.get(j)); 
+										  for (Integer j: dataLabelRef.keySet()) 
+											heap[j]=labelDef.get(dataLabelRef.get(j)); 
+										  data = Arrays.copyOf(heap, h);
 										
 			}
 		}
@@ -176,8 +199,14 @@ public class SVMParser extends Parser {
 	public static class InstructionContext extends ParserRuleContext {
 		public Token n;
 		public Token l;
+		public Token t;
+		public Token s;
+		public Token k;
 		public TerminalNode PUSH() { return getToken(SVMParser.PUSH, 0); }
-		public TerminalNode INTEGER() { return getToken(SVMParser.INTEGER, 0); }
+		public List<TerminalNode> INTEGER() { return getTokens(SVMParser.INTEGER); }
+		public TerminalNode INTEGER(int i) {
+			return getToken(SVMParser.INTEGER, i);
+		}
 		public TerminalNode LABEL() { return getToken(SVMParser.LABEL, 0); }
 		public TerminalNode POP() { return getToken(SVMParser.POP, 0); }
 		public TerminalNode ADD() { return getToken(SVMParser.ADD, 0); }
@@ -186,6 +215,7 @@ public class SVMParser extends Parser {
 		public TerminalNode DIV() { return getToken(SVMParser.DIV, 0); }
 		public TerminalNode STOREW() { return getToken(SVMParser.STOREW, 0); }
 		public TerminalNode LOADW() { return getToken(SVMParser.LOADW, 0); }
+		public TerminalNode LOADMETHOD() { return getToken(SVMParser.LOADMETHOD, 0); }
 		public TerminalNode COL() { return getToken(SVMParser.COL, 0); }
 		public TerminalNode BRANCH() { return getToken(SVMParser.BRANCH, 0); }
 		public TerminalNode BRANCHEQ() { return getToken(SVMParser.BRANCHEQ, 0); }
@@ -200,8 +230,26 @@ public class SVMParser extends Parser {
 		public TerminalNode COPYFP() { return getToken(SVMParser.COPYFP, 0); }
 		public TerminalNode LOADHP() { return getToken(SVMParser.LOADHP, 0); }
 		public TerminalNode STOREHP() { return getToken(SVMParser.STOREHP, 0); }
+		public TerminalNode ALLOC() { return getToken(SVMParser.ALLOC, 0); }
+		public TerminalNode MEMO() { return getToken(SVMParser.MEMO, 0); }
+		public TerminalNode MEMOPUT() { return getToken(SVMParser.MEMOPUT, 0); }
+		public TerminalNode FORK() { return getToken(SVMParser.FORK, 0); }
+		public TerminalNode JOINALL() { return getToken(SVMParser.JOINALL, 0); }
+		public TerminalNode DONE() { return getToken(SVMParser.DONE, 0); }
 		public TerminalNode PRINT() { return getToken(SVMParser.PRINT, 0); }
+		public TerminalNode READ() { return getToken(SVMParser.READ, 0); }
 		public TerminalNode HALT() { return getToken(SVMParser.HALT, 0); }
+		public TerminalNode WORD() { return getToken(SVMParser.WORD, 0); }
+		public TerminalNode DATA() { return getToken(SVMParser.DATA, 0); }
+		public TerminalNode TEXT() { return getToken(SVMParser.TEXT, 0); }
+		public TerminalNode LINE() { return getToken(SVMParser.LINE, 0); }
+		public TerminalNode FUNCTION() { return getToken(SVMParser.FUNCTION, 0); }
+		public List<TerminalNode> STRING() { return getTokens(SVMParser.STRING); }
+		public TerminalNode STRING(int i) {
+			return getToken(SVMParser.STRING, i);
+		}
+		public TerminalNode TASK() { return getToken(SVMParser.TASK, 0); }
+		public TerminalNode CLASS() { return getToken(SVMParser.CLASS, 0); }
 		public InstructionContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
@@ -224,8 +272,9 @@ public class SVMParser extends Parser {
 	public final InstructionContext instruction() throws RecognitionException {
 		InstructionContext _localctx = new InstructionContext(_ctx, getState());
 		enterRule(_localctx, 2, RULE_instruction);
+		 int start = i; 
 		try {
-			setState(69);
+			setState(119);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,1,_ctx) ) {
 			case 1:
@@ -310,142 +359,324 @@ public class SVMParser extends Parser {
 				enterOuterAlt(_localctx, 10);
 				{
 				setState(33);
-				((InstructionContext)_localctx).l = match(LABEL);
+				match(LOADMETHOD);
 				setState(34);
-				match(COL);
-				labelDef.put((((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null),i);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				code[i++] = LOADMETHOD;
+					                        code[i++] = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null));
 				}
 				break;
 			case 11:
 				enterOuterAlt(_localctx, 11);
 				{
 				setState(36);
-				match(BRANCH);
-				setState(37);
 				((InstructionContext)_localctx).l = match(LABEL);
-				code[i++] = BRANCH;
-				                       labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
+				setState(37);
+				match(COL);
+				labelDef.put((((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null),dataSection?h:i);
+					                     if (!dataSection) lastLabel = i;
 				}
 				break;
 			case 12:
 				enterOuterAlt(_localctx, 12);
 				{
 				setState(39);
-				match(BRANCHEQ);
+				match(BRANCH);
 				setState(40);
 				((InstructionContext)_localctx).l = match(LABEL);
-				code[i++] = BRANCHEQ;
-				                        labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
+				code[i++] = BRANCH;
+				                       labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
 				}
 				break;
 			case 13:
 				enterOuterAlt(_localctx, 13);
 				{
 				setState(42);
-				match(BRANCHLESSEQ);
+				match(BRANCHEQ);
 				setState(43);
 				((InstructionContext)_localctx).l = match(LABEL);
-				code[i++] = BRANCHLESSEQ;
-				                          labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
+				code[i++] = BRANCHEQ;
+				                        labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
 				}
 				break;
 			case 14:
 				enterOuterAlt(_localctx, 14);
 				{
 				setState(45);
-				match(JS);
-				code[i++] = JS;
+				match(BRANCHLESSEQ);
+				setState(46);
+				((InstructionContext)_localctx).l = match(LABEL);
+				code[i++] = BRANCHLESSEQ;
+				                          labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
 				}
 				break;
 			case 15:
 				enterOuterAlt(_localctx, 15);
 				{
-				setState(47);
-				match(LOADRA);
-				code[i++] = LOADRA;
+				setState(48);
+				match(JS);
+				code[i++] = JS;
 				}
 				break;
 			case 16:
 				enterOuterAlt(_localctx, 16);
 				{
-				setState(49);
-				match(STORERA);
-				code[i++] = STORERA;
+				setState(50);
+				match(LOADRA);
+				code[i++] = LOADRA;
 				}
 				break;
 			case 17:
 				enterOuterAlt(_localctx, 17);
 				{
-				setState(51);
-				match(LOADTM);
-				code[i++] = LOADTM;
+				setState(52);
+				match(STORERA);
+				code[i++] = STORERA;
 				}
 				break;
 			case 18:
 				enterOuterAlt(_localctx, 18);
 				{
-				setState(53);
-				match(STORETM);
-				code[i++] = STORETM;
+				setState(54);
+				match(LOADTM);
+				code[i++] = LOADTM;
 				}
 				break;
 			case 19:
 				enterOuterAlt(_localctx, 19);
 				{
-				setState(55);
-				match(LOADFP);
-				code[i++] = LOADFP;
+				setState(56);
+				match(STORETM);
+				code[i++] = STORETM;
 				}
 				break;
 			case 20:
 				enterOuterAlt(_localctx, 20);
 				{
-				setState(57);
-				match(STOREFP);
-				code[i++] = STOREFP;
+				setState(58);
+				match(LOADFP);
+				code[i++] = LOADFP;
 				}
 				break;
 			case 21:
 				enterOuterAlt(_localctx, 21);
 				{
-				setState(59);
-				match(COPYFP);
-				code[i++] = COPYFP;
+				setState(60);
+				match(STOREFP);
+				code[i++] = STOREFP;
 				}
 				break;
 			case 22:
 				enterOuterAlt(_localctx, 22);
 				{
-				setState(61);
-				match(LOADHP);
-				code[i++] = LOADHP;
+				setState(62);
+				match(COPYFP);
+				code[i++] = COPYFP;
 				}
 				break;
 			case 23:
 				enterOuterAlt(_localctx, 23);
 				{
-				setState(63);
-				match(STOREHP);
-				code[i++] = STOREHP;
+				setState(64);
+				match(LOADHP);
+				code[i++] = LOADHP;
 				}
 				break;
 			case 24:
 				enterOuterAlt(_localctx, 24);
 				{
-				setState(65);
-				match(PRINT);
-				code[i++] = PRINT;
+				setState(66);
+				match(STOREHP);
+				code[i++] = STOREHP;
 				}
 				break;
 			case 25:
 				enterOuterAlt(_localctx, 25);
 				{
-				setState(67);
+				setState(68);
+				match(ALLOC);
+				setState(69);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				code[i++] = ALLOC;
+					                   code[i++] = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null));
+				}
+				break;
+			case 26:
+				enterOuterAlt(_localctx, 26);
+				{
+				setState(71);
+				match(MEMO);
+				setState(72);
+				((InstructionContext)_localctx).t = match(INTEGER);
+				setState(73);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				code[i++] = MEMO;
+					                   code[i++] = Integer.parseInt((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getText():null));
+					                   code[i++] = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null));
+				}
+				break;
+			case 27:
+				enterOuterAlt(_localctx, 27);
+				{
+				setState(75);
+				match(MEMOPUT);
+				setState(76);
+				((InstructionContext)_localctx).t = match(INTEGER);
+				setState(77);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				code[i++] = MEMOPUT;
+					                   code[i++] = Integer.parseInt((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getText():null));
+					                   code[i++] = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null));
+				}
+				break;
+			case 28:
+				enterOuterAlt(_localctx, 28);
+				{
+				setState(79);
+				match(FORK);
+				setState(80);
+				((InstructionContext)_localctx).l = match(LABEL);
+				code[i++] = FORK;
+					                   labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
+				}
+				break;
+			case 29:
+				enterOuterAlt(_localctx, 29);
+				{
+				setState(82);
+				match(JOINALL);
+				setState(83);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				code[i++] = JOINALL;
+					                   code[i++] = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null));
+				}
+				break;
+			case 30:
+				enterOuterAlt(_localctx, 30);
+				{
+				setState(85);
+				match(DONE);
+				code[i++] = DONE;
+				}
+				break;
+			case 31:
+				enterOuterAlt(_localctx, 31);
+				{
+				setState(87);
+				match(PRINT);
+				code[i++] = PRINT;
+				}
+				break;
+			case 32:
+				enterOuterAlt(_localctx, 32);
+				{
+				setState(89);
+				match(READ);
+				code[i++] = READ;
+				}
+				break;
+			case 33:
+				enterOuterAlt(_localctx, 33);
+				{
+				setState(91);
 				match(HALT);
 				code[i++] = HALT;
 				}
 				break;
+			case 34:
+				enterOuterAlt(_localctx, 34);
+				{
+				setState(93);
+				match(WORD);
+				setState(94);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				if (dataSection) heap[h++] = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null));
+					                     else { dispatchTables.merge(lastLabel, 1, Integer::sum);
+					                            code[i++] = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null)); }
+				}
+				break;
+			case 35:
+				enterOuterAlt(_localctx, 35);
+				{
+				setState(96);
+				match(WORD);
+				setState(97);
+				((InstructionContext)_localctx).l = match(LABEL);
+				if (dataSection) dataLabelRef.put(h++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
+					                     else { dispatchTables.merge(lastLabel, 1, Integer::sum);
+					                            labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null)); }
+				}
+				break;
+			case 36:
+				enterOuterAlt(_localctx, 36);
+				{
+				setState(99);
+				match(DATA);
+				dataSection = true;
+				}
+				break;
+			case 37:
+				enterOuterAlt(_localctx, 37);
+				{
+				setState(101);
+				match(TEXT);
+				dataSection = false;
+				}
+				break;
+			case 38:
+				enterOuterAlt(_localctx, 38);
+				{
+				setState(103);
+				match(LINE);
+				setState(104);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				line = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null));
+				}
+				break;
+			case 39:
+				enterOuterAlt(_localctx, 39);
+				{
+				setState(106);
+				match(FUNCTION);
+				setState(107);
+				((InstructionContext)_localctx).s = match(STRING);
+				setState(108);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				codeMap.addFunction(i, (((InstructionContext)_localctx).s!=null?((InstructionContext)_localctx).s.getText():null).substring(1, (((InstructionContext)_localctx).s!=null?((InstructionContext)_localctx).s.getText():null).length() - 1),
+					                                                Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null)), false);
+				}
+				break;
+			case 40:
+				enterOuterAlt(_localctx, 40);
+				{
+				setState(110);
+				match(TASK);
+				setState(111);
+				((InstructionContext)_localctx).s = match(STRING);
+				setState(112);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				setState(113);
+				((InstructionContext)_localctx).k = match(STRING);
+				codeMap.addTask(i, (((InstructionContext)_localctx).s!=null?((InstructionContext)_localctx).s.getText():null).substring(1, (((InstructionContext)_localctx).s!=null?((InstructionContext)_localctx).s.getText():null).length() - 1),
+					                                            Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null)), (((InstructionContext)_localctx).k!=null?((InstructionContext)_localctx).k.getText():null).charAt(1));
+				}
+				break;
+			case 41:
+				enterOuterAlt(_localctx, 41);
+				{
+				setState(115);
+				match(CLASS);
+				setState(116);
+				((InstructionContext)_localctx).s = match(STRING);
+				setState(117);
+				((InstructionContext)_localctx).k = match(STRING);
+				codeMap.addClass(i, (((InstructionContext)_localctx).s!=null?((InstructionContext)_localctx).s.getText():null).substring(1, (((InstructionContext)_localctx).s!=null?((InstructionContext)_localctx).s.getText():null).length() - 1),
+					                                          (((InstructionContext)_localctx).k!=null?((InstructionContext)_localctx).k.getText():null).substring(1, (((InstructionContext)_localctx).k!=null?((InstructionContext)_localctx).k.getText():null).length() - 1));
+				}
+				break;
 			}
+			_ctx.stop = _input.LT(-1);
+			 Arrays.fill(sourceLines, start, i, line); 
 		}
 		catch (RecognitionException re) {
 			_localctx.exception = re;
@@ -459,9 +690,17 @@ public class SVMParser extends Parser {
 	}
 
 	public static final String _serializedATN =
-		"\u0004\u0001\u001dH\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0001"+
-		"\u0000\u0005\u0000\u0006\b\u0000\n\u0000\f\u0000\t\t\u0000\u0001\u0000"+
-		"\u0001\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0004\u0001-z\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0001\u0000"+
+		"\u0005\u0000\u0006\b\u0000\n\u0000\f\u0000\t\t\u0000\u0001\u0000\u0001"+
+		"\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
@@ -470,48 +709,71 @@ public class SVMParser extends Parser {
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
-		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0003\u0001F\b\u0001"+
-		"\u0001\u0001\u0000\u0000\u0002\u0000\u0002\u0000\u0000^\u0000\u0007\u0001"+
-		"\u0000\u0000\u0000\u0002E\u0001\u0000\u0000\u0000\u0004\u0006\u0003\u0002"+
-		"\u0001\u0000\u0005\u0004\u0001\u0000\u0000\u0000\u0006\t\u0001\u0000\u0000"+
-		"\u0000\u0007\u0005\u0001\u0000\u0000\u0000\u0007\b\u0001\u0000\u0000\u0000"+
-		"\b\n\u0001\u0000\u0000\u0000\t\u0007\u0001\u0000\u0000\u0000\n\u000b\u0005"+
-		"\u0000\u0000\u0001\u000b\f\u0006\u0000\uffff\uffff\u0000\f\u0001\u0001"+
-		"\u0000\u0000\u0000\r\u000e\u0005\u0001\u0000\u0000\u000e\u000f\u0005\u001a"+
-		"\u0000\u0000\u000fF\u0006\u0001\uffff\uffff\u0000\u0010\u0011\u0005\u0001"+
-		"\u0000\u0000\u0011\u0012\u0005\u0019\u0000\u0000\u0012F\u0006\u0001\uffff"+
-		"\uffff\u0000\u0013\u0014\u0005\u0002\u0000\u0000\u0014F\u0006\u0001\uffff"+
-		"\uffff\u0000\u0015\u0016\u0005\u0003\u0000\u0000\u0016F\u0006\u0001\uffff"+
-		"\uffff\u0000\u0017\u0018\u0005\u0004\u0000\u0000\u0018F\u0006\u0001\uffff"+
-		"\uffff\u0000\u0019\u001a\u0005\u0005\u0000\u0000\u001aF\u0006\u0001\uffff"+
-		"\uffff\u0000\u001b\u001c\u0005\u0006\u0000\u0000\u001cF\u0006\u0001\uffff"+
-		"\uffff\u0000\u001d\u001e\u0005\u0007\u0000\u0000\u001eF\u0006\u0001\uffff"+
-		"\uffff\u0000\u001f \u0005\b\u0000\u0000 F\u0006\u0001\uffff\uffff\u0000"+
-		"!\"\u0005\u0019\u0000\u0000\"#\u0005\u0018\u0000\u0000#F\u0006\u0001\uffff"+
-		"\uffff\u0000$%\u0005\t\u0000\u0000%&\u0005\u0019\u0000\u0000&F\u0006\u0001"+
-		"\uffff\uffff\u0000\'(\u0005\n\u0000\u0000()\u0005\u0019\u0000\u0000)F"+
-		"\u0006\u0001\uffff\uffff\u0000*+\u0005\u000b\u0000\u0000+,\u0005\u0019"+
-		"\u0000\u0000,F\u0006\u0001\uffff\uffff\u0000-.\u0005\f\u0000\u0000.F\u0006"+
-		"\u0001\uffff\uffff\u0000/0\u0005\r\u0000\u00000F\u0006\u0001\uffff\uffff"+
-		"\u000012\u0005\u000e\u0000\u00002F\u0006\u0001\uffff\uffff\u000034\u0005"+
-		"\u000f\u0000\u00004F\u0006\u0001\uffff\uffff\u000056\u0005\u0010\u0000"+
-		"\u00006F\u0006\u0001\uffff\uffff\u000078\u0005\u0011\u0000\u00008F\u0006"+
-		"\u0001\uffff\uffff\u00009:\u0005\u0012\u0000\u0000:F\u0006\u0001\uffff"+
-		"\uffff\u0000;<\u0005\u0013\u0000\u0000<F\u0006\u0001\uffff\uffff\u0000"+
-		"=>\u0005\u0014\u0000\u0000>F\u0006\u0001\uffff\uffff\u0000?@\u0005\u0015"+
-		"\u0000\u0000@F\u0006\u0001\uffff\uffff\u0000AB\u0005\u0016\u0000\u0000"+
-		"BF\u0006\u0001\uffff\uffff\u0000CD\u0005\u0017\u0000\u0000DF\u0006\u0001"+
-		"\uffff\uffff\u0000E\r\u0001\u0000\u0000\u0000E\u0010\u0001\u0000\u0000"+
-		"\u0000E\u0013\u0001\u0000\u0000\u0000E\u0015\u0001\u0000\u0000\u0000E"+
-		"\u0017\u0001\u0000\u0000\u0000E\u0019\u0001\u0000\u0000\u0000E\u001b\u0001"+
-		"\u0000\u0000\u0000E\u001d\u0001\u0000\u0000\u0000E\u001f\u0001\u0000\u0000"+
-		"\u0000E!\u0001\u0000\u0000\u0000E$\u0001\u0000\u0000\u0000E\'\u0001\u0000"+
-		"\u0000\u0000E*\u0001\u0000\u0000\u0000E-\u0001\u0000\u0000\u0000E/\u0001"+
-		"\u0000\u0000\u0000E1\u0001\u0000\u0000\u0000E3\u0001\u0000\u0000\u0000"+
-		"E5\u0001\u0000\u0000\u0000E7\u0001\u0000\u0000\u0000E9\u0001\u0000\u0000"+
-		"\u0000E;\u0001\u0000\u0000\u0000E=\u0001\u0000\u0000\u0000E?\u0001\u0000"+
-		"\u0000\u0000EA\u0001\u0000\u0000\u0000EC\u0001\u0000\u0000\u0000F\u0003"+
-		"\u0001\u0000\u0000\u0000\u0002\u0007E";
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0003"+
+		"\u0001x\b\u0001\u0001\u0001\u0000\u0000\u0002\u0000\u0002\u0000\u0000"+
+		"\u00a0\u0000\u0007\u0001\u0000\u0000\u0000\u0002w\u0001\u0000\u0000\u0000"+
+		"\u0004\u0006\u0003\u0002\u0001\u0000\u0005\u0004\u0001\u0000\u0000\u0000"+
+		"\u0006\t\u0001\u0000\u0000\u0000\u0007\u0005\u0001\u0000\u0000\u0000\u0007"+
+		"\b\u0001\u0000\u0000\u0000\b\n\u0001\u0000\u0000\u0000\t\u0007\u0001\u0000"+
+		"\u0000\u0000\n\u000b\u0005\u0000\u0000\u0001\u000b\f\u0006\u0000\uffff"+
+		"\uffff\u0000\f\u0001\u0001\u0000\u0000\u0000\r\u000e\u0005\u0001\u0000"+
+		"\u0000\u000e\u000f\u0005)\u0000\u0000\u000fx\u0006\u0001\uffff\uffff\u0000"+
+		"\u0010\u0011\u0005\u0001\u0000\u0000\u0011\u0012\u0005(\u0000\u0000\u0012"+
+		"x\u0006\u0001\uffff\uffff\u0000\u0013\u0014\u0005\u0002\u0000\u0000\u0014"+
+		"x\u0006\u0001\uffff\uffff\u0000\u0015\u0016\u0005\u0003\u0000\u0000\u0016"+
+		"x\u0006\u0001\uffff\uffff\u0000\u0017\u0018\u0005\u0004\u0000\u0000\u0018"+
+		"x\u0006\u0001\uffff\uffff\u0000\u0019\u001a\u0005\u0005\u0000\u0000\u001a"+
+		"x\u0006\u0001\uffff\uffff\u0000\u001b\u001c\u0005\u0006\u0000\u0000\u001c"+
+		"x\u0006\u0001\uffff\uffff\u0000\u001d\u001e\u0005\u0007\u0000\u0000\u001e"+
+		"x\u0006\u0001\uffff\uffff\u0000\u001f \u0005\b\u0000\u0000 x\u0006\u0001"+
+		"\uffff\uffff\u0000!\"\u0005\t\u0000\u0000\"#\u0005)\u0000\u0000#x\u0006"+
+		"\u0001\uffff\uffff\u0000$%\u0005(\u0000\u0000%&\u0005\'\u0000\u0000&x"+
+		"\u0006\u0001\uffff\uffff\u0000\'(\u0005\n\u0000\u0000()\u0005(\u0000\u0000"+
+		")x\u0006\u0001\uffff\uffff\u0000*+\u0005\u000b\u0000\u0000+,\u0005(\u0000"+
+		"\u0000,x\u0006\u0001\uffff\uffff\u0000-.\u0005\f\u0000\u0000./\u0005("+
+		"\u0000\u0000/x\u0006\u0001\uffff\uffff\u000001\u0005\r\u0000\u00001x\u0006"+
+		"\u0001\uffff\uffff\u000023\u0005\u000e\u0000\u00003x\u0006\u0001\uffff"+
+		"\uffff\u000045\u0005\u000f\u0000\u00005x\u0006\u0001\uffff\uffff\u0000"+
+		"67\u0005\u0010\u0000\u00007x\u0006\u0001\uffff\uffff\u000089\u0005\u0011"+
+		"\u0000\u00009x\u0006\u0001\uffff\uffff\u0000:;\u0005\u0012\u0000\u0000"+
+		";x\u0006\u0001\uffff\uffff\u0000<=\u0005\u0013\u0000\u0000=x\u0006\u0001"+
+		"\uffff\uffff\u0000>?\u0005\u0014\u0000\u0000?x\u0006\u0001\uffff\uffff"+
+		"\u0000@A\u0005\u0015\u0000\u0000Ax\u0006\u0001\uffff\uffff\u0000BC\u0005"+
+		"\u0016\u0000\u0000Cx\u0006\u0001\uffff\uffff\u0000DE\u0005\u0017\u0000"+
+		"\u0000EF\u0005)\u0000\u0000Fx\u0006\u0001\uffff\uffff\u0000GH\u0005\u0018"+
+		"\u0000\u0000HI\u0005)\u0000\u0000IJ\u0005)\u0000\u0000Jx\u0006\u0001\uffff"+
+		"\uffff\u0000KL\u0005\u0019\u0000\u0000LM\u0005)\u0000\u0000MN\u0005)\u0000"+
+		"\u0000Nx\u0006\u0001\uffff\uffff\u0000OP\u0005\u001a\u0000\u0000PQ\u0005"+
+		"(\u0000\u0000Qx\u0006\u0001\uffff\uffff\u0000RS\u0005\u001b\u0000\u0000"+
+		"ST\u0005)\u0000\u0000Tx\u0006\u0001\uffff\uffff\u0000UV\u0005\u001c\u0000"+
+		"\u0000Vx\u0006\u0001\uffff\uffff\u0000WX\u0005\u001d\u0000\u0000Xx\u0006"+
+		"\u0001\uffff\uffff\u0000YZ\u0005\u001e\u0000\u0000Zx\u0006\u0001\uffff"+
+		"\uffff\u0000[\\\u0005\u001f\u0000\u0000\\x\u0006\u0001\uffff\uffff\u0000"+
+		"]^\u0005 \u0000\u0000^_\u0005)\u0000\u0000_x\u0006\u0001\uffff\uffff\u0000"+
+		"`a\u0005 \u0000\u0000ab\u0005(\u0000\u0000bx\u0006\u0001\uffff\uffff\u0000"+
+		"cd\u0005!\u0000\u0000dx\u0006\u0001\uffff\uffff\u0000ef\u0005\"\u0000"+
+		"\u0000fx\u0006\u0001\uffff\uffff\u0000gh\u0005#\u0000\u0000hi\u0005)\u0000"+
+		"\u0000ix\u0006\u0001\uffff\uffff\u0000jk\u0005$\u0000\u0000kl\u0005*\u0000"+
+		"\u0000lm\u0005)\u0000\u0000mx\u0006\u0001\uffff\uffff\u0000no\u0005%\u0000"+
+		"\u0000op\u0005*\u0000\u0000pq\u0005)\u0000\u0000qr\u0005*\u0000\u0000"+
+		"rx\u0006\u0001\uffff\uffff\u0000st\u0005&\u0000\u0000tu\u0005*\u0000\u0000"+
+		"uv\u0005*\u0000\u0000vx\u0006\u0001\uffff\uffff\u0000w\r\u0001\u0000\u0000"+
+		"\u0000w\u0010\u0001\u0000\u0000\u0000w\u0013\u0001\u0000\u0000\u0000w"+
+		"\u0015\u0001\u0000\u0000\u0000w\u0017\u0001\u0000\u0000\u0000w\u0019\u0001"+
+		"\u0000\u0000\u0000w\u001b\u0001\u0000\u0000\u0000w\u001d\u0001\u0000\u0000"+
+		"\u0000w\u001f\u0001\u0000\u0000\u0000w!\u0001\u0000\u0000\u0000w$\u0001"+
+		"\u0000\u0000\u0000w\'\u0001\u0000\u0000\u0000w*\u0001\u0000\u0000\u0000"+
+		"w-\u0001\u0000\u0000\u0000w0\u0001\u0000\u0000\u0000w2\u0001\u0000\u0000"+
+		"\u0000w4\u0001\u0000\u0000\u0000w6\u0001\u0000\u0000\u0000w8\u0001\u0000"+
+		"\u0000\u0000w:\u0001\u0000\u0000\u0000w<\u0001\u0000\u0000\u0000w>\u0001"+
+		"\u0000\u0000\u0000w@\u0001\u0000\u0000\u0000wB\u0001\u0000\u0000\u0000"+
+		"wD\u0001\u0000\u0000\u0000wG\u0001\u0000\u0000\u0000wK\u0001\u0000\u0000"+
+		"\u0000wO\u0001\u0000\u0000\u0000wR\u0001\u0000\u0000\u0000wU\u0001\u0000"+
+		"\u0000\u0000wW\u0001\u0000\u0000\u0000wY\u0001\u0000\u0000\u0000w[\u0001"+
+		"\u0000\u0000\u0000w]\u0001\u0000\u0000\u0000w`\u0001\u0000\u0000\u0000"+
+		"wc\u0001\u0000\u0000\u0000we\u0001\u0000\u0000\u0000wg\u0001\u0000\u0000"+
+		"\u0000wj\u0001\u0000\u0000\u0000wn\u0001\u0000\u0000\u0000ws\u0001\u0000"+
+		"\u0000\u0000x\u0003\u0001\u0000\u0000\u0000\u0002\u0007w";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
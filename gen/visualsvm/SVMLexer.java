@@ -17,10 +17,13 @@ public class SVMLexer extends Lexer {
 	protected static final PredictionContextCache _sharedContextCache =
 		new PredictionContextCache();
 	public static final int
-		PUSH=1, POP=2, ADD=3, SUB=4, MULT=5, DIV=6, STOREW=7, LOADW=8, BRANCH=9, 
-		BRANCHEQ=10, BRANCHLESSEQ=11, JS=12, LOADRA=13, STORERA=14, LOADTM=15, 
-		STORETM=16, LOADFP=17, STOREFP=18, COPYFP=19, LOADHP=20, STOREHP=21, PRINT=22, 
-		HALT=23, COL=24, LABEL=25, INTEGER=26, COMMENT=27, WHITESP=28, ERR=29;
+		PUSH=1, POP=2, ADD=3, SUB=4, MULT=5, DIV=6, STOREW=7, LOADW=8, LOADMETHOD=9, 
+		BRANCH=10, BRANCHEQ=11, BRANCHLESSEQ=12, JS=13, LOADRA=14, STORERA=15, 
+		LOADTM=16, STORETM=17, LOADFP=18, STOREFP=19, COPYFP=20, LOADHP=21, STOREHP=22, 
+		ALLOC=23, MEMO=24, MEMOPUT=25, FORK=26, JOINALL=27, DONE=28, PRINT=29, 
+		READ=30, HALT=31, WORD=32, DATA=33, TEXT=34, LINE=35, FUNCTION=36, TASK=37, 
+		CLASS=38, COL=39, LABEL=40, INTEGER=41, STRING=42, COMMENT=43, WHITESP=44, 
+		ERR=45;
 	public static String[] channelNames = {
 		"DEFAULT_TOKEN_CHANNEL", "HIDDEN"
 	};
@@ -31,10 +34,12 @@ public class SVMLexer extends Lexer {
 
 	private static String[] makeRuleNames() {
 		return new String[] {
-			"PUSH", "POP", "ADD", "SUB", "MULT", "DIV", "STOREW", "LOADW", "BRANCH", 
-			"BRANCHEQ", "BRANCHLESSEQ", "JS", "LOADRA", "STORERA", "LOADTM", "STORETM", 
-			"LOADFP", "STOREFP", "COPYFP", "LOADHP", "STOREHP", "PRINT", "HALT", 
-			"COL", "LABEL", "INTEGER", "COMMENT", "WHITESP", "ERR"
+			"PUSH", "POP", "ADD", "SUB", "MULT", "DIV", "STOREW", "LOADW", "LOADMETHOD", 
+			"BRANCH", "BRANCHEQ", "BRANCHLESSEQ", "JS", "LOADRA", "STORERA", "LOADTM", 
+			"STORETM", "LOADFP", "STOREFP", "COPYFP", "LOADHP", "STOREHP", "ALLOC", 
+			"MEMO", "MEMOPUT", "FORK", "JOINALL", "DONE", "PRINT", "READ", "HALT", 
+			"WORD", "DATA", "TEXT", "LINE", "FUNCTION", "TASK", "CLASS", "COL", "LABEL", 
+			"INTEGER", "STRING", "COMMENT", "WHITESP", "ERR"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -42,18 +47,22 @@ public class SVMLexer extends Lexer {
 	private static String[] makeLiteralNames() {
 		return new String[] {
 			null, "'push'", "'pop'", "'add'", "'sub'", "'mult'", "'div'", "'sw'", 
-			"'lw'", "'b'", "'beq'", "'bleq'", "'js'", "'lra'", "'sra'", "'ltm'", 
-			"'stm'", "'lfp'", "'sfp'", "'cfp'", "'lhp'", "'shp'", "'print'", "'halt'", 
-			"':'"
+			"'lw'", "'lm'", "'b'", "'beq'", "'bleq'", "'js'", "'lra'", "'sra'", "'ltm'", 
+			"'stm'", "'lfp'", "'sfp'", "'cfp'", "'lhp'", "'shp'", "'alloc'", "'memo'", 
+			"'mput'", "'fork'", "'joinall'", "'done'", "'print'", "'read'", "'halt'", 
+			"'.word'", "'.data'", "'.text'", "'.line'", "'.function'", "'.task'", 
+			"'.class'", "':'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
 	private static String[] makeSymbolicNames() {
 		return new String[] {
 			null, "PUSH", "POP", "ADD", "SUB", "MULT", "DIV", "STOREW", "LOADW", 
-			"BRANCH", "BRANCHEQ", "BRANCHLESSEQ", "JS", "LOADRA", "STORERA", "LOADTM", 
-			"STORETM", "LOADFP", "STOREFP", "COPYFP", "LOADHP", "STOREHP", "PRINT", 
-			"HALT", "COL", "LABEL", "INTEGER", "COMMENT", "WHITESP", "ERR"
+			"LOADMETHOD", "BRANCH", "BRANCHEQ", "BRANCHLESSEQ", "JS", "LOADRA", "STORERA", 
+			"LOADTM", "STORETM", "LOADFP", "STOREFP", "COPYFP", "LOADHP", "STOREHP", 
+			"ALLOC", "MEMO", "MEMOPUT", "FORK", "JOINALL", "DONE", "PRINT", "READ", 
+			"HALT", "WORD", "DATA", "TEXT", "LINE", "FUNCTION", "TASK", "CLASS", 
+			"COL", "LABEL", "INTEGER", "STRING", "COMMENT", "WHITESP", "ERR"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -120,7 +129,7 @@ public class SVMLexer extends Lexer {
 	@Override
 	public void action(RuleContext _localctx, int ruleIndex, int actionIndex) {
 		switch (ruleIndex) {
-		case 28:
+		case 44:
 			ERR_action((RuleContext)_localctx, actionIndex);
 			break;
 		}
@@ -134,129 +143,204 @@ public class SVMLexer extends Lexer {
 	}
 
 	public static final String _serializedATN =
-		"\u0004\u0000\u001d\u00c8\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002"+
-		"\u0001\u0007\u0001\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002"+
-		"\u0004\u0007\u0004\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002"+
-		"\u0007\u0007\u0007\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002"+
-		"\u000b\u0007\u000b\u0002\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e"+
-		"\u0002\u000f\u0007\u000f\u0002\u0010\u0007\u0010\u0002\u0011\u0007\u0011"+
-		"\u0002\u0012\u0007\u0012\u0002\u0013\u0007\u0013\u0002\u0014\u0007\u0014"+
-		"\u0002\u0015\u0007\u0015\u0002\u0016\u0007\u0016\u0002\u0017\u0007\u0017"+
-		"\u0002\u0018\u0007\u0018\u0002\u0019\u0007\u0019\u0002\u001a\u0007\u001a"+
-		"\u0002\u001b\u0007\u001b\u0002\u001c\u0007\u001c\u0001\u0000\u0001\u0000"+
-		"\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0001"+
-		"\u0001\u0001\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0003"+
-		"\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0004\u0001\u0004\u0001\u0004"+
-		"\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
-		"\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0007\u0001\u0007\u0001\u0007"+
-		"\u0001\b\u0001\b\u0001\t\u0001\t\u0001\t\u0001\t\u0001\n\u0001\n\u0001"+
-		"\n\u0001\n\u0001\n\u0001\u000b\u0001\u000b\u0001\u000b\u0001\f\u0001\f"+
-		"\u0001\f\u0001\f\u0001\r\u0001\r\u0001\r\u0001\r\u0001\u000e\u0001\u000e"+
-		"\u0001\u000e\u0001\u000e\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u000f"+
-		"\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0011\u0001\u0011"+
-		"\u0001\u0011\u0001\u0011\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0012"+
-		"\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0014\u0001\u0014"+
-		"\u0001\u0014\u0001\u0014\u0001\u0015\u0001\u0015\u0001\u0015\u0001\u0015"+
-		"\u0001\u0015\u0001\u0015\u0001\u0016\u0001\u0016\u0001\u0016\u0001\u0016"+
-		"\u0001\u0016\u0001\u0017\u0001\u0017\u0001\u0018\u0001\u0018\u0005\u0018"+
-		"\u009d\b\u0018\n\u0018\f\u0018\u00a0\t\u0018\u0001\u0019\u0001\u0019\u0003"+
-		"\u0019\u00a4\b\u0019\u0001\u0019\u0001\u0019\u0005\u0019\u00a8\b\u0019"+
-		"\n\u0019\f\u0019\u00ab\t\u0019\u0003\u0019\u00ad\b\u0019\u0001\u001a\u0001"+
-		"\u001a\u0001\u001a\u0001\u001a\u0005\u001a\u00b3\b\u001a\n\u001a\f\u001a"+
-		"\u00b6\t\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a"+
-		"\u0001\u001b\u0004\u001b\u00be\b\u001b\u000b\u001b\f\u001b\u00bf\u0001"+
+		"\u0004\u0000-\u014a\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002\u0001"+
+		"\u0007\u0001\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004"+
+		"\u0007\u0004\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007"+
+		"\u0007\u0007\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b"+
+		"\u0007\u000b\u0002\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e\u0002"+
+		"\u000f\u0007\u000f\u0002\u0010\u0007\u0010\u0002\u0011\u0007\u0011\u0002"+
+		"\u0012\u0007\u0012\u0002\u0013\u0007\u0013\u0002\u0014\u0007\u0014\u0002"+
+		"\u0015\u0007\u0015\u0002\u0016\u0007\u0016\u0002\u0017\u0007\u0017\u0002"+
+		"\u0018\u0007\u0018\u0002\u0019\u0007\u0019\u0002\u001a\u0007\u001a\u0002"+
+		"\u001b\u0007\u001b\u0002\u001c\u0007\u001c\u0002\u001d\u0007\u001d\u0002"+
+		"\u001e\u0007\u001e\u0002\u001f\u0007\u001f\u0002 \u0007 \u0002!\u0007"+
+		"!\u0002\"\u0007\"\u0002#\u0007#\u0002$\u0007$\u0002%\u0007%\u0002&\u0007"+
+		"&\u0002\'\u0007\'\u0002(\u0007(\u0002)\u0007)\u0002*\u0007*\u0002+\u0007"+
+		"+\u0002,\u0007,\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0000\u0001"+
+		"\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0002\u0001"+
+		"\u0002\u0001\u0002\u0001\u0002\u0001\u0003\u0001\u0003\u0001\u0003\u0001"+
+		"\u0003\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001"+
+		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0006\u0001\u0006\u0001"+
+		"\u0006\u0001\u0007\u0001\u0007\u0001\u0007\u0001\b\u0001\b\u0001\b\u0001"+
+		"\t\u0001\t\u0001\n\u0001\n\u0001\n\u0001\n\u0001\u000b\u0001\u000b\u0001"+
+		"\u000b\u0001\u000b\u0001\u000b\u0001\f\u0001\f\u0001\f\u0001\r\u0001\r"+
+		"\u0001\r\u0001\r\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000e\u0001"+
+		"\u000f\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u0010\u0001\u0010\u0001"+
+		"\u0010\u0001\u0010\u0001\u0011\u0001\u0011\u0001\u0011\u0001\u0011\u0001"+
+		"\u0012\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0013\u0001\u0013\u0001"+
+		"\u0013\u0001\u0013\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001"+
+		"\u0015\u0001\u0015\u0001\u0015\u0001\u0015\u0001\u0016\u0001\u0016\u0001"+
+		"\u0016\u0001\u0016\u0001\u0016\u0001\u0016\u0001\u0017\u0001\u0017\u0001"+
+		"\u0017\u0001\u0017\u0001\u0017\u0001\u0018\u0001\u0018\u0001\u0018\u0001"+
+		"\u0018\u0001\u0018\u0001\u0019\u0001\u0019\u0001\u0019\u0001\u0019\u0001"+
+		"\u0019\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001"+
+		"\u001a\u0001\u001a\u0001\u001a\u0001\u001b\u0001\u001b\u0001\u001b\u0001"+
 		"\u001b\u0001\u001b\u0001\u001c\u0001\u001c\u0001\u001c\u0001\u001c\u0001"+
-		"\u001c\u0001\u00b4\u0000\u001d\u0001\u0001\u0003\u0002\u0005\u0003\u0007"+
-		"\u0004\t\u0005\u000b\u0006\r\u0007\u000f\b\u0011\t\u0013\n\u0015\u000b"+
-		"\u0017\f\u0019\r\u001b\u000e\u001d\u000f\u001f\u0010!\u0011#\u0012%\u0013"+
-		"\'\u0014)\u0015+\u0016-\u0017/\u00181\u00193\u001a5\u001b7\u001c9\u001d"+
-		"\u0001\u0000\u0003\u0002\u0000AZaz\u0003\u000009AZaz\u0003\u0000\t\n\r"+
-		"\r  \u00cd\u0000\u0001\u0001\u0000\u0000\u0000\u0000\u0003\u0001\u0000"+
-		"\u0000\u0000\u0000\u0005\u0001\u0000\u0000\u0000\u0000\u0007\u0001\u0000"+
-		"\u0000\u0000\u0000\t\u0001\u0000\u0000\u0000\u0000\u000b\u0001\u0000\u0000"+
-		"\u0000\u0000\r\u0001\u0000\u0000\u0000\u0000\u000f\u0001\u0000\u0000\u0000"+
-		"\u0000\u0011\u0001\u0000\u0000\u0000\u0000\u0013\u0001\u0000\u0000\u0000"+
-		"\u0000\u0015\u0001\u0000\u0000\u0000\u0000\u0017\u0001\u0000\u0000\u0000"+
-		"\u0000\u0019\u0001\u0000\u0000\u0000\u0000\u001b\u0001\u0000\u0000\u0000"+
-		"\u0000\u001d\u0001\u0000\u0000\u0000\u0000\u001f\u0001\u0000\u0000\u0000"+
-		"\u0000!\u0001\u0000\u0000\u0000\u0000#\u0001\u0000\u0000\u0000\u0000%"+
-		"\u0001\u0000\u0000\u0000\u0000\'\u0001\u0000\u0000\u0000\u0000)\u0001"+
-		"\u0000\u0000\u0000\u0000+\u0001\u0000\u0000\u0000\u0000-\u0001\u0000\u0000"+
-		"\u0000\u0000/\u0001\u0000\u0000\u0000\u00001\u0001\u0000\u0000\u0000\u0000"+
-		"3\u0001\u0000\u0000\u0000\u00005\u0001\u0000\u0000\u0000\u00007\u0001"+
-		"\u0000\u0000\u0000\u00009\u0001\u0000\u0000\u0000\u0001;\u0001\u0000\u0000"+
-		"\u0000\u0003@\u0001\u0000\u0000\u0000\u0005D\u0001\u0000\u0000\u0000\u0007"+
-		"H\u0001\u0000\u0000\u0000\tL\u0001\u0000\u0000\u0000\u000bQ\u0001\u0000"+
-		"\u0000\u0000\rU\u0001\u0000\u0000\u0000\u000fX\u0001\u0000\u0000\u0000"+
-		"\u0011[\u0001\u0000\u0000\u0000\u0013]\u0001\u0000\u0000\u0000\u0015a"+
-		"\u0001\u0000\u0000\u0000\u0017f\u0001\u0000\u0000\u0000\u0019i\u0001\u0000"+
-		"\u0000\u0000\u001bm\u0001\u0000\u0000\u0000\u001dq\u0001\u0000\u0000\u0000"+
-		"\u001fu\u0001\u0000\u0000\u0000!y\u0001\u0000\u0000\u0000#}\u0001\u0000"+
-		"\u0000\u0000%\u0081\u0001\u0000\u0000\u0000\'\u0085\u0001\u0000\u0000"+
-		"\u0000)\u0089\u0001\u0000\u0000\u0000+\u008d\u0001\u0000\u0000\u0000-"+
-		"\u0093\u0001\u0000\u0000\u0000/\u0098\u0001\u0000\u0000\u00001\u009a\u0001"+
-		"\u0000\u0000\u00003\u00ac\u0001\u0000\u0000\u00005\u00ae\u0001\u0000\u0000"+
-		"\u00007\u00bd\u0001\u0000\u0000\u00009\u00c3\u0001\u0000\u0000\u0000;"+
-		"<\u0005p\u0000\u0000<=\u0005u\u0000\u0000=>\u0005s\u0000\u0000>?\u0005"+
-		"h\u0000\u0000?\u0002\u0001\u0000\u0000\u0000@A\u0005p\u0000\u0000AB\u0005"+
-		"o\u0000\u0000BC\u0005p\u0000\u0000C\u0004\u0001\u0000\u0000\u0000DE\u0005"+
-		"a\u0000\u0000EF\u0005d\u0000\u0000FG\u0005d\u0000\u0000G\u0006\u0001\u0000"+
-		"\u0000\u0000HI\u0005s\u0000\u0000IJ\u0005u\u0000\u0000JK\u0005b\u0000"+
-		"\u0000K\b\u0001\u0000\u0000\u0000LM\u0005m\u0000\u0000MN\u0005u\u0000"+
-		"\u0000NO\u0005l\u0000\u0000OP\u0005t\u0000\u0000P\n\u0001\u0000\u0000"+
-		"\u0000QR\u0005d\u0000\u0000RS\u0005i\u0000\u0000ST\u0005v\u0000\u0000"+
-		"T\f\u0001\u0000\u0000\u0000UV\u0005s\u0000\u0000VW\u0005w\u0000\u0000"+
-		"W\u000e\u0001\u0000\u0000\u0000XY\u0005l\u0000\u0000YZ\u0005w\u0000\u0000"+
-		"Z\u0010\u0001\u0000\u0000\u0000[\\\u0005b\u0000\u0000\\\u0012\u0001\u0000"+
-		"\u0000\u0000]^\u0005b\u0000\u0000^_\u0005e\u0000\u0000_`\u0005q\u0000"+
-		"\u0000`\u0014\u0001\u0000\u0000\u0000ab\u0005b\u0000\u0000bc\u0005l\u0000"+
-		"\u0000cd\u0005e\u0000\u0000de\u0005q\u0000\u0000e\u0016\u0001\u0000\u0000"+
-		"\u0000fg\u0005j\u0000\u0000gh\u0005s\u0000\u0000h\u0018\u0001\u0000\u0000"+
-		"\u0000ij\u0005l\u0000\u0000jk\u0005r\u0000\u0000kl\u0005a\u0000\u0000"+
-		"l\u001a\u0001\u0000\u0000\u0000mn\u0005s\u0000\u0000no\u0005r\u0000\u0000"+
-		"op\u0005a\u0000\u0000p\u001c\u0001\u0000\u0000\u0000qr\u0005l\u0000\u0000"+
-		"rs\u0005t\u0000\u0000st\u0005m\u0000\u0000t\u001e\u0001\u0000\u0000\u0000"+
-		"uv\u0005s\u0000\u0000vw\u0005t\u0000\u0000wx\u0005m\u0000\u0000x \u0001"+
-		"\u0000\u0000\u0000yz\u0005l\u0000\u0000z{\u0005f\u0000\u0000{|\u0005p"+
-		"\u0000\u0000|\"\u0001\u0000\u0000\u0000}~\u0005s\u0000\u0000~\u007f\u0005"+
-		"f\u0000\u0000\u007f\u0080\u0005p\u0000\u0000\u0080$\u0001\u0000\u0000"+
-		"\u0000\u0081\u0082\u0005c\u0000\u0000\u0082\u0083\u0005f\u0000\u0000\u0083"+
-		"\u0084\u0005p\u0000\u0000\u0084&\u0001\u0000\u0000\u0000\u0085\u0086\u0005"+
-		"l\u0000\u0000\u0086\u0087\u0005h\u0000\u0000\u0087\u0088\u0005p\u0000"+
-		"\u0000\u0088(\u0001\u0000\u0000\u0000\u0089\u008a\u0005s\u0000\u0000\u008a"+
-		"\u008b\u0005h\u0000\u0000\u008b\u008c\u0005p\u0000\u0000\u008c*\u0001"+
-		"\u0000\u0000\u0000\u008d\u008e\u0005p\u0000\u0000\u008e\u008f\u0005r\u0000"+
-		"\u0000\u008f\u0090\u0005i\u0000\u0000\u0090\u0091\u0005n\u0000\u0000\u0091"+
-		"\u0092\u0005t\u0000\u0000\u0092,\u0001\u0000\u0000\u0000\u0093\u0094\u0005"+
-		"h\u0000\u0000\u0094\u0095\u0005a\u0000\u0000\u0095\u0096\u0005l\u0000"+
-		"\u0000\u0096\u0097\u0005t\u0000\u0000\u0097.\u0001\u0000\u0000\u0000\u0098"+
-		"\u0099\u0005:\u0000\u0000\u00990\u0001\u0000\u0000\u0000\u009a\u009e\u0007"+
-		"\u0000\u0000\u0000\u009b\u009d\u0007\u0001\u0000\u0000\u009c\u009b\u0001"+
-		"\u0000\u0000\u0000\u009d\u00a0\u0001\u0000\u0000\u0000\u009e\u009c\u0001"+
-		"\u0000\u0000\u0000\u009e\u009f\u0001\u0000\u0000\u0000\u009f2\u0001\u0000"+
-		"\u0000\u0000\u00a0\u009e\u0001\u0000\u0000\u0000\u00a1\u00ad\u00050\u0000"+
-		"\u0000\u00a2\u00a4\u0005-\u0000\u0000\u00a3\u00a2\u0001\u0000\u0000\u0000"+
-		"\u00a3\u00a4\u0001\u0000\u0000\u0000\u00a4\u00a5\u0001\u0000\u0000\u0000"+
-		"\u00a5\u00a9\u000219\u0000\u00a6\u00a8\u000209\u0000\u00a7\u00a6\u0001"+
-		"\u0000\u0000\u0000\u00a8\u00ab\u0001\u0000\u0000\u0000\u00a9\u00a7\u0001"+
-		"\u0000\u0000\u0000\u00a9\u00aa\u0001\u0000\u0000\u0000\u00aa\u00ad\u0001"+
-		"\u0000\u0000\u0000\u00ab\u00a9\u0001\u0000\u0000\u0000\u00ac\u00a1\u0001"+
-		"\u0000\u0000\u0000\u00ac\u00a3\u0001\u0000\u0000\u0000\u00ad4\u0001\u0000"+
-		"\u0000\u0000\u00ae\u00af\u0005/\u0000\u0000\u00af\u00b0\u0005*\u0000\u0000"+
-		"\u00b0\u00b4\u0001\u0000\u0000\u0000\u00b1\u00b3\t\u0000\u0000\u0000\u00b2"+
-		"\u00b1\u0001\u0000\u0000\u0000\u00b3\u00b6\u0001\u0000\u0000\u0000\u00b4"+
-		"\u00b5\u0001\u0000\u0000\u0000\u00b4\u00b2\u0001\u0000\u0000\u0000\u00b5"+
-		"\u00b7\u0001\u0000\u0000\u0000\u00b6\u00b4\u0001\u0000\u0000\u0000\u00b7"+
-		"\u00b8\u0005*\u0000\u0000\u00b8\u00b9\u0005/\u0000\u0000\u00b9\u00ba\u0001"+
-		"\u0000\u0000\u0000\u00ba\u00bb\u0006\u001a\u0000\u0000\u00bb6\u0001\u0000"+
-		"\u0000\u0000\u00bc\u00be\u0007\u0002\u0000\u0000\u00bd\u00bc\u0001\u0000"+
-		"\u0000\u0000\u00be\u00bf\u0001\u0000\u0000\u0000\u00bf\u00bd\u0001\u0000"+
-		"\u0000\u0000\u00bf\u00c0\u0001\u0000\u0000\u0000\u00c0\u00c1\u0001\u0000"+
-		"\u0000\u0000\u00c1\u00c2\u0006\u001b\u0000\u0000\u00c28\u0001\u0000\u0000"+
-		"\u0000\u00c3\u00c4\t\u0000\u0000\u0000\u00c4\u00c5\u0006\u001c\u0001\u0000"+
-		"\u00c5\u00c6\u0001\u0000\u0000\u0000\u00c6\u00c7\u0006\u001c\u0000\u0000"+
-		"\u00c7:\u0001\u0000\u0000\u0000\u0007\u0000\u009e\u00a3\u00a9\u00ac\u00b4"+
-		"\u00bf\u0002\u0000\u0001\u0000\u0001\u001c\u0000";
+		"\u001c\u0001\u001c\u0001\u001d\u0001\u001d\u0001\u001d\u0001\u001d\u0001"+
+		"\u001d\u0001\u001e\u0001\u001e\u0001\u001e\u0001\u001e\u0001\u001e\u0001"+
+		"\u001f\u0001\u001f\u0001\u001f\u0001\u001f\u0001\u001f\u0001\u001f\u0001"+
+		" \u0001 \u0001 \u0001 \u0001 \u0001 \u0001!\u0001!\u0001!\u0001!\u0001"+
+		"!\u0001!\u0001\"\u0001\"\u0001\"\u0001\"\u0001\"\u0001\"\u0001#\u0001"+
+		"#\u0001#\u0001#\u0001#\u0001#\u0001#\u0001#\u0001#\u0001#\u0001$\u0001"+
+		"$\u0001$\u0001$\u0001$\u0001$\u0001%\u0001%\u0001%\u0001%\u0001%\u0001"+
+		"%\u0001%\u0001&\u0001&\u0001\'\u0001\'\u0005\'\u0116\b\'\n\'\f\'\u0119"+
+		"\t\'\u0001(\u0001(\u0003(\u011d\b(\u0001(\u0001(\u0005(\u0121\b(\n(\f"+
+		"(\u0124\t(\u0003(\u0126\b(\u0001)\u0001)\u0005)\u012a\b)\n)\f)\u012d\t"+
+		")\u0001)\u0001)\u0001*\u0001*\u0001*\u0001*\u0005*\u0135\b*\n*\f*\u0138"+
+		"\t*\u0001*\u0001*\u0001*\u0001*\u0001*\u0001+\u0004+\u0140\b+\u000b+\f"+
+		"+\u0141\u0001+\u0001+\u0001,\u0001,\u0001,\u0001,\u0001,\u0001\u0136\u0000"+
+		"-\u0001\u0001\u0003\u0002\u0005\u0003\u0007\u0004\t\u0005\u000b\u0006"+
+		"\r\u0007\u000f\b\u0011\t\u0013\n\u0015\u000b\u0017\f\u0019\r\u001b\u000e"+
+		"\u001d\u000f\u001f\u0010!\u0011#\u0012%\u0013\'\u0014)\u0015+\u0016-\u0017"+
+		"/\u00181\u00193\u001a5\u001b7\u001c9\u001d;\u001e=\u001f? A!C\"E#G$I%"+
+		"K&M\'O(Q)S*U+W,Y-\u0001\u0000\u0004\u0002\u0000AZaz\u0003\u000009AZaz"+
+		"\u0003\u0000\n\n\r\r\"\"\u0003\u0000\t\n\r\r  \u0150\u0000\u0001\u0001"+
+		"\u0000\u0000\u0000\u0000\u0003\u0001\u0000\u0000\u0000\u0000\u0005\u0001"+
+		"\u0000\u0000\u0000\u0000\u0007\u0001\u0000\u0000\u0000\u0000\t\u0001\u0000"+
+		"\u0000\u0000\u0000\u000b\u0001\u0000\u0000\u0000\u0000\r\u0001\u0000\u0000"+
+		"\u0000\u0000\u000f\u0001\u0000\u0000\u0000\u0000\u0011\u0001\u0000\u0000"+
+		"\u0000\u0000\u0013\u0001\u0000\u0000\u0000\u0000\u0015\u0001\u0000\u0000"+
+		"\u0000\u0000\u0017\u0001\u0000\u0000\u0000\u0000\u0019\u0001\u0000\u0000"+
+		"\u0000\u0000\u001b\u0001\u0000\u0000\u0000\u0000\u001d\u0001\u0000\u0000"+
+		"\u0000\u0000\u001f\u0001\u0000\u0000\u0000\u0000!\u0001\u0000\u0000\u0000"+
+		"\u0000#\u0001\u0000\u0000\u0000\u0000%\u0001\u0000\u0000\u0000\u0000\'"+
+		"\u0001\u0000\u0000\u0000\u0000)\u0001\u0000\u0000\u0000\u0000+\u0001\u0000"+
+		"\u0000\u0000\u0000-\u0001\u0000\u0000\u0000\u0000/\u0001\u0000\u0000\u0000"+
+		"\u00001\u0001\u0000\u0000\u0000\u00003\u0001\u0000\u0000\u0000\u00005"+
+		"\u0001\u0000\u0000\u0000\u00007\u0001\u0000\u0000\u0000\u00009\u0001\u0000"+
+		"\u0000\u0000\u0000;\u0001\u0000\u0000\u0000\u0000=\u0001\u0000\u0000\u0000"+
+		"\u0000?\u0001\u0000\u0000\u0000\u0000A\u0001\u0000\u0000\u0000\u0000C"+
+		"\u0001\u0000\u0000\u0000\u0000E\u0001\u0000\u0000\u0000\u0000G\u0001\u0000"+
+		"\u0000\u0000\u0000I\u0001\u0000\u0000\u0000\u0000K\u0001\u0000\u0000\u0000"+
+		"\u0000M\u0001\u0000\u0000\u0000\u0000O\u0001\u0000\u0000\u0000\u0000Q"+
+		"\u0001\u0000\u0000\u0000\u0000S\u0001\u0000\u0000\u0000\u0000U\u0001\u0000"+
+		"\u0000\u0000\u0000W\u0001\u0000\u0000\u0000\u0000Y\u0001\u0000\u0000\u0000"+
+		"\u0001[\u0001\u0000\u0000\u0000\u0003`\u0001\u0000\u0000\u0000\u0005d"+
+		"\u0001\u0000\u0000\u0000\u0007h\u0001\u0000\u0000\u0000\tl\u0001\u0000"+
+		"\u0000\u0000\u000bq\u0001\u0000\u0000\u0000\ru\u0001\u0000\u0000\u0000"+
+		"\u000fx\u0001\u0000\u0000\u0000\u0011{\u0001\u0000\u0000\u0000\u0013~"+
+		"\u0001\u0000\u0000\u0000\u0015\u0080\u0001\u0000\u0000\u0000\u0017\u0084"+
+		"\u0001\u0000\u0000\u0000\u0019\u0089\u0001\u0000\u0000\u0000\u001b\u008c"+
+		"\u0001\u0000\u0000\u0000\u001d\u0090\u0001\u0000\u0000\u0000\u001f\u0094"+
+		"\u0001\u0000\u0000\u0000!\u0098\u0001\u0000\u0000\u0000#\u009c\u0001\u0000"+
+		"\u0000\u0000%\u00a0\u0001\u0000\u0000\u0000\'\u00a4\u0001\u0000\u0000"+
+		"\u0000)\u00a8\u0001\u0000\u0000\u0000+\u00ac\u0001\u0000\u0000\u0000-"+
+		"\u00b0\u0001\u0000\u0000\u0000/\u00b6\u0001\u0000\u0000\u00001\u00bb\u0001"+
+		"\u0000\u0000\u00003\u00c0\u0001\u0000\u0000\u00005\u00c5\u0001\u0000\u0000"+
+		"\u00007\u00cd\u0001\u0000\u0000\u00009\u00d2\u0001\u0000\u0000\u0000;"+
+		"\u00d8\u0001\u0000\u0000\u0000=\u00dd\u0001\u0000\u0000\u0000?\u00e2\u0001"+
+		"\u0000\u0000\u0000A\u00e8\u0001\u0000\u0000\u0000C\u00ee\u0001\u0000\u0000"+
+		"\u0000E\u00f4\u0001\u0000\u0000\u0000G\u00fa\u0001\u0000\u0000\u0000I"+
+		"\u0104\u0001\u0000\u0000\u0000K\u010a\u0001\u0000\u0000\u0000M\u0111\u0001"+
+		"\u0000\u0000\u0000O\u0113\u0001\u0000\u0000\u0000Q\u0125\u0001\u0000\u0000"+
+		"\u0000S\u0127\u0001\u0000\u0000\u0000U\u0130\u0001\u0000\u0000\u0000W"+
+		"\u013f\u0001\u0000\u0000\u0000Y\u0145\u0001\u0000\u0000\u0000[\\\u0005"+
+		"p\u0000\u0000\\]\u0005u\u0000\u0000]^\u0005s\u0000\u0000^_\u0005h\u0000"+
+		"\u0000_\u0002\u0001\u0000\u0000\u0000`a\u0005p\u0000\u0000ab\u0005o\u0000"+
+		"\u0000bc\u0005p\u0000\u0000c\u0004\u0001\u0000\u0000\u0000de\u0005a\u0000"+
+		"\u0000ef\u0005d\u0000\u0000fg\u0005d\u0000\u0000g\u0006\u0001\u0000\u0000"+
+		"\u0000hi\u0005s\u0000\u0000ij\u0005u\u0000\u0000jk\u0005b\u0000\u0000"+
+		"k\b\u0001\u0000\u0000\u0000lm\u0005m\u0000\u0000mn\u0005u\u0000\u0000"+
+		"no\u0005l\u0000\u0000op\u0005t\u0000\u0000p\n\u0001\u0000\u0000\u0000"+
+		"qr\u0005d\u0000\u0000rs\u0005i\u0000\u0000st\u0005v\u0000\u0000t\f\u0001"+
+		"\u0000\u0000\u0000uv\u0005s\u0000\u0000vw\u0005w\u0000\u0000w\u000e\u0001"+
+		"\u0000\u0000\u0000xy\u0005l\u0000\u0000yz\u0005w\u0000\u0000z\u0010\u0001"+
+		"\u0000\u0000\u0000{|\u0005l\u0000\u0000|}\u0005m\u0000\u0000}\u0012\u0001"+
+		"\u0000\u0000\u0000~\u007f\u0005b\u0000\u0000\u007f\u0014\u0001\u0000\u0000"+
+		"\u0000\u0080\u0081\u0005b\u0000\u0000\u0081\u0082\u0005e\u0000\u0000\u0082"+
+		"\u0083\u0005q\u0000\u0000\u0083\u0016\u0001\u0000\u0000\u0000\u0084\u0085"+
+		"\u0005b\u0000\u0000\u0085\u0086\u0005l\u0000\u0000\u0086\u0087\u0005e"+
+		"\u0000\u0000\u0087\u0088\u0005q\u0000\u0000\u0088\u0018\u0001\u0000\u0000"+
+		"\u0000\u0089\u008a\u0005j\u0000\u0000\u008a\u008b\u0005s\u0000\u0000\u008b"+
+		"\u001a\u0001\u0000\u0000\u0000\u008c\u008d\u0005l\u0000\u0000\u008d\u008e"+
+		"\u0005r\u0000\u0000\u008e\u008f\u0005a\u0000\u0000\u008f\u001c\u0001\u0000"+
+		"\u0000\u0000\u0090\u0091\u0005s\u0000\u0000\u0091\u0092\u0005r\u0000\u0000"+
+		"\u0092\u0093\u0005a\u0000\u0000\u0093\u001e\u0001\u0000\u0000\u0000\u0094"+
+		"\u0095\u0005l\u0000\u0000\u0095\u0096\u0005t\u0000\u0000\u0096\u0097\u0005"+
+		"m\u0000\u0000\u0097 \u0001\u0000\u0000\u0000\u0098\u0099\u0005s\u0000"+
+		"\u0000\u0099\u009a\u0005t\u0000\u0000\u009a\u009b\u0005m\u0000\u0000\u009b"+
+		"\"\u0001\u0000\u0000\u0000\u009c\u009d\u0005l\u0000\u0000\u009d\u009e"+
+		"\u0005f\u0000\u0000\u009e\u009f\u0005p\u0000\u0000\u009f$\u0001\u0000"+
+		"\u0000\u0000\u00a0\u00a1\u0005s\u0000\u0000\u00a1\u00a2\u0005f\u0000\u0000"+
+		"\u00a2\u00a3\u0005p\u0000\u0000\u00a3&\u0001\u0000\u0000\u0000\u00a4\u00a5"+
+		"\u0005c\u0000\u0000\u00a5\u00a6\u0005f\u0000\u0000\u00a6\u00a7\u0005p"+
+		"\u0000\u0000\u00a7(\u0001\u0000\u0000\u0000\u00a8\u00a9\u0005l\u0000\u0000"+
+		"\u00a9\u00aa\u0005h\u0000\u0000\u00aa\u00ab\u0005p\u0000\u0000\u00ab*"+
+		"\u0001\u0000\u0000\u0000\u00ac\u00ad\u0005s\u0000\u0000\u00ad\u00ae\u0005"+
+		"h\u0000\u0000\u00ae\u00af\u0005p\u0000\u0000\u00af,\u0001\u0000\u0000"+
+		"\u0000\u00b0\u00b1\u0005a\u0000\u0000\u00b1\u00b2\u0005l\u0000\u0000\u00b2"+
+		"\u00b3\u0005l\u0000\u0000\u00b3\u00b4\u0005o\u0000\u0000\u00b4\u00b5\u0005"+
+		"c\u0000\u0000\u00b5.\u0001\u0000\u0000\u0000\u00b6\u00b7\u0005m\u0000"+
+		"\u0000\u00b7\u00b8\u0005e\u0000\u0000\u00b8\u00b9\u0005m\u0000\u0000\u00b9"+
+		"\u00ba\u0005o\u0000\u0000\u00ba0\u0001\u0000\u0000\u0000\u00bb\u00bc\u0005"+
+		"m\u0000\u0000\u00bc\u00bd\u0005p\u0000\u0000\u00bd\u00be\u0005u\u0000"+
+		"\u0000\u00be\u00bf\u0005t\u0000\u0000\u00bf2\u0001\u0000\u0000\u0000\u00c0"+
+		"\u00c1\u0005f\u0000\u0000\u00c1\u00c2\u0005o\u0000\u0000\u00c2\u00c3\u0005"+
+		"r\u0000\u0000\u00c3\u00c4\u0005k\u0000\u0000\u00c44\u0001\u0000\u0000"+
+		"\u0000\u00c5\u00c6\u0005j\u0000\u0000\u00c6\u00c7\u0005o\u0000\u0000\u00c7"+
+		"\u00c8\u0005i\u0000\u0000\u00c8\u00c9\u0005n\u0000\u0000\u00c9\u00ca\u0005"+
+		"a\u0000\u0000\u00ca\u00cb\u0005l\u0000\u0000\u00cb\u00cc\u0005l\u0000"+
+		"\u0000\u00cc6\u0001\u0000\u0000\u0000\u00cd\u00ce\u0005d\u0000\u0000\u00ce"+
+		"\u00cf\u0005o\u0000\u0000\u00cf\u00d0\u0005n\u0000\u0000\u00d0\u00d1\u0005"+
+		"e\u0000\u0000\u00d18\u0001\u0000\u0000\u0000\u00d2\u00d3\u0005p\u0000"+
+		"\u0000\u00d3\u00d4\u0005r\u0000\u0000\u00d4\u00d5\u0005i\u0000\u0000\u00d5"+
+		"\u00d6\u0005n\u0000\u0000\u00d6\u00d7\u0005t\u0000\u0000\u00d7:\u0001"+
+		"\u0000\u0000\u0000\u00d8\u00d9\u0005r\u0000\u0000\u00d9\u00da\u0005e\u0000"+
+		"\u0000\u00da\u00db\u0005a\u0000\u0000\u00db\u00dc\u0005d\u0000\u0000\u00dc"+
+		"<\u0001\u0000\u0000\u0000\u00dd\u00de\u0005h\u0000\u0000\u00de\u00df\u0005"+
+		"a\u0000\u0000\u00df\u00e0\u0005l\u0000\u0000\u00e0\u00e1\u0005t\u0000"+
+		"\u0000\u00e1>\u0001\u0000\u0000\u0000\u00e2\u00e3\u0005.\u0000\u0000\u00e3"+
+		"\u00e4\u0005w\u0000\u0000\u00e4\u00e5\u0005o\u0000\u0000\u00e5\u00e6\u0005"+
+		"r\u0000\u0000\u00e6\u00e7\u0005d\u0000\u0000\u00e7@\u0001\u0000\u0000"+
+		"\u0000\u00e8\u00e9\u0005.\u0000\u0000\u00e9\u00ea\u0005d\u0000\u0000\u00ea"+
+		"\u00eb\u0005a\u0000\u0000\u00eb\u00ec\u0005t\u0000\u0000\u00ec\u00ed\u0005"+
+		"a\u0000\u0000\u00edB\u0001\u0000\u0000\u0000\u00ee\u00ef\u0005.\u0000"+
+		"\u0000\u00ef\u00f0\u0005t\u0000\u0000\u00f0\u00f1\u0005e\u0000\u0000\u00f1"+
+		"\u00f2\u0005x\u0000\u0000\u00f2\u00f3\u0005t\u0000\u0000\u00f3D\u0001"+
+		"\u0000\u0000\u0000\u00f4\u00f5\u0005.\u0000\u0000\u00f5\u00f6\u0005l\u0000"+
+		"\u0000\u00f6\u00f7\u0005i\u0000\u0000\u00f7\u00f8\u0005n\u0000\u0000\u00f8"+
+		"\u00f9\u0005e\u0000\u0000\u00f9F\u0001\u0000\u0000\u0000\u00fa\u00fb\u0005"+
+		".\u0000\u0000\u00fb\u00fc\u0005f\u0000\u0000\u00fc\u00fd\u0005u\u0000"+
+		"\u0000\u00fd\u00fe\u0005n\u0000\u0000\u00fe\u00ff\u0005c\u0000\u0000\u00ff"+
+		"\u0100\u0005t\u0000\u0000\u0100\u0101\u0005i\u0000\u0000\u0101\u0102\u0005"+
+		"o\u0000\u0000\u0102\u0103\u0005n\u0000\u0000\u0103H\u0001\u0000\u0000"+
+		"\u0000\u0104\u0105\u0005.\u0000\u0000\u0105\u0106\u0005t\u0000\u0000\u0106"+
+		"\u0107\u0005a\u0000\u0000\u0107\u0108\u0005s\u0000\u0000\u0108\u0109\u0005"+
+		"k\u0000\u0000\u0109J\u0001\u0000\u0000\u0000\u010a\u010b\u0005.\u0000"+
+		"\u0000\u010b\u010c\u0005c\u0000\u0000\u010c\u010d\u0005l\u0000\u0000\u010d"+
+		"\u010e\u0005a\u0000\u0000\u010e\u010f\u0005s\u0000\u0000\u010f\u0110\u0005"+
+		"s\u0000\u0000\u0110L\u0001\u0000\u0000\u0000\u0111\u0112\u0005:\u0000"+
+		"\u0000\u0112N\u0001\u0000\u0000\u0000\u0113\u0117\u0007\u0000\u0000\u0000"+
+		"\u0114\u0116\u0007\u0001\u0000\u0000\u0115\u0114\u0001\u0000\u0000\u0000"+
+		"\u0116\u0119\u0001\u0000\u0000\u0000\u0117\u0115\u0001\u0000\u0000\u0000"+
+		"\u0117\u0118\u0001\u0000\u0000\u0000\u0118P\u0001\u0000\u0000\u0000\u0119"+
+		"\u0117\u0001\u0000\u0000\u0000\u011a\u0126\u00050\u0000\u0000\u011b\u011d"+
+		"\u0005-\u0000\u0000\u011c\u011b\u0001\u0000\u0000\u0000\u011c\u011d\u0001"+
+		"\u0000\u0000\u0000\u011d\u011e\u0001\u0000\u0000\u0000\u011e\u0122\u0002"+
+		"19\u0000\u011f\u0121\u000209\u0000\u0120\u011f\u0001\u0000\u0000\u0000"+
+		"\u0121\u0124\u0001\u0000\u0000\u0000\u0122\u0120\u0001\u0000\u0000\u0000"+
+		"\u0122\u0123\u0001\u0000\u0000\u0000\u0123\u0126\u0001\u0000\u0000\u0000"+
+		"\u0124\u0122\u0001\u0000\u0000\u0000\u0125\u011a\u0001\u0000\u0000\u0000"+
+		"\u0125\u011c\u0001\u0000\u0000\u0000\u0126R\u0001\u0000\u0000\u0000\u0127"+
+		"\u012b\u0005\"\u0000\u0000\u0128\u012a\b\u0002\u0000\u0000\u0129\u0128"+
+		"\u0001\u0000\u0000\u0000\u012a\u012d\u0001\u0000\u0000\u0000\u012b\u0129"+
+		"\u0001\u0000\u0000\u0000\u012b\u012c\u0001\u0000\u0000\u0000\u012c\u012e"+
+		"\u0001\u0000\u0000\u0000\u012d\u012b\u0001\u0000\u0000\u0000\u012e\u012f"+
+		"\u0005\"\u0000\u0000\u012fT\u0001\u0000\u0000\u0000\u0130\u0131\u0005"+
+		"/\u0000\u0000\u0131\u0132\u0005*\u0000\u0000\u0132\u0136\u0001\u0000\u0000"+
+		"\u0000\u0133\u0135\t\u0000\u0000\u0000\u0134\u0133\u0001\u0000\u0000\u0000"+
+		"\u0135\u0138\u0001\u0000\u0000\u0000\u0136\u0137\u0001\u0000\u0000\u0000"+
+		"\u0136\u0134\u0001\u0000\u0000\u0000\u0137\u0139\u0001\u0000\u0000\u0000"+
+		"\u0138\u0136\u0001\u0000\u0000\u0000\u0139\u013a\u0005*\u0000\u0000\u013a"+
+		"\u013b\u0005/\u0000\u0000\u013b\u013c\u0001\u0000\u0000\u0000\u013c\u013d"+
+		"\u0006*\u0000\u0000\u013dV\u0001\u0000\u0000\u0000\u013e\u0140\u0007\u0003"+
+		"\u0000\u0000\u013f\u013e\u0001\u0000\u0000\u0000\u0140\u0141\u0001\u0000"+
+		"\u0000\u0000\u0141\u013f\u0001\u0000\u0000\u0000\u0141\u0142\u0001\u0000"+
+		"\u0000\u0000\u0142\u0143\u0001\u0000\u0000\u0000\u0143\u0144\u0006+\u0000"+
+		"\u0000\u0144X\u0001\u0000\u0000\u0000\u0145\u0146\t\u0000\u0000\u0000"+
+		"\u0146\u0147\u0006,\u0001\u0000\u0147\u0148\u0001\u0000\u0000\u0000\u0148"+
+		"\u0149\u0006,\u0000\u0000\u0149Z\u0001\u0000\u0000\u0000\b\u0000\u0117"+
+		"\u011c\u0122\u0125\u012b\u0136\u0141\u0002\u0000\u0001\u0000\u0001,\u0000";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
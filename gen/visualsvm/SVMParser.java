@@ -20,10 +20,13 @@ public class SVMParser extends Parser {
 	protected static final PredictionContextCache _sharedContextCache =
 		new PredictionContextCache();
 	public static final int
-		PUSH=1, POP=2, ADD=3, SUB=4, MULT=5, DIV=6, STOREW=7, LOADW=8, BRANCH=9, 
-		BRANCHEQ=10, BRANCHLESSEQ=11, JS=12, LOADRA=13, STORERA=14, LOADTM=15, 
-		STORETM=16, LOADFP=17, STOREFP=18, COPYFP=19, LOADHP=20, STOREHP=21, PRINT=22, 
-		HALT=23, COL=24, LABEL=25, INTEGER=26, COMMENT=27, WHITESP=28, ERR=29;
+		PUSH=1, POP=2, ADD=3, SUB=4, MULT=5, DIV=6, STOREW=7, LOADW=8, LOADMETHOD=9, 
+		BRANCH=10, BRANCHEQ=11, BRANCHLESSEQ=12, JS=13, LOADRA=14, STORERA=15, 
+		LOADTM=16, STORETM=17, LOADFP=18, STOREFP=19, COPYFP=20, LOADHP=21, STOREHP=22, 
+		ALLOC=23, MEMO=24, MEMOPUT=25, FORK=26, JOINALL=27, DONE=28, PRINT=29, 
+		READ=30, HALT=31, WORD=32, DATA=33, TEXT=34, LINE=35, FUNCTION=36, TASK=37, 
+		CLASS=38, COL=39, LABEL=40, INTEGER=41, STRING=42, COMMENT=43, WHITESP=44, 
+		ERR=45;
 	public static final int
 		RULE_assembly = 0, RULE_instruction = 1;
 	private static String[] makeRuleNames() {
@@ -36,18 +39,22 @@ public class SVMParser extends Parser {
 	private static String[] makeLiteralNames() {
 		return new String[] {
 			null, "'push'", "'pop'", "'add'", "'sub'", "'mult'", "'div'", "'sw'", 
-			"'lw'", "'b'", "'beq'", "'bleq'", "'js'", "'lra'", "'sra'", "'ltm'", 
-			"'stm'", "'lfp'", "'sfp'", "'cfp'", "'lhp'", "'shp'", "'print'", "'halt'", 
-			"':'"
+			"'lw'", "'lm'", "'b'", "'beq'", "'bleq'", "'js'", "'lra'", "'sra'", "'ltm'", 
+			"'stm'", "'lfp'", "'sfp'", "'cfp'", "'lhp'", "'shp'", "'alloc'", "'memo'", 
+			"'mput'", "'fork'", "'joinall'", "'done'", "'print'", "'read'", "'halt'", 
+			"'.word'", "'.data'", "'.text'", "'.line'", "'.function'", "'.task'", 
+			"'.class'", "':'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
 	private static String[] makeSymbolicNames() {
 		return new String[] {
 			null, "PUSH", "POP", "ADD", "SUB", "MULT", "DIV", "STOREW", "LOADW", 
-			"BRANCH", "BRANCHEQ", "BRANCHLESSEQ", "JS", "LOADRA", "STORERA", "LOADTM", 
-			"STORETM", "LOADFP", "STOREFP", "COPYFP", "LOADHP", "STOREHP", "PRINT", 
-			"HALT", "COL", "LABEL", "INTEGER", "COMMENT", "WHITESP", "ERR"
+			"LOADMETHOD", "BRANCH", "BRANCHEQ", "BRANCHLESSEQ", "JS", "LOADRA", "STORERA", 
+			"LOADTM", "STORETM", "LOADFP", "STOREFP", "COPYFP", "LOADHP", "STOREHP", 
+			"ALLOC", "MEMO", "MEMOPUT", "FORK", "JOINALL", "DONE", "PRINT", "READ", 
+			"HALT", "WORD", "DATA", "TEXT", "LINE", "FUNCTION", "TASK", "CLASS", 
+			"COL", "LABEL", "INTEGER", "STRING", "COMMENT", "WHITESP", "ERR"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -99,13 +106,24 @@ public class SVMParser extends Parser {
 
 	public int[] code = new int[ExecuteVM.CODESIZE];
 	public int[] sourceMap = new int[ExecuteVM.CODESIZE];
+	public int[] sourceLines = new int[ExecuteVM.CODESIZE]; // FOOL source line of each instruction (.line directives), 0 if unknown
+	public String[] functionNames = new String[ExecuteVM.CODESIZE]; // FOOL function of each instruction (.function directives)
+	private int sourceLine = 0;
+	private String functionName = "main";
+	public int[] data; // initial heap image (.data section)
 	private int i = 0;
+	private int[] heap = new int[ExecuteVM.MEMSIZE];
+	private int h = 0;
+	private boolean dataSection = false;
 	private Map<String,Integer> labelDef = new HashMap<>();
 	private Map<Integer,String> labelRef = new HashMap<>();
+	private Map<Integer,String> dataLabelRef = new HashMap<>();
 	private void codem(int line, int ... c) {
 	   	for (int x : c) {
 	   		this.code[i] = x;
 	   		this.sourceMap[i] = line-1;
+	   		this.sourceLines[i] = sourceLine;
+	   		this.functionNames[i] = functionName;
 	   		i++;
 	   	}
 	} 
@@ -151,7 +169,7 @@ public class SVMParser extends Parser {
 			setState(7);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << PUSH) | (1L << POP) | (1L << ADD) | (1L << SUB) | (1L << MULT) | (1L << DIV) | (1L << STOREW) | (1L << LOADW) | (1L << BRANCH) | (1L << BRANCHEQ) | (1L << BRANCHLESSEQ) | (1L << JS) | (1L << LOADRA) | (1L << STORERA) | (1L << LOADTM) | (1L << STORETM) | (1L << LOADFP) | (1L << STOREFP) | (1L << COPYFP) | (1L << LOADHP) | (1L << STOREHP) | (1L << PRINT) | (1L << HALT) | (1L << LABEL))) != 0)) {
+			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << PUSH) | (1L << POP) | (1L << ADD) | (1L << SUB) | (1L << MULT) | (1L << DIV) | (1L << STOREW) | (1L << LOADW) | (1L << LOADMETHOD) | (1L << BRANCH) | (1L << BRANCHEQ) | (1L << BRANCHLESSEQ) | (1L << JS) | (1L << LOADRA) | (1L << STORERA) | (1L << LOADTM) | (1L << STORETM) | (1L << LOADFP) | (1L << STOREFP) | (1L << COPYFP) | (1L << LOADHP) | (1L << STOREHP) | (1L << ALLOC) | (1L << MEMO) | (1L << MEMOPUT) | (1L << FORK) | (1L << JOINALL) | (1L << DONE) | (1L << PRINT) | (1L << READ) | (1L << HALT) | (1L << WORD) | (1L << DATA) | (1L << TEXT) | (1L << LINE) | (1L << FUNCTION) | (1L << TASK) | (1L << CLASS) | (1L << LABEL))) != 0)) {
 				{
 				{
 				setState(4);
@@ -166,6 +184,9 @@ public class SVMParser extends Parser {
 			match(EOF);
 			 for (Integer j: labelRef.keySet()) 
 											code[j]=labelDef.get(labelRef.get(j)); 
+										  for (Integer j: dataLabelRef.keySet()) 
+											heap[j]=labelDef.get(dataLabelRef.get(j)); 
+										  data = Arrays.copyOf(heap, h);
 										
 			}
 		}
@@ -184,8 +205,13 @@ public class SVMParser extends Parser {
 		public Token t;
 		public Token n;
 		public Token l;
+		public Token m;
+		public Token s;
 		public TerminalNode PUSH() { return getToken(SVMParser.PUSH, 0); }
-		public TerminalNode INTEGER() { return getToken(SVMParser.INTEGER, 0); }
+		public List<TerminalNode> INTEGER() { return getTokens(SVMParser.INTEGER); }
+		public TerminalNode INTEGER(int i) {
+			return getToken(SVMParser.INTEGER, i);
+		}
 		public TerminalNode LABEL() { return getToken(SVMParser.LABEL, 0); }
 		public TerminalNode POP() { return getToken(SVMParser.POP, 0); }
 		public TerminalNode ADD() { return getToken(SVMParser.ADD, 0); }
@@ -194,6 +220,7 @@ public class SVMParser extends Parser {
 		public TerminalNode DIV() { return getToken(SVMParser.DIV, 0); }
 		public TerminalNode STOREW() { return getToken(SVMParser.STOREW, 0); }
 		public TerminalNode LOADW() { return getToken(SVMParser.LOADW, 0); }
+		public TerminalNode LOADMETHOD() { return getToken(SVMParser.LOADMETHOD, 0); }
 		public TerminalNode COL() { return getToken(SVMParser.COL, 0); }
 		public TerminalNode BRANCH() { return getToken(SVMParser.BRANCH, 0); }
 		public TerminalNode BRANCHEQ() { return getToken(SVMParser.BRANCHEQ, 0); }
@@ -208,8 +235,26 @@ public class SVMParser extends Parser {
 		public TerminalNode COPYFP() { return getToken(SVMParser.COPYFP, 0); }
 		public TerminalNode LOADHP() { return getToken(SVMParser.LOADHP, 0); }
 		public TerminalNode STOREHP() { return getToken(SVMParser.STOREHP, 0); }
+		public TerminalNode ALLOC() { return getToken(SVMParser.ALLOC, 0); }
+		public TerminalNode MEMO() { return getToken(SVMParser.MEMO, 0); }
+		public TerminalNode MEMOPUT() { return getToken(SVMParser.MEMOPUT, 0); }
+		public TerminalNode FORK() { return getToken(SVMParser.FORK, 0); }
+		public TerminalNode JOINALL() { return getToken(SVMParser.JOINALL, 0); }
+		public TerminalNode DONE() { return getToken(SVMParser.DONE, 0); }
 		public TerminalNode PRINT() { return getToken(SVMParser.PRINT, 0); }
+		public TerminalNode READ() { return getToken(SVMParser.READ, 0); }
 		public TerminalNode HALT() { return getToken(SVMParser.HALT, 0); }
+		public TerminalNode WORD() { return getToken(SVMParser.WORD, 0); }
+		public TerminalNode DATA() { return getToken(SVMParser.DATA, 0); }
+		public TerminalNode TEXT() { return getToken(SVMParser.TEXT, 0); }
+		public TerminalNode LINE() { return getToken(SVMParser.LINE, 0); }
+		public TerminalNode FUNCTION() { return getToken(SVMParser.FUNCTION, 0); }
+		public List<TerminalNode> STRING() { return getTokens(SVMParser.STRING); }
+		public TerminalNode STRING(int i) {
+			return getToken(SVMParser.STRING, i);
+		}
+		public TerminalNode TASK() { return getToken(SVMParser.TASK, 0); }
+		public TerminalNode CLASS() { return getToken(SVMParser.CLASS, 0); }
 		public InstructionContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
@@ -233,7 +278,7 @@ public class SVMParser extends Parser {
 		InstructionContext _localctx = new InstructionContext(_ctx, getState());
 		enterRule(_localctx, 2, RULE_instruction);
 		try {
-			setState(69);
+			setState(118);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,1,_ctx) ) {
 			case 1:
@@ -316,138 +361,301 @@ public class SVMParser extends Parser {
 				enterOuterAlt(_localctx, 10);
 				{
 				setState(33);
-				((InstructionContext)_localctx).l = match(LABEL);
+				((InstructionContext)_localctx).t = match(LOADMETHOD);
 				setState(34);
-				match(COL);
-				 labelDef.put((((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null), i); 
+				((InstructionContext)_localctx).n = match(INTEGER);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), LOADMETHOD, Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null))); 
 				}
 				break;
 			case 11:
 				enterOuterAlt(_localctx, 11);
 				{
 				setState(36);
-				((InstructionContext)_localctx).t = match(BRANCH);
-				setState(37);
 				((InstructionContext)_localctx).l = match(LABEL);
-				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), BRANCH); labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null)); 
+				setState(37);
+				match(COL);
+				 labelDef.put((((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null), dataSection ? h : i); 
 				}
 				break;
 			case 12:
 				enterOuterAlt(_localctx, 12);
 				{
 				setState(39);
-				((InstructionContext)_localctx).t = match(BRANCHEQ);
+				((InstructionContext)_localctx).t = match(BRANCH);
 				setState(40);
 				((InstructionContext)_localctx).l = match(LABEL);
-				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), BRANCHEQ); labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null)); 
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), BRANCH); labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null)); 
 				}
 				break;
 			case 13:
 				enterOuterAlt(_localctx, 13);
 				{
 				setState(42);
-				((InstructionContext)_localctx).t = match(BRANCHLESSEQ);
+				((InstructionContext)_localctx).t = match(BRANCHEQ);
 				setState(43);
 				((InstructionContext)_localctx).l = match(LABEL);
-				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), BRANCHLESSEQ); labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null)); 
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), BRANCHEQ); labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null)); 
 				}
 				break;
 			case 14:
 				enterOuterAlt(_localctx, 14);
 				{
 				setState(45);
-				((InstructionContext)_localctx).t = match(JS);
-				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), JS); 
+				((InstructionContext)_localctx).t = match(BRANCHLESSEQ);
+				setState(46);
+				((InstructionContext)_localctx).l = match(LABEL);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), BRANCHLESSEQ); labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null)); 
 				}
 				break;
 			case 15:
 				enterOuterAlt(_localctx, 15);
 				{
-				setState(47);
-				((InstructionContext)_localctx).t = match(LOADRA);
-				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), LOADRA); 
+				setState(48);
+				((InstructionContext)_localctx).t = match(JS);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), JS); 
 				}
 				break;
 			case 16:
 				enterOuterAlt(_localctx, 16);
 				{
-				setState(49);
-				((InstructionContext)_localctx).t = match(STORERA);
-				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), STORERA); 
+				setState(50);
+				((InstructionContext)_localctx).t = match(LOADRA);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), LOADRA); 
 				}
 				break;
 			case 17:
 				enterOuterAlt(_localctx, 17);
 				{
-				setState(51);
-				((InstructionContext)_localctx).t = match(LOADTM);
-				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), LOADTM); 
+				setState(52);
+				((InstructionContext)_localctx).t = match(STORERA);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), STORERA); 
 				}
 				break;
 			case 18:
 				enterOuterAlt(_localctx, 18);
 				{
-				setState(53);
-				((InstructionContext)_localctx).t = match(STORETM);
-				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), STORETM); 
+				setState(54);
+				((InstructionContext)_localctx).t = match(LOADTM);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), LOADTM); 
 				}
 				break;
 			case 19:
 				enterOuterAlt(_localctx, 19);
 				{
-				setState(55);
-				((InstructionContext)_localctx).t = match(LOADFP);
-				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), LOADFP); 
+				setState(56);
+				((InstructionContext)_localctx).t = match(STORETM);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), STORETM); 
 				}
 				break;
 			case 20:
 				enterOuterAlt(_localctx, 20);
 				{
-				setState(57);
-				((InstructionContext)_localctx).t = match(STOREFP);
-				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), STOREFP); 
+				setState(58);
+				((InstructionContext)_localctx).t = match(LOADFP);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), LOADFP); 
 				}
 				break;
 			case 21:
 				enterOuterAlt(_localctx, 21);
 				{
-				setState(59);
-				((InstructionContext)_localctx).t = match(COPYFP);
-				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), COPYFP); 
+				setState(60);
+				((InstructionContext)_localctx).t = match(STOREFP);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), STOREFP); 
 				}
 				break;
 			case 22:
 				enterOuterAlt(_localctx, 22);
 				{
-				setState(61);
-				((InstructionContext)_localctx).t = match(LOADHP);
-				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), LOADHP); 
+				setState(62);
+				((InstructionContext)_localctx).t = match(COPYFP);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), COPYFP); 
 				}
 				break;
 			case 23:
 				enterOuterAlt(_localctx, 23);
 				{
-				setState(63);
-				((InstructionContext)_localctx).t = match(STOREHP);
-				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), STOREHP); 
+				setState(64);
+				((InstructionContext)_localctx).t = match(LOADHP);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), LOADHP); 
 				}
 				break;
 			case 24:
 				enterOuterAlt(_localctx, 24);
 				{
-				setState(65);
-				((InstructionContext)_localctx).t = match(PRINT);
-				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), PRINT); 
+				setState(66);
+				((InstructionContext)_localctx).t = match(STOREHP);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), STOREHP); 
 				}
 				break;
 			case 25:
 				enterOuterAlt(_localctx, 25);
 				{
-				setState(67);
+				setState(68);
+				((InstructionContext)_localctx).t = match(ALLOC);
+				setState(69);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), ALLOC, Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null))); 
+				}
+				break;
+			case 26:
+				enterOuterAlt(_localctx, 26);
+				{
+				setState(71);
+				((InstructionContext)_localctx).t = match(MEMO);
+				setState(72);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				setState(73);
+				((InstructionContext)_localctx).m = match(INTEGER);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), MEMO, Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null)), Integer.parseInt((((InstructionContext)_localctx).m!=null?((InstructionContext)_localctx).m.getText():null))); 
+				}
+				break;
+			case 27:
+				enterOuterAlt(_localctx, 27);
+				{
+				setState(75);
+				((InstructionContext)_localctx).t = match(MEMOPUT);
+				setState(76);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				setState(77);
+				((InstructionContext)_localctx).m = match(INTEGER);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), MEMOPUT, Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null)), Integer.parseInt((((InstructionContext)_localctx).m!=null?((InstructionContext)_localctx).m.getText():null))); 
+				}
+				break;
+			case 28:
+				enterOuterAlt(_localctx, 28);
+				{
+				setState(79);
+				((InstructionContext)_localctx).t = match(FORK);
+				setState(80);
+				((InstructionContext)_localctx).l = match(LABEL);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), FORK); labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null)); 
+				}
+				break;
+			case 29:
+				enterOuterAlt(_localctx, 29);
+				{
+				setState(82);
+				((InstructionContext)_localctx).t = match(JOINALL);
+				setState(83);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), JOINALL, Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null))); 
+				}
+				break;
+			case 30:
+				enterOuterAlt(_localctx, 30);
+				{
+				setState(85);
+				((InstructionContext)_localctx).t = match(DONE);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), DONE); 
+				}
+				break;
+			case 31:
+				enterOuterAlt(_localctx, 31);
+				{
+				setState(87);
+				((InstructionContext)_localctx).t = match(PRINT);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), PRINT); 
+				}
+				break;
+			case 32:
+				enterOuterAlt(_localctx, 32);
+				{
+				setState(89);
+				((InstructionContext)_localctx).t = match(READ);
+				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), READ); 
+				}
+				break;
+			case 33:
+				enterOuterAlt(_localctx, 33);
+				{
+				setState(91);
 				((InstructionContext)_localctx).t = match(HALT);
 				 codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), HALT); 
 				}
 				break;
+			case 34:
+				enterOuterAlt(_localctx, 34);
+				{
+				setState(93);
+				((InstructionContext)_localctx).t = match(WORD);
+				setState(94);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				 if (dataSection) heap[h++] = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null)); else codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null))); 
+				}
+				break;
+			case 35:
+				enterOuterAlt(_localctx, 35);
+				{
+				setState(96);
+				((InstructionContext)_localctx).t = match(WORD);
+				setState(97);
+				((InstructionContext)_localctx).l = match(LABEL);
+				 if (dataSection) dataLabelRef.put(h++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null)); else { codem((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getLine():0), 0); labelRef.put(i-1,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null)); } 
+				}
+				break;
+			case 36:
+				enterOuterAlt(_localctx, 36);
+				{
+				setState(99);
+				match(DATA);
+				 dataSection = true; 
+				}
+				break;
+			case 37:
+				enterOuterAlt(_localctx, 37);
+				{
+				setState(101);
+				match(TEXT);
+				 dataSection = false; 
+				}
+				break;
+			case 38:
+				enterOuterAlt(_localctx, 38);
+				{
+				setState(103);
+				match(LINE);
+				setState(104);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				 sourceLine = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null)); 
+				}
+				break;
+			case 39:
+				enterOuterAlt(_localctx, 39);
+				{
+				setState(106);
+				match(FUNCTION);
+				setState(107);
+				((InstructionContext)_localctx).s = match(STRING);
+				setState(108);
+				match(INTEGER);
+				 functionName = (((InstructionContext)_localctx).s!=null?((InstructionContext)_localctx).s.getText():null).substring(1, (((InstructionContext)_localctx).s!=null?((InstructionContext)_localctx).s.getText():null).length() - 1); 
+				}
+				break;
+			case 40:
+				enterOuterAlt(_localctx, 40);
+				{
+				setState(110);
+				match(TASK);
+				setState(111);
+				((InstructionContext)_localctx).s = match(STRING);
+				setState(112);
+				match(INTEGER);
+				setState(113);
+				match(STRING);
+				 functionName = (((InstructionContext)_localctx).s!=null?((InstructionContext)_localctx).s.getText():null).substring(1, (((InstructionContext)_localctx).s!=null?((InstructionContext)_localctx).s.getText():null).length() - 1); 
+				}
+				break;
+			case 41:
+				enterOuterAlt(_localctx, 41);
+				{
+				setState(115);
+				match(CLASS);
+				setState(116);
+				match(STRING);
+				setState(117);
+				match(STRING);
+				}
+				break;
 			}
 		}
 		catch (RecognitionException re) {
@@ -462,9 +670,17 @@ public class SVMParser extends Parser {
 	}
 
 	public static final String _serializedATN =
-		"\u0004\u0001\u001dH\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0001"+
-		"\u0000\u0005\u0000\u0006\b\u0000\n\u0000\f\u0000\t\t\u0000\u0001\u0000"+
-		"\u0001\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0004\u0001-y\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0001\u0000"+
+		"\u0005\u0000\u0006\b\u0000\n\u0000\f\u0000\t\t\u0000\u0001\u0000\u0001"+
+		"\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
@@ -473,48 +689,71 @@ public class SVMParser extends Parser {
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
-		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0003\u0001F\b\u0001"+
-		"\u0001\u0001\u0000\u0000\u0002\u0000\u0002\u0000\u0000^\u0000\u0007\u0001"+
-		"\u0000\u0000\u0000\u0002E\u0001\u0000\u0000\u0000\u0004\u0006\u0003\u0002"+
-		"\u0001\u0000\u0005\u0004\u0001\u0000\u0000\u0000\u0006\t\u0001\u0000\u0000"+
-		"\u0000\u0007\u0005\u0001\u0000\u0000\u0000\u0007\b\u0001\u0000\u0000\u0000"+
-		"\b\n\u0001\u0000\u0000\u0000\t\u0007\u0001\u0000\u0000\u0000\n\u000b\u0005"+
-		"\u0000\u0000\u0001\u000b\f\u0006\u0000\uffff\uffff\u0000\f\u0001\u0001"+
-		"\u0000\u0000\u0000\r\u000e\u0005\u0001\u0000\u0000\u000e\u000f\u0005\u001a"+
-		"\u0000\u0000\u000fF\u0006\u0001\uffff\uffff\u0000\u0010\u0011\u0005\u0001"+
-		"\u0000\u0000\u0011\u0012\u0005\u0019\u0000\u0000\u0012F\u0006\u0001\uffff"+
-		"\uffff\u0000\u0013\u0014\u0005\u0002\u0000\u0000\u0014F\u0006\u0001\uffff"+
-		"\uffff\u0000\u0015\u0016\u0005\u0003\u0000\u0000\u0016F\u0006\u0001\uffff"+
-		"\uffff\u0000\u0017\u0018\u0005\u0004\u0000\u0000\u0018F\u0006\u0001\uffff"+
-		"\uffff\u0000\u0019\u001a\u0005\u0005\u0000\u0000\u001aF\u0006\u0001\uffff"+
-		"\uffff\u0000\u001b\u001c\u0005\u0006\u0000\u0000\u001cF\u0006\u0001\uffff"+
-		"\uffff\u0000\u001d\u001e\u0005\u0007\u0000\u0000\u001eF\u0006\u0001\uffff"+
-		"\uffff\u0000\u001f \u0005\b\u0000\u0000 F\u0006\u0001\uffff\uffff\u0000"+
-		"!\"\u0005\u0019\u0000\u0000\"#\u0005\u0018\u0000\u0000#F\u0006\u0001\uffff"+
-		"\uffff\u0000$%\u0005\t\u0000\u0000%&\u0005\u0019\u0000\u0000&F\u0006\u0001"+
-		"\uffff\uffff\u0000\'(\u0005\n\u0000\u0000()\u0005\u0019\u0000\u0000)F"+
-		"\u0006\u0001\uffff\uffff\u0000*+\u0005\u000b\u0000\u0000+,\u0005\u0019"+
-		"\u0000\u0000,F\u0006\u0001\uffff\uffff\u0000-.\u0005\f\u0000\u0000.F\u0006"+
-		"\u0001\uffff\uffff\u0000/0\u0005\r\u0000\u00000F\u0006\u0001\uffff\uffff"+
-		"\u000012\u0005\u000e\u0000\u00002F\u0006\u0001\uffff\uffff\u000034\u0005"+
-		"\u000f\u0000\u00004F\u0006\u0001\uffff\uffff\u000056\u0005\u0010\u0000"+
-		"\u00006F\u0006\u0001\uffff\uffff\u000078\u0005\u0011\u0000\u00008F\u0006"+
-		"\u0001\uffff\uffff\u00009:\u0005\u0012\u0000\u0000:F\u0006\u0001\uffff"+
-		"\uffff\u0000;<\u0005\u0013\u0000\u0000<F\u0006\u0001\uffff\uffff\u0000"+
-		"=>\u0005\u0014\u0000\u0000>F\u0006\u0001\uffff\uffff\u0000?@\u0005\u0015"+
-		"\u0000\u0000@F\u0006\u0001\uffff\uffff\u0000AB\u0005\u0016\u0000\u0000"+
-		"BF\u0006\u0001\uffff\uffff\u0000CD\u0005\u0017\u0000\u0000DF\u0006\u0001"+
-		"\uffff\uffff\u0000E\r\u0001\u0000\u0000\u0000E\u0010\u0001\u0000\u0000"+
-		"\u0000E\u0013\u0001\u0000\u0000\u0000E\u0015\u0001\u0000\u0000\u0000E"+
-		"\u0017\u0001\u0000\u0000\u0000E\u0019\u0001\u0000\u0000\u0000E\u001b\u0001"+
-		"\u0000\u0000\u0000E\u001d\u0001\u0000\u0000\u0000E\u001f\u0001\u0000\u0000"+
-		"\u0000E!\u0001\u0000\u0000\u0000E$\u0001\u0000\u0000\u0000E\'\u0001\u0000"+
-		"\u0000\u0000E*\u0001\u0000\u0000\u0000E-\u0001\u0000\u0000\u0000E/\u0001"+
-		"\u0000\u0000\u0000E1\u0001\u0000\u0000\u0000E3\u0001\u0000\u0000\u0000"+
-		"E5\u0001\u0000\u0000\u0000E7\u0001\u0000\u0000\u0000E9\u0001\u0000\u0000"+
-		"\u0000E;\u0001\u0000\u0000\u0000E=\u0001\u0000\u0000\u0000E?\u0001\u0000"+
-		"\u0000\u0000EA\u0001\u0000\u0000\u0000EC\u0001\u0000\u0000\u0000F\u0003"+
-		"\u0001\u0000\u0000\u0000\u0002\u0007E";
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0003\u0001w\b"+
+		"\u0001\u0001\u0001\u0000\u0000\u0002\u0000\u0002\u0000\u0000\u009f\u0000"+
+		"\u0007\u0001\u0000\u0000\u0000\u0002v\u0001\u0000\u0000\u0000\u0004\u0006"+
+		"\u0003\u0002\u0001\u0000\u0005\u0004\u0001\u0000\u0000\u0000\u0006\t\u0001"+
+		"\u0000\u0000\u0000\u0007\u0005\u0001\u0000\u0000\u0000\u0007\b\u0001\u0000"+
+		"\u0000\u0000\b\n\u0001\u0000\u0000\u0000\t\u0007\u0001\u0000\u0000\u0000"+
+		"\n\u000b\u0005\u0000\u0000\u0001\u000b\f\u0006\u0000\uffff\uffff\u0000"+
+		"\f\u0001\u0001\u0000\u0000\u0000\r\u000e\u0005\u0001\u0000\u0000\u000e"+
+		"\u000f\u0005)\u0000\u0000\u000fw\u0006\u0001\uffff\uffff\u0000\u0010\u0011"+
+		"\u0005\u0001\u0000\u0000\u0011\u0012\u0005(\u0000\u0000\u0012w\u0006\u0001"+
+		"\uffff\uffff\u0000\u0013\u0014\u0005\u0002\u0000\u0000\u0014w\u0006\u0001"+
+		"\uffff\uffff\u0000\u0015\u0016\u0005\u0003\u0000\u0000\u0016w\u0006\u0001"+
+		"\uffff\uffff\u0000\u0017\u0018\u0005\u0004\u0000\u0000\u0018w\u0006\u0001"+
+		"\uffff\uffff\u0000\u0019\u001a\u0005\u0005\u0000\u0000\u001aw\u0006\u0001"+
+		"\uffff\uffff\u0000\u001b\u001c\u0005\u0006\u0000\u0000\u001cw\u0006\u0001"+
+		"\uffff\uffff\u0000\u001d\u001e\u0005\u0007\u0000\u0000\u001ew\u0006\u0001"+
+		"\uffff\uffff\u0000\u001f \u0005\b\u0000\u0000 w\u0006\u0001\uffff\uffff"+
+		"\u0000!\"\u0005\t\u0000\u0000\"#\u0005)\u0000\u0000#w\u0006\u0001\uffff"+
+		"\uffff\u0000$%\u0005(\u0000\u0000%&\u0005\'\u0000\u0000&w\u0006\u0001"+
+		"\uffff\uffff\u0000\'(\u0005\n\u0000\u0000()\u0005(\u0000\u0000)w\u0006"+
+		"\u0001\uffff\uffff\u0000*+\u0005\u000b\u0000\u0000+,\u0005(\u0000\u0000"+
+		",w\u0006\u0001\uffff\uffff\u0000-.\u0005\f\u0000\u0000./\u0005(\u0000"+
+		"\u0000/w\u0006\u0001\uffff\uffff\u000001\u0005\r\u0000\u00001w\u0006\u0001"+
+		"\uffff\uffff\u000023\u0005\u000e\u0000\u00003w\u0006\u0001\uffff\uffff"+
+		"\u000045\u0005\u000f\u0000\u00005w\u0006\u0001\uffff\uffff\u000067\u0005"+
+		"\u0010\u0000\u00007w\u0006\u0001\uffff\uffff\u000089\u0005\u0011\u0000"+
+		"\u00009w\u0006\u0001\uffff\uffff\u0000:;\u0005\u0012\u0000\u0000;w\u0006"+
+		"\u0001\uffff\uffff\u0000<=\u0005\u0013\u0000\u0000=w\u0006\u0001\uffff"+
+		"\uffff\u0000>?\u0005\u0014\u0000\u0000?w\u0006\u0001\uffff\uffff\u0000"+
+		"@A\u0005\u0015\u0000\u0000Aw\u0006\u0001\uffff\uffff\u0000BC\u0005\u0016"+
+		"\u0000\u0000Cw\u0006\u0001\uffff\uffff\u0000DE\u0005\u0017\u0000\u0000"+
+		"EF\u0005)\u0000\u0000Fw\u0006\u0001\uffff\uffff\u0000GH\u0005\u0018\u0000"+
+		"\u0000HI\u0005)\u0000\u0000IJ\u0005)\u0000\u0000Jw\u0006\u0001\uffff\uffff"+
+		"\u0000KL\u0005\u0019\u0000\u0000LM\u0005)\u0000\u0000MN\u0005)\u0000\u0000"+
+		"Nw\u0006\u0001\uffff\uffff\u0000OP\u0005\u001a\u0000\u0000PQ\u0005(\u0000"+
+		"\u0000Qw\u0006\u0001\uffff\uffff\u0000RS\u0005\u001b\u0000\u0000ST\u0005"+
+		")\u0000\u0000Tw\u0006\u0001\uffff\uffff\u0000UV\u0005\u001c\u0000\u0000"+
+		"Vw\u0006\u0001\uffff\uffff\u0000WX\u0005\u001d\u0000\u0000Xw\u0006\u0001"+
+		"\uffff\uffff\u0000YZ\u0005\u001e\u0000\u0000Zw\u0006\u0001\uffff\uffff"+
+		"\u0000[\\\u0005\u001f\u0000\u0000\\w\u0006\u0001\uffff\uffff\u0000]^\u0005"+
+		" \u0000\u0000^_\u0005)\u0000\u0000_w\u0006\u0001\uffff\uffff\u0000`a\u0005"+
+		" \u0000\u0000ab\u0005(\u0000\u0000bw\u0006\u0001\uffff\uffff\u0000cd\u0005"+
+		"!\u0000\u0000dw\u0006\u0001\uffff\uffff\u0000ef\u0005\"\u0000\u0000fw"+
+		"\u0006\u0001\uffff\uffff\u0000gh\u0005#\u0000\u0000hi\u0005)\u0000\u0000"+
+		"iw\u0006\u0001\uffff\uffff\u0000jk\u0005$\u0000\u0000kl\u0005*\u0000\u0000"+
+		"lm\u0005)\u0000\u0000mw\u0006\u0001\uffff\uffff\u0000no\u0005%\u0000\u0000"+
+		"op\u0005*\u0000\u0000pq\u0005)\u0000\u0000qr\u0005*\u0000\u0000rw\u0006"+
+		"\u0001\uffff\uffff\u0000st\u0005&\u0000\u0000tu\u0005*\u0000\u0000uw\u0005"+
+		"*\u0000\u0000v\r\u0001\u0000\u0000\u0000v\u0010\u0001\u0000\u0000\u0000"+
+		"v\u0013\u0001\u0000\u0000\u0000v\u0015\u0001\u0000\u0000\u0000v\u0017"+
+		"\u0001\u0000\u0000\u0000v\u0019\u0001\u0000\u0000\u0000v\u001b\u0001\u0000"+
+		"\u0000\u0000v\u001d\u0001\u0000\u0000\u0000v\u001f\u0001\u0000\u0000\u0000"+
+		"v!\u0001\u0000\u0000\u0000v$\u0001\u0000\u0000\u0000v\'\u0001\u0000\u0000"+
+		"\u0000v*\u0001\u0000\u0000\u0000v-\u0001\u0000\u0000\u0000v0\u0001\u0000"+
+		"\u0000\u0000v2\u0001\u0000\u0000\u0000v4\u0001\u0000\u0000\u0000v6\u0001"+
+		"\u0000\u0000\u0000v8\u0001\u0000\u0000\u0000v:\u0001\u0000\u0000\u0000"+
+		"v<\u0001\u0000\u0000\u0000v>\u0001\u0000\u0000\u0000v@\u0001\u0000\u0000"+
+		"\u0000vB\u0001\u0000\u0000\u0000vD\u0001\u0000\u0000\u0000vG\u0001\u0000"+
+		"\u0000\u0000vK\u0001\u0000\u0000\u0000vO\u0001\u0000\u0000\u0000vR\u0001"+
+		"\u0000\u0000\u0000vU\u0001\u0000\u0000\u0000vW\u0001\u0000\u0000\u0000"+
+		"vY\u0001\u0000\u0000\u0000v[\u0001\u0000\u0000\u0000v]\u0001\u0000\u0000"+
+		"\u0000v`\u0001\u0000\u0000\u0000vc\u0001\u0000\u0000\u0000ve\u0001\u0000"+
+		"\u0000\u0000vg\u0001\u0000\u0000\u0000vj\u0001\u0000\u0000\u0000vn\u0001"+
+		"\u0000\u0000\u0000vs\u0001\u0000\u0000\u0000w\u0003\u0001\u0000\u0000"+
+		"\u0000\u0002\u0007v";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
@@ -44,6 +44,10 @@ public class AST {
         final List<ParNode> parametersList;
         final List<DecNode> declarationsList;
         final Node expression;
+        STentry symbolTableEntry;
+        int stackObjectsSize; // words reserved in the frame for non-escaping objects
+        boolean pure; // no print can be reached executing the function
+        boolean memoizable; // results can be cached by access link and arguments
 
         FunNode(String id, TypeNode returnType, List<ParNode> parameters, List<DecNode> declarations, Node expression) {
             this.id = id;
@@ -80,6 +84,9 @@ public class AST {
 
         final String id;
         final Node expression;
+        STentry symbolTableEntry;
+        boolean stackAllocated; // the object assigned to the variable does not escape the function
+        int objectOffset; // offset of the dispatch pointer of the stack allocated object
 
         VarNode(String id, TypeNode type, Node expression) {
             this.id = id;
@@ -140,6 +147,9 @@ public class AST {
         final Node expression;
         int offset;
         String label;
+        int stackObjectsSize; // words reserved in the frame for non-escaping objects
+        boolean pure; // no print can be reached executing the method
+        boolean memoizable; // results can be cached by receiver and arguments
 
         MethodNode(String id, TypeNode returnType, List<ParNode> parametersList, List<DecNode> declarationsList, Node expression) {
             this.id = id;
@@ -170,6 +180,17 @@ public class AST {
         }
     }
 
+    /*
+     * Next integer of the program input: `read()`.
+     */
+    public static class ReadNode extends Node {
+
+        @Override
+        public <S, E extends Exception> S accept(BaseASTVisitor<S, E> visitor) throws E {
+            return visitor.visitNode(this);
+        }
+    }
+
     public static class IfNode extends Node {
 
         final Node condition;
@@ -357,6 +378,7 @@ public class AST {
         final List<Node> argumentsList;
         STentry symbolTableEntry;
         int nestingLevel;
+        boolean[] parallelArguments; // arguments evaluated by parallel tasks, null if none
 
         CallNode(String id, List<Node> arguments) {
             this.id = id;
@@ -378,6 +400,7 @@ public class AST {
         STentry symbolTableEntry;
         STentry methodEntry;
         final List<Node> argumentsList;
+        boolean[] parallelArguments; // arguments evaluated by parallel tasks, null if none
 
         public ClassCallNode(String objectId, String methodId, List<Node> arguments) {
             this.objectId = objectId;
@@ -420,6 +443,23 @@ public class AST {
         }
     }
 
+    /*
+     * Call (CallNode or ClassCallNode) whose arguments are evaluated in parallel: `par f(...)`.
+     */
+    public static class ParallelCallNode extends Node {
+
+        final Node call;
+
+        ParallelCallNode(Node call) {
+            this.call = call;
+        }
+
+        @Override
+        public <S, E extends Exception> S accept(BaseASTVisitor<S, E> visitor) throws E {
+            return visitor.visitNode(this);
+        }
+    }
+
     public static class NewNode extends Node {
 
         STentry classSymbolTableEntry;
@@ -16,6 +16,7 @@ public class ASTGenerationSTVisitor extends FOOLBaseVisitor<Node> {
 
     String indent;
     public boolean print;
+    private int visitedNodes = 0; // parse tree nodes, for instrumentation (see CompilationPhases)
 
     ASTGenerationSTVisitor() {
     }
@@ -37,6 +38,7 @@ public class ASTGenerationSTVisitor extends FOOLBaseVisitor<Node> {
         if (t == null) {
             return null;
         }
+        visitedNodes++;
         String temp = indent;
         indent = (indent == null) ? "" : indent + "  ";
         Node result = super.visit(t);
@@ -44,6 +46,10 @@ public class ASTGenerationSTVisitor extends FOOLBaseVisitor<Node> {
         return result;
     }
 
+    public int getVisitedNodes() {
+        return visitedNodes;
+    }
+
     @Override
     public Node visitProg(ProgContext c) {
         if (print) {
@@ -323,6 +329,16 @@ public class ASTGenerationSTVisitor extends FOOLBaseVisitor<Node> {
         return new PrintNode(visit(c.exp()));
     }
 
+    @Override
+    public Node visitRead(ReadContext c) {
+        if (print) {
+            printVarAndProdName(c);
+        }
+        Node node = new ReadNode();
+        node.setLine(c.READ().getSymbol().getLine());
+        return node;
+    }
+
     @Override
     public Node visitPars(ParsContext c) {
         if (print) {
@@ -368,4 +384,36 @@ public class ASTGenerationSTVisitor extends FOOLBaseVisitor<Node> {
         node.setLine(c.ID(1).getSymbol().getLine());
         return node;
     }
+
+    @Override
+    public Node visitParCall(ParCallContext c) {
+        if (print) {
+            printVarAndProdName(c);
+        }
+        List<Node> arglist = new ArrayList<>();
+        for (ExpContext arg : c.exp()) {
+            arglist.add(visit(arg));
+        }
+        Node call = new CallNode(c.ID().getText(), arglist);
+        call.setLine(c.ID().getSymbol().getLine());
+        Node node = new ParallelCallNode(call);
+        node.setLine(c.PAR().getSymbol().getLine());
+        return node;
+    }
+
+    @Override
+    public Node visitParDotCall(ParDotCallContext c) {
+        if (print) {
+            printVarAndProdName(c);
+        }
+        List<Node> arglist = new ArrayList<>();
+        for (ExpContext arg : c.exp()) {
+            arglist.add(visit(arg));
+        }
+        Node call = new ClassCallNode(c.ID(0).getText(), c.ID(1).getText(), arglist);
+        call.setLine(c.ID(1).getSymbol().getLine());
+        Node node = new ParallelCallNode(call);
+        node.setLine(c.PAR().getSymbol().getLine());
+        return node;
+    }
 }
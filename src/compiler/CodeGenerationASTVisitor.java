@@ -3,10 +3,11 @@ package compiler;
 import compiler.AST.*;
 import compiler.lib.*;
 import compiler.exc.*;
-import visualsvm.ExecuteVM;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static compiler.lib.FOOLlib.*;
 import static compiler.lib.FOOLlib.nlJoin;
@@ -14,6 +15,14 @@ import static compiler.lib.FOOLlib.nlJoin;
 public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidException> {
 
     List<List<String>> dispatchTables = new ArrayList<>();
+    List<String> dispatchTableLabels = new ArrayList<>();
+    Map<STentry, String> constantObjectLabels = new HashMap<>(); // global variables bound to preallocated objects
+    int memoTables = 0; // memo tables used by memoizable functions and methods
+    int line = 0; // source line of the code being generated, 0 if unknown
+    String function = function(MAIN_LABEL, 0); // function whose code is being generated
+    String className; // class whose methods are being generated
+
+    static final String MAIN_LABEL = "main";
 
     CodeGenerationASTVisitor() {
     }
@@ -22,30 +31,145 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
         super(false, debug);
     }
 
+    /*
+     * Operands of the ".function" (function entry) and ".task" directives, naming the function
+     * (and giving its number of parameters) that the code following them belongs to: used to
+     * walk the call stack and trace calls at runtime (see SamplingProfiler and CallTracer).
+     */
+    private static String function(String name, int parameters) {
+        return "\"" + name + "\" " + parameters;
+    }
+
+    /*
+     * Kind of each field, as an operand of the ".class" directive: 'o' for objects,
+     * 'b' for booleans, 'i' for integers.
+     */
+    private static String fieldKinds(List<TypeNode> fields) {
+        StringBuilder kinds = new StringBuilder();
+        for (TypeNode field : fields) {
+            kinds.append(kind(field));
+        }
+        return kinds.toString();
+    }
+
+    private static char kind(TypeNode type) {
+        return type instanceof RefTypeNode ? 'o' : type instanceof BoolTypeNode ? 'b' : 'i';
+    }
+
+    /*
+     * Parameter types of the function or method called through "entry".
+     */
+    private static List<TypeNode> parameterTypes(STentry entry) {
+        TypeNode type = entry.type instanceof MethodTypeNode ? ((MethodTypeNode) entry.type).functionalType : entry.type;
+        return ((ArrowTypeNode) type).parametersList;
+    }
+
+    /*
+     * Code of nodes from another source line is enclosed in ".line" directives, so that the
+     * assembler can map each instruction to the line it comes from (used by profiles).
+     */
+    @Override
+    public String visit(Visitable v, String mark) {
+        int nodeLine = v instanceof Node ? ((Node) v).getLine() : -1;
+        if (nodeLine < 0 || nodeLine == line) {
+            return super.visit(v, mark);
+        }
+        int enclosingLine = line;
+        line = nodeLine;
+        String code;
+        try {
+            code = super.visit(v, mark);
+        } finally {
+            line = enclosingLine;
+        }
+        return code == null ? null : nlJoin(".line " + nodeLine, code, ".line " + enclosingLine);
+    }
+
     @Override
     public String visitNode(ProgLetInNode node) {
         if (print) {
             printNode(node);
         }
         String declarationListCode = null;
-        for (Node declaration : node.declarationList) {
-            declarationListCode = nlJoin(declarationListCode, visit(declaration));
+        for (DecNode declaration : node.declarationList) {
+            if (declaration instanceof VarNode && isConstantObject(((VarNode) declaration).expression)) {
+                /*
+                 * Global objects built only from constants are evaluated exactly once:
+                 * they are preallocated in the initial heap image instead of being built at runtime.
+                 */
+                String objectLabel = preallocate((NewNode) ((VarNode) declaration).expression);
+                constantObjectLabels.put(((VarNode) declaration).symbolTableEntry, objectLabel);
+                declarationListCode = nlJoin(declarationListCode, "push " + objectLabel);
+            } else {
+                declarationListCode = nlJoin(declarationListCode, visit(declaration));
+            }
         }
         return nlJoin(
             "push 0",
             declarationListCode, // generate code for declarations (allocation)
+            MAIN_LABEL + ":", // start of the main expression, the global frame is complete
             visit(node.expression),
             "halt",
             getCode()
         );
     }
 
+    private boolean isConstantObject(Node node) {
+        if (!(node instanceof NewNode)) {
+            return false;
+        }
+        for (Node argument : ((NewNode) node).argumentsList) {
+            if (!(argument instanceof IntNode || argument instanceof BoolNode || argument instanceof EmptyNode
+                    || isConstantObject(argument)
+                    || argument instanceof IdNode && constantObjectLabels.containsKey(((IdNode) argument).symbolTableEntry))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Emits the object (and the constant objects it refers to) in the .data section,
+     * with the same layout built by "alloc", and returns the label of its dispatch pointer.
+     */
+    private String preallocate(NewNode node) {
+        String fieldsData = null;
+        for (int i = node.argumentsList.size() - 1; i >= 0; i--) {
+            Node argument = node.argumentsList.get(i);
+            String word;
+            if (argument instanceof IntNode) {
+                word = ((IntNode) argument).value.toString();
+            } else if (argument instanceof BoolNode) {
+                word = ((BoolNode) argument).value ? "1" : "0";
+            } else if (argument instanceof EmptyNode) {
+                word = "-1";
+            } else if (argument instanceof IdNode) {
+                word = constantObjectLabels.get(((IdNode) argument).symbolTableEntry);
+            } else {
+                word = preallocate((NewNode) argument);
+            }
+            fieldsData = nlJoin(fieldsData, ".word " + word);
+        }
+        String objectLabel = freshConstantLabel();
+        putCode(
+            nlJoin(
+                ".data",
+                fieldsData,
+                objectLabel + ":",
+                ".word " + dispatchTableLabels.get(-node.classSymbolTableEntry.offset - 2),
+                ".text"
+            )
+        );
+        return objectLabel;
+    }
+
     @Override
     public String visitNode(ProgNode node) {
         if (print) {
             printNode(node);
         }
         return nlJoin(
+            MAIN_LABEL + ":",
             visit(node.expression),
             "halt"
         );
@@ -56,32 +180,137 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
         if (print) {
             printNode(node, node.id);
         }
+        if (node.stackAllocated) {
+            return stackAllocationCode((NewNode) node.expression, node.objectOffset);
+        }
         return visit(node.expression);
     }
 
+    /*
+     * Generates code for call arguments, in reversed order.
+     * Parallel arguments (see PurityAnalysisEASTVisitor) are evaluated by tasks: "fork" reserves
+     * the argument slot on the stack and starts the task code, "joinall" waits for the tasks
+     * and fills their slots with the results. The ".task" directive gives the kind of the result
+     * (as in ".class"), so that the VM can move the objects allocated by the task.
+     */
+    private String argumentsCode(List<Node> arguments, List<TypeNode> parameterTypes, boolean[] parallelArguments) {
+        String argumentsCode = null;
+        int tasks = 0;
+        for (int i = arguments.size() - 1; i >= 0; i--) {
+            if (parallelArguments != null && parallelArguments[i]) {
+                String taskLabel = freshTaskLabel();
+                putCode(
+                    nlJoin(
+                        taskLabel + ":",
+                        ".task " + function + " \"" + kind(parameterTypes.get(i)) + "\"", // tasks run in the frame of the enclosing function
+                        ".line " + line,
+                        visit(arguments.get(i)), // the task shares $fp with the forking code
+                        "done" // end of task, the result is on top of the stack
+                    )
+                );
+                argumentsCode = nlJoin(argumentsCode, "fork " + taskLabel);
+                tasks++;
+            } else {
+                argumentsCode = nlJoin(argumentsCode, visit(arguments.get(i)));
+            }
+        }
+        return tasks == 0 ? argumentsCode : nlJoin(argumentsCode, "joinall " + tasks);
+    }
+
+    /*
+     * Generates code for local declarations of functions and methods.
+     * If some objects are allocated in the frame (see EscapeAnalysisEASTVisitor) the slots of both
+     * declarations and objects are reserved in advance and each declaration stores its value in its slot:
+     * in this way the objects, placed below the declarations, are not overwritten while evaluating them.
+     */
+    private String declarationsCode(List<DecNode> declarations, int stackObjectsSize) {
+        String declarationListCode = null;
+        if (stackObjectsSize == 0) {
+            for (Node declaration : declarations) {
+                declarationListCode = nlJoin(declarationListCode, visit(declaration));
+            }
+            return declarationListCode;
+        }
+        for (int i = 0; i < declarations.size() + stackObjectsSize; i++) {
+            declarationListCode = nlJoin(declarationListCode, "push 0"); // reserve slots
+        }
+        for (int i = 0; i < declarations.size(); i++) {
+            declarationListCode = nlJoin(
+                declarationListCode,
+                visit(declarations.get(i)),
+                "lfp",
+                "push " + (-2 - i),
+                "add",
+                "sw" // store the value in the slot of the declaration
+            );
+        }
+        return declarationListCode;
+    }
+
+    /*
+     * Generates code that lays out a non-escaping object in the frame, with the same layout
+     * used on the heap (fields below the dispatch pointer), and pushes its object pointer.
+     */
+    private String stackAllocationCode(NewNode node, int objectOffset) {
+        String storeFieldsCode = null;
+        for (int i = 0; i < node.argumentsList.size(); i++) {
+            storeFieldsCode = nlJoin(
+                storeFieldsCode,
+                visit(node.argumentsList.get(i)),
+                "lfp",
+                "push " + (objectOffset - i - 1),
+                "add",
+                "sw"
+            );
+        }
+        return nlJoin(
+            storeFieldsCode,
+            "push " + dispatchTableLabels.get(-node.classSymbolTableEntry.offset - 2), // dispatch pointer
+            "lfp",
+            "push " + objectOffset,
+            "add",
+            "sw",
+            "lfp",
+            "push " + objectOffset,
+            "add" // object pointer
+        );
+    }
+
     @Override
     public String visitNode(FunNode node) {
         if (print) {
             printNode(node, node.id);
         }
-        String declarationListCode = null;
+        String enclosingFunction = function;
+        function = function(node.id, node.parametersList.size());
+        String declarationListCode = declarationsCode(node.declarationsList, node.stackObjectsSize);
         String popDeclarationsList = null;
         String popParametersList = null;
-        for (Node declaration : node.declarationsList) {
-            declarationListCode = nlJoin(declarationListCode, visit(declaration));
+        for (int i = 0; i < node.declarationsList.size() + node.stackObjectsSize; i++) {
             popDeclarationsList = nlJoin(popDeclarationsList, "pop");
         }
         for (int i = 0; i < node.parametersList.size(); i++) {
             popParametersList = nlJoin(popParametersList, "pop");
         }
+        String memoCode = null;
+        String memoizeCode = null;
+        if (node.memoizable) {
+            memoCode = "memo " + memoTables + " " + node.parametersList.size();
+            memoizeCode = "mput " + memoTables + " " + node.parametersList.size();
+            memoTables++;
+        }
         String functionLabel = freshFunLabel();
         putCode(
             nlJoin(
                 functionLabel + ":",
+                ".function " + function,
+                ".line " + line,
                 "cfp", // set $fp to $sp value
+                memoCode, // return the cached result, if any, of the call with the same Access Link and arguments
                 "lra", // load $ra value
                 declarationListCode, // generate code for local declarations (they use the new $fp!!!)
                 visit(node.expression), // generate code for function body expression
+                memoizeCode, // cache the function result
                 "stm", // set $tm to popped value (function result)
                 popDeclarationsList, // remove local declarations from stack
                 "sra", // set $ra to popped value
@@ -93,6 +322,7 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
                 "js"  // jump to to popped address
             )
         );
+        function = enclosingFunction;
         return "push " + functionLabel;
     }
 
@@ -123,11 +353,8 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
             printNode(node, node.id);
         }
 
-        String argumentsCode = null;
+        String argumentsCode = argumentsCode(node.argumentsList, parameterTypes(node.symbolTableEntry), node.parallelArguments);
         String getActivationRecordCode = null;
-        for (int i = node.argumentsList.size() - 1; i >= 0; i--) {
-            argumentsCode = nlJoin(argumentsCode, visit(node.argumentsList.get(i)));
-        }
         for (int i = 0; i < node.nestingLevel - node.symbolTableEntry.nl; i++) {
             getActivationRecordCode = nlJoin(getActivationRecordCode, "lw");
         }
@@ -141,7 +368,10 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
                 "ltm" // duplicate top of stack
         );
         if (node.symbolTableEntry.type instanceof MethodTypeNode) {
-            commonCode = nlJoin(commonCode, "lw"); // load dispatchPointer
+            return nlJoin(commonCode,
+                    "lm " + node.symbolTableEntry.offset, // load address of "id" method via the call site inline cache
+                    "js"  // jump to popped address (saving address of subsequent instruction in $ra)
+            );
         }
         return nlJoin(commonCode,
                 "push " + node.symbolTableEntry.offset,
@@ -162,6 +392,14 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
         );
     }
 
+    @Override
+    public String visitNode(ReadNode node) {
+        if (print) {
+            printNode(node);
+        }
+        return "read";
+    }
+
     @Override
     public String visitNode(IfNode node) {
         if (print) {
@@ -367,6 +605,7 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
             var superClassDispatchTable = dispatchTables.get(-node.superClassEntry.offset-2);
             dispatchTable.addAll(superClassDispatchTable);
         }
+        className = node.id;
         for (int i = 0; i < node.methods.size(); i++) {
             var method = node.methods.get(i);
             visit(method);
@@ -376,23 +615,27 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
                 dispatchTable.add(method.offset, method.label);
             }
         }
-        String createDispatchTable = null;
+        /*
+         * The dispatch table is laid out by the assembler in the (read-only) code area:
+         * no code is run to build it, the class declaration just pushes its address.
+         * A class without methods gets a placeholder word, so that dispatch pointers
+         * (the header of objects) always identify the class. The ".class" directive
+         * gives its name and the kind of its fields, used to walk the heap (see HeapDump).
+         */
+        String dispatchTableLabel = freshDispatchLabel();
+        dispatchTableLabels.add(dispatchTableLabel);
+        String dispatchTableCode = dispatchTable.isEmpty() ? ".word 0" : null;
         for (String label : dispatchTable) {
-            createDispatchTable = nlJoin(
-                createDispatchTable,
-                "push " + label,
-                "lhp",
-                "sw",
-                "lhp",
-                "push 1",
-                "add",
-                "shp"
-            );
+            dispatchTableCode = nlJoin(dispatchTableCode, ".word " + label);
         }
-        return nlJoin(
-            "lhp",
-            createDispatchTable
+        putCode(
+            nlJoin(
+                dispatchTableLabel + ":",
+                ".class \"" + node.id + "\" \"" + fieldKinds(node.type.allFields) + "\"",
+                dispatchTableCode
+            )
         );
+        return "push " + dispatchTableLabel;
     }
 
     @Override
@@ -400,25 +643,37 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
         if (print) {
             printNode(node, node.id);
         }
-        String declarationListCode = null;
+        String enclosingFunction = function;
+        function = function(className + "." + node.id, node.parametersList.size());
+        String declarationListCode = declarationsCode(node.declarationsList, node.stackObjectsSize);
         String popDeclarationsList = null;
-        for (Node declaration : node.declarationsList) {
-            declarationListCode = nlJoin(declarationListCode, visit(declaration));
+        for (int i = 0; i < node.declarationsList.size() + node.stackObjectsSize; i++) {
             popDeclarationsList = nlJoin(popDeclarationsList, "pop");
         }
         String popParametersList = null;
         for (int i = 0; i < node.parametersList.size(); i++) {
             popParametersList = nlJoin(popParametersList, "pop");
         }
+        String memoCode = null;
+        String memoizeCode = null;
+        if (node.memoizable) {
+            memoCode = "memo " + memoTables + " " + node.parametersList.size();
+            memoizeCode = "mput " + memoTables + " " + node.parametersList.size();
+            memoTables++;
+        }
         String functionLabel = freshFunLabel();
         node.label = functionLabel;
         putCode(
             nlJoin(
                 functionLabel + ":",
+                ".function " + function,
+                ".line " + line,
                 "cfp", // set $fp to $sp value
+                memoCode, // return the cached result, if any, of the call with the same Access Link and arguments
                 "lra", // load $ra value
                 declarationListCode, // generate code for local declarations (they use the new $fp!!!)
                 visit(node.expression), // generate code for function body expression
+                memoizeCode, // cache the function result
                 "stm", // set $tm to popped value (function result)
                 popDeclarationsList, // remove local declarations from stack
                 "sra", // set $ra to popped value
@@ -430,6 +685,7 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
                 "js"  // jump to to popped address
             )
         );
+        function = enclosingFunction;
         return null;
     }
 
@@ -438,10 +694,7 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
         if (print) {
             printNode(node, node.objectId+"."+node.methodId);
         }
-        String argumentsCode = null;
-        for (int i = node.argumentsList.size() - 1; i >= 0; i--) {
-            argumentsCode = nlJoin(argumentsCode, visit(node.argumentsList.get(i)));
-        }
+        String argumentsCode = argumentsCode(node.argumentsList, parameterTypes(node.methodEntry), node.parallelArguments);
         String getActivationRecordCode = null;
         for (int i = 0; i < node.nestingLevel - node.symbolTableEntry.nl; i++) {
             getActivationRecordCode = nlJoin(getActivationRecordCode, "lw");
@@ -457,13 +710,19 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
             "stm", // set $tm to popped value (with the aim of duplicating top of stack)
             "ltm", // load Access Link (pointer to frame of function "id" declaration)
             "ltm", // duplicate top of stack
-            "lw",
-            "push " + node.methodEntry.offset, "add", // compute address of "id" declaration
-            "lw", // load address of "id" function
+            "lm " + node.methodEntry.offset, // load address of "id" method via the call site inline cache
             "js"  // jump to popped address (saving address of subsequent instruction in $ra)
         );
     }
 
+    @Override
+    public String visitNode(ParallelCallNode node) {
+        if (print) {
+            printNode(node);
+        }
+        return visit(node.call); // arguments marked as parallel by PurityAnalysisEASTVisitor
+    }
+
     @Override
     public String visitNode(NewNode node) {
         if (print) {
@@ -476,32 +735,10 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
                 visit(argument)
             );
         }
-        String loadArgumentsOnHeap = null;
-        for (var i = 0; i < node.argumentsList.size(); i++) {
-            loadArgumentsOnHeap = nlJoin(
-                loadArgumentsOnHeap,
-                "lhp",
-                "sw",
-                "lhp",
-                "push 1",
-                "add",
-                "shp"
-            );
-        }
         return nlJoin(
             putArgumentsOnStack,
-            loadArgumentsOnHeap,
-            "push " + ExecuteVM.MEMSIZE,
-            "push " + node.classSymbolTableEntry.offset,
-            "add",
-            "lw", // get dispatch pointer
-            "lhp",
-            "sw",
-            "lhp",
-            "lhp",
-            "push 1",
-            "add",
-            "shp"
+            "push " + dispatchTableLabels.get(-node.classSymbolTableEntry.offset - 2), // dispatch pointer
+            "alloc " + node.argumentsList.size() // move fields and dispatch pointer on the heap, push object pointer
         );
     }
 
@@ -0,0 +1,176 @@
+package compiler;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+import jdk.jfr.*;
+import svm.Metrics;
+
+/**
+ * Instrumentation of the compiler phases (lexing, parsing, AST generation, ..., assembly and
+ * execution): for each phase, wall time, bytes allocated by the compiling thread and size of
+ * what the phase processed (tokens, nodes or instructions).
+ * <p>
+ * Phases are run one after the other by the same thread, each between a call to begin and a
+ * call to end. Measures are available as JSON (toJson) and as JFR events ("fool.CompilerPhase"),
+ * which cost nothing unless a recording is running. Latencies also go to the phase
+ * histograms of Metrics.
+ */
+public final class CompilationPhases {
+
+    /*
+     * Measures of a completed phase.
+     */
+    public static final class Phase {
+        private final String name;
+        private final long nanos;
+        private final long allocatedBytes;
+        private final long count;
+        private final String unit;
+
+        Phase(String name, long nanos, long allocatedBytes, long count, String unit) {
+            this.name = name;
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+            this.count = count;
+            this.unit = unit;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /*
+         * -1 if the JVM cannot measure thread allocations.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /*
+         * Size of what the phase processed, in "unit"s (e.g. 120 tokens).
+         */
+        public long getCount() {
+            return count;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+    }
+
+    @Name("fool.CompilerPhase")
+    @Label("FOOL Compiler Phase")
+    @Category({"FOOL", "Compiler"})
+    @Description("A phase of the compilation of a FOOL program")
+    static final class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocatedBytes;
+
+        @Label("Count")
+        long count;
+
+        @Label("Unit")
+        String unit;
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private final List<Phase> phases = new ArrayList<>();
+    private String current; // phase begun and not ended, null if none
+    private long start;
+    private long startBytes;
+    private PhaseEvent event;
+
+    private static com.sun.management.ThreadMXBean threads() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            return (com.sun.management.ThreadMXBean) threads;
+        }
+        return null;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    public void begin(String name) {
+        if (current != null) {
+            throw new IllegalStateException("Phase " + current + " not ended");
+        }
+        current = name;
+        event = new PhaseEvent();
+        event.begin();
+        startBytes = allocatedBytes();
+        start = System.nanoTime();
+    }
+
+    /*
+     * Ends the current phase, which processed "count" "unit"s.
+     */
+    public Phase end(long count, String unit) {
+        long nanos = System.nanoTime() - start;
+        long bytes = startBytes < 0 ? -1 : allocatedBytes() - startBytes;
+        if (current == null) {
+            throw new IllegalStateException("No phase begun");
+        }
+        Phase phase = new Phase(current, nanos, bytes, count, unit);
+        phases.add(phase);
+        Metrics.get().recordPhase(current, nanos);
+        event.end();
+        if (event.shouldCommit()) {
+            event.phase = current;
+            event.allocatedBytes = bytes;
+            event.count = count;
+            event.unit = unit;
+            event.commit();
+        }
+        current = null;
+        event = null;
+        return phase;
+    }
+
+    public List<Phase> getPhases() {
+        return Collections.unmodifiableList(phases);
+    }
+
+    public long getTotalNanos() {
+        long nanos = 0;
+        for (Phase phase : phases) nanos += phase.nanos;
+        return nanos;
+    }
+
+    /*
+     * {"phases":[{"name":"lexing","nanos":..,"allocatedBytes":..,"count":..,"unit":"tokens"},...],"totalNanos":..}
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"phases\":[");
+        for (int i = 0; i < phases.size(); i++) {
+            Phase phase = phases.get(i);
+            json.append(i == 0 ? "" : ",").append(String.format(
+                "{\"name\":\"%s\",\"nanos\":%d,\"allocatedBytes\":%d,\"count\":%d,\"unit\":\"%s\"}",
+                phase.name, phase.nanos, phase.allocatedBytes, phase.count, phase.unit
+            ));
+        }
+        return json.append("],\"totalNanos\":").append(getTotalNanos()).append("}").toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder();
+        for (Phase phase : phases) {
+            table.append(String.format("%-18s %10.3f ms %12d bytes %8d %s%n",
+                phase.name, phase.nanos / 1e6, phase.allocatedBytes, phase.count, phase.unit));
+        }
+        return table.toString();
+    }
+}
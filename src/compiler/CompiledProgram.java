@@ -0,0 +1,280 @@
+package compiler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.antlr.v4.runtime.*;
+
+import compiler.AST.*;
+import compiler.exc.*;
+import compiler.lib.*;
+import svm.*;
+
+/**
+ * FOOL program compiled once and then used as a library of functions from Java,
+ * e.g. to evaluate business rules.
+ * <p>
+ * Compiling runs the global declarations (the code before the main expression) once:
+ * the snapshot of the resulting state (global frame and preallocated objects) is shared
+ * by all the invocations of the global functions, which never modify it as FOOL values
+ * are immutable, and compilation fails if they stop without halting (e.g. dividing by zero).
+ * The main expression is evaluated only by run. The snapshot can also be
+ * kept in a persistent heap image (see HeapImage), so that the global declarations are
+ * executed only by the first compilation of the program.
+ * <p>
+ * Instances are immutable and can be invoked from many threads at once: each invocation
+ * borrows a VM from an internal pool and gives it back once the call is over, restoring
+ * only its registers.
+ */
+public final class CompiledProgram {
+
+    /*
+     * Global function: address of its code and number of parameters.
+     */
+    private static final class Function {
+        final int address;
+        final int parameters;
+        final boolean invocable; // parameters and result are int or bool
+
+        Function(int address, FunNode function) {
+            this.address = address;
+            this.parameters = function.parametersList.size();
+            boolean invocable = isIntOrBool(function.returnType);
+            for (ParNode parameter : function.parametersList) {
+                invocable &= isIntOrBool(parameter.getType());
+            }
+            this.invocable = invocable;
+        }
+
+        private static boolean isIntOrBool(TypeNode type) {
+            return type instanceof IntTypeNode || type instanceof BoolTypeNode;
+        }
+    }
+
+    private final Snapshot snapshot; // state right before the main expression
+    private final Snapshot callSnapshot; // the same, but the main expression is replaced by a halt instruction
+    private final int haltAddress;
+    private final Map<String, Function> functions;
+    private final Queue<ExecuteVM> pool = new ConcurrentLinkedQueue<>();
+    private final CompilationPhases phases;
+    private final List<String> warnings;
+
+    private CompiledProgram(Snapshot snapshot, int mainAddress, Map<String, FunNode> globalFunctions, CompilationPhases phases,
+            List<String> warnings) {
+        this.snapshot = snapshot;
+        this.phases = phases;
+        this.warnings = Collections.unmodifiableList(warnings);
+        this.callSnapshot = snapshot.withHaltAt(mainAddress);
+        this.haltAddress = mainAddress;
+        Map<String, Function> functions = new HashMap<>();
+        globalFunctions.forEach((id, function) -> functions.put(
+            id,
+            new Function(snapshot.read(ExecuteVM.MEMSIZE + function.symbolTableEntry.offset), function)
+        ));
+        this.functions = Collections.unmodifiableMap(functions);
+    }
+
+    public static CompiledProgram compileFile(String fileName) throws IOException, CompilationException {
+        return compileFile(fileName, false);
+    }
+
+    /*
+     * In "parallel" mode, pure arguments calling non-leaf functions are evaluated by parallel
+     * tasks when at least two of them are passed to the same call (see PurityAnalysisEASTVisitor);
+     * otherwise only the arguments of explicit parallel calls are.
+     */
+    public static CompiledProgram compileFile(String fileName, boolean parallel) throws IOException, CompilationException {
+        return compile(CharStreams.fromFileName(fileName), null, parallel);
+    }
+
+    /*
+     * The state after the global declarations is reopened from "heapImage" if it was saved
+     * for the same program, otherwise it is computed and saved there.
+     */
+    public static CompiledProgram compileFile(String fileName, Path heapImage) throws IOException, CompilationException {
+        return compile(CharStreams.fromFileName(fileName), heapImage, false);
+    }
+
+    public static CompiledProgram compile(String source) throws CompilationException {
+        return compile(source, false);
+    }
+
+    public static CompiledProgram compile(String source, boolean parallel) throws CompilationException {
+        try {
+            return compile(CharStreams.fromString(source), null, parallel);
+        } catch (IOException e) {
+            throw new AssertionError(e); // no heap image
+        }
+    }
+
+    /*
+     * Compilation uses global state (FOOLlib), so programs are compiled one at a time.
+     */
+    private static synchronized CompiledProgram compile(CharStream chars, Path heapImage, boolean parallel)
+            throws IOException, CompilationException {
+        boolean compiled = false;
+        try {
+            CompiledProgram program = compilePhases(chars, heapImage, parallel);
+            compiled = true;
+            return program;
+        } finally {
+            Metrics.get().recordCompilation(!compiled);
+        }
+    }
+
+    private static CompiledProgram compilePhases(CharStream chars, Path heapImage, boolean parallel)
+            throws IOException, CompilationException {
+        CompilationPhases phases = new CompilationPhases();
+        FOOLLexer lexer = new FOOLLexer(chars);
+        CommonTokenStream tokens = new CommonTokenStream(lexer);
+        FOOLParser parser = new FOOLParser(tokens);
+        phases.begin("lexing");
+        tokens.fill();
+        phases.end(tokens.size(), "tokens");
+        phases.begin("parsing");
+        ParserRuleContext parseTree = parser.prog();
+        phases.end(tokens.size(), "tokens");
+        phases.begin("AST generation");
+        ASTGenerationSTVisitor astGenerationVisitor = new ASTGenerationSTVisitor();
+        Node ast = astGenerationVisitor.visit(parseTree);
+        phases.end(astGenerationVisitor.getVisitedNodes(), "parse tree nodes");
+        phases.begin("symbol table");
+        SymbolTableASTVisitor symtableVisitor = new SymbolTableASTVisitor();
+        symtableVisitor.visit(ast);
+        phases.end(symtableVisitor.getVisitedNodes(), "nodes");
+        int typeErrors = FOOLlib.typeErrors;
+        phases.begin("type checking");
+        TypeCheckEASTVisitor typeCheckVisitor = new TypeCheckEASTVisitor();
+        String mainTypeError = "";
+        try {
+            typeCheckVisitor.visit(ast);
+        } catch (IncomplException e) {
+            // errors already counted by the symbol table
+        } catch (TypeException e) {
+            mainTypeError = " Type checking error in main program expression: " + e.text;
+        }
+        phases.end(typeCheckVisitor.getVisitedNodes(), "nodes");
+        int frontEndErrors = lexer.lexicalErrors + parser.getNumberOfSyntaxErrors() + symtableVisitor.stErrors
+            + FOOLlib.typeErrors - typeErrors;
+        if (frontEndErrors > 0) {
+            throw new CompilationException("You had a total of " + frontEndErrors + " front-end errors." + mainTypeError);
+        }
+        phases.begin("escape analysis");
+        EscapeAnalysisEASTVisitor escapeAnalysisVisitor = new EscapeAnalysisEASTVisitor();
+        escapeAnalysisVisitor.visit(ast);
+        phases.end(escapeAnalysisVisitor.getVisitedNodes(), "nodes");
+        phases.begin("purity analysis");
+        PurityAnalysisEASTVisitor purityAnalysisVisitor = new PurityAnalysisEASTVisitor(false, parallel);
+        purityAnalysisVisitor.visit(ast);
+        phases.end(purityAnalysisVisitor.getVisitedNodes(), "nodes");
+        phases.begin("code generation");
+        FOOLlib.resetCode();
+        CodeGenerationASTVisitor codeGenerationVisitor = new CodeGenerationASTVisitor();
+        String assembly = codeGenerationVisitor.visit(ast);
+        phases.end(codeGenerationVisitor.getVisitedNodes(), "nodes");
+
+        phases.begin("assembly");
+        SVMLexer lexerASM = new SVMLexer(CharStreams.fromString(assembly));
+        SVMParser parserASM = new SVMParser(new CommonTokenStream(lexerASM));
+        parserASM.assembly();
+        phases.end(parserASM.getCodeSize(), "code words");
+        if (lexerASM.lexicalErrors + parserASM.getNumberOfSyntaxErrors() > 0) {
+            throw new CompilationException("Generated code cannot be assembled.");
+        }
+
+        Map<String, FunNode> globalFunctions = new HashMap<>();
+        if (ast instanceof ProgLetInNode) {
+            for (Node declaration : ((ProgLetInNode) ast).declarationList) {
+                if (declaration instanceof FunNode) {
+                    globalFunctions.put(((FunNode) declaration).id, (FunNode) declaration);
+                }
+            }
+        }
+        int mainAddress = parserASM.getLabelAddress(CodeGenerationASTVisitor.MAIN_LABEL);
+        phases.begin("global declarations");
+        Snapshot snapshot;
+        try {
+            snapshot = heapImage == null
+                ? Snapshot.afterGlobalDeclarations(parserASM.code, parserASM.data, mainAddress)
+                : HeapImage.openOrBuild(heapImage, parserASM.code, parserASM.data, mainAddress, parserASM.dispatchTables);
+        } catch (IllegalStateException e) {
+            throw new CompilationException(e.getMessage());
+        }
+        phases.end(snapshot.getHeapPointer(), "heap words");
+        return new CompiledProgram(
+            snapshot.withCodeMap(parserASM.codeMap), mainAddress, globalFunctions, phases, purityAnalysisVisitor.warnings
+        );
+    }
+
+    /*
+     * Calls the global function "name" (bool arguments and results are 0 or 1). Only functions
+     * whose parameters and result are int or bool can be invoked: objects live in the memory
+     * of the VM, which is given back to the pool after the call.
+     */
+    public int invoke(String name, int... arguments) {
+        Function function = functions.get(name);
+        if (function == null) {
+            throw new IllegalArgumentException("No global function " + name);
+        }
+        if (!function.invocable) {
+            throw new IllegalArgumentException("Function " + name + " takes or returns objects: it cannot be invoked");
+        }
+        if (arguments.length != function.parameters) {
+            throw new IllegalArgumentException(
+                "Function " + name + " expects " + function.parameters + " arguments, " + arguments.length + " given"
+            );
+        }
+        ExecuteVM vm = pool.poll();
+        if (vm == null) {
+            vm = callSnapshot.newVM();
+        }
+        try {
+            return vm.call(function.address, haltAddress, arguments);
+        } finally {
+            vm.restore(callSnapshot);
+            pool.offer(vm);
+        }
+    }
+
+    /*
+     * Evaluates the main expression, starting from the state after the global declarations.
+     */
+    public void run() {
+        snapshot.newVM().cpu();
+    }
+
+    /*
+     * State right before the main expression: can be saved to start the program in another process.
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /*
+     * Time and memory spent by each phase of the compilation.
+     */
+    public CompilationPhases getCompilationPhases() {
+        return phases;
+    }
+
+    /*
+     * Warnings of the compilation, e.g. arguments of parallel calls evaluated sequentially.
+     */
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    public Set<String> getFunctionNames() {
+        return functions.keySet();
+    }
+
+    public int getParameterCount(String name) {
+        Function function = functions.get(name);
+        if (function == null) {
+            throw new IllegalArgumentException("No global function " + name);
+        }
+        return function.parameters;
+    }
+}
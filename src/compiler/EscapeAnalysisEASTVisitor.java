@@ -0,0 +1,344 @@
+package compiler;
+
+import java.util.*;
+
+import compiler.AST.*;
+import compiler.exc.*;
+import compiler.lib.*;
+
+/**
+ * Visits an EAST looking for objects that never escape the function that creates them.
+ * <p>
+ * Candidates are local declarations (of functions and methods) of the form
+ * `var x:C = new C(...)`. As FOOL has no way of referring to the receiver
+ * inside a method, the object pointer stored in `x` can only leave the
+ * function through an IdNode referring to `x` (passed as argument, returned,
+ * compared, stored in a field...). Uses as receiver of a method call
+ * (`x.m(...)`) do not make it escape.
+ * <p>
+ * Non-escaping objects are marked to be allocated inside the frame of the
+ * enclosing function (below its local declarations) instead of the heap,
+ * which is never reclaimed. For each function it computes:
+ * -> the offset (w.r.t. $fp) of the dispatch pointer of each stack allocated object
+ * -> the total number of words reserved for such objects
+ */
+public class EscapeAnalysisEASTVisitor extends BaseEASTVisitor<Void, VoidException> {
+
+    private final Map<STentry, VarNode> candidates = new HashMap<>();
+    private final Set<STentry> escaped = new HashSet<>();
+    private final List<List<DecNode>> scopes = new ArrayList<>(); // declarations of visited functions and methods
+    private final List<DecNode> owners = new ArrayList<>();
+    int stackAllocations = 0;
+
+    EscapeAnalysisEASTVisitor() {
+    }
+
+    EscapeAnalysisEASTVisitor(boolean debug) {
+        super(false, debug);
+    }
+
+    /*
+     * Lays out the non-escaping objects of each function below its local declarations.
+     */
+    private void markStackAllocations() {
+        for (int i = 0; i < scopes.size(); i++) {
+            List<DecNode> declarations = scopes.get(i);
+            int objectOffset = -2 - declarations.size();
+            for (DecNode declaration : declarations) {
+                if (declaration instanceof VarNode && isStackAllocable((VarNode) declaration)) {
+                    VarNode variable = (VarNode) declaration;
+                    variable.stackAllocated = true;
+                    variable.objectOffset = objectOffset;
+                    objectOffset -= ((NewNode) variable.expression).argumentsList.size() + 1;
+                    stackAllocations++;
+                }
+            }
+            int stackObjectsSize = -2 - declarations.size() - objectOffset;
+            if (owners.get(i) instanceof FunNode) {
+                ((FunNode) owners.get(i)).stackObjectsSize = stackObjectsSize;
+            } else {
+                ((MethodNode) owners.get(i)).stackObjectsSize = stackObjectsSize;
+            }
+        }
+    }
+
+    private boolean isStackAllocable(VarNode variable) {
+        return candidates.get(variable.symbolTableEntry) == variable && !escaped.contains(variable.symbolTableEntry);
+    }
+
+    private void visitDeclarations(DecNode owner, List<DecNode> declarations) {
+        scopes.add(declarations);
+        owners.add(owner);
+        for (DecNode declaration : declarations) {
+            if (declaration instanceof VarNode && ((VarNode) declaration).expression instanceof NewNode) {
+                candidates.put(((VarNode) declaration).symbolTableEntry, (VarNode) declaration);
+            }
+            visit(declaration);
+        }
+    }
+
+    @Override
+    public Void visitNode(ProgLetInNode node) {
+        if (print) {
+            printNode(node);
+        }
+        for (Node declaration : node.declarationList) {
+            visit(declaration);
+        }
+        visit(node.expression);
+        markStackAllocations();
+        return null;
+    }
+
+    @Override
+    public Void visitNode(ProgNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.expression);
+        markStackAllocations();
+        return null;
+    }
+
+    @Override
+    public Void visitNode(FunNode node) {
+        if (print) {
+            printNode(node, node.id);
+        }
+        visitDeclarations(node, node.declarationsList);
+        visit(node.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(VarNode node) {
+        if (print) {
+            printNode(node, node.id);
+        }
+        visit(node.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(ClassNode node) {
+        if (print) {
+            printNode(node, node.id);
+        }
+        for (var method : node.methods) {
+            visit(method);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitNode(MethodNode node) {
+        if (print) {
+            printNode(node, node.id);
+        }
+        visitDeclarations(node, node.declarationsList);
+        visit(node.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(IdNode node) {
+        if (print) {
+            printNode(node, node.id);
+        }
+        escaped.add(node.symbolTableEntry); // the object pointer is used as a value
+        return null;
+    }
+
+    @Override
+    public Void visitNode(ClassCallNode node) {
+        if (print) {
+            printNode(node, node.objectId + "." + node.methodId);
+        }
+        for (Node argument : node.argumentsList) {
+            visit(argument);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitNode(ParallelCallNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.call);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(CallNode node) {
+        if (print) {
+            printNode(node, node.id);
+        }
+        for (Node argument : node.argumentsList) {
+            visit(argument);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitNode(NewNode node) {
+        if (print) {
+            printNode(node, node.id);
+        }
+        for (Node argument : node.argumentsList) {
+            visit(argument);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitNode(PrintNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(ReadNode node) {
+        if (print) {
+            printNode(node);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitNode(IfNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.condition);
+        visit(node.thenBranch);
+        visit(node.elseBranch);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(NotNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(EqualNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(LessEqualNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(GreaterEqualNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(OrNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(AndNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(TimesNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(DivNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(PlusNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(MinusNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(BoolNode node) {
+        if (print) {
+            printNode(node, node.value.toString());
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitNode(IntNode node) {
+        if (print) {
+            printNode(node, node.value.toString());
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitNode(EmptyNode node) {
+        if (print) {
+            printNode(node);
+        }
+        return null;
+    }
+}
@@ -45,9 +45,12 @@ exp     : exp (TIMES | DIV) exp #timesDiv
 	    | NEW ID LPAR (exp (COMMA exp)* )? RPAR #new
 	    | IF exp THEN CLPAR exp CRPAR ELSE CLPAR exp CRPAR #if   
 	    | PRINT LPAR exp RPAR #print     
+	    | READ LPAR RPAR #read
         | ID #id
 	    | ID LPAR (exp (COMMA exp)* )? RPAR #call
 	    | ID DOT ID LPAR (exp (COMMA exp)* )? RPAR #dotCall              
+	    | PAR ID LPAR (exp (COMMA exp)* )? RPAR #parCall
+	    | PAR ID DOT ID LPAR (exp (COMMA exp)* )? RPAR #parDotCall
         ; 
  
 
@@ -85,6 +88,7 @@ IF	    : 'if' ;
 THEN	: 'then';
 ELSE	: 'else' ;
 PRINT	: 'print' ;
+READ	: 'read' ;
 LET     : 'let' ;	
 IN      : 'in' ;	
 VAR     : 'var' ;
@@ -93,6 +97,7 @@ CLASS	: 'class' ;
 EXTENDS : 'extends' ;	
 NEW 	: 'new' ;	
 NULL    : 'null' ;	  
+PAR     : 'par' ;
 INT	    : 'int' ;
 BOOL	: 'bool' ;
 NUM     : '0' | ('1'..'9')('0'..'9')* ;
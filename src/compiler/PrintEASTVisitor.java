@@ -109,6 +109,12 @@ public class PrintEASTVisitor extends BaseEASTVisitor<Void, VoidException> {
         return null;
     }
 
+    @Override
+    public Void visitNode(ReadNode node) {
+        printNode(node);
+        return null;
+    }
+
     @Override
     public Void visitNode(IfNode node) {
         printNode(node);
@@ -218,6 +224,13 @@ public class PrintEASTVisitor extends BaseEASTVisitor<Void, VoidException> {
         return null;
     }
 
+    @Override
+    public Void visitNode(ParallelCallNode node) {
+        printNode(node);
+        visit(node.call);
+        return null;
+    }
+
     @Override
     public Void visitNode(IdNode node) {
         printNode(node, node.id + " at nestinglevel " + node.nestingLevel);
@@ -0,0 +1,509 @@
+package compiler;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import compiler.AST.*;
+import compiler.exc.*;
+import compiler.lib.*;
+
+/**
+ * Visits an EAST computing which functions and methods are pure and can be memoized.
+ * <p>
+ * A function (or method) is PURE if no side effect (PrintNode or ReadNode) can be reached
+ * executing it: neither in its body and local declarations nor in the functions it calls.
+ * Method calls are resolved by name, conservatively covering all the overriding methods.
+ * <p>
+ * All FOOL values are immutable, so the result of a pure function only depends on its
+ * parameters and on the values it can reach through its access link. A pure function is
+ * MEMOIZABLE if the values reached through the access link are the same for every call,
+ * that is, if it only refers to:
+ * -> its parameters, local declarations and global declarations
+ * -> (for methods) fields and methods of the receiver, which is part of the memo key
+ * Functions returning objects they may have allocated are not memoizable: returning a
+ * cached object instead of a new one would be observable through `==`. Neither are bodies
+ * without calls (e.g. field getters): they cost less than a lookup in a memo table.
+ * <p>
+ * In parallel compilation mode, arguments of a call that are pure and call a function that
+ * calls in turn (a non-leaf function, e.g. a recursive one: cheaper arguments do not pay for
+ * a task) can be evaluated in parallel: if a call has at least two of them they are marked
+ * as parallel arguments. In explicit parallel calls (`par f(...)`) all the pure arguments are marked, arguments
+ * that may print or read are evaluated sequentially to keep the input and output order.
+ */
+public class PurityAnalysisEASTVisitor extends BaseEASTVisitor<Void, VoidException> {
+
+    /*
+     * Facts collected for each function or method body and for each call argument.
+     */
+    private static class Facts {
+        final DecNode declaration;
+        final int bodyNestingLevel;
+        boolean sideEffects; // prints or reads
+        boolean allocates;
+        boolean captures;
+        boolean calls;
+        final Set<Object> callees = new HashSet<>(); // STentry of functions, id of methods
+
+        Facts(DecNode declaration, int bodyNestingLevel) {
+            this.declaration = declaration;
+            this.bodyNestingLevel = bodyNestingLevel;
+        }
+    }
+
+    private final Map<STentry, Facts> functions = new HashMap<>();
+    private final Map<String, List<Facts>> methods = new HashMap<>();
+    private final List<Facts> allFacts = new ArrayList<>();
+    private final Deque<Facts> enclosing = new ArrayDeque<>();
+    private final Deque<Facts> arguments = new ArrayDeque<>(); // arguments being visited
+    private final Map<Node, List<Facts>> callArguments = new LinkedHashMap<>();
+    private final Set<Node> parallelCallNodes = new HashSet<>(); // calls inside a ParallelCallNode
+    private int nestingLevel = 0;
+    int pureCount = 0;
+    int memoizableCount = 0;
+    int parallelCalls = 0;
+    final List<String> warnings = new ArrayList<>(); // arguments of parallel calls evaluated sequentially
+    private final boolean implicitParallelism; // parallel compilation mode
+
+    PurityAnalysisEASTVisitor() {
+        this(false);
+    }
+
+    PurityAnalysisEASTVisitor(boolean debug) {
+        this(debug, false);
+    }
+
+    PurityAnalysisEASTVisitor(boolean debug, boolean implicitParallelism) {
+        super(false, debug);
+        this.implicitParallelism = implicitParallelism;
+    }
+
+    /*
+     * Propagates impurity and allocation along calls and marks the declarations.
+     */
+    private void markDeclarations() {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Facts facts : allFacts) {
+                for (Object callee : facts.callees) {
+                    for (Facts calleeFacts : resolve(callee)) {
+                        if (calleeFacts.sideEffects && !facts.sideEffects || calleeFacts.allocates && !facts.allocates) {
+                            facts.sideEffects |= calleeFacts.sideEffects;
+                            facts.allocates |= calleeFacts.allocates;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+        for (Facts facts : allFacts) {
+            boolean pure = !facts.sideEffects;
+            boolean memoizable;
+            if (facts.declaration instanceof FunNode) {
+                FunNode function = (FunNode) facts.declaration;
+                memoizable = isMemoizable(facts, function.returnType);
+                function.pure = pure;
+                function.memoizable = memoizable;
+            } else {
+                MethodNode method = (MethodNode) facts.declaration;
+                memoizable = isMemoizable(facts, method.returnType);
+                method.pure = pure;
+                method.memoizable = memoizable;
+            }
+            pureCount += pure ? 1 : 0;
+            memoizableCount += memoizable ? 1 : 0;
+        }
+        for (Map.Entry<Node, List<Facts>> call : callArguments.entrySet()) {
+            boolean[] parallelArguments = new boolean[call.getValue().size()];
+            int count = 0;
+            boolean explicit = parallelCallNodes.contains(call.getKey());
+            for (int i = 0; i < parallelArguments.length; i++) {
+                Facts facts = call.getValue().get(i);
+                parallelArguments[i] = (explicit || implicitParallelism && callsNonLeaf(facts)) && !hasSideEffects(facts);
+                count += parallelArguments[i] ? 1 : 0;
+                if (explicit && hasSideEffects(facts)) {
+                    warnings.add(
+                        "Argument " + (i + 1) + " of parallel call at line " + call.getKey().getLine() + " may print or read: evaluated sequentially"
+                    );
+                }
+            }
+            if (count < (explicit ? 1 : 2)) {
+                continue;
+            }
+            if (call.getKey() instanceof CallNode) {
+                ((CallNode) call.getKey()).parallelArguments = parallelArguments;
+            } else {
+                ((ClassCallNode) call.getKey()).parallelArguments = parallelArguments;
+            }
+            parallelCalls++;
+        }
+    }
+
+    /*
+     * Called after the propagation: true if the facts (of an argument) reach a side effect.
+     */
+    private boolean hasSideEffects(Facts facts) {
+        if (facts.sideEffects) {
+            return true;
+        }
+        for (Object callee : facts.callees) {
+            for (Facts calleeFacts : resolve(callee)) {
+                if (calleeFacts.sideEffects) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Whether "facts" call a function or method whose body contains calls.
+     */
+    private boolean callsNonLeaf(Facts facts) {
+        for (Object callee : facts.callees) {
+            for (Facts calleeFacts : resolve(callee)) {
+                if (calleeFacts.calls) return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isMemoizable(Facts facts, TypeNode returnType) {
+        return facts.calls && !facts.sideEffects && !facts.captures && !(facts.allocates && returnType instanceof RefTypeNode);
+    }
+
+    private List<Facts> resolve(Object callee) {
+        if (callee instanceof STentry) {
+            Facts facts = functions.get(callee);
+            return facts == null ? List.of() : List.of(facts);
+        }
+        return methods.getOrDefault(callee, List.of());
+    }
+
+    /*
+     * Records a fact in the enclosing function and in the arguments being visited.
+     */
+    private void record(Consumer<Facts> fact) {
+        if (!enclosing.isEmpty()) {
+            fact.accept(enclosing.peek());
+        }
+        arguments.forEach(fact);
+    }
+
+    private void visitArguments(Node call, List<Node> argumentsList) {
+        List<Facts> argumentsFacts = new ArrayList<>();
+        for (Node argument : argumentsList) {
+            Facts facts = new Facts(null, 0);
+            arguments.push(facts);
+            visit(argument);
+            arguments.pop();
+            argumentsFacts.add(facts);
+        }
+        callArguments.put(call, argumentsFacts);
+    }
+
+    /*
+     * Records the use of a name declared at nesting level "nl" inside the current function.
+     */
+    private void use(STentry entry) {
+        Facts facts = enclosing.peek();
+        if (facts == null || entry.nl == 0 || entry.nl >= facts.bodyNestingLevel) {
+            return;
+        }
+        if (facts.declaration instanceof MethodNode && entry.nl == facts.bodyNestingLevel - 1) {
+            return; // field or method of the receiver
+        }
+        facts.captures = true;
+    }
+
+    private void visitBody(Facts facts, List<DecNode> declarations, Node expression) {
+        allFacts.add(facts);
+        enclosing.push(facts);
+        nestingLevel++;
+        for (Node declaration : declarations) {
+            visit(declaration);
+        }
+        visit(expression);
+        nestingLevel--;
+        enclosing.pop();
+    }
+
+    @Override
+    public Void visitNode(ProgLetInNode node) {
+        if (print) {
+            printNode(node);
+        }
+        for (Node declaration : node.declarationList) {
+            visit(declaration);
+        }
+        visit(node.expression);
+        markDeclarations();
+        return null;
+    }
+
+    @Override
+    public Void visitNode(ProgNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(FunNode node) {
+        if (print) {
+            printNode(node, node.id);
+        }
+        Facts facts = new Facts(node, nestingLevel + 1);
+        functions.put(node.symbolTableEntry, facts);
+        visitBody(facts, node.declarationsList, node.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(VarNode node) {
+        if (print) {
+            printNode(node, node.id);
+        }
+        visit(node.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(ClassNode node) {
+        if (print) {
+            printNode(node, node.id);
+        }
+        nestingLevel++;
+        for (var method : node.methods) {
+            visit(method);
+        }
+        nestingLevel--;
+        return null;
+    }
+
+    @Override
+    public Void visitNode(MethodNode node) {
+        if (print) {
+            printNode(node, node.id);
+        }
+        Facts facts = new Facts(node, nestingLevel + 1);
+        methods.computeIfAbsent(node.id, id -> new ArrayList<>()).add(facts);
+        visitBody(facts, node.declarationsList, node.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(PrintNode node) {
+        if (print) {
+            printNode(node);
+        }
+        record(facts -> facts.sideEffects = true);
+        visit(node.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(ReadNode node) {
+        if (print) {
+            printNode(node);
+        }
+        record(facts -> facts.sideEffects = true); // consumes input
+        return null;
+    }
+
+    @Override
+    public Void visitNode(NewNode node) {
+        if (print) {
+            printNode(node, node.id);
+        }
+        record(facts -> facts.allocates = true);
+        for (Node argument : node.argumentsList) {
+            visit(argument);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitNode(IdNode node) {
+        if (print) {
+            printNode(node, node.id);
+        }
+        use(node.symbolTableEntry);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(CallNode node) {
+        if (print) {
+            printNode(node, node.id);
+        }
+        use(node.symbolTableEntry);
+        Object callee = node.symbolTableEntry.type instanceof MethodTypeNode ? node.id : node.symbolTableEntry;
+        record(facts -> {
+            facts.callees.add(callee);
+            facts.calls = true;
+        });
+        visitArguments(node, node.argumentsList);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(ClassCallNode node) {
+        if (print) {
+            printNode(node, node.objectId + "." + node.methodId);
+        }
+        use(node.symbolTableEntry);
+        record(facts -> {
+            facts.callees.add(node.methodId);
+            facts.calls = true;
+        });
+        visitArguments(node, node.argumentsList);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(ParallelCallNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.call);
+        parallelCallNodes.add(node.call);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(IfNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.condition);
+        visit(node.thenBranch);
+        visit(node.elseBranch);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(NotNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(EqualNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(LessEqualNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(GreaterEqualNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(OrNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(AndNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(TimesNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(DivNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(PlusNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(MinusNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.left);
+        visit(node.right);
+        return null;
+    }
+
+    @Override
+    public Void visitNode(BoolNode node) {
+        if (print) {
+            printNode(node, node.value.toString());
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitNode(IntNode node) {
+        if (print) {
+            printNode(node, node.value.toString());
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitNode(EmptyNode node) {
+        if (print) {
+            printNode(node);
+        }
+        return null;
+    }
+}
@@ -95,6 +95,7 @@ public class SymbolTableASTVisitor extends BaseASTVisitor<Void, VoidException> {
             System.out.println("Fun id " + node.id + " at line " + node.getLine() + " already declared");
             stErrors++;
         }
+        node.symbolTableEntry = entry;
         /*
          * Create a new hashmap for the new scope in symbolTable.
          */
@@ -150,6 +151,7 @@ public class SymbolTableASTVisitor extends BaseASTVisitor<Void, VoidException> {
             System.out.println("Var id " + node.id + " at line " + node.getLine() + " already declared");
             stErrors++;
         }
+        node.symbolTableEntry = entry;
         visit(node.expression);
         return null;
     }
@@ -345,6 +347,14 @@ public class SymbolTableASTVisitor extends BaseASTVisitor<Void, VoidException> {
         return null;
     }
 
+    @Override
+    public Void visitNode(ReadNode node) {
+        if (print) {
+            printNode(node);
+        }
+        return null;
+    }
+
     @Override
     public Void visitNode(IfNode node) {
         if (print) {
@@ -500,6 +510,15 @@ public class SymbolTableASTVisitor extends BaseASTVisitor<Void, VoidException> {
         return null;
     }
 
+    @Override
+    public Void visitNode(ParallelCallNode node) {
+        if (print) {
+            printNode(node);
+        }
+        visit(node.call);
+        return null;
+    }
+
     @Override
     public Void visitNode(IdNode node) {
         if (print) {
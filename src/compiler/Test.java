@@ -11,6 +11,7 @@ public class Test {
     public static void main(String[] args) throws Exception {
    			
     	String fileName = "bankloan.fool";
+    	CompilationPhases phases = new CompilationPhases(); // timing and memory of each phase
 
     	CharStream chars = CharStreams.fromFileName(fileName);
     	FOOLLexer lexer = new FOOLLexer(chars);
@@ -18,27 +19,40 @@ public class Test {
     	FOOLParser parser = new FOOLParser(tokens);
 
     	System.out.println("Generating ST via lexer and parser.");
+    	phases.begin("lexing");
+    	tokens.fill();
+    	phases.end(tokens.size(), "tokens");
+    	phases.begin("parsing");
     	ParseTree st = parser.prog();
+    	phases.end(tokens.size(), "tokens");
     	System.out.println("You had "+lexer.lexicalErrors+" lexical errors and "+
     		parser.getNumberOfSyntaxErrors()+" syntax errors.\n");
 
     	System.out.println("Generating AST.");
+    	phases.begin("AST generation");
     	ASTGenerationSTVisitor visitor = new ASTGenerationSTVisitor(); // use true to visualize the ST
     	Node ast = visitor.visit(st);
+    	phases.end(visitor.getVisitedNodes(), "parse tree nodes");
     	System.out.println("");
 
     	System.out.println("Enriching AST via symbol table.");
+    	phases.begin("symbol table");
     	SymbolTableASTVisitor symtableVisitor = new SymbolTableASTVisitor();
     	symtableVisitor.visit(ast);
+    	phases.end(symtableVisitor.getVisitedNodes(), "nodes");
     	System.out.println("You had "+symtableVisitor.stErrors+" symbol table errors.\n");
 
     	System.out.println("Visualizing Enriched AST.");
-    	new PrintEASTVisitor().visit(ast);
+    	phases.begin("printing");
+    	PrintEASTVisitor printVisitor = new PrintEASTVisitor();
+    	printVisitor.visit(ast);
+    	phases.end(printVisitor.getVisitedNodes(), "nodes");
     	System.out.println("");
 
     	System.out.println("Checking Types.");
+    	phases.begin("type checking");
+    	TypeCheckEASTVisitor typeCheckVisitor = new TypeCheckEASTVisitor();
     	try {
-    		TypeCheckEASTVisitor typeCheckVisitor = new TypeCheckEASTVisitor();
     		TypeNode mainType = typeCheckVisitor.visit(ast);
     		System.out.print("Type of main program expression is: ");
     		new PrintEASTVisitor().visit(mainType);
@@ -47,6 +61,7 @@ public class Test {
     	} catch (TypeException e) {
     		System.out.println("Type checking error in main program expression: "+e.text); 
     	}       	
+    	phases.end(typeCheckVisitor.getVisitedNodes(), "nodes");
     	System.out.println("You had "+FOOLlib.typeErrors+" type checking errors.\n");
 
     	int frontEndErrors = lexer.lexicalErrors+parser.getNumberOfSyntaxErrors()+symtableVisitor.stErrors+FOOLlib.typeErrors;
@@ -54,8 +69,27 @@ public class Test {
 		
 		if ( frontEndErrors > 0) System.exit(1);   
 
+    	System.out.println("Performing escape analysis.");
+    	phases.begin("escape analysis");
+    	EscapeAnalysisEASTVisitor escapeAnalysisVisitor = new EscapeAnalysisEASTVisitor();
+    	escapeAnalysisVisitor.visit(ast);
+    	phases.end(escapeAnalysisVisitor.getVisitedNodes(), "nodes");
+    	System.out.println("You had "+escapeAnalysisVisitor.stackAllocations+" objects allocated on the stack.\n");
+
+    	System.out.println("Performing purity analysis.");
+    	phases.begin("purity analysis");
+    	PurityAnalysisEASTVisitor purityAnalysisVisitor = new PurityAnalysisEASTVisitor(false, false); // use true as second argument to fork tasks for pure arguments
+    	purityAnalysisVisitor.visit(ast);
+    	phases.end(purityAnalysisVisitor.getVisitedNodes(), "nodes");
+    	for (String warning : purityAnalysisVisitor.warnings) System.out.println(warning);
+    	System.out.println("You had "+purityAnalysisVisitor.pureCount+" pure functions, "+purityAnalysisVisitor.memoizableCount+" memoizable,");
+    	System.out.println("and "+purityAnalysisVisitor.parallelCalls+" calls with arguments evaluated in parallel.\n");
+
     	System.out.println("Generating code.");
-    	String code = new CodeGenerationASTVisitor().visit(ast);        
+    	phases.begin("code generation");
+    	CodeGenerationASTVisitor codeGenerationVisitor = new CodeGenerationASTVisitor();
+    	String code = codeGenerationVisitor.visit(ast);
+    	phases.end(codeGenerationVisitor.getVisitedNodes(), "nodes");
     	BufferedWriter out = new BufferedWriter(new FileWriter(fileName+".asm")); 
     	out.write(code);
     	out.close(); 
@@ -67,15 +101,31 @@ public class Test {
     	CommonTokenStream tokensASM = new CommonTokenStream(lexerASM);
     	SVMParser parserASM = new SVMParser(tokensASM);
 
+    	phases.begin("assembly");
     	parserASM.assembly();
+    	phases.end(parserASM.getCodeSize(), "code words");
 
     	// needed only for debug
     	System.out.println("You had: "+lexerASM.lexicalErrors+" lexical errors and "+parserASM.getNumberOfSyntaxErrors()+" syntax errors.\n");
     	if (lexerASM.lexicalErrors+parserASM.getNumberOfSyntaxErrors()>0) System.exit(1);
 
     	System.out.println("Running generated code via Stack Virtual Machine.");
-    	ExecuteVM vm = new ExecuteVM(parserASM.code);
+    	ExecuteVM vm = new ExecuteVM(parserASM.code, parserASM.data);
+    	vm.setCodeMap(parserASM.codeMap);
+    	phases.begin("execution");
     	vm.cpu();
+    	phases.end(vm.getInstructionCount(), "instructions");
+    	if (vm.getStatus() == ExecuteVM.Status.SEGMENTATION_FAULT) { // out of memory: what fills the heap
+    		HeapDump heap = vm.dumpHeap();
+    		System.out.print(heap);
+    		out = new BufferedWriter(new FileWriter(fileName+".heapdump"));
+    		heap.write(out);
+    		out.close();
+    	}
+
+    	out = new BufferedWriter(new FileWriter(fileName+".phases.json")); // machine-readable measures
+    	out.write(phases.toJson());
+    	out.close();
 
     }
 }
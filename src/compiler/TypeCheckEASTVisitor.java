@@ -170,6 +170,14 @@ public class TypeCheckEASTVisitor extends BaseEASTVisitor<TypeNode,TypeException
 		return visit(node.expression);
 	}
 
+	@Override
+	public TypeNode visitNode(ReadNode node) {
+		if (print) {
+			printNode(node);
+		}
+		return new IntTypeNode();
+	}
+
 	@Override
 	public TypeNode visitNode(IfNode node) throws TypeException {
 		if (print) {
@@ -360,6 +368,14 @@ public class TypeCheckEASTVisitor extends BaseEASTVisitor<TypeNode,TypeException
 		return arrowType.returnType;
 	}
 
+	@Override
+	public TypeNode visitNode(ParallelCallNode node) throws TypeException {
+		if (print) {
+			printNode(node);
+		}
+		return visit(node.call);
+	}
+
 	@Override
 	public TypeNode visitNode(IdNode node) throws TypeException {
 		if (print) {
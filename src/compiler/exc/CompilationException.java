@@ -0,0 +1,11 @@
+package compiler.exc;
+
+public class CompilationException extends Exception {
+
+	private static final long serialVersionUID = 1L;
+
+	public CompilationException(String message) {
+		super(message);
+	}
+
+}
@@ -10,6 +10,7 @@ public class BaseASTVisitor<S,E extends Exception> {
 	private boolean incomplExc; // enables throwing IncomplException
 	protected boolean print;    // enables printing
 	protected String indent;
+	private int visitedNodes;   // for instrumentation (see CompilationPhases)
 	
 	protected BaseASTVisitor() {}
 	protected BaseASTVisitor(boolean ie) { incomplExc = ie; } 
@@ -32,6 +33,7 @@ public class BaseASTVisitor<S,E extends Exception> {
 			if (incomplExc) throw new IncomplException(); 
 			else                                         
 				return null; 
+		visitedNodes++;
 		if (print) {
 			String temp = indent;
 			indent = (indent == null) ? "" : indent + "  ";
@@ -44,6 +46,10 @@ public class BaseASTVisitor<S,E extends Exception> {
 			return visitByAcc(v);
 	}
 
+	public int getVisitedNodes() {
+		return visitedNodes;
+	}
+
 	S visitByAcc(Visitable v) throws E {
 		return v.accept(this);
 	}
@@ -84,4 +90,8 @@ public class BaseASTVisitor<S,E extends Exception> {
 	public S visitNode(NewNode n) throws E { throw new UnimplException(); }
 	public S visitNode(EmptyNode n) throws E {throw new UnimplException();}
 	public S visitNode(EmptyTypeNode n) throws E {throw new UnimplException();}
+	// PARALLEL EXTENSION
+	public S visitNode(ParallelCallNode n) throws E {throw new UnimplException();}
+	// INPUT EXTENSION
+	public S visitNode(ReadNode n) throws E {throw new UnimplException();}
 }
@@ -37,6 +37,24 @@ public class FOOLlib {
 		return "function"+(funlabCount++);
 	}
 
+	private static int dispatchlabCount = 0;
+
+	public static String freshDispatchLabel() {
+		return "dispatch"+(dispatchlabCount++);
+	}
+
+	private static int constantlabCount = 0;
+
+	public static String freshConstantLabel() {
+		return "constant"+(constantlabCount++);
+	}
+
+	private static int tasklabCount = 0;
+
+	public static String freshTaskLabel() {
+		return "task"+(tasklabCount++);
+	}
+
 	private static String funCode = null;
 
 	public static void putCode(String c) {
@@ -46,4 +64,8 @@ public class FOOLlib {
 	public static String getCode() {
 		return funCode;
 	}
+
+	public static void resetCode() { // to compile another program
+		funCode = null;
+	}
 }
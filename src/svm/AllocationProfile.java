@@ -0,0 +1,219 @@
+package svm;
+
+import java.util.*;
+
+/**
+ * Objects created by each allocation site ("alloc" instruction, i.e. "new" expression) of a
+ * VM in allocation profiling mode (see ExecuteVM.setAllocationProfiling): objects and words
+ * allocated, allocations served by hash-consing with an existing object, and survivors.
+ * <p>
+ * Each object is tagged with its site in a side table indexed by object pointer, so the
+ * layout of objects in memory is unchanged. Survivors are the objects still reachable from
+ * the stack when the VM last halted (there is no garbage collector): many allocations with
+ * few survivors point to short-lived objects, candidates for stack allocation, and sites
+ * with shared allocations are those where hash-consing pays off. Objects of the .data section
+ * (preallocated constant objects) and those allocated before profiling have no site.
+ */
+public final class AllocationProfile {
+
+    public static final int NO_SITE = -1;
+
+    /*
+     * Counts of an allocation site.
+     */
+    public static final class Site {
+        private final int address;
+        private final int dispatchPointer;
+        private final long allocations;
+        private final long words;
+        private final long sharedAllocations;
+        private final int survivors;
+        private final int survivingWords;
+
+        Site(int address, int dispatchPointer, long allocations, long words, long sharedAllocations,
+             int survivors, int survivingWords) {
+            this.address = address;
+            this.dispatchPointer = dispatchPointer;
+            this.allocations = allocations;
+            this.words = words;
+            this.sharedAllocations = sharedAllocations;
+            this.survivors = survivors;
+            this.survivingWords = survivingWords;
+        }
+
+        /*
+         * Address of the "alloc" instruction, NO_SITE for objects without a site.
+         */
+        public int getAddress() {
+            return address;
+        }
+
+        /*
+         * Dispatch pointer of the objects, i.e. their class (see CodeMap.getClassName),
+         * -1 for objects without a site.
+         */
+        public int getDispatchPointer() {
+            return dispatchPointer;
+        }
+
+        /*
+         * Objects allocated on the heap.
+         */
+        public long getAllocations() {
+            return allocations;
+        }
+
+        public long getWords() {
+            return words;
+        }
+
+        /*
+         * Allocations that returned an existing equal object (see ExecuteVM.setHashConsing).
+         */
+        public long getSharedAllocations() {
+            return sharedAllocations;
+        }
+
+        public int getSurvivors() {
+            return survivors;
+        }
+
+        public int getSurvivingWords() {
+            return survivingWords;
+        }
+    }
+
+    private final int[] sites; // "alloc" address + 1 by object pointer, 0 if none (shared with tasks)
+    private final long[] allocations; // indexed by "alloc" address
+    private final long[] words;
+    private final long[] sharedAllocations;
+    private final int[] dispatchPointers;
+    private final Map<Integer, int[]> survivors = new HashMap<>(); // objects and words by site, at the last halt
+
+    AllocationProfile(int codeLength, int memoryLength) {
+        this(codeLength, new int[memoryLength]);
+    }
+
+    private AllocationProfile(int codeLength, int[] sites) {
+        this.sites = sites;
+        this.allocations = new long[codeLength];
+        this.words = new long[codeLength];
+        this.sharedAllocations = new long[codeLength];
+        this.dispatchPointers = new int[codeLength];
+    }
+
+    /*
+     * Profile of a task run by another thread: it tags its objects in the same side table
+     * (tasks allocate in separate regions), its counts are added when it is joined.
+     */
+    AllocationProfile forTask() {
+        return new AllocationProfile(allocations.length, sites);
+    }
+
+    void add(AllocationProfile profile) {
+        for (int address = 0; address < allocations.length; address++) {
+            if (profile.allocations[address] > 0 || profile.sharedAllocations[address] > 0) {
+                allocations[address] += profile.allocations[address];
+                words[address] += profile.words[address];
+                sharedAllocations[address] += profile.sharedAllocations[address];
+                dispatchPointers[address] = profile.dispatchPointers[address];
+            }
+        }
+    }
+
+    /*
+     * The "alloc" instruction at "site" created the object at "objectPointer".
+     */
+    void allocated(int site, int objectPointer, int fields, int dispatchPointer) {
+        sites[objectPointer] = site + 1;
+        allocations[site]++;
+        words[site] += fields + 1;
+        dispatchPointers[site] = dispatchPointer;
+    }
+
+    /*
+     * The objects between "from" and "to" were moved down to "target" (see ExecuteVM.joinAll).
+     */
+    void moved(int from, int to, int target) {
+        System.arraycopy(sites, from, sites, target, to - from);
+    }
+
+    /*
+     * The objects between "from" and "to" were dropped: they are not counted as allocated.
+     * All the objects of a site have the same number of words.
+     */
+    void dropped(int from, int to) {
+        for (int objectPointer = from; objectPointer < to; objectPointer++) {
+            int site = sites[objectPointer] - 1;
+            if (site == NO_SITE) continue;
+            words[site] -= words[site] / allocations[site];
+            allocations[site]--;
+            sites[objectPointer] = 0;
+        }
+    }
+
+    /*
+     * The "alloc" instruction at "site" returned an existing object.
+     */
+    void shared(int site, int dispatchPointer) {
+        sharedAllocations[site]++;
+        dispatchPointers[site] = dispatchPointer;
+    }
+
+    /*
+     * Replaces the survivors with the reachable objects of "heap".
+     */
+    void countSurvivors(HeapDump heap) {
+        survivors.clear();
+        heap.forEachObject((objectPointer, words, reachable) -> {
+            if (!reachable) return;
+            int[] counts = survivors.computeIfAbsent(sites[objectPointer] - 1, site -> new int[2]);
+            counts[0]++;
+            counts[1] += words;
+        });
+    }
+
+    /*
+     * Site of the object at "objectPointer", NO_SITE if unknown.
+     */
+    public int getSite(int objectPointer) {
+        return sites[objectPointer] - 1;
+    }
+
+    /*
+     * Sites that allocated objects or have survivors, the sites with more words allocated first.
+     */
+    public List<Site> getSites() {
+        List<Site> list = new ArrayList<>();
+        for (int address = 0; address < allocations.length; address++) {
+            if (allocations[address] == 0 && sharedAllocations[address] == 0 && !survivors.containsKey(address)) continue;
+            int[] survived = survivors.getOrDefault(address, new int[2]);
+            list.add(new Site(address, dispatchPointers[address], allocations[address], words[address],
+                sharedAllocations[address], survived[0], survived[1]));
+        }
+        int[] untagged = survivors.get(NO_SITE);
+        if (untagged != null) {
+            list.add(new Site(NO_SITE, -1, 0, 0, 0, untagged[0], untagged[1]));
+        }
+        list.sort(Comparator.comparingLong(Site::getWords).reversed());
+        return list;
+    }
+
+    /*
+     * One line per site, with its position and class through the "codeMap" of the program
+     * (null if unknown).
+     */
+    public String report(CodeMap codeMap) {
+        StringBuilder report = new StringBuilder(String.format("%-30s %-12s %10s %10s %10s %10s %10s%n",
+            "site", "class", "objects", "words", "shared", "surviving", "words"));
+        for (Site site : getSites()) {
+            String position = site.address == NO_SITE ? "(no site)"
+                : "@" + site.address + (codeMap == null ? "" : " " + codeMap.getPosition(site.address));
+            String className = codeMap == null || site.address == NO_SITE ? null : codeMap.getClassName(site.dispatchPointer);
+            report.append(String.format("%-30s %-12s %10d %10d %10d %10d %10d%n", position,
+                className == null ? "?" : className, site.allocations, site.words, site.sharedAllocations,
+                site.survivors, site.survivingWords));
+        }
+        return report.toString();
+    }
+}
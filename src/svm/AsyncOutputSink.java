@@ -0,0 +1,146 @@
+package svm;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.concurrent.*;
+
+/**
+ * Buffered sink whose full buffers are written to the stream by a separate writer
+ * thread, so that a VM does not wait for slow output (console, pipes). The queue of
+ * buffers is bounded: when the writer falls behind, the VM waits for it.
+ * flush returns once everything printed so far has been written.
+ */
+public class AsyncOutputSink extends BufferedOutputSink implements AutoCloseable {
+
+    /*
+     * Stream handing the buffers to the writer thread.
+     */
+    private static final class Writer extends OutputStream implements Runnable {
+        private static final Object END = new Object();
+
+        private final OutputStream out;
+        private final BlockingQueue<Object> queue; // byte[] to write, CountDownLatch to flush, END
+        private final Thread thread = new Thread(this, "FOOL output writer");
+        private volatile IOException failure;
+
+        Writer(OutputStream out, int capacity) {
+            this.out = out;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            put(Arrays.copyOfRange(bytes, offset, offset + length));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            CountDownLatch written = new CountDownLatch(1);
+            put(written);
+            try {
+                written.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            checkFailure();
+        }
+
+        @Override
+        public void close() throws IOException {
+            put(END);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            checkFailure();
+        }
+
+        private void put(Object item) throws IOException {
+            checkFailure();
+            try {
+                queue.put(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+
+        private void checkFailure() throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Object item = queue.take();
+                    if (item == END) {
+                        flushQuietly();
+                        return;
+                    }
+                    if (item instanceof CountDownLatch) {
+                        if (failure == null) {
+                            flushQuietly();
+                        }
+                        ((CountDownLatch) item).countDown();
+                    } else if (failure == null) {
+                        try {
+                            out.write((byte[]) item);
+                        } catch (IOException e) {
+                            failure = e;
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                // writer stopped
+            }
+        }
+
+        private void flushQuietly() {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+
+    private final Writer writer;
+
+    /*
+     * At most "capacity" full buffers wait to be written.
+     */
+    public AsyncOutputSink(OutputStream out, int capacity) {
+        this(new Writer(out, capacity));
+    }
+
+    private AsyncOutputSink(Writer writer) {
+        super(writer);
+        this.writer = writer;
+    }
+
+    /*
+     * Writes what is left and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        flush();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
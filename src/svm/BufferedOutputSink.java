@@ -0,0 +1,104 @@
+package svm;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sink writing lines to a stream through a byte buffer: integers are formatted
+ * directly into the buffer, which is written when full or flushed, so printing
+ * a value costs no synchronization, allocation or system call.
+ */
+public class BufferedOutputSink implements OutputSink {
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_LINE = 11 + LINE_SEPARATOR.length; // "-2147483648" and line separator
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int count = 0;
+
+    public BufferedOutputSink(OutputStream out) {
+        this(out, 8192);
+    }
+
+    public BufferedOutputSink(OutputStream out, int size) {
+        this.out = out;
+        this.buffer = new byte[Math.max(size, MAX_LINE)];
+    }
+
+    @Override
+    public void println(int value) {
+        if (count + MAX_LINE > buffer.length) {
+            writeBuffer();
+        }
+        if (value == Integer.MIN_VALUE) {
+            append("-2147483648".getBytes(StandardCharsets.US_ASCII));
+        } else {
+            if (value < 0) {
+                buffer[count++] = '-';
+                value = -value;
+            }
+            int end = count + digits(value);
+            for (int i = end - 1; i >= count; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            count = end;
+        }
+        append(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void println(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        if (count + bytes.length + LINE_SEPARATOR.length > buffer.length) {
+            writeBuffer();
+        }
+        if (bytes.length + LINE_SEPARATOR.length > buffer.length) {
+            write(bytes, bytes.length);
+        } else {
+            append(bytes);
+        }
+        append(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void flush() {
+        writeBuffer();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int digits(int value) { // value >= 0
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private void append(byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void writeBuffer() {
+        write(buffer, count);
+        count = 0;
+    }
+
+    private void write(byte[] bytes, int length) {
+        if (length == 0) {
+            return;
+        }
+        try {
+            out.write(bytes, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
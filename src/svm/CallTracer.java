@@ -0,0 +1,60 @@
+package svm;
+
+import java.util.*;
+
+/**
+ * Emits a fool.FunctionCall event (see VMEvents) for each function call lasting more than
+ * the event threshold.
+ * <p>
+ * A call starts when a function entry is about to be executed: $fp is still the frame of the
+ * caller and $ra the return address. It is over when that address is reached again with the
+ * frame of the caller, either by the return jump or by a memoized result.
+ */
+final class CallTracer implements InstructionObserver {
+
+    private final CodeMap codeMap; // function entries and names
+    private final Deque<Call> calls = new ArrayDeque<>();
+
+    private static final class Call {
+        final VMEvents.FunctionCall event = new VMEvents.FunctionCall();
+        final int entry;
+        final int returnAddress;
+        final int callerFrame;
+
+        Call(int entry, int returnAddress, int callerFrame) {
+            this.entry = entry;
+            this.returnAddress = returnAddress;
+            this.callerFrame = callerFrame;
+        }
+    }
+
+    CallTracer(CodeMap codeMap) {
+        this.codeMap = codeMap;
+    }
+
+    @Override
+    public void observe(int ip, int fp, int ra, int stackDepth) {
+        Call call = calls.peek();
+        if (call != null && ip == call.returnAddress && fp == call.callerFrame) {
+            calls.pop();
+            call.event.end();
+            if (call.event.shouldCommit()) {
+                call.event.function = codeMap.getFunctionName(call.entry);
+                call.event.line = codeMap.getSourceLine(call.entry);
+                call.event.commit();
+            }
+        }
+        if (codeMap.isEntry(ip)) {
+            call = new Call(ip, ra, fp);
+            call.event.begin();
+            calls.push(call);
+        }
+    }
+
+    /*
+     * Forgets the calls in progress (e.g. when the VM is restored).
+     */
+    void clear() {
+        calls.clear();
+    }
+}
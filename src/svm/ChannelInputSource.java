@@ -0,0 +1,150 @@
+package svm;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.file.*;
+
+/**
+ * Input read from a channel through a direct buffer, or from a memory-mapped file.
+ * Integers are either TEXT (decimal, separated by whitespace) or BINARY (big-endian
+ * 32-bit words), parsed directly from the buffer without creating strings.
+ * <p>
+ * Reads are synchronized: a source, such as the standard input, can be shared by VMs
+ * running in different threads, each integer being read by one of them.
+ */
+public final class ChannelInputSource implements InputSource, Closeable {
+
+    public enum Format {
+        TEXT,
+        BINARY
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static ChannelInputSource standardInput;
+
+    private final ReadableByteChannel channel; // null if the whole input is in the buffer
+    private final ByteBuffer buffer;
+    private final Format format;
+
+    public ChannelInputSource(ReadableByteChannel channel, Format format) {
+        this(channel, ByteBuffer.allocateDirect(BUFFER_SIZE).flip(), format);
+    }
+
+    private ChannelInputSource(ReadableByteChannel channel, ByteBuffer buffer, Format format) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.format = format;
+    }
+
+    public static ChannelInputSource open(Path file, Format format) throws IOException {
+        return new ChannelInputSource(FileChannel.open(file, StandardOpenOption.READ), format);
+    }
+
+    /*
+     * Maps the whole file (at most 2 GB) in memory: pages are loaded by the OS while reading.
+     */
+    public static ChannelInputSource map(Path file, Format format) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ChannelInputSource(null, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), format);
+        }
+    }
+
+    /*
+     * Text integers from System.in, shared by all the VMs without their own input.
+     */
+    public static synchronized ChannelInputSource standardInput() {
+        if (standardInput == null) {
+            standardInput = new ChannelInputSource(Channels.newChannel(System.in), Format.TEXT);
+        }
+        return standardInput;
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+        return format == Format.BINARY ? readWord() : readText();
+    }
+
+    private int readWord() throws IOException {
+        while (buffer.remaining() < Integer.BYTES) {
+            if (!fill()) {
+                if (buffer.hasRemaining()) {
+                    throw new IOException("Truncated word at the end of the input");
+                }
+                throw new EOFException();
+            }
+        }
+        return buffer.getInt();
+    }
+
+    private int readText() throws IOException {
+        int c = next();
+        while (Character.isWhitespace(c)) {
+            c = next();
+        }
+        if (c < 0) {
+            throw new EOFException();
+        }
+        boolean negative = c == '-';
+        if (negative) {
+            c = next();
+        }
+        if (!isDigit(c)) {
+            throw new IOException("Invalid input: integer expected");
+        }
+        long value = 0;
+        while (isDigit(c)) {
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new IOException("Invalid input: integer out of range");
+            }
+            c = next();
+        }
+        if (c >= 0 && !Character.isWhitespace(c)) {
+            throw new IOException("Invalid input: unexpected character '" + (char) c + "'");
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException("Invalid input: integer out of range");
+        }
+        return (int) value;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /*
+     * Next byte, -1 at the end of the input.
+     */
+    private int next() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return buffer.get() & 0xff;
+    }
+
+    /*
+     * Reads more bytes keeping the unread ones: false at the end of the input.
+     */
+    private boolean fill() throws IOException {
+        if (channel == null) {
+            return false;
+        }
+        buffer.compact();
+        int n;
+        do {
+            n = channel.read(buffer);
+        } while (n == 0 && buffer.hasRemaining());
+        buffer.flip();
+        return n > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package svm;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Maps code addresses back to the FOOL program, from the .line and .function directives
+ * of the assembly: source line of each instruction and function each instruction belongs to.
+ * The .class directives give the class of each dispatch table, i.e. of the objects on the heap.
+ * <p>
+ * Code outside any function (global declarations and main expression) belongs to "main".
+ */
+public final class CodeMap {
+
+    public static final String MAIN = "main";
+
+    static final char UNKNOWN_KIND = '?';
+
+    /*
+     * Function (or method) whose code starts at "entry", or code of a task of a function,
+     * which runs in the frame of the function: "result" is the kind of its result, as
+     * for fields of classes, UNKNOWN_KIND for functions.
+     */
+    static final class Function {
+        final int entry;
+        final String name;
+        final int parameters;
+        final boolean task;
+        final char result;
+
+        Function(int entry, String name, int parameters, boolean task, char result) {
+            this.entry = entry;
+            this.name = name;
+            this.parameters = parameters;
+            this.task = task;
+            this.result = result;
+        }
+    }
+
+    /*
+     * Class whose dispatch table is at "dispatchTable": its objects have one field for each
+     * character of "fields", field 0 first, telling its kind: 'o' object, 'b' bool, 'i' int.
+     */
+    static final class ObjectClass {
+        final int dispatchTable;
+        final String name;
+        final String fields;
+
+        ObjectClass(int dispatchTable, String name, String fields) {
+            this.dispatchTable = dispatchTable;
+            this.name = name;
+            this.fields = fields;
+        }
+    }
+
+    private static final Function MAIN_FUNCTION = new Function(0, MAIN, 0, false, UNKNOWN_KIND);
+
+    private final int[] sourceLines;
+    private final TreeMap<Integer, Function> functions = new TreeMap<>(); // by entry address
+    private final Map<Integer, ObjectClass> classes = new HashMap<>(); // by dispatch table address
+
+    CodeMap(int[] sourceLines) {
+        this.sourceLines = sourceLines;
+    }
+
+    void addFunction(int entry, String name, int parameters, boolean task) {
+        functions.put(entry, new Function(entry, name, parameters, task, UNKNOWN_KIND));
+    }
+
+    void addTask(int entry, String name, int parameters, char result) {
+        functions.put(entry, new Function(entry, name, parameters, true, result));
+    }
+
+    void addClass(int dispatchTable, String name, String fields) {
+        classes.put(dispatchTable, new ObjectClass(dispatchTable, name, fields));
+    }
+
+    /*
+     * Name of the class of the objects with dispatch pointer "dispatchPointer", null if unknown.
+     */
+    public String getClassName(int dispatchPointer) {
+        ObjectClass objectClass = classes.get(dispatchPointer);
+        return objectClass == null ? null : objectClass.name;
+    }
+
+    /*
+     * Class of the objects with dispatch pointer "dispatchPointer", null if unknown.
+     */
+    ObjectClass objectClass(int dispatchPointer) {
+        return classes.get(dispatchPointer);
+    }
+
+    /*
+     * Source line of the instruction at "address", 0 if unknown.
+     */
+    public int getSourceLine(int address) {
+        return address >= 0 && address < sourceLines.length ? sourceLines[address] : 0;
+    }
+
+    /*
+     * Position of the instruction at "address" in FOOL terms, e.g. "line 12 in quicksort".
+     */
+    public String getPosition(int address) {
+        int line = getSourceLine(address);
+        return (line == 0 ? "" : "line " + line + " in ") + getFunctionName(address);
+    }
+
+    /*
+     * Name of the function the instruction at "address" belongs to.
+     */
+    public String getFunctionName(int address) {
+        return function(address).name;
+    }
+
+    Function function(int address) {
+        Map.Entry<Integer, Function> function = functions.floorEntry(address);
+        return function == null ? MAIN_FUNCTION : function.getValue();
+    }
+
+    /*
+     * Whether "address" is the entry of a function (not of a task).
+     */
+    boolean isEntry(int address) {
+        Function function = functions.get(address);
+        return function != null && !function.task;
+    }
+
+    /*
+     * Kind of the result of the task whose code starts at "entry", UNKNOWN_KIND if unknown.
+     */
+    char taskResult(int entry) {
+        Function function = functions.get(entry);
+        return function == null || !function.task ? UNKNOWN_KIND : function.result;
+    }
+
+    /*
+     * Saved with the snapshots (see Snapshot.save): "codeLength" words of code are mapped.
+     */
+    void write(DataOutputStream out, int codeLength) throws IOException {
+        Snapshot.writeWords(out, Arrays.copyOf(sourceLines, codeLength));
+        out.writeInt(functions.size());
+        for (Function function : functions.values()) {
+            out.writeInt(function.entry);
+            out.writeInt(function.parameters);
+            out.writeBoolean(function.task);
+            out.writeChar(function.result);
+            out.writeUTF(function.name);
+        }
+        out.writeInt(classes.size());
+        for (ObjectClass objectClass : classes.values()) {
+            out.writeInt(objectClass.dispatchTable);
+            out.writeUTF(objectClass.name);
+            out.writeUTF(objectClass.fields);
+        }
+    }
+
+    /*
+     * Classes are saved since version 3 of snapshots, kinds of task results since version 4.
+     */
+    static CodeMap read(DataInputStream in, int version) throws IOException {
+        CodeMap codeMap = new CodeMap(Arrays.copyOf(Snapshot.readWords(in), ExecuteVM.CODESIZE));
+        for (int i = in.readInt(); i > 0; i--) {
+            int entry = in.readInt();
+            int parameters = in.readInt();
+            boolean task = in.readBoolean();
+            char result = version > 3 ? in.readChar() : UNKNOWN_KIND;
+            codeMap.functions.put(entry, new Function(entry, in.readUTF(), parameters, task, result));
+        }
+        for (int i = version > 2 ? in.readInt() : 0; i > 0; i--) {
+            int dispatchTable = in.readInt();
+            String name = in.readUTF();
+            codeMap.addClass(dispatchTable, name, in.readUTF());
+        }
+        return codeMap;
+    }
+}
@@ -0,0 +1,30 @@
+package svm;
+
+/**
+ * Sink keeping the lines in memory, e.g. to return the output of a program to its embedder.
+ */
+public class CollectingOutputSink implements OutputSink {
+
+    private final StringBuilder output = new StringBuilder();
+
+    @Override
+    public void println(int value) {
+        output.append(value).append('\n');
+    }
+
+    @Override
+    public void println(String line) {
+        output.append(line).append('\n');
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    /*
+     * Lines written so far, each one terminated by '\n'.
+     */
+    public String getOutput() {
+        return output.toString();
+    }
+}
@@ -1,27 +1,321 @@
 package svm;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
 public class ExecuteVM {
+
+    /*
+     * Why the VM stopped.
+     */
+    public enum Status {
+      READY, // not run yet (or restored)
+      SUSPENDED, // the instruction budget ran out: cpu resumes the execution
+      HALTED,
+      SEGMENTATION_FAULT,
+      INSTRUCTION_LIMIT_EXCEEDED,
+      END_OF_INPUT, // a "read" instruction found no more integers
+      INVALID_INPUT, // a "read" instruction found something else than an integer, or failed to read
+      DIVISION_BY_ZERO,
+      CANCELLED
+    }
     
     public static final int CODESIZE = 10000;
     public static final int MEMSIZE = 10000;
+    public static final int TASK_MEMORY_FRACTION = 3; // a parallel task gets this fraction of the free memory, compacted when joined
+    public static final int MIN_TASK_MEMORY = 1024; // tasks with less memory are run sequentially
     
     private int[] code;
-    private int[] memory = new int[MEMSIZE];
+    private int[] memory;
     
     private int ip = 0;
-    private int sp = MEMSIZE;
+    private int sp;
     
     private int hp = 0;       
-    private int fp = MEMSIZE; 
+    private int fp; 
     private int ra;           
     private int tm;
+
+    private long instructions = 0; // executed so far
+    private long instructionLimit = Long.MAX_VALUE;
+    private long stopAt = Long.MAX_VALUE; // safepoints stop the VM once more instructions are executed
+    private long allocations = 0; // objects allocated so far, tasks included
+    private long outputBytes = 0; // characters printed so far, tasks included
+    private int maxStackDepth = 0; // words of stack, measured at safepoints
+    private long reportedInstructions, reportedAllocations, reportedOutputBytes; // already added to Metrics
+    private OutputSink out = new BufferedOutputSink(System.out);
+    private InputSource in; // standard input if null
+    private Profile profile; // not null in profiling mode
+    private AllocationProfile allocationProfile; // not null in allocation profiling mode
+    private CallTracer tracer; // not null while fool.FunctionCall events are enabled
+    private InstructionObserver observer; // profile and/or tracer, null if none
+    private VMEvents.ProgramEnd programEnd; // event of the execution in progress
+    private SamplingProfiler sampler; // not null while sampled
+    private CodeMap codeMap; // positions in FOOL terms for error messages, null if unknown
+    private int stopAddress = -1; // address of the instruction the VM stopped at, -1 if halted
+    private String inputError; // message of the last INVALID_INPUT stop
+    private final int stackBase; // $sp of an empty stack, tasks continue the stack of their parent
+
+    private final InlineCache[] inlineCaches; // indexed by address of the "lm" instruction, null in parallel tasks
+    private HashConsTable hashConsTable; // not null if hash-consing is enabled
+    private final List<MemoTable> memoTables; // indexed by memo table number
+    private int memoCapacity = 0; // results kept by each memo table, 0 if memoization is disabled
+
+    private static final Stop SEGMENTATION_FAULT = new Stop(Status.SEGMENTATION_FAULT);
+    private static final Stop INSTRUCTION_LIMIT_EXCEEDED = new Stop(Status.INSTRUCTION_LIMIT_EXCEEDED);
+    private static final Stop SUSPENDED = new Stop(Status.SUSPENDED);
+    private static final Stop END_OF_INPUT = new Stop(Status.END_OF_INPUT);
+    private static final Stop INVALID_INPUT = new Stop(Status.INVALID_INPUT);
+    private static final Stop DIVISION_BY_ZERO = new Stop(Status.DIVISION_BY_ZERO);
+    private static final Stop CANCELLED = new Stop(Status.CANCELLED);
+
+    private ForkJoinPool pool; // not null if tasks are run in parallel
+    private boolean sliced = false; // cpu was given a budget: tasks are run inline
+    private final List<Task> pendingTasks = new ArrayList<>();
+    private int forkedTasks = 0; // pending tasks run by other VMs
+    private int inlineTasks = 0; // tasks run by this VM that have not reached their "done" instruction
+    private Status status = Status.READY;
+
+    /*
+     * Requests from other threads, observed at safepoints: "interruptRequested" is the
+     * only field polled while running, the others are guarded by "control". The VM and
+     * its forked tasks all observe the requests of the root, and the root counts in
+     * "runningThreads" those of them that are executing instructions.
+     */
+    private final ExecuteVM root; // VM whose requests are observed, the parent of tasks
+    private final Object control = new Object();
+    private volatile boolean interruptRequested = false;
+    private boolean pauseRequested = false;
+    private boolean cancelRequested = false;
+    private boolean sampleRequested = false;
+    private boolean running = false;
+    private int runningThreads = 0;
     
     public ExecuteVM(int[] code) {
+      this(code, new int[0]);
+    }
+
+    public ExecuteVM(int[] code, int[] data) {
+      this(code, data, MEMSIZE);
+    }
+
+    /*
+     * "data" is the initial heap image (.data section, e.g. preallocated constant objects):
+     * it is loaded at the bottom of memory and the heap starts right after it.
+     * "memorySize" words are shared by heap and stack, the stack starts from the top.
+     * The code is never modified, so VMs running the same program can share it.
+     */
+    public ExecuteVM(int[] code, int[] data, int memorySize) {
+      if (data.length >= memorySize) {
+        throw new IllegalArgumentException("The .data section does not fit in " + memorySize + " words of memory");
+      }
       this.code = code;
+      this.memory = new int[memorySize];
+      this.root = this;
+      this.stackBase = memorySize;
+      this.inlineCaches = new InlineCache[code.length];
+      this.memoTables = new ArrayList<>();
+      System.arraycopy(data, 0, memory, 0, data.length);
+      hp = data.length;
+      sp = memorySize;
+      fp = memorySize;
+    }
+
+    /*
+     * VM starting from the state saved in "snapshot" (see Snapshot): only the used memory regions are copied.
+     */
+    public ExecuteVM(Snapshot snapshot) {
+      this.code = snapshot.code;
+      this.memory = new int[snapshot.sp + snapshot.stack.length]; // same size as the VM it was taken from
+      this.root = this;
+      this.stackBase = memory.length;
+      this.inlineCaches = new InlineCache[code.length];
+      this.memoTables = new ArrayList<>();
+      this.codeMap = snapshot.codeMap;
+      snapshot.copyTo(memory);
+      restore(snapshot);
+    }
+
+    /*
+     * Task evaluating the code at "entry" in the current frame of "parent".
+     * The task uses the memory between "low" and "high": its heap (a thread-local
+     * allocation buffer) grows upwards from "low", its stack downwards from "high".
+     * Tasks run by other threads do not use the caches of the parent, which are not thread-safe.
+     */
+    private ExecuteVM(ExecuteVM parent, int entry, int low, int high, boolean concurrent) {
+      this.code = parent.code;
+      this.memory = parent.memory;
+      this.root = parent.root;
+      this.pool = parent.pool;
+      this.out = parent.out;
+      this.in = parent.in;
+      this.sampler = parent.sampler;
+      this.codeMap = parent.codeMap;
+      this.instructionLimit = parent.instructionLimit - parent.instructions;
+      this.stopAt = instructionLimit; // tasks are never suspended: they are run inline when the parent is sliced
+      this.stackBase = high + parent.stackBase - parent.sp;
+      ip = entry;
+      fp = parent.fp;
+      hp = low;
+      sp = high;
+      if (concurrent) {
+        this.inlineCaches = null;
+        this.memoTables = new ArrayList<>();
+        this.profile = parent.profile == null ? null : new Profile(code); // added to the parent one when joined
+        this.allocationProfile = parent.allocationProfile == null ? null : parent.allocationProfile.forTask();
+        this.tracer = parent.tracer == null ? null : new CallTracer(codeMap);
+      } else {
+        this.profile = parent.profile;
+        this.allocationProfile = parent.allocationProfile;
+        this.tracer = parent.tracer;
+        this.inlineCaches = parent.inlineCaches;
+        this.memoTables = parent.memoTables;
+        this.memoCapacity = parent.forkedTasks > 0 ? 0 : parent.memoCapacity; // see memoPut
+        this.hashConsTable = parent.hashConsTable;
+      }
+      updateObserver();
     }
     
     public void cpu() {
+      cpu(Long.MAX_VALUE);
+    }
+
+    /*
+     * Executes about "budget" instructions: the budget is checked at safepoints (backward branches
+     * and calls), then the VM is SUSPENDED with all its state in the registers and memory, and
+     * calling cpu again resumes it. Other statuses are final. Given a budget (not Long.MAX_VALUE),
+     * the VM runs its tasks inline, as plain calls, even with a fork/join pool: no task is left
+     * running when it is suspended, and at most "budget" plus the code size instructions are executed.
+     */
+    public Status cpu(long budget) {
+      stopAt = Math.min(instructionLimit, budget > Long.MAX_VALUE - instructions ? Long.MAX_VALUE : instructions + budget);
+      sliced = budget != Long.MAX_VALUE;
+      if (status == Status.READY) {
+        programStarted();
+      }
+      if (hashConsTable != null && hashConsTable.size() == 0 && codeMap != null) {
+        addHeapObjects(hashConsTable);
+      }
+      boolean tracing = codeMap != null && VMEvents.isFunctionCallEnabled();
+      if (tracing != (tracer != null)) {
+        tracer = tracing ? new CallTracer(codeMap) : null;
+        updateObserver();
+      }
+      synchronized (control) {
+        running = true;
+        runningThreads++;
+      }
+      VMEvents.running(this);
+      try {
+        run();
+      } finally {
+        VMEvents.stopped(this);
+        synchronized (control) {
+          running = false;
+          runningThreads--;
+          control.notifyAll();
+        }
+      }
+      if (status != Status.SUSPENDED) {
+        programEnded();
+      }
+      if (status == Status.HALTED && allocationProfile != null && codeMap != null) {
+        allocationProfile.countSurvivors(dumpHeap());
+      }
+      reportMetrics();
+      if (status == Status.SEGMENTATION_FAULT) {
+        out.println("Segmentation fault" + position());
+      } else if (status == Status.INSTRUCTION_LIMIT_EXCEEDED) {
+        out.println("Instruction limit exceeded" + position());
+      } else if (status == Status.END_OF_INPUT) {
+        out.println("End of input" + position());
+      } else if (status == Status.INVALID_INPUT) {
+        out.println(inputError + position());
+      } else if (status == Status.DIVISION_BY_ZERO) {
+        out.println("Division by zero" + position());
+      }
+      out.flush();
+      return status;
+    }
+
+    private void programStarted() {
+      VMEvents.ProgramStart start = new VMEvents.ProgramStart();
+      if (start.shouldCommit()) {
+        start.codeSize = code.length;
+        start.memorySize = memory.length;
+        start.commit();
+      }
+      programEnd = new VMEvents.ProgramEnd();
+      programEnd.begin();
+    }
+
+    private void programEnded() {
+      if (programEnd == null) return;
+      programEnd.end();
+      if (programEnd.shouldCommit()) {
+        programEnd.status = status.toString();
+        programEnd.instructions = instructions;
+        programEnd.commit();
+      }
+      programEnd = null;
+    }
+
+    /*
+     * Adds the counts of the cpu call that just returned to Metrics.
+     */
+    private void reportMetrics() {
+      Metrics.get().recordExecution(status, instructions - reportedInstructions, allocations - reportedAllocations,
+          outputBytes - reportedOutputBytes, hp, maxStackDepth);
+      reportedInstructions = instructions;
+      reportedAllocations = allocations;
+      reportedOutputBytes = outputBytes;
+    }
+
+    private void run() {
+      stopAddress = -1;
+      try {
+        execute();
+        status = Status.HALTED;
+      } catch (Stop e) {
+        status = e.status;
+        if (stopAddress < 0) { // not set by a failed task
+          // faults happen within an instruction, other stops at safepoints, before the next one
+          stopAddress = e == SEGMENTATION_FAULT || e == END_OF_INPUT || e == INVALID_INPUT || e == DIVISION_BY_ZERO
+              ? ip - 1 : ip;
+        }
+        if (e != SUSPENDED) { // tasks forked and never joined must not write memory any more
+          for (Task task : pendingTasks) {
+            if (task.vm != null) {
+              task.quietlyJoin();
+              markUnused(task.vm.hp, task.limit); // keeps the heap walkable (see HeapDump)
+            }
+          }
+          pendingTasks.clear();
+          forkedTasks = 0;
+          inlineTasks = 0;
+        }
+      }
+    }
+
+    /*
+     * " at line N in f" for the instruction the VM stopped at, empty if the code map is unknown.
+     */
+    private String position() {
+      return codeMap == null || stopAddress < 0 ? "" : " at " + codeMap.getPosition(stopAddress);
+    }
+
+    /*
+     * The interpreter loop. "observer" (profile and call tracer) is called before each
+     * instruction: it does not change while running, so the JIT compiler can move the
+     * null check out of the loop when nothing is observed.
+     */
+    private void execute() {
+      InstructionObserver observer = this.observer;
       while ( true ) {
+        if (observer != null) observer.observe(ip, fp, ra, stackBase - sp);
         int bytecode = code[ip++]; // fetch
+        instructions++;
         int v1,v2;
         int address;
         switch ( bytecode ) {
@@ -44,7 +338,7 @@ public class ExecuteVM {
           case SVMParser.DIV :
             v1=pop();
             v2=pop();
-            push(v2 / v1);
+            push(divide(v2, v1));
             break;
           case SVMParser.SUB :
             v1=pop();
@@ -58,26 +352,32 @@ public class ExecuteVM {
           case SVMParser.LOADW : //
             push(memory[pop()]);
             break;
+          case SVMParser.LOADMETHOD : // replaces object pointer with method address
+            v1 = code[ip++];
+            address = memory[pop()]; // dispatch pointer
+            push(inlineCaches == null ? code[address + v1] : inlineCache(ip - 2).lookup(code, address, v1));
+            break;
           case SVMParser.BRANCH : 
             address = code[ip];
-            ip = address;
+            jump(address);
             break;
           case SVMParser.BRANCHEQ :
             address = code[ip++];
             v1=pop();
             v2=pop();
-            if (v2 == v1) ip = address;
+            if (v2 == v1) jump(address);
             break;
           case SVMParser.BRANCHLESSEQ :
             address = code[ip++];
             v1=pop();
             v2=pop();
-            if (v2 <= v1) ip = address;
+            if (v2 <= v1) jump(address);
             break;
           case SVMParser.JS : //
             address = pop();
             ra = ip;
             ip = address;
+            safepoint();
             break;
          case SVMParser.STORERA : //
             ra=pop();
@@ -106,20 +406,768 @@ public class ExecuteVM {
          case SVMParser.LOADHP : //
             push(hp);
             break;
+         case SVMParser.ALLOC : // pops dispatch pointer and n fields, pushes object pointer
+            v1 = code[ip++];
+            alloc(v1, pop());
+            break;
+         case SVMParser.MEMO : // returns the cached result of the call, if any
+            v1 = code[ip++];
+            v2 = code[ip++];
+            memo(v1, v2);
+            break;
+         case SVMParser.MEMOPUT : // caches the result on top of the stack
+            v1 = code[ip++];
+            v2 = code[ip++];
+            memoPut(v1, v2);
+            break;
+         case SVMParser.FORK : // reserves a slot for the result and starts a task
+            address = code[ip++];
+            push(0);
+            fork(address);
+            break;
+         case SVMParser.JOINALL : // fills the slots of the last n tasks with their results
+            v1 = code[ip++];
+            joinAll(v1);
+            break;
+         case SVMParser.DONE : // end of task
+            if (inlineTasks == 0) return; // task run by its own VM
+            done();
+            break;
          case SVMParser.PRINT :
-            System.out.println((sp<MEMSIZE)?memory[sp]:"Empty stack!");
+            print();
+            break;
+         case SVMParser.READ : // pushes the next integer of the input
+            push(read());
             break;
          case SVMParser.HALT :
             return;
         }
       }
-    } 
+    }
+
+    private void alloc(int fields, int dispatchPointer) {
+      int hash = 0;
+      if (hashConsTable != null) {
+        hash = HashConsTable.hash(memory, dispatchPointer, sp, fields);
+        int address = hashConsTable.lookup(memory, hash, dispatchPointer, sp, fields);
+        if (address >= 0) { // an equal object already exists
+          if (allocationProfile != null) allocationProfile.shared(ip - 2, dispatchPointer);
+          sp += fields;
+          push(address);
+          return;
+        }
+      }
+      if (hp + fields + 1 >= sp) throw SEGMENTATION_FAULT;
+      if (hashConsTable != null) hashConsTable.insert(hash, hp + fields);
+      allocations++;
+      for (int i = 0; i < fields; i++) memory[hp++] = pop();
+      memory[hp] = dispatchPointer;
+      if (allocationProfile != null) allocationProfile.allocated(ip - 2, hp, fields, dispatchPointer);
+      push(hp++);
+    }
+
+    private void memo(int table, int parameters) {
+      if (memoCapacity > 0 && isCacheableAccessLink(memory[fp])) {
+        Integer result = memoTable(table, ip - 4).lookup(memory, fp, parameters + 1);
+        if (result != null) {
+          sp = fp + parameters + 1; // remove Access Link and parameters
+          fp = pop(); // Control Link
+          push(result);
+          ip = ra;
+        }
+      }
+    }
+
+    /*
+     * Nothing is cached while forked tasks are pending: joining them can move the objects
+     * allocated in the meantime (see joinAll), which the entries would refer to.
+     */
+    private void memoPut(int table, int parameters) {
+      if (memoCapacity > 0 && forkedTasks == 0 && isCacheableAccessLink(memory[fp])) {
+        memoTables.get(table).put(memory, fp, parameters + 1, memory[sp]);
+      }
+    }
+
+    private void print() {
+      if (sp<memory.length) {
+        out.println(memory[sp]);
+        outputBytes += decimalLength(memory[sp]) + 1;
+      } else {
+        out.println("Empty stack!");
+        outputBytes += "Empty stack!".length() + 1;
+      }
+    }
+
+    private static int decimalLength(int value) {
+      int length = value < 0 ? 2 : 1;
+      for (long v = Math.abs((long) value); v >= 10; v /= 10) length++;
+      return length;
+    }
+
+    private int divide(int dividend, int divisor) {
+      if (divisor == 0) throw DIVISION_BY_ZERO;
+      return dividend / divisor;
+    }
+
+    /*
+     * Calls the function at "address", declared in the global frame, with the given arguments:
+     * the call returns to "returnAddress", which must hold a halt instruction.
+     * Returns the function result, left on top of the stack.
+     */
+    public int call(int address, int returnAddress, int... arguments) {
+      push(fp); // Control Link
+      for (int i = arguments.length - 1; i >= 0; i--) push(arguments[i]);
+      push(memory.length); // Access Link: the global frame
+      ra = returnAddress;
+      ip = address;
+      cpu();
+      if (status != Status.HALTED) {
+        throw new IllegalStateException("VM stopped: " + status + position());
+      }
+      return memory[sp];
+    }
+
+    /*
+     * Objects on the heap and stack roots (see HeapDump), to find out what fills the memory.
+     * Classes come from the code map. The VM must not be running, it can be paused.
+     */
+    public HeapDump dumpHeap() {
+      if (codeMap == null) {
+        throw new IllegalStateException("No code map: the classes of the objects are unknown");
+      }
+      checkStopped();
+      return HeapDump.walk(memory, hp, sp, stackBase, codeMap);
+    }
+
+    /*
+     * State of the VM: registers and used memory regions. The VM must not be running, it can be paused.
+     */
+    public Snapshot snapshot() {
+      checkStopped();
+      return new Snapshot(code, memory, ip, sp, hp, fp, ra, tm, codeMap);
+    }
+
+    /*
+     * The memory of a VM is consistent when neither the VM nor its tasks are executing
+     * instructions, and no task is pending: the memory of a forked task is only compacted
+     * when it is joined, and the state of tasks is not part of registers and memory.
+     */
+    private void checkStopped() {
+      synchronized (control) {
+        if (running && runningThreads > 0) {
+          throw new IllegalStateException("The VM is running");
+        }
+        if (!pendingTasks.isEmpty()) {
+          throw new IllegalStateException("The VM has pending tasks");
+        }
+      }
+    }
+
+    /*
+     * Brings a VM created from "snapshot" back to it, e.g. after a call. Only registers are
+     * restored: the saved regions are never modified as FOOL values are immutable, the heap
+     * above $hp and the stack below $sp are always written before being read. Memo and
+     * hash-consing tables may refer to discarded objects, so they are emptied.
+     */
+    public void restore(Snapshot snapshot) {
+      ip = snapshot.ip;
+      sp = snapshot.sp;
+      hp = snapshot.hp;
+      fp = snapshot.fp;
+      ra = snapshot.ra;
+      tm = snapshot.tm;
+      instructions = 0;
+      reportedInstructions = 0;
+      status = Status.READY;
+      synchronized (control) {
+        cancelRequested = false;
+        interruptRequested = pauseRequested || sampleRequested;
+      }
+      pendingTasks.clear();
+      forkedTasks = 0;
+      inlineTasks = 0;
+      memoTables.clear();
+      if (tracer != null) tracer.clear();
+      if (hashConsTable != null) hashConsTable = new HashConsTable();
+    }
+
+    /*
+     * When "pool" is not null, tasks started by "fork" run in parallel on it;
+     * otherwise (or when memory is short, when cpu is given a budget, or without a code map
+     * giving the layout of objects, see joinAll) they are run inline, as plain calls.
+     * Parallel tasks cannot share the hash-consing table, so the two modes exclude each other.
+     */
+    public void setForkJoinPool(ForkJoinPool pool) {
+      if (pool != null && hashConsTable != null) {
+        throw new IllegalStateException("Hash-consing cannot be combined with parallel tasks");
+      }
+      this.pool = pool;
+    }
+
+    /*
+     * A task run inline jumps to "entry" after pushing the return address, which its "done"
+     * instruction pops: it runs in the frame and with the memory of the forking code, and
+     * observes the budget, pause and cancel requests like it.
+     */
+    private void fork(int entry) {
+      int size = (sp - hp) / TASK_MEMORY_FRACTION;
+      char resultKind = taskResult(entry);
+      if (pool == null || sliced || size < MIN_TASK_MEMORY || resultKind == CodeMap.UNKNOWN_KIND) {
+        Task task = new Task(null, sp, entry, resultKind);
+        task.low = hp;
+        pendingTasks.add(task);
+        inlineTasks++;
+        push(ip);
+        jump(entry);
+        return;
+      }
+      Task task = new Task(new ExecuteVM(this, entry, hp, hp + size, true), sp, entry, resultKind);
+      task.low = hp;
+      hp += size;
+      task.limit = hp;
+      pendingTasks.add(task);
+      forkedTasks++;
+      if (ForkJoinTask.getPool() == pool) {
+        task.fork();
+      } else {
+        pool.execute(task);
+      }
+    }
+
+    /*
+     * End of the innermost task run inline, the last pending one: its objects end at $hp.
+     */
+    private void done() {
+      Task task = pendingTasks.get(pendingTasks.size() - 1);
+      task.result = pop();
+      task.top = hp;
+      task.limit = hp;
+      inlineTasks--;
+      jump(pop());
+    }
+
+    /*
+     * Kind of the result of the task at "entry" (see CodeMap.taskResult), UNKNOWN_KIND without
+     * a code map: then the objects of the task cannot be moved.
+     */
+    private char taskResult(int entry) {
+      return codeMap == null ? CodeMap.UNKNOWN_KIND : codeMap.taskResult(entry);
+    }
+
+    /*
+     * Parallel tasks leave their objects at the bottom of their memory: each task is compacted
+     * by moving its objects right after those of the previous one, so that the unused memory is
+     * given back (tasks run inline after a parallel one are moved as well). Memory allocated
+     * by the forking code between two tasks is not moved: the gap before it is marked as unused,
+     * which heap walks skip (see HeapDump). A task that ran out of memory while parallel tasks
+     * held part of it is run again by a new VM, with all the free memory: it is pure, so running
+     * it twice cannot be observed (the allocations of the first run are not profiled either).
+     */
+    private void joinAll(int n) {
+      List<Task> tasks = pendingTasks.subList(pendingTasks.size() - n, pendingTasks.size());
+      Status failure = null;
+      List<Task> outOfMemory = new ArrayList<>();
+      int free = -1; // where the objects of the next task are moved, -1 before the first parallel task
+      int end = -1; // end of the memory of the last task moved
+      for (Task task : tasks) {
+        if (task.vm != null) {
+          join(task);
+          forkedTasks--;
+          task.top = task.vm.hp;
+          addCounts(task.vm);
+          if (profile != null) profile.add(task.vm.profile);
+          if (allocationProfile != null) allocationProfile.add(task.vm.allocationProfile);
+        }
+        if ((task.vm != null || free >= 0) && task.resultKind != CodeMap.UNKNOWN_KIND) {
+          if (task.low != end) { // memory allocated in between is not moved
+            markUnused(free, end);
+            free = task.low;
+          }
+          end = task.limit;
+          if (task.vm != null && task.vm.status == Status.SEGMENTATION_FAULT) {
+            if (allocationProfile != null) allocationProfile.dropped(task.low, task.top);
+            outOfMemory.add(task);
+            continue;
+          }
+          moveObjects(task.low, task.top, free);
+          if (task.resultKind == 'o' && task.result >= task.low && task.result < task.top) {
+            task.result -= task.low - free;
+          }
+          free += task.top - task.low;
+        }
+        if (task.vm != null && task.vm.status != Status.HALTED) {
+          failure = task.vm.status;
+          stopAddress = task.vm.stopAddress;
+        }
+        memory[task.slot] = task.result;
+      }
+      if (end == hp) {
+        hp = free;
+      } else {
+        markUnused(free, end);
+      }
+      for (Task task : outOfMemory) {
+        if (failure != null) break;
+        ExecuteVM rerun = new ExecuteVM(this, task.entry, hp, sp, false);
+        rerun.run();
+        hp = rerun.hp;
+        addCounts(rerun);
+        if (rerun.status != Status.HALTED) {
+          failure = rerun.status;
+          stopAddress = rerun.stopAddress;
+        }
+        memory[task.slot] = rerun.memory[rerun.sp];
+      }
+      tasks.clear();
+      if (failure != null) {
+        throw stop(failure);
+      }
+    }
+
+    /*
+     * Waits for a forked task: meanwhile this VM does not count as running for pause requests,
+     * and it resumes executing instructions only once no pause is requested.
+     */
+    private void join(Task task) {
+      root.leave();
+      try {
+        task.join();
+      } finally {
+        root.enter();
+      }
+    }
+
+    /*
+     * Marks the words from "from" to "to" as unused, if any.
+     */
+    private void markUnused(int from, int to) {
+      if (from >= 0 && from < to) {
+        memory[to - 1] = from - to;
+      }
+    }
+
+    /*
+     * Moves the heap from "from" to "to" (objects and unused words) down to "target",
+     * updating the references among the moved objects.
+     */
+    private void moveObjects(int from, int to, int target) {
+      if (from == target) return;
+      int address = to - 1;
+      while (address >= from) {
+        if (memory[address] < 0) { // unused words
+          address += memory[address];
+          continue;
+        }
+        String fields = codeMap.objectClass(memory[address]).fields;
+        for (int field = 0; field < fields.length(); field++) {
+          int value = memory[address - 1 - field];
+          if (fields.charAt(field) == 'o' && value >= from && value < to) {
+            memory[address - 1 - field] = value - (from - target);
+          }
+        }
+        address -= fields.length() + 1;
+      }
+      System.arraycopy(memory, from, memory, target, to - from);
+      if (allocationProfile != null) allocationProfile.moved(from, to, target);
+    }
+
+    private void addCounts(ExecuteVM task) {
+      instructions += task.instructions;
+      allocations += task.allocations;
+      outputBytes += task.outputBytes;
+      maxStackDepth = Math.max(maxStackDepth, task.maxStackDepth);
+    }
+
+    private void jump(int address) {
+      boolean backward = address < ip;
+      ip = address;
+      if (backward) safepoint();
+    }
+
+    /*
+     * Reached after backward branches and calls, when the next instruction is about to be
+     * fetched: any non-terminating program goes through them, and the straight-line code
+     * run between two safepoints is bounded by the code size.
+     */
+    private void safepoint() {
+      if (stackBase - sp > maxStackDepth) maxStackDepth = stackBase - sp;
+      if (root.interruptRequested) interrupt();
+      if (instructions > stopAt) throw instructions > instructionLimit ? INSTRUCTION_LIMIT_EXCEEDED : SUSPENDED;
+    }
+
+    /*
+     * Serves a sample, pause or cancel request of the root at a safepoint: the VM and its
+     * forked tasks each wait at their safepoints while the root is paused.
+     */
+    private void interrupt() {
+      synchronized (root.control) {
+        if (root.sampleRequested) {
+          root.sampleRequested = false;
+          root.interruptRequested = root.pauseRequested || root.cancelRequested;
+          if (sampler != null) sampler.sample(memory, ip, fp, ra);
+        }
+        if (root.pauseRequested) {
+          root.leave();
+          root.enter();
+        }
+        if (root.cancelRequested) throw CANCELLED;
+      }
+    }
+
+    /*
+     * A thread of this root VM or of its tasks stops executing instructions.
+     */
+    private void leave() {
+      synchronized (control) {
+        runningThreads--;
+        control.notifyAll();
+      }
+    }
+
+    /*
+     * A thread of this root VM or of its tasks starts executing instructions, once no pause
+     * is requested. Interrupting a waiting thread cancels the VM.
+     */
+    private void enter() {
+      synchronized (control) {
+        try {
+          while (pauseRequested && !cancelRequested) {
+            control.wait();
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          cancelRequested = true;
+          interruptRequested = true;
+          control.notifyAll();
+        } finally {
+          runningThreads++;
+        }
+      }
+    }
+
+    /*
+     * Thread-safe: the VM stops (status CANCELLED) at its next safepoint, a paused VM is
+     * resumed to stop. A VM that is not running stops at its first safepoint.
+     */
+    public void cancel() {
+      synchronized (control) {
+        cancelRequested = true;
+        interruptRequested = true;
+        control.notifyAll();
+      }
+    }
+
+    /*
+     * Thread-safe: asks the VM to wait at its next safepoint and returns once it is waiting
+     * (or is not running, it will wait at its first safepoint). Its forked tasks wait at
+     * their safepoints as well, or before starting, and a VM joining them counts as waiting.
+     * Until resume is called, memory and registers can be inspected from other threads,
+     * e.g. through snapshot, once no task is pending (see checkStopped).
+     */
+    public void pause() throws InterruptedException {
+      synchronized (control) {
+        pauseRequested = true;
+        interruptRequested = true;
+        while (running && runningThreads > 0 && !cancelRequested) {
+          control.wait();
+        }
+      }
+    }
+
+    public void resume() {
+      synchronized (control) {
+        pauseRequested = false;
+        interruptRequested = cancelRequested || sampleRequested;
+        control.notifyAll();
+      }
+    }
+
+    /*
+     * Thread-safe: the VM, or a task it runs, samples its call stack at its next safepoint.
+     */
+    void requestSample() {
+      synchronized (control) {
+        sampleRequested = true;
+        interruptRequested = true;
+      }
+    }
+
+    void setSampler(SamplingProfiler sampler) {
+      this.sampler = sampler;
+    }
+
+    private static Stop stop(Status status) {
+      switch (status) {
+        case SEGMENTATION_FAULT: return SEGMENTATION_FAULT;
+        case INSTRUCTION_LIMIT_EXCEEDED: return INSTRUCTION_LIMIT_EXCEEDED;
+        case END_OF_INPUT: return END_OF_INPUT;
+        case INVALID_INPUT: return INVALID_INPUT;
+        case DIVISION_BY_ZERO: return DIVISION_BY_ZERO;
+        case CANCELLED: return CANCELLED;
+        default: return SUSPENDED;
+      }
+    }
+
+    /*
+     * Stops the VM: raised when heap and stack collide (allocations and pushes), on division by zero,
+     * by reads without a valid integer, and at safepoints, when the instruction limit or budget is
+     * exceeded or on cancellation.
+     */
+    private static final class Stop extends RuntimeException {
+      private static final long serialVersionUID = 1L;
+      final Status status;
+
+      Stop(Status status) {
+        super(status.toString(), null, false, false);
+        this.status = status;
+      }
+    }
+
+    /*
+     * Task started by a "fork" instruction, its result goes to the stack slot "slot".
+     */
+    private static final class Task extends RecursiveAction {
+      private static final long serialVersionUID = 1L;
+      final ExecuteVM vm; // running the forked task, null if it is run inline
+      final int slot;
+      int result; // read before the memory of a task is reused
+      final int entry; // of the code, run again if the task runs out of memory
+      final char resultKind; // see CodeMap.taskResult
+      int low; // start of the memory of the task
+      int top; // end of the objects of the task, once it is done
+      int limit; // end of the memory of the task
+
+      Task(ExecuteVM vm, int slot, int entry, char resultKind) {
+        this.vm = vm;
+        this.slot = slot;
+        this.entry = entry;
+        this.resultKind = resultKind;
+      }
+
+      @Override
+      protected void compute() {
+        vm.root.enter();
+        try {
+          vm.run();
+        } finally {
+          vm.root.leave();
+        }
+        result = vm.memory[vm.sp];
+      }
+    }
+
+    /*
+     * The VM stops (status INSTRUCTION_LIMIT_EXCEEDED) once it has executed more than "limit"
+     * instructions in total: the limit is checked at safepoints only.
+     */
+    public void setInstructionLimit(long limit) {
+      instructionLimit = limit;
+    }
+
+    public long getInstructionCount() {
+      return instructions;
+    }
+
+    /*
+     * Words of heap in use ($hp). Like the stack depth, it can be read while the VM is running
+     * in another thread, without synchronization: the value may then be slightly out of date.
+     */
+    public int getHeapPointer() {
+      return hp;
+    }
+
+    /*
+     * Words of stack in use.
+     */
+    public int getStackDepth() {
+      return stackBase - sp;
+    }
+
+    public Status getStatus() {
+      return status;
+    }
+
+    /*
+     * Code map of the program (see SVMParser.codeMap): error messages then give the
+     * position of the failing instruction in FOOL terms.
+     */
+    public void setCodeMap(CodeMap codeMap) {
+      this.codeMap = codeMap;
+    }
+
+    public CodeMap getCodeMap() {
+      return codeMap;
+    }
+
+    /*
+     * When enabled, the VM counts the executions of each instruction and the maximum stack
+     * depth (see Profile), tasks included. Counts accumulate until profiling is enabled again.
+     * Disabled by default: the interpreter loop then skips the profiling code (see execute).
+     */
+    public void setProfiling(boolean enabled) {
+      profile = enabled ? new Profile(code) : null;
+      updateObserver();
+    }
+
+    private void updateObserver() {
+      observer = profile == null ? tracer : tracer == null ? profile : InstructionObserver.both(profile, tracer);
+    }
+
+    /*
+     * Counts collected so far, null if profiling is disabled.
+     */
+    public Profile getProfile() {
+      return profile;
+    }
+
+    /*
+     * When enabled, the VM records the site ("alloc" instruction) of each object it allocates,
+     * tasks included, and counts the survivors of each site when it halts if the code map is
+     * known (see AllocationProfile). Counts accumulate until allocation profiling is enabled again.
+     */
+    public void setAllocationProfiling(boolean enabled) {
+      allocationProfile = enabled ? new AllocationProfile(code.length, memory.length) : null;
+    }
+
+    /*
+     * Allocations recorded so far, null if allocation profiling is disabled.
+     */
+    public AllocationProfile getAllocationProfile() {
+      return allocationProfile;
+    }
+
+    /*
+     * Sink of the lines written by "print" instructions and of the error messages
+     * (System.out through a buffer by default), flushed when cpu returns.
+     */
+    public void setOutput(OutputSink out) {
+      this.out = out;
+    }
+
+    public OutputSink getOutput() {
+      return out;
+    }
+
+    /*
+     * Source of the integers pushed by "read" instructions (text from System.in by default).
+     * The VM stops with END_OF_INPUT at the end of the input, and with INVALID_INPUT when the
+     * source throws any other IOException, e.g. on a malformed integer.
+     */
+    public void setInput(InputSource in) {
+      this.in = in;
+    }
+
+    private int read() {
+      try {
+        return (in == null ? ChannelInputSource.standardInput() : in).read();
+      } catch (EOFException e) {
+        throw END_OF_INPUT;
+      } catch (IOException e) {
+        inputError = e.getMessage() == null ? "Invalid input" : e.getMessage();
+        throw INVALID_INPUT;
+      }
+    }
+
+    /*
+     * When enabled, allocations return an existing object if one with the same dispatch pointer
+     * and field values exists (objects are immutable): equal objects share the same address.
+     * It cannot be enabled together with a fork/join pool (see setForkJoinPool).
+     */
+    public void setHashConsing(boolean enabled) {
+      if (enabled && pool != null) {
+        throw new IllegalStateException("Hash-consing cannot be combined with parallel tasks");
+      }
+      hashConsTable = enabled ? new HashConsTable() : null;
+    }
+
+    /*
+     * Adds the objects below $hp to an empty hash-consing table, e.g. the constant objects of the
+     * .data section, so that equal objects built at runtime share their address. Their classes
+     * come from the code map: without it, only the objects allocated by the VM are in the table.
+     */
+    private void addHeapObjects(HashConsTable table) {
+      int address = hp - 1;
+      while (address >= 0) {
+        if (memory[address] < 0) { // unused words
+          address += memory[address];
+          continue;
+        }
+        int fields = codeMap.objectClass(memory[address]).fields.length();
+        table.insert(HashConsTable.hash(memory, memory[address], address - fields, fields), address);
+        address -= fields + 1;
+      }
+    }
+
+    /*
+     * Number of allocations that returned an existing object.
+     */
+    public long getHashConsHits() {
+      return hashConsTable == null ? 0 : hashConsTable.getHits();
+    }
+
+    /*
+     * When "capacity" is positive, the results of the memoizable functions are cached:
+     * each function keeps the results of its "capacity" most recently used calls.
+     */
+    public void setMemoization(int capacity) {
+      memoCapacity = capacity;
+      memoTables.clear();
+    }
+
+    /*
+     * Memo tables of the memoizable functions executed so far.
+     */
+    public List<MemoTable> getMemoTables() {
+      List<MemoTable> tables = new ArrayList<>();
+      for (MemoTable table : memoTables) {
+        if (table != null) tables.add(table);
+      }
+      return tables;
+    }
+
+    /*
+     * Calls are keyed by the Access Link value: only the global frame and heap objects
+     * (receivers) live as long as the cache, frames and stack allocated objects are reused.
+     */
+    private boolean isCacheableAccessLink(int accessLink) {
+      return accessLink == memory.length || accessLink < hp;
+    }
+
+    private MemoTable memoTable(int id, int entry) {
+      while (memoTables.size() <= id) memoTables.add(null);
+      MemoTable table = memoTables.get(id);
+      if (table == null) {
+        table = new MemoTable(id, entry, memoCapacity);
+        memoTables.set(id, table);
+      }
+      return table;
+    }
+
+    private InlineCache inlineCache(int site) {
+      InlineCache cache = inlineCaches[site];
+      if (cache == null) {
+        cache = inlineCaches[site] = new InlineCache(site);
+      }
+      return cache;
+    }
+
+    /*
+     * Inline caches of the method call sites executed so far, ordered by site address.
+     */
+    public List<InlineCache> getInlineCaches() {
+      List<InlineCache> caches = new ArrayList<>();
+      for (InlineCache cache : inlineCaches) {
+        if (cache != null) caches.add(cache);
+      }
+      return caches;
+    }
     
     private int pop() {
       return memory[sp++];
     }
     
     private void push(int v) {
+      if (sp <= hp) throw SEGMENTATION_FAULT;
       memory[--sp] = v;
     }
     
@@ -0,0 +1,98 @@
+package svm;
+
+import java.util.Arrays;
+
+/**
+ * Table of the objects allocated on the heap while hash-consing is enabled,
+ * indexed by their content: dispatch pointer and field values.
+ * <p>
+ * Objects are immutable after construction, so an allocation whose content
+ * is equal to the one of an object already in the table can return that
+ * object instead of a fresh one. Open addressing with linear probing:
+ * slots hold object pointers (address of the dispatch pointer), -1 if empty,
+ * together with the hash of the object content.
+ */
+class HashConsTable {
+
+    private int[] objects = new int[1024];
+    private int[] hashes = new int[1024];
+    private int size = 0;
+    private long hits = 0;
+
+    HashConsTable() {
+        Arrays.fill(objects, -1);
+    }
+
+    /*
+     * Hash of an object with dispatch pointer "dispatchPointer" and the "n" fields found
+     * in memory starting at "fields" (laid out as on the heap, last field first).
+     */
+    static int hash(int[] memory, int dispatchPointer, int fields, int n) {
+        int h = dispatchPointer;
+        for (int k = 0; k < n; k++) {
+            h = 31 * h + memory[fields + k];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /*
+     * Returns the pointer of an object having the given content, -1 if there is none.
+     */
+    int lookup(int[] memory, int hash, int dispatchPointer, int fields, int n) {
+        int mask = objects.length - 1;
+        for (int i = hash & mask; objects[i] != -1; i = (i + 1) & mask) {
+            if (hashes[i] == hash && matches(memory, objects[i], dispatchPointer, fields, n)) {
+                hits++;
+                return objects[i];
+            }
+        }
+        return -1;
+    }
+
+    void insert(int hash, int objectPointer) {
+        if (2 * (size + 1) > objects.length) {
+            int[] oldObjects = objects;
+            int[] oldHashes = hashes;
+            objects = new int[oldObjects.length * 2];
+            hashes = new int[oldObjects.length * 2];
+            Arrays.fill(objects, -1);
+            for (int i = 0; i < oldObjects.length; i++) {
+                if (oldObjects[i] != -1) {
+                    put(oldHashes[i], oldObjects[i]);
+                }
+            }
+        }
+        put(hash, objectPointer);
+        size++;
+    }
+
+    long getHits() {
+        return hits;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void put(int hash, int objectPointer) {
+        int mask = objects.length - 1;
+        int i = hash & mask;
+        while (objects[i] != -1) {
+            i = (i + 1) & mask;
+        }
+        objects[i] = objectPointer;
+        hashes[i] = hash;
+    }
+
+    private static boolean matches(int[] memory, int objectPointer, int dispatchPointer, int fields, int n) {
+        if (memory[objectPointer] != dispatchPointer) {
+            return false;
+        }
+        for (int k = 0; k < n; k++) {
+            if (memory[objectPointer - n + k] != memory[fields + k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
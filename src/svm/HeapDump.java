@@ -0,0 +1,412 @@
+package svm;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Objects on the heap of a VM (see ExecuteVM.dumpHeap): class, size in words and references
+ * to other objects of each object, and the stack slots referring to objects (the roots).
+ * <p>
+ * An object is its fields followed by its dispatch pointer (the object pointer), so the heap
+ * is walked downwards from $hp: the dispatch pointer gives the class of the object, hence its
+ * number of fields and where the previous object ends. Fields holding objects are known from
+ * the class; the stack holds no types, so any stack word equal to an object pointer is a root.
+ * <p>
+ * Reachable and retained sizes are computed from the roots: the words retained by an object
+ * are those of the objects only reachable through it (its subtree in the dominator tree).
+ * Dumps are written and read in a line-oriented text format (see write), so they can be
+ * analysed after the program is gone.
+ */
+public final class HeapDump {
+
+    private static final String FORMAT = "fool-heap-dump 1";
+
+    /*
+     * Objects and words of a class, with how much of them is reachable from the roots.
+     */
+    public static final class ClassStatistics {
+        private final String name;
+        private int instances;
+        private int words;
+        private int reachableInstances;
+        private int reachableWords;
+
+        ClassStatistics(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getInstances() {
+            return instances;
+        }
+
+        public int getWords() {
+            return words;
+        }
+
+        public int getReachableInstances() {
+            return reachableInstances;
+        }
+
+        public int getReachableWords() {
+            return reachableWords;
+        }
+    }
+
+    private final int heapWords; // $hp
+    private final int freeWords; // left unused by parallel tasks
+    private final int[] addresses; // object pointer of each object, ascending
+    private final String[] classNames;
+    private final int[] words;
+    private final int[][] references; // object pointers held by the fields of each object
+    private final int[] rootSlots; // stack addresses of the roots
+    private final int[] roots; // object pointers held by the root slots
+    private boolean[] reachable; // computed by analyse
+    private int[] retainedWords;
+
+    private HeapDump(int heapWords, int freeWords, int[] addresses, String[] classNames, int[] words,
+                     int[][] references, int[] rootSlots, int[] roots) {
+        this.heapWords = heapWords;
+        this.freeWords = freeWords;
+        this.addresses = addresses;
+        this.classNames = classNames;
+        this.words = words;
+        this.references = references;
+        this.rootSlots = rootSlots;
+        this.roots = roots;
+    }
+
+    /*
+     * Walks the heap below "hp", the stack is the memory from "sp" to "stackEnd".
+     * A negative word where an object would end marks "-word" unused words ending there.
+     */
+    static HeapDump walk(int[] memory, int hp, int sp, int stackEnd, CodeMap codeMap) {
+        List<Integer> addresses = new ArrayList<>();
+        List<CodeMap.ObjectClass> classes = new ArrayList<>();
+        int freeWords = 0;
+        int address = hp - 1;
+        while (address >= 0) {
+            if (memory[address] < 0) {
+                freeWords -= memory[address];
+                address += memory[address];
+                continue;
+            }
+            CodeMap.ObjectClass objectClass = codeMap.objectClass(memory[address]);
+            if (objectClass == null || address < objectClass.fields.length()) {
+                throw new IllegalStateException("No object ends at address " + address + " of the heap");
+            }
+            addresses.add(address);
+            classes.add(objectClass);
+            address -= objectClass.fields.length() + 1;
+        }
+        Collections.reverse(addresses);
+        Collections.reverse(classes);
+        int n = addresses.size();
+        Set<Integer> objects = new HashSet<>(addresses);
+        int[] objectAddresses = new int[n];
+        String[] classNames = new String[n];
+        int[] words = new int[n];
+        int[][] references = new int[n][];
+        for (int i = 0; i < n; i++) {
+            CodeMap.ObjectClass objectClass = classes.get(i);
+            objectAddresses[i] = addresses.get(i);
+            classNames[i] = objectClass.name;
+            words[i] = objectClass.fields.length() + 1;
+            List<Integer> fields = new ArrayList<>();
+            for (int field = 0; field < objectClass.fields.length(); field++) {
+                int value = memory[objectAddresses[i] - 1 - field];
+                if (objectClass.fields.charAt(field) == 'o' && objects.contains(value)) fields.add(value);
+            }
+            references[i] = fields.stream().mapToInt(Integer::intValue).toArray();
+        }
+        List<Integer> rootSlots = new ArrayList<>();
+        for (int slot = sp; slot < stackEnd; slot++) {
+            if (objects.contains(memory[slot])) rootSlots.add(slot);
+        }
+        return new HeapDump(hp, freeWords, objectAddresses, classNames, words, references,
+            rootSlots.stream().mapToInt(Integer::intValue).toArray(),
+            rootSlots.stream().mapToInt(slot -> memory[slot]).toArray());
+    }
+
+    /*
+     * Called by forEachObject with each object, its size and whether it is reachable.
+     */
+    interface ObjectVisitor {
+        void visit(int objectPointer, int words, boolean reachable);
+    }
+
+    void forEachObject(ObjectVisitor visitor) {
+        analyse();
+        for (int i = 0; i < addresses.length; i++) {
+            visitor.visit(addresses[i], words[i], reachable[i]);
+        }
+    }
+
+    public int getObjectCount() {
+        return addresses.length;
+    }
+
+    /*
+     * Words of heap in use ($hp), objects and unused words.
+     */
+    public int getHeapWords() {
+        return heapWords;
+    }
+
+    /*
+     * Words left unused in the memory reserved by parallel tasks.
+     */
+    public int getFreeWords() {
+        return freeWords;
+    }
+
+    public int getReachableWords() {
+        analyse();
+        int total = 0;
+        for (int i = 0; i < addresses.length; i++) {
+            if (reachable[i]) total += words[i];
+        }
+        return total;
+    }
+
+    /*
+     * Words that would be freed if the object at "address" (an object pointer) was not
+     * referred to any more: 0 if it is not reachable.
+     */
+    public int getRetainedWords(int address) {
+        int object = Arrays.binarySearch(addresses, address);
+        if (object < 0) {
+            throw new IllegalArgumentException("No object at address " + address);
+        }
+        analyse();
+        return retainedWords[object];
+    }
+
+    /*
+     * Statistics of each class, the classes with more words first.
+     */
+    public List<ClassStatistics> getHistogram() {
+        analyse();
+        Map<String, ClassStatistics> statistics = new HashMap<>();
+        for (int i = 0; i < addresses.length; i++) {
+            ClassStatistics classStatistics = statistics.computeIfAbsent(classNames[i], ClassStatistics::new);
+            classStatistics.instances++;
+            classStatistics.words += words[i];
+            if (reachable[i]) {
+                classStatistics.reachableInstances++;
+                classStatistics.reachableWords += words[i];
+            }
+        }
+        List<ClassStatistics> histogram = new ArrayList<>(statistics.values());
+        histogram.sort(Comparator.comparingInt(ClassStatistics::getWords).reversed()
+            .thenComparing(ClassStatistics::getName));
+        return histogram;
+    }
+
+    /*
+     * Computes reachability and retained sizes with the iterative dominator algorithm of
+     * Cooper, Harvey and Kennedy, on the object graph plus a virtual root referring to the roots.
+     */
+    private void analyse() {
+        if (reachable != null) return;
+        int n = addresses.length;
+        int root = n;
+        int[][] successors = new int[n + 1][];
+        for (int i = 0; i < n; i++) successors[i] = indexes(references[i]);
+        successors[root] = indexes(roots);
+        // postorder numbering of the nodes reachable from the root
+        int[] postorder = new int[n + 1];
+        Arrays.fill(postorder, -1);
+        int[] order = new int[n + 1]; // nodes by postorder number
+        int count = 0;
+        boolean[] visited = new boolean[n + 1];
+        int[] stack = new int[n + 1];
+        int[] next = new int[n + 1]; // next successor to visit of the nodes on the stack
+        int top = 0;
+        stack[0] = root;
+        visited[root] = true;
+        while (top >= 0) {
+            int node = stack[top];
+            if (next[node] < successors[node].length) {
+                int successor = successors[node][next[node]++];
+                if (!visited[successor]) {
+                    visited[successor] = true;
+                    stack[++top] = successor;
+                }
+            } else {
+                top--;
+                postorder[node] = count;
+                order[count++] = node;
+            }
+        }
+        List<List<Integer>> predecessors = new ArrayList<>();
+        for (int i = 0; i <= n; i++) predecessors.add(new ArrayList<>());
+        for (int i = 0; i <= n; i++) {
+            if (!visited[i]) continue;
+            for (int successor : successors[i]) predecessors.get(successor).add(i);
+        }
+        int[] dominator = new int[n + 1];
+        Arrays.fill(dominator, -1);
+        dominator[root] = root;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int k = count - 2; k >= 0; k--) { // reverse postorder, root excluded
+                int node = order[k];
+                int newDominator = -1;
+                for (int predecessor : predecessors.get(node)) {
+                    if (dominator[predecessor] < 0) continue;
+                    newDominator = newDominator < 0 ? predecessor : intersect(predecessor, newDominator, dominator, postorder);
+                }
+                if (dominator[node] != newDominator) {
+                    dominator[node] = newDominator;
+                    changed = true;
+                }
+            }
+        }
+        reachable = new boolean[n];
+        retainedWords = new int[n + 1];
+        for (int k = 0; k < count - 1; k++) { // postorder: children in the dominator tree first
+            int node = order[k];
+            reachable[node] = true;
+            retainedWords[node] += words[node];
+            retainedWords[dominator[node]] += retainedWords[node];
+        }
+    }
+
+    private static int intersect(int a, int b, int[] dominator, int[] postorder) {
+        while (a != b) {
+            while (postorder[a] < postorder[b]) a = dominator[a];
+            while (postorder[b] < postorder[a]) b = dominator[b];
+        }
+        return a;
+    }
+
+    private int[] indexes(int[] objectPointers) {
+        int[] indexes = new int[objectPointers.length];
+        for (int i = 0; i < objectPointers.length; i++) {
+            indexes[i] = Arrays.binarySearch(addresses, objectPointers[i]);
+        }
+        return indexes;
+    }
+
+    /*
+     * One line per fact after the format line:
+     * "heap <$hp> <free words>", "object <pointer> <class> <words> <referred pointers>..."
+     * and "root <stack address> <pointer>".
+     */
+    public void write(Writer out) throws IOException {
+        PrintWriter writer = new PrintWriter(out);
+        writer.println(FORMAT);
+        writer.println("heap " + heapWords + " " + freeWords);
+        for (int i = 0; i < addresses.length; i++) {
+            writer.print("object " + addresses[i] + " " + classNames[i] + " " + words[i]);
+            for (int reference : references[i]) writer.print(" " + reference);
+            writer.println();
+        }
+        for (int i = 0; i < roots.length; i++) {
+            writer.println("root " + rootSlots[i] + " " + roots[i]);
+        }
+        writer.flush();
+        if (writer.checkError()) throw new IOException("Cannot write the heap dump");
+    }
+
+    public void write(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            write(out);
+        }
+    }
+
+    public static HeapDump read(Path file) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!FORMAT.equals(in.readLine())) {
+                throw new IOException(file + " is not a heap dump");
+            }
+            int heapWords = 0;
+            int freeWords = 0;
+            List<String[]> objects = new ArrayList<>();
+            List<int[]> roots = new ArrayList<>();
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                String[] words = line.trim().split("\\s+");
+                try {
+                    switch (words[0]) {
+                        case "heap":
+                            heapWords = Integer.parseInt(words[1]);
+                            freeWords = Integer.parseInt(words[2]);
+                            break;
+                        case "object":
+                            objects.add(words);
+                            break;
+                        case "root":
+                            roots.add(new int[] {Integer.parseInt(words[1]), Integer.parseInt(words[2])});
+                            break;
+                        default:
+                            throw new IOException("Unexpected line in heap dump: " + line);
+                    }
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    throw new IOException("Malformed line in heap dump: " + line, e);
+                }
+            }
+            int n = objects.size();
+            int[] addresses = new int[n];
+            String[] classNames = new String[n];
+            int[] sizes = new int[n];
+            int[][] references = new int[n][];
+            try {
+                for (int i = 0; i < n; i++) {
+                    String[] words = objects.get(i);
+                    addresses[i] = Integer.parseInt(words[1]);
+                    classNames[i] = words[2];
+                    sizes[i] = Integer.parseInt(words[3]);
+                    references[i] = Arrays.stream(words, 4, words.length).mapToInt(Integer::parseInt).toArray();
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IOException("Malformed object in heap dump", e);
+            }
+            HeapDump dump = new HeapDump(heapWords, freeWords, addresses, classNames, sizes, references,
+                roots.stream().mapToInt(root -> root[0]).toArray(), roots.stream().mapToInt(root -> root[1]).toArray());
+            for (int i = 1; i < n; i++) {
+                if (addresses[i] <= addresses[i - 1]) throw new IOException("Objects not sorted by address in heap dump");
+            }
+            for (int[] objectReferences : references) dump.checkObjects(objectReferences);
+            dump.checkObjects(dump.roots);
+            return dump;
+        }
+    }
+
+    private void checkObjects(int[] objectPointers) throws IOException {
+        for (int pointer : objectPointers) {
+            if (Arrays.binarySearch(addresses, pointer) < 0) {
+                throw new IOException("Reference to a missing object " + pointer + " in heap dump");
+            }
+        }
+    }
+
+    /*
+     * Histogram by class, then the objects retaining most words.
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(String.format("%10s %10s %10s %10s  %s%n",
+            "instances", "words", "reachable", "words", "class"));
+        for (ClassStatistics statistics : getHistogram()) {
+            report.append(String.format("%10d %10d %10d %10d  %s%n", statistics.instances, statistics.words,
+                statistics.reachableInstances, statistics.reachableWords, statistics.name));
+        }
+        report.append(String.format("%d objects, %d heap words (%d unused, %d reachable), %d roots%n",
+            addresses.length, heapWords, freeWords, getReachableWords(), roots.length));
+        Integer[] byRetained = new Integer[addresses.length];
+        for (int i = 0; i < byRetained.length; i++) byRetained[i] = i;
+        Arrays.sort(byRetained, Comparator.comparingInt((Integer i) -> retainedWords[i]).reversed());
+        for (int k = 0; k < Math.min(10, byRetained.length) && retainedWords[byRetained[k]] > 0; k++) {
+            int i = byRetained[k];
+            report.append(String.format("%s@%d retains %d words%n", classNames[i], addresses[i], retainedWords[i]));
+        }
+        return report.toString();
+    }
+}
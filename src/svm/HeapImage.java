@@ -0,0 +1,145 @@
+package svm;
+
+import java.io.IOException;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Persistent heap image: the state of a program right before its main expression
+ * (see Snapshot.afterGlobalDeclarations) kept in a memory-mapped file, so that the
+ * immutable data structures built by the global declarations (sorted lists, lookup
+ * trees...) are built by the first run only and reopened by the following ones.
+ * <p>
+ * Layout (big-endian words):
+ * -> header: magic, version, program hash (2 words), memory size, registers
+ *    ($ip, $sp, $hp, $fp, $ra, $tm), number of dispatch tables followed by
+ *    their address and length
+ * -> heap words (0 to $hp) and stack words ($sp to memory size)
+ * <p>
+ * An image is reused only if the program hash (code and .data section) and the
+ * dispatch table layout match, as heap objects refer to dispatch tables and global
+ * functions by code address. Heap addresses start from 0 and the global frame
+ * holds no frame pointers, so an image saved by a VM with a different memory size
+ * is relocated moving the stack region and the registers pointing into it.
+ */
+public final class HeapImage {
+
+    private static final int MAGIC = 0x464F4F48; // "FOOH"
+    private static final int VERSION = 1;
+    private static final int REGISTERS = 6;
+
+    private HeapImage() {
+    }
+
+    /*
+     * Reopens the image in "file" if it was saved for the same program, otherwise runs the
+     * global declarations and saves their result in "file" for the next runs.
+     */
+    public static Snapshot openOrBuild(Path file, int[] code, int[] data, int mainAddress,
+                                       SortedMap<Integer, Integer> dispatchTables) throws IOException {
+        Snapshot snapshot = open(file, code, data, dispatchTables);
+        if (snapshot == null) {
+            snapshot = Snapshot.afterGlobalDeclarations(code, data, mainAddress);
+            save(file, snapshot, data, dispatchTables);
+        }
+        return snapshot;
+    }
+
+    /*
+     * Returns the state saved in "file", or null if the file does not exist or was saved for
+     * another program (or does not fit in memory).
+     */
+    public static Snapshot open(Path file, int[] code, int[] data,
+                                SortedMap<Integer, Integer> dispatchTables) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < 4 * (2 + 2 + 1 + REGISTERS + 1)) {
+                return null;
+            }
+            IntBuffer words = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asIntBuffer();
+            if (words.get() != MAGIC || words.get() != VERSION) {
+                return null;
+            }
+            long hash = programHash(code, data);
+            if (words.get() != (int) (hash >>> 32) || words.get() != (int) hash) {
+                return null;
+            }
+            int memorySize = words.get();
+            int ip = words.get();
+            int sp = words.get();
+            int hp = words.get();
+            int fp = words.get();
+            int ra = words.get();
+            int tm = words.get();
+            if (!dispatchTables.equals(readDispatchTables(words))) {
+                return null;
+            }
+            int stackSize = memorySize - sp;
+            if (hp < 0 || stackSize < 0 || words.remaining() != hp + stackSize || hp + stackSize >= ExecuteVM.MEMSIZE) {
+                return null;
+            }
+            int[] heap = new int[hp];
+            int[] stack = new int[stackSize];
+            words.get(heap);
+            words.get(stack);
+            int delta = ExecuteVM.MEMSIZE - memorySize; // relocation of the stack region
+            return new Snapshot(code.clone(), heap, stack, ip, sp + delta, hp, fp >= sp ? fp + delta : fp, ra, tm);
+        }
+    }
+
+    /*
+     * Saves "snapshot" (taken right before the main expression) in "file", replacing it atomically.
+     */
+    public static void save(Path file, Snapshot snapshot, int[] data,
+                            SortedMap<Integer, Integer> dispatchTables) throws IOException {
+        int headerSize = 2 + 2 + 1 + REGISTERS + 1 + 2 * dispatchTables.size();
+        int size = headerSize + snapshot.heap.length + snapshot.stack.length;
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, 4L * size);
+            IntBuffer words = buffer.asIntBuffer();
+            long hash = programHash(snapshot.code, data);
+            words.put(MAGIC).put(VERSION).put((int) (hash >>> 32)).put((int) hash).put(snapshot.sp + snapshot.stack.length);
+            words.put(snapshot.ip).put(snapshot.sp).put(snapshot.hp).put(snapshot.fp).put(snapshot.ra).put(snapshot.tm);
+            words.put(dispatchTables.size());
+            dispatchTables.forEach((address, length) -> words.put(address).put(length));
+            words.put(snapshot.heap).put(snapshot.stack);
+            buffer.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static SortedMap<Integer, Integer> readDispatchTables(IntBuffer words) {
+        SortedMap<Integer, Integer> dispatchTables = new TreeMap<>();
+        int n = words.get();
+        if (n < 0 || 2 * n > words.remaining()) {
+            return null;
+        }
+        for (int i = 0; i < n; i++) {
+            dispatchTables.put(words.get(), words.get());
+        }
+        return dispatchTables;
+    }
+
+    /*
+     * 64-bit FNV-1a hash of the code (without the unused area) and of the .data section.
+     */
+    static long programHash(int[] code, int[] data) {
+        int codeLength = code.length;
+        while (codeLength > 0 && code[codeLength - 1] == 0) {
+            codeLength--;
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (int[] words : new int[][] {Arrays.copyOf(code, codeLength), {codeLength, data.length}, data}) {
+            for (int word : words) {
+                hash = (hash ^ word) * 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+}
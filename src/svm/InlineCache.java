@@ -0,0 +1,79 @@
+package svm;
+
+/**
+ * Polymorphic inline cache of a method call site (an "lm" instruction).
+ * <p>
+ * The cache remembers the dispatch pointers observed at the call site together
+ * with the address of the method they dispatch to:
+ * -> MONOMORPHIC while a single dispatch pointer has been seen
+ * -> POLYMORPHIC up to POLYMORPHIC_LIMIT dispatch pointers
+ * -> MEGAMORPHIC afterwards: no more caching, every lookup reads the dispatch table
+ */
+public class InlineCache {
+
+    public static final int POLYMORPHIC_LIMIT = 4;
+
+    public enum State { UNINITIALIZED, MONOMORPHIC, POLYMORPHIC, MEGAMORPHIC }
+
+    private final int site;
+    private final int[] dispatchPointers = new int[POLYMORPHIC_LIMIT];
+    private final int[] targets = new int[POLYMORPHIC_LIMIT];
+    private int size = 0;
+    private boolean megamorphic = false;
+    private long hits = 0;
+    private long misses = 0;
+
+    InlineCache(int site) {
+        this.site = site;
+    }
+
+    /*
+     * Returns the address of the method found at "offset" in the dispatch table
+     * pointed by "dispatchPointer", filling the cache on a miss.
+     */
+    int lookup(int[] code, int dispatchPointer, int offset) {
+        if (megamorphic) {
+            misses++;
+            return code[dispatchPointer + offset];
+        }
+        for (int i = 0; i < size; i++) {
+            if (dispatchPointers[i] == dispatchPointer) {
+                hits++;
+                return targets[i];
+            }
+        }
+        misses++;
+        int target = code[dispatchPointer + offset];
+        if (size < POLYMORPHIC_LIMIT) {
+            dispatchPointers[size] = dispatchPointer;
+            targets[size++] = target;
+        } else {
+            megamorphic = true;
+        }
+        return target;
+    }
+
+    public int getSite() {
+        return site;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public State getState() {
+        if (megamorphic) {
+            return State.MEGAMORPHIC;
+        }
+        return size == 0 ? State.UNINITIALIZED : size == 1 ? State.MONOMORPHIC : State.POLYMORPHIC;
+    }
+
+    @Override
+    public String toString() {
+        return "site " + site + ": " + getState() + " (" + size + " entries), " + hits + " hits, " + misses + " misses";
+    }
+}
@@ -0,0 +1,15 @@
+package svm;
+
+import java.io.IOException;
+
+/**
+ * Source of the integers pushed by "read" instructions.
+ */
+public interface InputSource {
+
+    /*
+     * Next integer: throws EOFException at the end of the input, another IOException if
+     * the input is not an integer or cannot be read.
+     */
+    int read() throws IOException;
+}
@@ -0,0 +1,20 @@
+package svm;
+
+/**
+ * Called by a VM in instrumented mode before each instruction (see ExecuteVM.executeInstrumented),
+ * with the registers and the stack depth.
+ */
+interface InstructionObserver {
+
+    void observe(int ip, int fp, int ra, int stackDepth);
+
+    /*
+     * Observer calling "first" then "second".
+     */
+    static InstructionObserver both(InstructionObserver first, InstructionObserver second) {
+        return (ip, fp, ra, stackDepth) -> {
+            first.observe(ip, fp, ra, stackDepth);
+            second.observe(ip, fp, ra, stackDepth);
+        };
+    }
+}
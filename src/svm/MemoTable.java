@@ -0,0 +1,108 @@
+package svm;
+
+import java.util.*;
+
+/**
+ * Bounded memo table of a pure function (a "memo"/"mput" instruction pair).
+ * <p>
+ * Results are indexed by the Access Link and the arguments of the call, that is
+ * the words of the callee frame from $fp upwards. When the table is full the
+ * least recently used result is evicted.
+ */
+public class MemoTable {
+
+    /*
+     * Access Link and arguments of a call.
+     */
+    private static final class Key {
+        private final int[] words;
+        private final int hash;
+
+        Key(int[] memory, int from, int n) {
+            words = Arrays.copyOfRange(memory, from, from + n);
+            hash = Arrays.hashCode(words);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && Arrays.equals(words, ((Key) other).words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final int id;
+    private final int entry;
+    private final Map<Key, Integer> results;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    MemoTable(int id, int entry, int capacity) {
+        this.id = id;
+        this.entry = entry;
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Integer> eldest) {
+                if (size() > capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /*
+     * Returns the result of the call whose "n" key words start at "from", null if not cached.
+     */
+    Integer lookup(int[] memory, int from, int n) {
+        Integer result = results.get(new Key(memory, from, n));
+        if (result == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return result;
+    }
+
+    void put(int[] memory, int from, int n, int result) {
+        results.put(new Key(memory, from, n), result);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /*
+     * Address of the memoized function.
+     */
+    public int getEntry() {
+        return entry;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    @Override
+    public String toString() {
+        return "table " + id + " (function at " + entry + "): " + size() + " entries, "
+            + hits + " hits, " + misses + " misses, " + evictions + " evictions";
+    }
+}
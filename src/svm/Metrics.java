@@ -0,0 +1,210 @@
+package svm;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.*;
+
+import javax.management.*;
+
+/**
+ * Process-wide counters of the compiler and of the VMs, read through getSnapshot (pull)
+ * or JMX once registerMBean is called.
+ * <p>
+ * Counters are LongAdders, so that many VMs running in different threads can update them
+ * without contention. VMs do not touch them while running: each cpu call adds its counts
+ * when it returns, so long executions are seen slice by slice (see ExecuteVM.cpu).
+ */
+public final class Metrics implements MetricsMXBean {
+
+    /*
+     * Latency distribution: counts by power of two of nanoseconds.
+     */
+    private static final class Histogram {
+        final LongAdder[] buckets = new LongAdder[64];
+        final LongAdder count = new LongAdder();
+        final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+        }
+
+        void record(long nanos) {
+            buckets[63 - Long.numberOfLeadingZeros(Math.max(nanos, 1))].increment();
+            count.increment();
+            max.accumulate(nanos);
+        }
+
+        /*
+         * Upper bound of the bucket holding the "percentile"-th latency.
+         */
+        long percentile(double percentile) {
+            long total = count.sum();
+            long rank = (long) Math.ceil(total * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i].sum();
+                if (seen >= rank && seen > 0) return Math.min((2L << i) - 1, max.get());
+            }
+            return 0;
+        }
+    }
+
+    private static final Metrics METRICS = new Metrics();
+    private static final String OBJECT_NAME = "fool:type=Metrics";
+
+    private final LongAdder compilations = new LongAdder();
+    private final LongAdder compilationFailures = new LongAdder();
+    private final LongAdder programsExecuted = new LongAdder();
+    private final LongAdder instructionsRetired = new LongAdder();
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder outputBytes = new LongAdder();
+    private final LongAccumulator heapHighWaterMark = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator stackHighWaterMark = new LongAccumulator(Math::max, 0);
+    private final Map<ExecuteVM.Status, LongAdder> failures = new EnumMap<>(ExecuteVM.Status.class);
+    private final Map<String, Histogram> phaseLatencies = new ConcurrentHashMap<>();
+
+    private Metrics() {
+        for (ExecuteVM.Status status : ExecuteVM.Status.values()) {
+            failures.put(status, new LongAdder());
+        }
+    }
+
+    public static Metrics get() {
+        return METRICS;
+    }
+
+    /*
+     * Makes the metrics available through JMX (e.g. to jconsole), once per process.
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(METRICS, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register the metrics MBean", e);
+        }
+    }
+
+    /*
+     * A compilation is over: its phases are recorded by recordPhase.
+     */
+    public void recordCompilation(boolean failed) {
+        compilations.increment();
+        if (failed) compilationFailures.increment();
+    }
+
+    public void recordPhase(String phase, long nanos) {
+        phaseLatencies.computeIfAbsent(phase, p -> new Histogram()).record(nanos);
+    }
+
+    /*
+     * Counts of a cpu call ("status" is the status it returned).
+     */
+    void recordExecution(ExecuteVM.Status status, long instructions, long allocations, long outputBytes,
+                         int heapWords, int stackWords) {
+        instructionsRetired.add(instructions);
+        this.allocations.add(allocations);
+        this.outputBytes.add(outputBytes);
+        heapHighWaterMark.accumulate(heapWords);
+        stackHighWaterMark.accumulate(stackWords);
+        if (status != ExecuteVM.Status.SUSPENDED) {
+            programsExecuted.increment();
+            if (status != ExecuteVM.Status.HALTED) failures.get(status).increment();
+        }
+    }
+
+    @Override
+    public long getCompilations() {
+        return compilations.sum();
+    }
+
+    @Override
+    public long getCompilationFailures() {
+        return compilationFailures.sum();
+    }
+
+    @Override
+    public long getProgramsExecuted() {
+        return programsExecuted.sum();
+    }
+
+    @Override
+    public long getInstructionsRetired() {
+        return instructionsRetired.sum();
+    }
+
+    @Override
+    public long getAllocations() {
+        return allocations.sum();
+    }
+
+    @Override
+    public long getHeapHighWaterMark() {
+        return heapHighWaterMark.get();
+    }
+
+    @Override
+    public long getStackHighWaterMark() {
+        return stackHighWaterMark.get();
+    }
+
+    @Override
+    public long getOutputBytes() {
+        return outputBytes.sum();
+    }
+
+    @Override
+    public Map<String, Long> getFailures() {
+        Map<String, Long> counts = new TreeMap<>();
+        failures.forEach((status, count) -> {
+            if (status != ExecuteVM.Status.HALTED && status != ExecuteVM.Status.SUSPENDED && status != ExecuteVM.Status.READY) {
+                counts.put(status.toString(), count.sum());
+            }
+        });
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getPhaseLatencies() {
+        Map<String, Long> latencies = new TreeMap<>();
+        phaseLatencies.forEach((phase, histogram) -> {
+            latencies.put(phase + ".count", histogram.count.sum());
+            latencies.put(phase + ".p50", histogram.percentile(50));
+            latencies.put(phase + ".p90", histogram.percentile(90));
+            latencies.put(phase + ".p99", histogram.percentile(99));
+            latencies.put(phase + ".max", histogram.max.get());
+        });
+        return latencies;
+    }
+
+    @Override
+    public Map<String, Long> getSnapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        snapshot.put("compilations", getCompilations());
+        snapshot.put("compilationFailures", getCompilationFailures());
+        snapshot.put("programsExecuted", getProgramsExecuted());
+        snapshot.put("instructionsRetired", getInstructionsRetired());
+        snapshot.put("allocations", getAllocations());
+        snapshot.put("heapHighWaterMark", getHeapHighWaterMark());
+        snapshot.put("stackHighWaterMark", getStackHighWaterMark());
+        snapshot.put("outputBytes", getOutputBytes());
+        getFailures().forEach((status, count) -> snapshot.put("failures." + status, count));
+        getPhaseLatencies().forEach((latency, nanos) -> snapshot.put("phaseLatency." + latency, nanos));
+        return snapshot;
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder counter : List.of(compilations, compilationFailures, programsExecuted, instructionsRetired, allocations, outputBytes)) {
+            counter.reset();
+        }
+        heapHighWaterMark.reset();
+        stackHighWaterMark.reset();
+        failures.values().forEach(LongAdder::reset);
+        phaseLatencies.clear();
+    }
+}
@@ -0,0 +1,46 @@
+package svm;
+
+import java.util.Map;
+
+/**
+ * JMX view of the metrics (see Metrics.registerMBean), registered as "fool:type=Metrics".
+ */
+public interface MetricsMXBean {
+
+    long getCompilations();
+
+    long getCompilationFailures();
+
+    /*
+     * Executions that reached a final status, including the runs of global declarations
+     * by CompiledProgram.
+     */
+    long getProgramsExecuted();
+
+    long getInstructionsRetired();
+
+    long getAllocations();
+
+    long getHeapHighWaterMark();
+
+    long getStackHighWaterMark();
+
+    long getOutputBytes();
+
+    /*
+     * Executions that did not halt normally, by status.
+     */
+    Map<String, Long> getFailures();
+
+    /*
+     * Latency percentiles of the compiler phases, in nanoseconds, by "phase.percentile".
+     */
+    Map<String, Long> getPhaseLatencies();
+
+    /*
+     * All the metrics, by name.
+     */
+    Map<String, Long> getSnapshot();
+
+    void reset();
+}
@@ -0,0 +1,17 @@
+package svm;
+
+/**
+ * Destination of the lines written by a VM: values printed by "print" instructions
+ * and messages such as "Segmentation fault".
+ * <p>
+ * Sinks may buffer their output: VMs flush them when cpu returns, users can flush
+ * them at any time.
+ */
+public interface OutputSink {
+
+    void println(int value);
+
+    void println(String line);
+
+    void flush();
+}
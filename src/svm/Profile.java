@@ -0,0 +1,154 @@
+package svm;
+
+import java.util.*;
+
+/**
+ * Execution counts collected by a VM in profiling mode (see ExecuteVM.setProfiling).
+ * <p>
+ * Only the executions of each address and the maximum stack depth are recorded while running:
+ * counts per opcode, per function (calls are the executions of its entry instruction),
+ * per allocation site and per source line are derived from them when asked for.
+ */
+public final class Profile implements InstructionObserver {
+
+    private final int[] code;
+    private final long[] executions; // indexed by instruction address
+    private int maxStackDepth = 0;
+
+    Profile(int[] code) {
+        this.code = code;
+        this.executions = new long[code.length];
+    }
+
+    @Override
+    public void observe(int ip, int fp, int ra, int stackDepth) {
+        executions[ip]++;
+        if (stackDepth > maxStackDepth) maxStackDepth = stackDepth;
+    }
+
+    /*
+     * Adds the counts of a task run by another thread.
+     */
+    void add(Profile profile) {
+        for (int address = 0; address < executions.length; address++) {
+            executions[address] += profile.executions[address];
+        }
+        maxStackDepth = Math.max(maxStackDepth, profile.maxStackDepth);
+    }
+
+    public long getExecutions(int address) {
+        return executions[address];
+    }
+
+    public long getInstructionCount() {
+        long instructions = 0;
+        for (long count : executions) instructions += count;
+        return instructions;
+    }
+
+    /*
+     * Words used by the stack at its highest point.
+     */
+    public int getMaxStackDepth() {
+        return maxStackDepth;
+    }
+
+    /*
+     * Executed instructions by opcode (SVMParser token type).
+     */
+    public long[] getOpcodeCounts() {
+        long[] opcodes = new long[SVMParser.VOCABULARY.getMaxTokenType() + 1];
+        for (int address = 0; address < executions.length; address++) {
+            if (executions[address] > 0) opcodes[code[address]] += executions[address];
+        }
+        return opcodes;
+    }
+
+    /*
+     * Calls of each function and method, by entry label ("functionN").
+     */
+    public Map<String, Long> getFunctionCalls(Map<String, Integer> labels) {
+        Map<String, Long> calls = new TreeMap<>();
+        labels.forEach((label, address) -> {
+            if (label.startsWith("function")) calls.put(label, executions[address]);
+        });
+        return calls;
+    }
+
+    /*
+     * Executions of each "alloc" instruction (object creation site), by address.
+     */
+    public SortedMap<Integer, Long> getAllocationCounts() {
+        SortedMap<Integer, Long> allocations = new TreeMap<>();
+        for (int address = 0; address < executions.length; address++) {
+            if (executions[address] > 0 && code[address] == SVMParser.ALLOC) {
+                allocations.put(address, executions[address]);
+            }
+        }
+        return allocations;
+    }
+
+    /*
+     * Executed instructions by source line (0 for code without a source line).
+     */
+    public SortedMap<Integer, Long> getLineCounts(CodeMap codeMap) {
+        SortedMap<Integer, Long> lines = new TreeMap<>();
+        for (int address = 0; address < executions.length; address++) {
+            if (executions[address] > 0) lines.merge(codeMap.getSourceLine(address), executions[address], Long::sum);
+        }
+        return lines;
+    }
+
+    /*
+     * Human-readable report, counts mapped back to FOOL functions and source lines through
+     * the "codeMap" and "labels" of the assembler.
+     */
+    public String report(CodeMap codeMap, Map<String, Integer> labels) {
+        long total = Math.max(getInstructionCount(), 1);
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d instructions executed, max stack depth %d words%n", getInstructionCount(), maxStackDepth));
+
+        report.append(String.format("%nOpcodes:%n"));
+        long[] opcodes = getOpcodeCounts();
+        List<Integer> opcodeOrder = new ArrayList<>();
+        for (int opcode = 0; opcode < opcodes.length; opcode++) {
+            if (opcodes[opcode] > 0) opcodeOrder.add(opcode);
+        }
+        opcodeOrder.sort((a, b) -> Long.compare(opcodes[b], opcodes[a]));
+        for (int opcode : opcodeOrder) {
+            report.append(String.format("  %-10s %12d %6.2f%%%n", mnemonic(opcode), opcodes[opcode], 100.0 * opcodes[opcode] / total));
+        }
+
+        report.append(String.format("%nSource lines:%n"));
+        List<Map.Entry<Integer, Long>> lines = new ArrayList<>(getLineCounts(codeMap).entrySet());
+        lines.sort(Map.Entry.<Integer, Long>comparingByValue().reversed());
+        for (Map.Entry<Integer, Long> line : lines) {
+            report.append(String.format("  %-10s %12d %6.2f%%%n", lineName(line.getKey()), line.getValue(), 100.0 * line.getValue() / total));
+        }
+
+        report.append(String.format("%nFunction calls:%n"));
+        List<Map.Entry<String, Long>> functions = new ArrayList<>(getFunctionCalls(labels).entrySet());
+        functions.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        for (Map.Entry<String, Long> function : functions) {
+            if (function.getValue() == 0) break;
+            int entry = labels.get(function.getKey());
+            report.append(String.format("  %-12s %-20s %-10s %12d%n",
+                function.getKey(), codeMap.getFunctionName(entry), lineName(codeMap.getSourceLine(entry)), function.getValue()));
+        }
+
+        report.append(String.format("%nAllocation sites:%n"));
+        getAllocationCounts().forEach((address, count) ->
+            report.append(String.format("  %-12s %-20s %-10s %12d%n",
+                "@" + address, codeMap.getFunctionName(address), lineName(codeMap.getSourceLine(address)), count)));
+        return report.toString();
+    }
+
+    private static String mnemonic(int opcode) {
+        String literal = SVMParser.VOCABULARY.getLiteralName(opcode);
+        return literal == null ? String.valueOf(opcode) : literal.replace("'", "");
+    }
+
+    private static String lineName(int line) {
+        return line == 0 ? "(no line)" : "line " + line;
+    }
+}
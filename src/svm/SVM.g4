@@ -10,9 +10,22 @@ public int lexicalErrors=0;
    
 @parser::members { 
 public int[] code = new int[ExecuteVM.CODESIZE];    
+public int[] data; // initial heap image (.data section)
 private int i = 0;
+private int[] heap = new int[ExecuteVM.MEMSIZE];
+private int h = 0;
+private boolean dataSection = false;
 private Map<String,Integer> labelDef = new HashMap<>();
 private Map<Integer,String> labelRef = new HashMap<>();
+private Map<Integer,String> dataLabelRef = new HashMap<>();
+private int lastLabel = 0; // address of the last label defined in the code area
+public SortedMap<Integer,Integer> dispatchTables = new TreeMap<>(); // address -> length of the tables laid out in the code area
+public int[] sourceLines = new int[ExecuteVM.CODESIZE]; // address -> source line set by the last .line directive, 0 if none
+private int line = 0;
+public CodeMap codeMap = new CodeMap(sourceLines); // source lines, functions and classes of the code
+public Integer getLabelAddress(String label) { return labelDef.get(label); }
+public Map<String,Integer> getLabels() { return Collections.unmodifiableMap(labelDef); }
+public int getCodeSize() { return i; } // words of code assembled so far
 }
 
 /*------------------------------------------------------------------
@@ -21,9 +34,14 @@ private Map<Integer,String> labelRef = new HashMap<>();
    
 assembly: instruction* EOF 	{ for (Integer j: labelRef.keySet()) 
 								code[j]=labelDef.get(labelRef.get(j)); 
+							  for (Integer j: dataLabelRef.keySet()) 
+								heap[j]=labelDef.get(dataLabelRef.get(j)); 
+							  data = Arrays.copyOf(heap, h);
 							} ;
 
-instruction : 
+instruction 
+@init { int start = i; }
+@after { Arrays.fill(sourceLines, start, i, line); } : 
         PUSH n=INTEGER   {code[i++] = PUSH; 
 			              code[i++] = Integer.parseInt($n.text);}
 	  | PUSH l=LABEL    {code[i++] = PUSH; 
@@ -35,7 +53,10 @@ instruction :
 	  | DIV		    {code[i++] = DIV;}
 	  | STOREW	  {code[i++] = STOREW;} //
 	  | LOADW           {code[i++] = LOADW;} //
-	  | l=LABEL COL     {labelDef.put($l.text,i);}
+	  | LOADMETHOD n=INTEGER {code[i++] = LOADMETHOD;
+	                        code[i++] = Integer.parseInt($n.text);}
+	  | l=LABEL COL     {labelDef.put($l.text,dataSection?h:i);
+	                     if (!dataSection) lastLabel = i;}
 	  | BRANCH l=LABEL  {code[i++] = BRANCH;
                        labelRef.put(i++,$l.text);}
 	  | BRANCHEQ l=LABEL {code[i++] = BRANCHEQ;
@@ -52,8 +73,37 @@ instruction :
 	  | COPYFP          {code[i++] = COPYFP;}   //
 	  | LOADHP          {code[i++] = LOADHP;}   //
 	  | STOREHP         {code[i++] = STOREHP;}   //
+	  | ALLOC n=INTEGER {code[i++] = ALLOC;
+	                   code[i++] = Integer.parseInt($n.text);}
+	  | MEMO t=INTEGER n=INTEGER {code[i++] = MEMO;
+	                   code[i++] = Integer.parseInt($t.text);
+	                   code[i++] = Integer.parseInt($n.text);}
+	  | MEMOPUT t=INTEGER n=INTEGER {code[i++] = MEMOPUT;
+	                   code[i++] = Integer.parseInt($t.text);
+	                   code[i++] = Integer.parseInt($n.text);}
+	  | FORK l=LABEL    {code[i++] = FORK;
+	                   labelRef.put(i++,$l.text);}
+	  | JOINALL n=INTEGER {code[i++] = JOINALL;
+	                   code[i++] = Integer.parseInt($n.text);}
+	  | DONE            {code[i++] = DONE;}
 	  | PRINT           {code[i++] = PRINT;}
+	  | READ            {code[i++] = READ;}
 	  | HALT            {code[i++] = HALT;}
+	  | WORD n=INTEGER  {if (dataSection) heap[h++] = Integer.parseInt($n.text);
+	                     else { dispatchTables.merge(lastLabel, 1, Integer::sum);
+	                            code[i++] = Integer.parseInt($n.text); }}
+	  | WORD l=LABEL    {if (dataSection) dataLabelRef.put(h++,$l.text);
+	                     else { dispatchTables.merge(lastLabel, 1, Integer::sum);
+	                            labelRef.put(i++,$l.text); }}
+	  | DATA            {dataSection = true;}
+	  | TEXT            {dataSection = false;}
+	  | LINE n=INTEGER  {line = Integer.parseInt($n.text);}
+	  | FUNCTION s=STRING n=INTEGER {codeMap.addFunction(i, $s.text.substring(1, $s.text.length() - 1),
+	                                                Integer.parseInt($n.text), false);}
+	  | TASK s=STRING n=INTEGER k=STRING {codeMap.addTask(i, $s.text.substring(1, $s.text.length() - 1),
+	                                            Integer.parseInt($n.text), $k.text.charAt(1));}
+	  | CLASS s=STRING k=STRING {codeMap.addClass(i, $s.text.substring(1, $s.text.length() - 1),
+	                                          $k.text.substring(1, $k.text.length() - 1));}
 	  ;
 	  
 /*------------------------------------------------------------------
@@ -68,6 +118,7 @@ MULT	 : 'mult' ;
 DIV	 : 'div' ;	
 STOREW	 : 'sw' ; 	
 LOADW	 : 'lw' ;	
+LOADMETHOD : 'lm' ;
 BRANCH	 : 'b' ;	
 BRANCHEQ : 'beq' ;	
 BRANCHLESSEQ:'bleq' ;	
@@ -81,12 +132,27 @@ STOREFP	 : 'sfp' ;
 COPYFP   : 'cfp' ;      
 LOADHP	 : 'lhp' ;	
 STOREHP	 : 'shp' ;	
+ALLOC	 : 'alloc' ;	
+MEMO	 : 'memo' ;	
+MEMOPUT	 : 'mput' ;	
+FORK	 : 'fork' ;	
+JOINALL	 : 'joinall' ;	
+DONE	 : 'done' ;	
 PRINT	 : 'print' ;	
+READ	 : 'read' ;	
 HALT	 : 'halt' ;	
+WORD	 : '.word' ;
+DATA	 : '.data' ;
+TEXT	 : '.text' ;
+LINE	 : '.line' ;
+FUNCTION : '.function' ;
+TASK	 : '.task' ;
+CLASS	 : '.class' ;
  
 COL	 : ':' ;
 LABEL	 : ('a'..'z'|'A'..'Z')('a'..'z' | 'A'..'Z' | '0'..'9')* ;
 INTEGER	 : '0' | ('-')?(('1'..'9')('0'..'9')*) ;
+STRING	 : '"' (~('"'|'\r'|'\n'))* '"' ;
 
 COMMENT : '/*' .*? '*/' -> channel(HIDDEN) ;
 
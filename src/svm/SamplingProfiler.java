@@ -0,0 +1,124 @@
+package svm;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Statistical profiler for production runs: a thread asks the VM for a sample at a fixed rate,
+ * the VM takes it at its next safepoint by walking the FOOL call stack from $ip and $fp.
+ * <p>
+ * The stack is walked through the frames: the return address of a frame is right below its
+ * Access Link ($fp), the Control Link right above its parameters, whose number is given by
+ * the code map (.function directives). Sampling at safepoints keeps the VM loop unchanged
+ * and the frames consistent; as they are reached at every call and return, samples are
+ * biased only towards the closest call or return.
+ * <p>
+ * Stacks are counted in the collapsed format read by flame graph tools
+ * (e.g. flamegraph.pl): a line per stack, "main;f;g 42".
+ */
+public final class SamplingProfiler implements AutoCloseable {
+
+    public static final int DEFAULT_FREQUENCY = 1000; // samples per second
+    private static final int MAX_DEPTH = 1024; // frames, deeper stacks are truncated
+
+    private final ExecuteVM vm;
+    private final CodeMap codeMap;
+    private final long period; // nanoseconds
+    private final Map<String, Long> stacks = new HashMap<>(); // guarded by "this"
+    private long samples = 0;
+    private final Thread sampler;
+    private volatile boolean closed = false;
+
+    /*
+     * Starts sampling "vm" (and the tasks it runs) "frequency" times per second.
+     */
+    public SamplingProfiler(ExecuteVM vm, CodeMap codeMap, int frequency) {
+        this.vm = vm;
+        this.codeMap = codeMap;
+        this.period = TimeUnit.SECONDS.toNanos(1) / frequency;
+        vm.setSampler(this);
+        sampler = new Thread(this::requestSamples, "FOOL sampling profiler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    public SamplingProfiler(ExecuteVM vm, CodeMap codeMap) {
+        this(vm, codeMap, DEFAULT_FREQUENCY);
+    }
+
+    private void requestSamples() {
+        while (!closed) {
+            LockSupport.parkNanos(period);
+            vm.requestSample();
+        }
+    }
+
+    /*
+     * Called by a VM at a safepoint: "ip" is the next instruction, "fp" the current frame and
+     * "ra" the return address set by the last call (if "ip" is a function entry, the called
+     * function has not set up its frame yet).
+     */
+    synchronized void sample(int[] memory, int ip, int fp, int ra) {
+        Deque<String> frames = new ArrayDeque<>();
+        int address = ip;
+        if (codeMap.isEntry(ip)) {
+            frames.push(codeMap.getFunctionName(ip));
+            address = ra;
+        }
+        while (frames.size() < MAX_DEPTH) {
+            CodeMap.Function function = codeMap.function(address);
+            frames.push(function.name);
+            if (function.name.equals(CodeMap.MAIN) || fp < 1 || fp + function.parameters + 1 >= memory.length) {
+                break;
+            }
+            address = memory[fp - 1]; // return address
+            fp = memory[fp + function.parameters + 1]; // Control Link
+        }
+        stacks.merge(String.join(";", frames), 1L, Long::sum);
+        samples++;
+    }
+
+    public synchronized long getSampleCount() {
+        return samples;
+    }
+
+    /*
+     * Sample counts by collapsed stack (function names from the outermost, separated by ';').
+     */
+    public synchronized Map<String, Long> getStacks() {
+        return new TreeMap<>(stacks);
+    }
+
+    public void writeCollapsed(Writer out) throws IOException {
+        for (Map.Entry<String, Long> stack : getStacks().entrySet()) {
+            out.write(stack.getKey() + " " + stack.getValue() + "\n");
+        }
+        out.flush();
+    }
+
+    public void writeCollapsed(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeCollapsed(out);
+        }
+    }
+
+    /*
+     * Stops sampling, samples taken so far are kept. If the calling thread is interrupted it
+     * does not wait for the sampling thread (which stops after its current period), keeping
+     * its interrupt status.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            sampler.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        vm.setSampler(null);
+    }
+}
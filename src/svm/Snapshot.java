@@ -0,0 +1,203 @@
+package svm;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.Arrays;
+
+/**
+ * State of a VM: code, registers and used memory regions (heap below $hp, stack from $sp up),
+ * with the code map (FOOL source lines and functions of the code) when known.
+ * <p>
+ * A snapshot taken right after the global declarations lets new VMs start from the prepared
+ * state (global frame, dispatch pointers, preallocated objects) without running them again:
+ * only the used regions are copied, the rest of memory is always written before being read.
+ * Snapshots are immutable, so they can be shared by VMs running in different threads,
+ * and can be saved to disk to start another process from the same state.
+ */
+public final class Snapshot {
+
+    private static final int MAGIC = 0x464F4F4C; // "FOOL"
+    public static final long GLOBAL_DECLARATIONS_INSTRUCTION_LIMIT = 100_000_000;
+    private static final int VERSION = 5; // version 1 has no code map, 2 no classes, 3 no task result kinds, 4 no memory size
+
+    final int[] code;
+    final int[] heap; // memory from 0 to $hp
+    final int[] stack; // memory from $sp to the end
+    final int ip;
+    final int sp;
+    final int hp;
+    final int fp;
+    final int ra;
+    final int tm;
+    final CodeMap codeMap; // null if unknown
+
+    Snapshot(int[] code, int[] memory, int ip, int sp, int hp, int fp, int ra, int tm, CodeMap codeMap) {
+        this(code, Arrays.copyOfRange(memory, 0, hp), Arrays.copyOfRange(memory, sp, memory.length), ip, sp, hp, fp, ra, tm, codeMap);
+    }
+
+    Snapshot(int[] code, int[] heap, int[] stack, int ip, int sp, int hp, int fp, int ra, int tm) {
+        this(code, heap, stack, ip, sp, hp, fp, ra, tm, null);
+    }
+
+    Snapshot(int[] code, int[] heap, int[] stack, int ip, int sp, int hp, int fp, int ra, int tm, CodeMap codeMap) {
+        this.code = code;
+        this.heap = heap;
+        this.stack = stack;
+        this.ip = ip;
+        this.sp = sp;
+        this.hp = hp;
+        this.fp = fp;
+        this.ra = ra;
+        this.tm = tm;
+        this.codeMap = codeMap;
+    }
+
+    /*
+     * Runs the code up to "mainAddress" (start of the main expression) and takes a snapshot:
+     * VMs created from it evaluate the main expression. Throws IllegalStateException if
+     * the global declarations fail (e.g. divide by zero) or do not halt within
+     * GLOBAL_DECLARATIONS_INSTRUCTION_LIMIT instructions.
+     */
+    public static Snapshot afterGlobalDeclarations(int[] code, int[] data, int mainAddress) {
+        return afterGlobalDeclarations(code, data, mainAddress, ExecuteVM.MEMSIZE);
+    }
+
+    /*
+     * The same, in a VM with "memorySize" words of memory.
+     */
+    public static Snapshot afterGlobalDeclarations(int[] code, int[] data, int mainAddress, int memorySize) {
+        int[] initCode = code.clone();
+        initCode[mainAddress] = SVMParser.HALT;
+        ExecuteVM vm = new ExecuteVM(initCode, data, memorySize);
+        vm.setInstructionLimit(GLOBAL_DECLARATIONS_INSTRUCTION_LIMIT);
+        vm.cpu();
+        if (vm.getStatus() != ExecuteVM.Status.HALTED) {
+            throw new IllegalStateException("Global declarations stopped: " + vm.getStatus());
+        }
+        Snapshot snapshot = vm.snapshot();
+        return new Snapshot(code.clone(), snapshot.heap, snapshot.stack, mainAddress, snapshot.sp, snapshot.hp, snapshot.fp, snapshot.ra, snapshot.tm);
+    }
+
+    /*
+     * The same state, with a halt instruction at "address" (e.g. to call functions returning there).
+     */
+    public Snapshot withHaltAt(int address) {
+        int[] patchedCode = code.clone();
+        patchedCode[address] = SVMParser.HALT;
+        return new Snapshot(patchedCode, heap, stack, ip, sp, hp, fp, ra, tm, codeMap);
+    }
+
+    /*
+     * The same state, with the code map of its code (e.g. as built by the assembler).
+     */
+    public Snapshot withCodeMap(CodeMap codeMap) {
+        return new Snapshot(code, heap, stack, ip, sp, hp, fp, ra, tm, codeMap);
+    }
+
+    /*
+     * Null if unknown.
+     */
+    public CodeMap getCodeMap() {
+        return codeMap;
+    }
+
+    /*
+     * New VM starting from this state.
+     */
+    public ExecuteVM newVM() {
+        return new ExecuteVM(this);
+    }
+
+    /*
+     * Word at "address" of the saved memory (0 if outside the used regions).
+     */
+    public int read(int address) {
+        if (address < hp) {
+            return heap[address];
+        }
+        return address >= sp ? stack[address - sp] : 0;
+    }
+
+    public int getInstructionPointer() {
+        return ip;
+    }
+
+    public int getFramePointer() {
+        return fp;
+    }
+
+    public int getStackPointer() {
+        return sp;
+    }
+
+    public int getHeapPointer() {
+        return hp;
+    }
+
+    public void save(Path file) throws IOException {
+        int codeLength = code.length;
+        while (codeLength > 0 && code[codeLength - 1] == 0) {
+            codeLength--; // unused code area
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(sp + stack.length); // memory size
+            for (int register : new int[] {ip, sp, hp, fp, ra, tm}) {
+                out.writeInt(register);
+            }
+            writeWords(out, Arrays.copyOf(code, codeLength));
+            writeWords(out, heap);
+            writeWords(out, stack);
+            out.writeBoolean(codeMap != null);
+            if (codeMap != null) {
+                codeMap.write(out, codeLength);
+            }
+        }
+    }
+
+    public static Snapshot load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int magic = in.readInt();
+            int version = in.readInt();
+            if (magic != MAGIC || version < 1 || version > VERSION) {
+                throw new IOException(file + " is not a FOOL VM snapshot");
+            }
+            int memorySize = version > 4 ? in.readInt() : -1;
+            int ip = in.readInt();
+            int sp = in.readInt();
+            int hp = in.readInt();
+            int fp = in.readInt();
+            int ra = in.readInt();
+            int tm = in.readInt();
+            int[] code = Arrays.copyOf(readWords(in), ExecuteVM.CODESIZE);
+            int[] heap = readWords(in);
+            int[] stack = readWords(in);
+            if (heap.length != hp || hp > sp || memorySize >= 0 && sp + stack.length != memorySize) {
+                throw new IOException(file + " is corrupted");
+            }
+            CodeMap codeMap = version > 1 && in.readBoolean() ? CodeMap.read(in, version) : null;
+            return new Snapshot(code, heap, stack, ip, sp, hp, fp, ra, tm, codeMap);
+        }
+    }
+
+    void copyTo(int[] memory) {
+        System.arraycopy(heap, 0, memory, 0, hp);
+        System.arraycopy(stack, 0, memory, sp, stack.length);
+    }
+
+    static void writeWords(DataOutputStream out, int[] words) throws IOException {
+        out.writeInt(words.length);
+        for (int word : words) {
+            out.writeInt(word);
+        }
+    }
+
+    static int[] readWords(DataInputStream in) throws IOException {
+        int[] words = new int[in.readInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.readInt();
+        }
+        return words;
+    }
+}
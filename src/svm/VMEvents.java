@@ -0,0 +1,116 @@
+package svm;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder events of the VMs, so that FOOL executions show up in recordings
+ * next to the JVM events. Events cost nothing unless a recording enables them.
+ * <p>
+ * - fool.ProgramStart: a VM starts executing a program
+ * - fool.ProgramEnd: the execution is over (any status but SUSPENDED), with the number of
+ *   executed instructions; its duration covers the whole execution
+ * - fool.VMStatistics: periodically (every second by default) for each running VM, instructions
+ *   per second, heap words in use and stack depth, read without stopping the VM
+ * - fool.FunctionCall: a FOOL function call lasting more than a threshold (20 ms by default);
+ *   a VM traces calls only while this event is enabled, running its instrumented loop
+ * <p>
+ * The VM has no garbage collector, so there are no collection events.
+ */
+final class VMEvents {
+
+    @Name("fool.ProgramStart")
+    @Label("FOOL Program Start")
+    @Category({"FOOL", "VM"})
+    static final class ProgramStart extends Event {
+        @Label("Code Size")
+        int codeSize;
+
+        @Label("Memory Size")
+        int memorySize;
+    }
+
+    @Name("fool.ProgramEnd")
+    @Label("FOOL Program End")
+    @Category({"FOOL", "VM"})
+    static final class ProgramEnd extends Event {
+        @Label("Status")
+        String status;
+
+        @Label("Instructions")
+        long instructions;
+    }
+
+    @Name("fool.VMStatistics")
+    @Label("FOOL VM Statistics")
+    @Category({"FOOL", "VM"})
+    @Period("1 s")
+    static final class Statistics extends Event {
+        @Label("Instructions per Second")
+        double instructionsPerSecond;
+
+        @Label("Instructions")
+        long instructions;
+
+        @Label("Heap Words")
+        int heapWords;
+
+        @Label("Stack Depth")
+        int stackDepth;
+    }
+
+    @Name("fool.FunctionCall")
+    @Label("FOOL Function Call")
+    @Category({"FOOL", "VM"})
+    @Threshold("20 ms")
+    static final class FunctionCall extends Event {
+        @Label("Function")
+        String function;
+
+        @Label("Line")
+        int line;
+    }
+
+    private static final EventType FUNCTION_CALL = EventType.getEventType(FunctionCall.class);
+
+    /*
+     * Running VMs, with the instruction count and time of their last statistics event.
+     */
+    private static final Map<ExecuteVM, long[]> running = new ConcurrentHashMap<>();
+
+    static {
+        FlightRecorder.addPeriodicEvent(Statistics.class, VMEvents::emitStatistics);
+    }
+
+    private VMEvents() {
+    }
+
+    static boolean isFunctionCallEnabled() {
+        return FUNCTION_CALL.isEnabled();
+    }
+
+    static void running(ExecuteVM vm) {
+        running.put(vm, new long[] {vm.getInstructionCount(), System.nanoTime()});
+    }
+
+    static void stopped(ExecuteVM vm) {
+        running.remove(vm);
+    }
+
+    private static void emitStatistics() {
+        running.forEach((vm, last) -> {
+            long instructions = vm.getInstructionCount();
+            long now = System.nanoTime();
+            Statistics event = new Statistics();
+            event.instructions = instructions;
+            event.instructionsPerSecond = (instructions - last[0]) * 1e9 / Math.max(now - last[1], 1);
+            event.heapWords = vm.getHeapPointer();
+            event.stackDepth = vm.getStackDepth();
+            event.commit();
+            last[0] = instructions;
+            last[1] = now;
+        });
+    }
+}
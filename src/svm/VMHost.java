@@ -0,0 +1,236 @@
+package svm;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs many independent program executions (jobs) at once in the same JVM.
+ * <p>
+ * Each job gets its own VM (registers, memory, caches) and its own output, while
+ * the code of a program, dispatch tables included, is shared by all its jobs as
+ * VMs never modify it. Jobs run on virtual threads when the JVM supports them,
+ * on a pool with a thread per processor otherwise. Every job has a memory size
+ * (heap and stack words) and an instruction limit: a job exceeding them stops
+ * with status SEGMENTATION_FAULT or INSTRUCTION_LIMIT_EXCEEDED without
+ * affecting the others.
+ * <p>
+ * Jobs are time-sliced: each run executes a slice of instructions (see ExecuteVM.cpu),
+ * then a job that is not over is queued again behind the others, so long-running
+ * and runaway jobs cannot starve short ones. Cancelling the future of a job stops
+ * its VM (status CANCELLED).
+ */
+public final class VMHost implements AutoCloseable {
+
+    /*
+     * Outcome of a job.
+     */
+    public static final class Result {
+        private final ExecuteVM.Status status;
+        private final String output;
+        private final long instructions;
+        private final long nanos;
+
+        Result(ExecuteVM.Status status, String output, long instructions, long nanos) {
+            this.status = status;
+            this.output = output;
+            this.instructions = instructions;
+            this.nanos = nanos;
+        }
+
+        public ExecuteVM.Status getStatus() {
+            return status;
+        }
+
+        /*
+         * Lines written by "print" instructions.
+         */
+        public String getOutput() {
+            return output;
+        }
+
+        public long getInstructions() {
+            return instructions;
+        }
+
+        /*
+         * Time spent running the job, over all its slices.
+         */
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    /*
+     * Program execution, run by the executor once per time slice.
+     */
+    private final class Job implements Runnable {
+        final ExecuteVM vm;
+        final CollectingOutputSink output = new CollectingOutputSink();
+        final CompletableFuture<Result> result = new CompletableFuture<>();
+        final CompletableFuture<Void> finished = new CompletableFuture<>(); // even if the result was cancelled
+        long nanos = 0;
+
+        Job(ExecuteVM vm) {
+            this.vm = vm;
+            vm.setOutput(output);
+            result.whenComplete((r, e) -> {
+                if (result.isCancelled()) vm.cancel(); // stops at its next safepoint
+            });
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            ExecuteVM.Status status;
+            try {
+                status = vm.cpu(slice);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                finish();
+                return;
+            } finally {
+                nanos += System.nanoTime() - start;
+            }
+            if (status == ExecuteVM.Status.SUSPENDED) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) { // closed by an interrupted thread, see close
+                    result.cancel(false);
+                    finish();
+                }
+                return;
+            }
+            completedJobs.incrementAndGet();
+            if (status != ExecuteVM.Status.HALTED) {
+                failedJobs.incrementAndGet();
+            }
+            executedInstructions.addAndGet(vm.getInstructionCount());
+            result.complete(new Result(status, output.getOutput(), vm.getInstructionCount(), nanos));
+            finish();
+        }
+
+        private void finish() {
+            unfinishedJobs.remove(this);
+            finished.complete(null);
+        }
+    }
+
+    public static final long DEFAULT_SLICE = 100_000; // instructions
+
+    private final ExecutorService executor = newExecutor();
+    private final Set<Job> unfinishedJobs = ConcurrentHashMap.newKeySet();
+    private final int memorySize;
+    private final long instructionLimit;
+    private final long slice;
+    private final long startTime = System.nanoTime();
+    private final AtomicLong completedJobs = new AtomicLong();
+    private final AtomicLong failedJobs = new AtomicLong();
+    private final AtomicLong executedInstructions = new AtomicLong();
+
+    /*
+     * "memorySize" and "instructionLimit" are the defaults for the submitted jobs,
+     * "slice" is the number of instructions a job executes before giving way to the others.
+     */
+    public VMHost(int memorySize, long instructionLimit, long slice) {
+        this.memorySize = memorySize;
+        this.instructionLimit = instructionLimit;
+        this.slice = slice;
+    }
+
+    public VMHost(int memorySize, long instructionLimit) {
+        this(memorySize, instructionLimit, DEFAULT_SLICE);
+    }
+
+    public VMHost() {
+        this(ExecuteVM.MEMSIZE, Long.MAX_VALUE);
+    }
+
+    /*
+     * Virtual threads are available from Java 21, looked up reflectively to keep
+     * running on older JVMs.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    public Future<Result> submit(int[] code, int[] data) {
+        return submit(code, data, memorySize, instructionLimit);
+    }
+
+    /*
+     * Runs the program ("code" and .data section as produced by the assembler) as a new job.
+     */
+    public Future<Result> submit(int[] code, int[] data, int memorySize, long instructionLimit) {
+        ExecuteVM vm = new ExecuteVM(code, data, memorySize);
+        vm.setInstructionLimit(instructionLimit);
+        Job job = new Job(vm);
+        unfinishedJobs.add(job);
+        executor.execute(job);
+        return job.result;
+    }
+
+    public long getCompletedJobs() {
+        return completedJobs.get();
+    }
+
+    /*
+     * Completed jobs that did not halt normally.
+     */
+    public long getFailedJobs() {
+        return failedJobs.get();
+    }
+
+    public long getExecutedInstructions() {
+        return executedInstructions.get();
+    }
+
+    /*
+     * Throughput since the host was created.
+     */
+    public double getJobsPerSecond() {
+        return completedJobs.get() / elapsedSeconds();
+    }
+
+    public double getInstructionsPerSecond() {
+        return executedInstructions.get() / elapsedSeconds();
+    }
+
+    private double elapsedSeconds() {
+        return Math.max(System.nanoTime() - startTime, 1) / 1e9;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d jobs (%d failed), %d instructions: %.1f jobs/s, %.0f instructions/s",
+            getCompletedJobs(), getFailedJobs(), getExecutedInstructions(), getJobsPerSecond(), getInstructionsPerSecond());
+    }
+
+    /*
+     * Waits for the submitted jobs to complete. If the calling thread is interrupted, the jobs
+     * not completed yet are cancelled and close returns at once, keeping the interrupt status:
+     * their VMs stop at their next safepoint.
+     */
+    @Override
+    public void close() {
+        try {
+            for (Job job : unfinishedJobs) {
+                job.finished.get();
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            for (Job job : unfinishedJobs) {
+                job.result.cancel(false);
+            }
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new AssertionError(e); // "finished" is only completed normally
+        }
+    }
+}
@@ -34,7 +34,7 @@ public class ExecuteVM {
     private final JButton play;
     private final JPanel registerPanel;
     private final JSplitPane memPanel;
-    private final JLabel tmLabel, raLabel, fpLabel, ipLabel, spLabel, hpLabel;
+    private final JLabel tmLabel, raLabel, fpLabel, ipLabel, spLabel, hpLabel, positionLabel;
     private final JScrollPane asmScroll, stackScroll, heapScroll, outputScroll;
     private final JTextArea outputText;
 
@@ -43,13 +43,32 @@ public class ExecuteVM {
 
     private int[] sourceMap;
     private List<String> source;
+    private int[] sourceLines; // FOOL position of each instruction, null if unknown
+    private String[] functionNames;
 
     public ExecuteVM(int[] code, int[] sourceMap, List<String> source) {
+        this(code, new int[0], sourceMap, source);
+    }
+
+    public ExecuteVM(int[] code, int[] data, int[] sourceMap, List<String> source) {
+        this(code, data, sourceMap, source, null, null);
+    }
+
+    /*
+     * "sourceLines" and "functionNames" (as built by SVMParser from the .line and .function
+     * directives) show where the current instruction comes from in the FOOL program.
+     */
+    public ExecuteVM(int[] code, int[] data, int[] sourceMap, List<String> source, int[] sourceLines, String[] functionNames) {
         boolean printArgumentLineNumber=false;
         this.code = code;
         this.sourceMap = sourceMap;
         this.source = source;
+        this.sourceLines = sourceLines;
+        this.functionNames = functionNames;
         this.memory = new int[MEMSIZE];
+        // initial heap image (.data section) is loaded at the bottom of memory
+        System.arraycopy(data, 0, this.memory, 0, data.length);
+        this.hp = data.length;
 
         this.frame = new JFrame("FOOL Virtual Machine");
         this.mainPanel = new JPanel();
@@ -76,6 +95,8 @@ public class ExecuteVM {
         this.spLabel.setFont(FONT);
         this.hpLabel = new JLabel();
         this.hpLabel.setFont(FONT);
+        this.positionLabel = new JLabel();
+        this.positionLabel.setFont(FONT);
         this.registerPanel.setLayout(new BoxLayout(this.registerPanel, BoxLayout.Y_AXIS));
         this.registerPanel.add(this.tmLabel);
         this.registerPanel.add(this.raLabel);
@@ -83,6 +104,7 @@ public class ExecuteVM {
         this.registerPanel.add(this.ipLabel);
         this.registerPanel.add(this.spLabel);
         this.registerPanel.add(this.hpLabel);
+        this.registerPanel.add(this.positionLabel);
 
         this.mainPanel.setLayout(new BorderLayout());
         this.asmList = new JList<Object>();
@@ -105,6 +127,7 @@ public class ExecuteVM {
 //        }
 
         int realIp = 0;
+        boolean dataSection = false;
         var commandLines = new ArrayList<>();
         for (var line : this.source) {
 
@@ -114,6 +137,24 @@ public class ExecuteVM {
                 continue;
             }
 
+            // .data section is loaded in memory, not in code[]
+            if (line.startsWith(".data") || line.startsWith(".text")) {
+                dataSection = line.startsWith(".data");
+                commandLines.add("       "+line);
+                continue;
+            }
+            if (dataSection) {
+                commandLines.add("       "+line);
+                continue;
+            }
+
+            // FOOL source positions and classes take no cell in code[]
+            if (line.startsWith(".line") || line.startsWith(".function") || line.startsWith(".task")
+                    || line.startsWith(".class")) {
+                commandLines.add("       "+line);
+                continue;
+            }
+
             // label for function definition is not ad instruction in code[]
             // => setting same address of first function instruction
             if (line.contains(":")) {
@@ -122,13 +163,23 @@ public class ExecuteVM {
                 continue;
             }
 
+            // read-only data words take a single cell in code[]
+            if (line.startsWith(".word")) {
+                commandLines.add(String.format("%5d: %s", realIp++, line));
+                continue;
+            }
+
             var macro = line.split(" ");
             if (macro.length > 1) {
                 if (printArgumentLineNumber) {
-                    commandLines.add(String.format("%5d: %s   | %5d: %s", realIp++, macro[0], realIp++, macro[1]));
+                    var argumentsLine = new StringBuilder(String.format("%5d: %s", realIp++, macro[0]));
+                    for (int i = 1; i < macro.length; i++) {
+                        argumentsLine.append(String.format("   | %5d: %s", realIp++, macro[i]));
+                    }
+                    commandLines.add(argumentsLine.toString());
                 } else {
-                    commandLines.add(String.format("%5d: %s", realIp++, line));
-                    realIp++;
+                    commandLines.add(String.format("%5d: %s", realIp, line));
+                    realIp += macro.length;
                 }
             } else {
                 commandLines.add(String.format("%5d: %s", realIp++, line));
@@ -240,6 +291,7 @@ public class ExecuteVM {
         this.ipLabel.setText("IP: " + this.ip);
         this.hpLabel.setText("HP: " + this.hp);
         this.spLabel.setText("SP: " + this.sp);
+        this.positionLabel.setText(this.sourceLines == null ? "" : "FOOL:" + position(this.ip));
         this.asmList.clearSelection();
         this.asmList.setSelectedIndex(this.sourceMap[this.ip]);
         final JScrollBar s = this.asmScroll.getVerticalScrollBar();
@@ -271,6 +323,7 @@ public class ExecuteVM {
     }
 
     private boolean step() {
+        final int instructionAddress = ip;
         int bytecode = fetch();
         int v1, v2;
         int address;
@@ -309,6 +362,10 @@ public class ExecuteVM {
             case SVMParser.LOADW:
                 push(memory[pop()]);
                 break;
+            case SVMParser.LOADMETHOD:
+                v1 = fetch();
+                push(code[memory[pop()] + v1]);
+                break;
             case SVMParser.BRANCH:
                 ip = fetch();
                 break;
@@ -356,22 +413,76 @@ public class ExecuteVM {
             case SVMParser.STOREHP:
                 hp = pop();
                 break;
+            case SVMParser.ALLOC:
+                v1 = fetch();
+                v2 = pop();
+                if (hp + v1 + 1 >= sp) {
+                    System.out.println("Segmentation fault" + position(instructionAddress));
+                    this.outputText.append("Segmentation fault" + position(instructionAddress) + "\n");
+                    return false;
+                }
+                for (int i = 0; i < v1; i++) {
+                    memory[hp++] = pop();
+                }
+                memory[hp] = v2;
+                push(hp++);
+                break;
+            case SVMParser.MEMO:
+            case SVMParser.MEMOPUT:
+                // no memo tables in the debugger: every call is executed
+                fetch();
+                fetch();
+                break;
+            case SVMParser.FORK:
+                // tasks are run sequentially in the debugger: as calls returning in the result slot
+                address = fetch();
+                push(ip);
+                ip = address;
+                break;
+            case SVMParser.DONE:
+                v1 = pop();
+                ip = pop();
+                push(v1);
+                break;
+            case SVMParser.JOINALL:
+                fetch();
+                break;
             case SVMParser.PRINT:
                 final String output = sp == MEMSIZE ? "EMPTY STACK" : Integer.toString(memory[sp]);
                 System.out.println(output);
                 this.outputText.append(output + "\n");
                 break;
+            case SVMParser.READ:
+                final String input = JOptionPane.showInputDialog(this.frame, "Next integer of the input:");
+                try {
+                    push(Integer.parseInt(input == null ? "" : input.trim())); // cancelled: end of input
+                } catch (NumberFormatException e) {
+                    System.out.println("End of input" + position(instructionAddress));
+                    this.outputText.append("End of input" + position(instructionAddress) + "\n");
+                    return false;
+                }
+                break;
             case SVMParser.HALT:
                 return false;
         }
         if (this.sp <= this.hp) {
-            System.out.println("Segmentation fault");
-            this.outputText.append("Segmentation fault\n");
+            System.out.println("Segmentation fault" + position(instructionAddress));
+            this.outputText.append("Segmentation fault" + position(instructionAddress) + "\n");
             return false;
         }
         return true;
     }
 
+    /*
+     * " at line N in f" for the instruction at "address", empty if FOOL positions are unknown.
+     */
+    private String position(int address) {
+        if (this.sourceLines == null || address < 0 || address >= this.sourceLines.length) {
+            return "";
+        }
+        return (this.sourceLines[address] == 0 ? "" : " at line " + this.sourceLines[address]) + " in " + this.functionNames[address];
+    }
+
     private int pop() {
         return memory[sp++];
     }
@@ -11,13 +11,24 @@ public int lexicalErrors=0;
 @parser::members {
 public int[] code = new int[ExecuteVM.CODESIZE];
 public int[] sourceMap = new int[ExecuteVM.CODESIZE];
+public int[] sourceLines = new int[ExecuteVM.CODESIZE]; // FOOL source line of each instruction (.line directives), 0 if unknown
+public String[] functionNames = new String[ExecuteVM.CODESIZE]; // FOOL function of each instruction (.function directives)
+private int sourceLine = 0;
+private String functionName = "main";
+public int[] data; // initial heap image (.data section)
 private int i = 0;
+private int[] heap = new int[ExecuteVM.MEMSIZE];
+private int h = 0;
+private boolean dataSection = false;
 private Map<String,Integer> labelDef = new HashMap<>();
 private Map<Integer,String> labelRef = new HashMap<>();
+private Map<Integer,String> dataLabelRef = new HashMap<>();
 private void codem(int line, int ... c) {
    	for (int x : c) {
    		this.code[i] = x;
    		this.sourceMap[i] = line-1;
+   		this.sourceLines[i] = sourceLine;
+   		this.functionNames[i] = functionName;
    		i++;
    	}
 } }
@@ -28,6 +39,9 @@ private void codem(int line, int ... c) {
 
 assembly: instruction* EOF 	{ for (Integer j: labelRef.keySet()) 
 								code[j]=labelDef.get(labelRef.get(j)); 
+							  for (Integer j: dataLabelRef.keySet()) 
+								heap[j]=labelDef.get(dataLabelRef.get(j)); 
+							  data = Arrays.copyOf(heap, h);
 							} ;
 
 instruction:
@@ -40,7 +54,8 @@ instruction:
 	  | t=DIV	                 { codem($t.line, DIV); }//pop the two values v1 and v2 (respectively) and push v2/v1
 	  | t=STOREW               { codem($t.line, STOREW); } //pop two values: the second one is written at the memory address pointed by the first one
 	  | t=LOADW                { codem($t.line, LOADW); } //read the content of the memory cell pointed by the top of the stack and replace the top of the stack with such value
-	  | l=LABEL COL          { labelDef.put($l.text, i); } //LABEL points at the location of the subsequent instruction
+	  | t=LOADMETHOD n=INTEGER { codem($t.line, LOADMETHOD, Integer.parseInt($n.text)); } //replace the object pointer on top of the stack with the address of its NUMBER-th method
+	  | l=LABEL COL          { labelDef.put($l.text, dataSection ? h : i); } //LABEL points at the location of the subsequent instruction (or heap word in the .data section)
 	  | t=BRANCH l=LABEL       { codem($t.line, BRANCH); labelRef.put(i++,$l.text); } //jump at the instruction pointed by LABEL
 	  | t=BRANCHEQ l=LABEL     { codem($t.line, BRANCHEQ); labelRef.put(i++,$l.text); } //pop two values and jump if they are equal
 	  | t=BRANCHLESSEQ l=LABEL { codem($t.line, BRANCHLESSEQ); labelRef.put(i++,$l.text); } //pop two values and jump if the second one is less or equal to the first one
@@ -54,8 +69,23 @@ instruction:
 	  | t=COPYFP               { codem($t.line, COPYFP); } //copy in the FP register the currest stack pointer    
 	  | t=LOADHP               { codem($t.line, LOADHP); } //push in the stack the content of the HP register    
 	  | t=STOREHP              { codem($t.line, STOREHP); } //pop the top of the stack and copy it in the HP register    
+	  | t=ALLOC n=INTEGER      { codem($t.line, ALLOC, Integer.parseInt($n.text)); } //pop the dispatch pointer and n field values, allocate them on the heap and push the object address
+	  | t=MEMO n=INTEGER m=INTEGER    { codem($t.line, MEMO, Integer.parseInt($n.text), Integer.parseInt($m.text)); } //if the memo table NUMBER holds the result of the call with the m arguments of the current frame, return it
+	  | t=MEMOPUT n=INTEGER m=INTEGER { codem($t.line, MEMOPUT, Integer.parseInt($n.text), Integer.parseInt($m.text)); } //store the top of the stack in the memo table NUMBER as result of the call with the m arguments of the current frame
+	  | t=FORK l=LABEL         { codem($t.line, FORK); labelRef.put(i++,$l.text); } //push a slot for the task result and run the task code at LABEL
+	  | t=JOINALL n=INTEGER    { codem($t.line, JOINALL, Integer.parseInt($n.text)); } //wait for the last NUMBER tasks and store their results in their slots
+	  | t=DONE                 { codem($t.line, DONE); } //end of task: the top of the stack is the task result
 	  | t=PRINT                { codem($t.line, PRINT); } //visualize the top of the stack without removing it   
+	  | t=READ                 { codem($t.line, READ); } //push the next integer of the input
 	  | t=HALT                 { codem($t.line, HALT); } //terminate the execution    
+	  | t=WORD n=INTEGER       { if (dataSection) heap[h++] = Integer.parseInt($n.text); else codem($t.line, Integer.parseInt($n.text)); } //place NUMBER in the code area (read-only data) or in the initial heap (.data section)
+	  | t=WORD l=LABEL         { if (dataSection) dataLabelRef.put(h++,$l.text); else { codem($t.line, 0); labelRef.put(i-1,$l.text); } } //place the location address pointed by LABEL in the code area (read-only data) or in the initial heap (.data section)
+	  | DATA                   { dataSection = true; } //subsequent words are placed in the initial heap
+	  | TEXT                   { dataSection = false; } //subsequent instructions and words are placed in the code area
+	  | LINE n=INTEGER         { sourceLine = Integer.parseInt($n.text); } //FOOL source line of the subsequent instructions
+	  | FUNCTION s=STRING INTEGER { functionName = $s.text.substring(1, $s.text.length() - 1); } //FOOL function the subsequent instructions belong to
+	  | TASK s=STRING INTEGER STRING { functionName = $s.text.substring(1, $s.text.length() - 1); } //FOOL function whose frame the subsequent task code runs in
+	  | CLASS STRING STRING    //FOOL class (name and field kinds) whose dispatch table follows
 	  ;
  	 
 /*------------------------------------------------------------------
@@ -70,6 +100,7 @@ MULT	 	: 'mult' ;
 DIV	 		: 'div' ;	
 STOREW	 	: 'sw' ; 	
 LOADW	 	: 'lw' ;	
+LOADMETHOD	: 'lm' ;
 BRANCH	 	: 'b' ;	
 BRANCHEQ 	: 'beq' ;	
 BRANCHLESSEQ: 'bleq' ;	
@@ -83,12 +114,27 @@ STOREFP	 	: 'sfp' ;
 COPYFP   	: 'cfp' ;      
 LOADHP	 	: 'lhp' ;	
 STOREHP	 	: 'shp' ;	
+ALLOC	 	: 'alloc' ;	
+MEMO	 	: 'memo' ;
+MEMOPUT	 	: 'mput' ;
+FORK	 	: 'fork' ;
+JOINALL	 	: 'joinall' ;
+DONE	 	: 'done' ;
 PRINT	 	: 'print' ;	
+READ	 	: 'read' ;
 HALT	 	: 'halt' ;	
+WORD	 	: '.word' ;
+DATA	 	: '.data' ;
+TEXT	 	: '.text' ;
+LINE	 	: '.line' ;
+FUNCTION 	: '.function' ;
+TASK	 	: '.task' ;
+CLASS	 	: '.class' ;
 
 COL	 		: ':' ;
 LABEL	 	: ('a'..'z'|'A'..'Z')('a'..'z' | 'A'..'Z' | '0'..'9')* ;
 INTEGER	 	: '0' | ('-')?(('1'..'9')('0'..'9')*) ;
+STRING	 	: '"' (~('"'|'\r'|'\n'))* '"' ;
 
 COMMENT : '/*' .*? '*/' -> channel(HIDDEN) ;
 
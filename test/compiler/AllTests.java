@@ -0,0 +1,63 @@
+package compiler;
+
+import java.util.List;
+
+/**
+ * Runs the behaviour tests of the compiler and of the SVM, e.g. with
+ * "java compiler.AllTests" after compiling gen, src and test; it exits with status 1
+ * if a test fails.
+ */
+public class AllTests {
+
+    /*
+     * A test class: its checks run in "run" and throw AssertionError on failure.
+     */
+    interface TestCase {
+        void run() throws Exception;
+    }
+
+    public static void main(String[] args) {
+        List<TestCase> tests = List.of(
+            new ObjectAllocationTest(),
+            new DispatchTableTest(),
+            new InlineCacheTest(),
+            new EscapeAnalysisTest(),
+            new ConstantObjectsTest(),
+            new HashConsingTest(),
+            new MemoizationTest(),
+            new ParallelArgumentsTest(),
+            new ForkJoinTest(),
+            new ParCallTest(),
+            new CompiledProgramTest(),
+            new SnapshotTest(),
+            new HeapImageTest(),
+            new BudgetTest(),
+            new PauseCancelTest(),
+            new OutputSinkTest(),
+            new InputSourceTest(),
+            new ProfilingTest(),
+            new LineInfoTest(),
+            new CompilationPhasesTest(),
+            new FlightRecorderTest(),
+            new MetricsTest(),
+            new HeapDumpTest(),
+            new AllocationProfileTest(),
+            new VMHostTest(),
+            new SamplingProfilerTest()
+        );
+        int failures = 0;
+        for (TestCase test : tests) {
+            String name = test.getClass().getSimpleName();
+            try {
+                test.run();
+                System.out.println("PASS " + name);
+            } catch (Throwable e) {
+                failures++;
+                System.out.println("FAIL " + name + ": " + e);
+                e.printStackTrace(System.out);
+            }
+        }
+        System.out.println(tests.size() - failures + " passed, " + failures + " failed");
+        if (failures > 0) System.exit(1);
+    }
+}
@@ -0,0 +1,81 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import svm.*;
+
+/*
+ * Allocation profiling: the output is the one of the plain run, each site counts the objects its
+ * "alloc" instruction executions created or shared, and survivors are the reachable objects,
+ * also when tasks allocated them in separate regions later moved down.
+ */
+class AllocationProfileTest implements AllTests.TestCase {
+
+    @Override
+    public void run() throws Exception {
+        Program printList = assemble(SnapshotTest.PRINT_LIST);
+        Execution profiled = execute(printList, vm -> vm.setAllocationProfiling(true));
+        assertSameAsPlain(printList, profiled, "allocation profiled");
+        List<AllocationProfile.Site> sites = profiled.vm.getAllocationProfile().getSites();
+        assertEquals(2, sites.size(), "sites"); // build and makeList
+        for (AllocationProfile.Site site : sites) {
+            assertEquals(30L, site.getAllocations(), "allocations at " + site.getAddress());
+            assertEquals(30L * 3, site.getWords(), "words at " + site.getAddress());
+            assertEquals("List", printList.codeMap.getClassName(site.getDispatchPointer()), "class at " + site.getAddress());
+        }
+        assertEquals(allocationCounts(printList, vm -> { }), siteCounts(sites), "allocations of the profile");
+        assertEquals((long) execute(printList).vm.dumpHeap().getReachableWords(),
+            sites.stream().mapToLong(AllocationProfile.Site::getSurvivingWords).sum(), "surviving words");
+
+        Program lists = assemble(HashConsingTest.SOURCE);
+        List<AllocationProfile.Site> shared = execute(lists, vm -> {
+            vm.setHashConsing(true);
+            vm.setAllocationProfiling(true);
+        }).vm.getAllocationProfile().getSites();
+        Map<Integer, Long> created = allocationCounts(lists, vm -> { });
+        for (AllocationProfile.Site site : shared) {
+            assertTrue(site.getSharedAllocations() > 0, "shared allocations at " + site.getAddress());
+            assertEquals(created.get(site.getAddress()), site.getAllocations() + site.getSharedAllocations(),
+                "allocations and shared ones at " + site.getAddress());
+        }
+
+        Program quicksort = assemble(ParallelArgumentsTest.QUICKSORT.formatted(100), true);
+        List<AllocationProfile.Site> sequential = execute(quicksort, vm -> vm.setAllocationProfiling(true))
+            .vm.getAllocationProfile().getSites();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Execution parallel = execute(quicksort, vm -> {
+                vm.setForkJoinPool(pool);
+                vm.setAllocationProfiling(true);
+            });
+            assertSameAsPlain(quicksort, parallel, "allocation profiled on a pool");
+            List<AllocationProfile.Site> parallelSites = parallel.vm.getAllocationProfile().getSites();
+            assertEquals(siteCounts(sequential), siteCounts(parallelSites), "allocations on a pool");
+            assertTrue(parallelSites.stream().noneMatch(site -> site.getAddress() == AllocationProfile.NO_SITE), "moved objects keep their site");
+            assertEquals((long) parallel.vm.dumpHeap().getReachableWords(),
+                parallelSites.stream().mapToLong(AllocationProfile.Site::getSurvivingWords).sum(), "surviving words on a pool");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /*
+     * Executions of each "alloc" instruction, counted by profiling mode.
+     */
+    private static Map<Integer, Long> allocationCounts(Program program, Consumer<ExecuteVM> mode) {
+        return execute(program, vm -> {
+            mode.accept(vm);
+            vm.setProfiling(true);
+        }).vm.getProfile().getAllocationCounts();
+    }
+
+    private static Map<Integer, Long> siteCounts(List<AllocationProfile.Site> sites) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        for (AllocationProfile.Site site : sites) counts.put(site.getAddress(), site.getAllocations());
+        return counts;
+    }
+}
@@ -0,0 +1,65 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+import svm.*;
+
+/*
+ * Instruction budgets: a VM resumed after each budget until its status is final ends as the
+ * uninterrupted run, with the same status, output and instruction count, also on a pool
+ * and when the instruction limit stops it. Each slice executes at most the budget plus the
+ * code size instructions, tasks included: on a pool, they are run inline.
+ */
+class BudgetTest implements AllTests.TestCase {
+
+    private static final String[] SOURCES = {
+        SnapshotTest.PRINT_LIST,
+        ParallelArgumentsTest.QUICKSORT.formatted(60),
+        "let fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) }; in print(fib(20));",
+        "let fun down:int (n:int) if (n == 0) then {0} else {down(n - 1)}; in print(down(100000));",
+        "let fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) };"
+            + " fun add:int (a:int, b:int) a + b; in print(par add(fib(22), fib(21)));",
+        "let fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) }; in print(100 / (fib(12) - 144));"
+    };
+
+    @Override
+    public void run() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String source : SOURCES) {
+                Program program = assemble(source, true);
+                for (long budget : new long[] {1, 97, 10_000}) {
+                    checkSliced(program, budget, vm -> { }, "budget " + budget);
+                    checkSliced(program, budget, vm -> vm.setInstructionLimit(5_000), "budget " + budget + " with a limit");
+                    checkSliced(program, budget, vm -> vm.setForkJoinPool(pool), "budget " + budget + " on a pool");
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void checkSliced(Program program, long budget, java.util.function.Consumer<ExecuteVM> mode, String what) {
+        Execution plain = execute(program, mode);
+        ExecuteVM vm = new ExecuteVM(program.code, program.data);
+        CollectingOutputSink out = new CollectingOutputSink();
+        vm.setOutput(out);
+        vm.setCodeMap(program.codeMap);
+        mode.accept(vm);
+        int slices = 0;
+        long instructions = 0;
+        do {
+            slices++;
+            vm.cpu(budget);
+            assertTrue(vm.getInstructionCount() - instructions <= budget + program.codeSize,
+                what + " instructions of slice " + slices);
+            instructions = vm.getInstructionCount();
+        } while (vm.getStatus() == ExecuteVM.Status.SUSPENDED);
+        assertEquals(plain.status, vm.getStatus(), what + " status");
+        assertEquals(plain.output, out.getOutput(), what + " output");
+        assertEquals(plain.vm.getInstructionCount(), vm.getInstructionCount(), what + " instructions");
+        assertTrue(budget > 1000 || slices > 1, what + " suspended");
+    }
+}
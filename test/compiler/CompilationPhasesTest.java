@@ -0,0 +1,43 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.util.List;
+
+/*
+ * Compilation phases: a compilation measures every phase in order, each with the size of what
+ * it processed, and reports the same measures as JSON.
+ */
+class CompilationPhasesTest implements AllTests.TestCase {
+
+    private static final List<String> PHASES = List.of("lexing", "parsing", "AST generation", "symbol table",
+        "type checking", "escape analysis", "purity analysis", "code generation", "assembly", "global declarations");
+
+    @Override
+    public void run() throws Exception {
+        String source = ParallelArgumentsTest.QUICKSORT.formatted(20);
+        CompilationPhases phases = CompiledProgram.compile(source).getCompilationPhases();
+        List<CompilationPhases.Phase> measured = phases.getPhases();
+        assertEquals(PHASES, measured.stream().map(CompilationPhases.Phase::getName).toList(), "phases");
+        long nanos = 0;
+        for (CompilationPhases.Phase phase : measured) {
+            assertTrue(phase.getNanos() >= 0, phase.getName() + " time");
+            assertTrue(phase.getAllocatedBytes() >= -1, phase.getName() + " allocated bytes");
+            assertTrue(phase.getCount() > 0 || phase.getUnit().equals("heap words"), phase.getName() + " count");
+            nanos += phase.getNanos();
+        }
+        assertEquals(nanos, phases.getTotalNanos(), "total time");
+        assertEquals(measured.get(0).getCount(), measured.get(1).getCount(), "tokens lexed and parsed");
+        int lastLabel = assemble(source).labels.values().stream().mapToInt(Integer::intValue).max().getAsInt();
+        assertTrue(measured.get(8).getCount() > lastLabel, "code words");
+
+        String json = phases.toJson();
+        assertTrue(json.startsWith("{\"phases\":[{\"name\":\"lexing\",") && json.endsWith(",\"totalNanos\":" + nanos + "}"), "JSON");
+        assertEquals(PHASES.size(), json.split("\"name\":").length - 1, "JSON phases");
+
+        CompilationPhases misused = new CompilationPhases();
+        assertThrows(IllegalStateException.class, () -> misused.end(0, "nodes"), "end without begin");
+        misused.begin("lexing");
+        assertThrows(IllegalStateException.class, () -> misused.begin("parsing"), "begin without end");
+    }
+}
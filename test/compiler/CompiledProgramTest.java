@@ -0,0 +1,51 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import compiler.exc.CompilationException;
+
+/*
+ * Compiled programs: global functions called from Java return what the program computes,
+ * functions taking or returning objects cannot be called, and global declarations that
+ * do not halt or type errors make the compilation fail with a message.
+ */
+class CompiledProgramTest implements AllTests.TestCase {
+
+    private static final String SOURCE = """
+        let
+          fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) };
+          var base:int = fib(10);
+          fun plusBase:int (n:int) n + base;
+        in print(plusBase(fib(20)));
+        """;
+
+    @Override
+    public void run() throws Exception {
+        CompiledProgram program = CompiledProgram.compile(SOURCE);
+        assertEquals(55, program.invoke("plusBase", 0), "plusBase(0)");
+        assertEquals(6765, program.invoke("fib", 20), "fib(20)");
+        assertEquals(Integer.parseInt(execute(assemble(SOURCE)).output.trim()),
+            program.invoke("plusBase", program.invoke("fib", 20)), "same as the main expression");
+
+        assertThrows(CompilationException.class, () -> CompiledProgram.compile("let var x:int = 1/0; in print(x);"),
+            "division by zero in global declarations");
+        assertThrows(CompilationException.class,
+            () -> CompiledProgram.compile("let fun down:int (n:int) down(n + 1); var x:int = down(0); in print(x);"),
+            "out of memory in global declarations");
+        CompilationException typeError = assertThrows(CompilationException.class,
+            () -> CompiledProgram.compile("let fun f:int (n:int) n; in print(f(1, 2));"), "type error");
+        assertTrue(typeError.getMessage().contains("Type checking error in main program expression"), "type error message");
+
+        CompiledProgram objects = CompiledProgram.compile("""
+            let
+              class Box (v:int) {}
+              fun make:Box (n:int) new Box(n);
+              fun get:int (b:Box) 1;
+              fun positive:bool (n:int) n >= 0;
+            in print(get(make(1)));
+            """);
+        assertEquals(1, objects.invoke("positive", 3), "bool result");
+        assertThrows(IllegalArgumentException.class, () -> objects.invoke("make", 1), "object result");
+        assertThrows(IllegalArgumentException.class, () -> objects.invoke("get", 0), "object parameter");
+    }
+}
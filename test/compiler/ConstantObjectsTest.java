@@ -0,0 +1,39 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import svm.ExecuteVM;
+
+/*
+ * Global objects built from constants are preallocated in the .data section: they behave
+ * as the same objects built at runtime, identity included.
+ */
+class ConstantObjectsTest implements AllTests.TestCase {
+
+    private static final String CONSTANT = """
+        let
+          class List (f:int, r:List) {
+            fun first:int () f;
+            fun rest:List () r;
+          }
+          fun sum:int (l:List) if (l == null) then {0} else {l.first() + sum(l.rest())};
+          fun same:int (x:List, y:List) if (x == y) then {1} else {0};
+          var a:List = new List(1, new List(2, null));
+          var b:List = new List(1, new List(2, null));
+          var c:List = new List(3, a);
+        in print(sum(a) * 1000 + sum(c) * 10 + same(a, b) * 100000 + same(a, a) + same(c.rest(), a) * 2);
+        """;
+
+    @Override
+    public void run() {
+        Program constant = assemble(CONSTANT);
+        assertTrue(constant.data.length >= 4 * 3, "objects in the .data section");
+        Program computed = assemble(CONSTANT.replace("new List(1, new List(2, null))", "new List(id(1), new List(2, null))")
+            .replace("fun same:int", "fun id:int (n:int) n;\n  fun same:int"));
+        assertEquals(0, computed.data.length, "no constant objects");
+        Execution preallocated = execute(constant);
+        assertEquals(ExecuteVM.Status.HALTED, preallocated.status, "status");
+        assertEquals("3063\n", preallocated.output, "output");
+        assertEquals(execute(computed).output, preallocated.output, "same as objects built at runtime");
+    }
+}
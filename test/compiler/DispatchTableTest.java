@@ -0,0 +1,47 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import svm.ExecuteVM;
+
+/*
+ * Dispatch tables are laid out in the code area by the assembler: methods are found through
+ * them (overriding methods replace inherited ones) and they take no heap memory.
+ */
+class DispatchTableTest implements AllTests.TestCase {
+
+    private static final String SOURCE = """
+        let
+          class Account (money:int) {
+            fun getMon:int () money;
+            fun fee:int () 10;
+            fun net:int () money - fee();
+          }
+          class TradingAcc extends Account (invested:int) {
+            fun fee:int () 25;
+            fun getInv:int () invested;
+          }
+          fun netOf:int (a:Account) a.net();
+        in print(netOf(new Account(100)) * 1000 + netOf(new TradingAcc(100, 7)));
+        """;
+
+    private static final String NO_OBJECTS = """
+        let
+          class A (a:int) { fun get:int () a; }
+          class B extends A (b:int) { fun get:int () b; }
+          fun twice:int (n:int) n * 2;
+        in print(twice(21));
+        """;
+
+    @Override
+    public void run() {
+        Execution execution = execute(assemble(SOURCE));
+        assertEquals(ExecuteVM.Status.HALTED, execution.status, "status");
+        assertEquals("90075\n", execution.output, "overriding output");
+
+        Program program = assemble(NO_OBJECTS);
+        Execution noObjects = execute(program);
+        assertEquals("42\n", noObjects.output, "output without objects");
+        assertEquals(program.data.length, noObjects.vm.getHeapPointer(), "no heap words for dispatch tables");
+    }
+}
@@ -0,0 +1,49 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import svm.ExecuteVM;
+
+/*
+ * Escape analysis: objects that do not escape their function are laid out in its frame,
+ * with the output of the run allocating every object on the heap and no heap words.
+ */
+class EscapeAnalysisTest implements AllTests.TestCase {
+
+    private static final String SOURCE = """
+        let
+          class Account (money:int) {
+            fun getMon:int () money;
+          }
+          class Pair (a:int, b:int) {
+            fun sum:int () a + b;
+            fun twice:int () sum() * 2;
+          }
+          fun f:int (m:int)
+            let
+              var a:Account = new Account(m*2);
+              var b:int = a.getMon();
+              var p:Pair = new Pair(b, 1);
+              fun g:int (x:int) x + p.twice();
+            in b + a.getMon() + g(p.sum());
+          fun h:Account (m:int)
+            let
+              var a:Account = new Account(m);
+            in a;
+          fun repeat:int (n:int) if (n == 0) then {0} else {f(n) + repeat(n - 1)};
+          var acc:Account = h(7);
+        in print(f(21) + repeat(50) + acc.getMon());
+        """;
+
+    @Override
+    public void run() {
+        Program program = assemble(SOURCE);
+        Execution heapOnly = execute(assemble(SOURCE, false, false));
+        Execution execution = execute(program);
+        assertEquals(ExecuteVM.Status.HALTED, execution.status, "status");
+        assertEquals(heapOnly.output, execution.output, "output");
+        assertEquals("13120\n", execution.output, "output value");
+        assertEquals(2, execution.vm.getHeapPointer() - program.data.length, "only the escaping Account on the heap");
+        assertEquals(2 + 51 * 5, heapOnly.vm.getHeapPointer() - program.data.length, "heap words without escape analysis");
+    }
+}
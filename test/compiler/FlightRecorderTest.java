@@ -0,0 +1,77 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.*;
+
+import svm.*;
+
+/*
+ * JFR events: a recorded run, function calls traced, has the output and instruction count of the
+ * plain run, and its events report each execution, each call and the statistics of running VMs.
+ */
+class FlightRecorderTest implements AllTests.TestCase {
+
+    private static final String FIB = """
+        let
+          fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) };
+        in print(fib(%d));
+        """;
+
+    @Override
+    public void run() throws Exception {
+        Program fib = assemble(FIB.formatted(15));
+        Program endless = assemble(FIB.formatted(40));
+        Execution plain = execute(fib);
+        Execution traced;
+        Execution cancelled;
+        Path file = Files.createTempFile("vm", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("fool.ProgramStart");
+                recording.enable("fool.ProgramEnd");
+                recording.enable("fool.FunctionCall").withThreshold(Duration.ZERO);
+                recording.enable("fool.VMStatistics").withPeriod(Duration.ofMillis(10));
+                recording.start();
+                traced = execute(fib);
+                recording.disable("fool.FunctionCall");
+                ExecuteVM vm = new ExecuteVM(endless.code, endless.data);
+                Execution[] execution = new Execution[1];
+                Thread runner = new Thread(() -> execution[0] = execute(vm, endless, mode -> { }));
+                runner.start();
+                Thread.sleep(200);
+                vm.cancel();
+                runner.join();
+                cancelled = execution[0];
+                recording.stop();
+                recording.dump(file);
+            }
+            assertSameAsPlain(fib, traced, "traced");
+            assertEquals(plain.vm.getInstructionCount(), traced.vm.getInstructionCount(), "traced instructions");
+            assertEquals(ExecuteVM.Status.CANCELLED, cancelled.status, "cancelled status");
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(2L, count(events, "fool.ProgramStart"), "program starts");
+            List<RecordedEvent> ends = events.stream().filter(e -> e.getEventType().getName().equals("fool.ProgramEnd"))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime)).toList();
+            assertEquals(List.of("HALTED", "CANCELLED"), ends.stream().map(e -> e.getString("status")).toList(), "program end statuses");
+            assertEquals(traced.vm.getInstructionCount(), ends.get(0).getLong("instructions"), "program end instructions");
+            assertEquals(2L * 987 - 1, count(events, "fool.FunctionCall"), "function calls"); // fib(16) = 987
+            assertTrue(events.stream().filter(e -> e.getEventType().getName().equals("fool.FunctionCall"))
+                .allMatch(e -> e.getString("function").equals("fib") && e.getInt("line") == 2), "function call positions");
+            assertTrue(events.stream().filter(e -> e.getEventType().getName().equals("fool.VMStatistics"))
+                .anyMatch(e -> e.getLong("instructions") > 0 && e.getInt("stackDepth") > 0), "statistics");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).count();
+    }
+}
@@ -0,0 +1,50 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+import svm.ExecuteVM;
+
+/*
+ * Parallel tasks on a pool give the status and output of the sequential run: their memory
+ * is compacted when joined, and tasks running out of memory are run again sequentially.
+ * When the forking code fails before joining them, the heap stays walkable.
+ */
+class ForkJoinTest implements AllTests.TestCase {
+
+    private static final String FAILING = """
+        let
+          class List (head:int, tail:List) {}
+          fun build:List (n:int) if (n == 0) then { null } else { new List(n, build(n - 1)) };
+          fun second:int (x:int, l:List) x;
+        in print(par second(print(10 / 0), build(300)));
+        """;
+
+    @Override
+    public void run() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int elements : new int[] {20, 60, 100}) {
+                Program program = assemble(ParallelArgumentsTest.QUICKSORT.formatted(elements), true);
+                Execution sequential = execute(program);
+                assertEquals(ExecuteVM.Status.HALTED, sequential.status, elements + " elements sequential status");
+                Execution parallel = execute(program, vm -> vm.setForkJoinPool(pool));
+                assertSameAsPlain(program, parallel, elements + " elements on a pool");
+                assertEquals(sequential.vm.getHeapPointer(), parallel.vm.getHeapPointer(), elements + " elements heap words");
+            }
+            // where memory runs out depends on the stack depth, which differs
+            Program tooLarge = assemble(ParallelArgumentsTest.QUICKSORT.formatted(400), true);
+            assertEquals(ExecuteVM.Status.SEGMENTATION_FAULT, execute(tooLarge).status, "out of memory");
+            Execution parallel = execute(tooLarge, vm -> vm.setForkJoinPool(pool));
+            assertEquals(ExecuteVM.Status.SEGMENTATION_FAULT, parallel.status, "out of memory on a pool");
+
+            Program failing = assemble(FAILING);
+            Execution failed = execute(failing, vm -> vm.setForkJoinPool(pool));
+            assertSameAsPlain(failing, failed, "failure with a pending task");
+            assertEquals(300, failed.vm.dumpHeap().getObjectCount(), "objects of the pending task");
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+import svm.ExecuteVM;
+
+/*
+ * Hash-consing: equal objects share an address, so == on equal lists becomes true, also
+ * for an object equal to a constant one of the .data section, and it cannot be combined
+ * with parallel tasks.
+ */
+class HashConsingTest implements AllTests.TestCase {
+
+    static final String SOURCE = """
+        let
+          class List (f:int, r:List) {
+            fun first:int() f;
+            fun rest:List() r;
+          }
+          fun build:List (n:int)
+            if (n == 0) then {null} else {new List(n, build(n - 1))};
+          fun count:int (n:int)
+            let
+              var a:List = build(n);
+              var b:List = build(n);
+            in if (a == b) then {1} else {0};
+        in print(count(3) + count(3));
+        """;
+
+    private static final String CONSTANT = """
+        let
+          class List (f:int, r:List) {}
+          fun id:int (n:int) n;
+          var a:List = new List(1, new List(2, null));
+          var b:List = new List(id(1), new List(2, null));
+        in print(if (a == b) then {1} else {0});
+        """;
+
+    @Override
+    public void run() {
+        Program program = assemble(SOURCE);
+        Execution plain = execute(program);
+        assertEquals(ExecuteVM.Status.HALTED, plain.status, "plain status");
+        assertEquals("0\n", plain.output, "plain output");
+        Execution shared = execute(program, vm -> vm.setHashConsing(true));
+        assertEquals(ExecuteVM.Status.HALTED, shared.status, "hash-consing status");
+        assertEquals("2\n", shared.output, "hash-consing output");
+        assertTrue(shared.vm.getHashConsHits() > 0, "hash-consing hits");
+
+        Program constant = assemble(CONSTANT);
+        assertTrue(constant.data.length > 0, "objects in the .data section");
+        assertEquals("0\n", execute(constant).output, "constant plain output");
+        assertEquals("1\n", execute(constant, vm -> vm.setHashConsing(true)).output, "constant hash-consing output");
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ExecuteVM parallel = new ExecuteVM(program.code, program.data);
+            parallel.setForkJoinPool(pool);
+            assertThrows(IllegalStateException.class, () -> parallel.setHashConsing(true), "hash-consing after pool");
+            ExecuteVM consing = new ExecuteVM(program.code, program.data);
+            consing.setHashConsing(true);
+            assertThrows(IllegalStateException.class, () -> consing.setForkJoinPool(pool), "pool after hash-consing");
+            consing.setHashConsing(false);
+            consing.setForkJoinPool(pool); // allowed once hash-consing is off
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
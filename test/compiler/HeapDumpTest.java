@@ -0,0 +1,75 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import svm.*;
+
+/*
+ * Heap dumps: the histogram counts every object the program allocated, once, also when tasks
+ * left unused words in the heap, and a dump written and read back gives the same analysis.
+ * A VM paused while its tasks are pending refuses to be dumped or saved.
+ */
+class HeapDumpTest implements AllTests.TestCase {
+
+    @Override
+    public void run() throws Exception {
+        Program program = assemble(SnapshotTest.PRINT_LIST);
+        Execution plain = execute(program);
+        HeapDump dump = plain.vm.dumpHeap();
+        List<HeapDump.ClassStatistics> histogram = dump.getHistogram();
+        assertEquals(1, histogram.size(), "classes");
+        assertEquals("List", histogram.get(0).getName(), "class name");
+        assertEquals(60, histogram.get(0).getInstances(), "instances"); // 30 built, 30 made while printing
+        assertEquals(60 * 3, histogram.get(0).getWords(), "words");
+        assertEquals(dump.getHeapWords() - program.data.length, histogram.get(0).getWords(), "heap words");
+        assertTrue(dump.getReachableWords() >= 30 * 3, "result list reachable");
+        assertEquals(histogram.get(0).getReachableWords(), dump.getReachableWords(), "reachable words");
+
+        Path file = Files.createTempFile("heap", ".txt");
+        try {
+            dump.write(file);
+            HeapDump read = HeapDump.read(file);
+            assertEquals(dump.toString(), read.toString(), "dump read back");
+            assertEquals(dump.getReachableWords(), read.getReachableWords(), "reachable words read back");
+
+            Files.writeString(file, "fool-heap-dump 0\n");
+            assertThrows(IOException.class, () -> HeapDump.read(file), "unknown format");
+            Files.writeString(file, "fool-heap-dump 1\nheap 6 0\nobject 5 List 3 2\n");
+            assertThrows(IOException.class, () -> HeapDump.read(file), "reference to a missing object");
+        } finally {
+            Files.delete(file);
+        }
+
+        Program quicksort = assemble(ParallelArgumentsTest.QUICKSORT.formatted(100), true);
+        HeapDump sequential = execute(quicksort).vm.dumpHeap();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            HeapDump parallel = execute(quicksort, vm -> vm.setForkJoinPool(pool)).vm.dumpHeap();
+            assertEquals(sequential.getObjectCount(), parallel.getObjectCount(), "objects on a pool");
+            assertEquals(sequential.getHeapWords() - sequential.getFreeWords(), parallel.getHeapWords() - parallel.getFreeWords(),
+                "words in use on a pool");
+            assertEquals(sequential.getHistogram().get(0).getWords(), parallel.getHistogram().get(0).getWords(), "class words on a pool");
+
+            Program endless = assemble(PauseCancelTest.FIB.formatted(40, 41));
+            ExecuteVM vm = new ExecuteVM(endless.code, endless.data);
+            Thread runner = new Thread(() -> execute(vm, endless, v -> v.setForkJoinPool(pool)));
+            runner.start();
+            Thread.sleep(50);
+            vm.pause();
+            assertThrows(IllegalStateException.class, vm::dumpHeap, "dump with pending tasks");
+            assertThrows(IllegalStateException.class, vm::snapshot, "snapshot with pending tasks");
+            vm.resume();
+            vm.cancel();
+            runner.join(10_000);
+            assertEquals(ExecuteVM.Status.CANCELLED, vm.getStatus(), "cancelled with pending tasks");
+            assertEquals(0, vm.dumpHeap().getObjectCount(), "objects once cancelled");
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.io.*;
+import java.nio.file.*;
+
+import svm.*;
+
+/*
+ * Heap images: the state after the global declarations is saved by the first compilation
+ * and reopened by the following ones, also when saved by a VM with another memory size,
+ * and the main expression prints what the plain run prints.
+ */
+class HeapImageTest implements AllTests.TestCase {
+
+    private static final String SOURCE = """
+        let
+          class List (f:int, r:List) {
+            fun first:int () f;
+            fun rest:List () r;
+          }
+          fun mod:int (a:int, b:int) a - (a/b)*b;
+          fun build:List (n:int, seed:int)
+            if (n == 0) then {null} else {new List(mod(seed, 97), build(n - 1, mod(seed * 31 + 7, 1009)))};
+          fun sum:int (l:List) if (l == null) then {0} else {l.first() + sum(l.rest())};
+          var built:int = print(5);
+          var numbers:List = build(50, 3);
+          fun total:int (n:int) sum(numbers) + n;
+        in print(total(built));
+        """;
+
+    @Override
+    public void run() throws Exception {
+        Program program = assemble(SOURCE);
+        Execution plain = execute(program);
+        assertEquals(ExecuteVM.Status.HALTED, plain.status, "status");
+        Path directory = Files.createTempDirectory("heap-image");
+        Path source = directory.resolve("numbers.fool");
+        Path image = directory.resolve("numbers.heap");
+        try {
+            Files.writeString(source, SOURCE);
+            assertEquals("5\n", compileOutput(source, image), "global declarations run by the first compilation");
+            assertTrue(Files.exists(image), "image saved");
+            assertEquals("", compileOutput(source, image), "global declarations not run again");
+            assertEquals(Integer.parseInt(plain.output.split("\n")[1]),
+                CompiledProgram.compileFile(source.toString(), image).invoke("total", 5), "function of the reopened image");
+
+            Snapshot reopened = HeapImage.open(image, program.code, program.data, program.dispatchTables);
+            assertTrue(reopened != null, "image reopened");
+            assertEquals(plain.output, "5\n" + execute(reopened.newVM(), program, vm -> { }).output, "main expression");
+            Program other = assemble(SOURCE.replace("build(50, 3)", "build(50, 4)"));
+            assertTrue(HeapImage.open(image, other.code, other.data, other.dispatchTables) == null, "image of another program");
+
+            for (int memorySize : new int[] {4000, 20000}) {
+                Snapshot snapshot = Snapshot.afterGlobalDeclarations(program.code, program.data, program.mainAddress, memorySize);
+                HeapImage.save(image, snapshot, program.data, program.dispatchTables);
+                Snapshot relocated = HeapImage.open(image, program.code, program.data, program.dispatchTables);
+                assertTrue(relocated != null, memorySize + " words image reopened");
+                assertEquals(plain.output, "5\n" + execute(relocated.newVM(), program, vm -> { }).output,
+                    memorySize + " words image relocated");
+            }
+        } finally {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) Files.delete(file);
+            }
+            Files.delete(directory);
+        }
+    }
+
+    /*
+     * What compiling "source" with "image" prints.
+     */
+    private static String compileOutput(Path source, Path image) throws Exception {
+        PrintStream standardOutput = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output, true));
+        try {
+            CompiledProgram.compileFile(source.toString(), image);
+        } finally {
+            System.setOut(standardOutput);
+        }
+        return output.toString();
+    }
+}
@@ -0,0 +1,64 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import svm.*;
+
+/*
+ * Inline caches: a call site goes from monomorphic to polymorphic to megamorphic as it
+ * sees more receiver classes, and always calls the method of the receiver, as parallel
+ * tasks do without caches.
+ */
+class InlineCacheTest implements AllTests.TestCase {
+
+    private static final String SOURCE = """
+        let
+          class Shape (n:int) { fun area:int () n; }
+          class S1 extends Shape () { fun area:int () n * 10; }
+          class S2 extends Shape () { fun area:int () n * 100; }
+          class S3 extends Shape () { fun area:int () n * 1000; }
+          class S4 extends Shape () { fun area:int () n * 10000; }
+          class S5 extends Shape () { fun area:int () n * 100000; }
+          class List (f:Shape, r:List) {
+            fun first:Shape () f;
+            fun rest:List () r;
+          }
+          fun areaMono:int (s:Shape) s.area();
+          fun areaPoly:int (s:Shape) s.area();
+          fun areaMega:int (s:Shape) s.area();
+          fun mono:int (l:List) if (l == null) then {0} else {areaMono(l.first()) + mono(l.rest())};
+          fun poly:int (l:List) if (l == null) then {0} else {areaPoly(l.first()) + poly(l.rest())};
+          fun mega:int (l:List) if (l == null) then {0} else {areaMega(l.first()) + mega(l.rest())};
+          fun add:int (a:int, b:int) a + b;
+          var one:List = new List(new Shape(1), new List(new Shape(2), null));
+          var three:List = new List(new Shape(1), new List(new S1(2), new List(new S2(3), null)));
+          var six:List = new List(new Shape(1), new List(new S1(1), new List(new S2(1),
+            new List(new S3(1), new List(new S4(1), new List(new S5(1), null))))));
+        in print(par add(mono(one), poly(three)) + mega(six));
+        """;
+
+    @Override
+    public void run() {
+        Program program = assemble(SOURCE);
+        Execution cached = execute(program);
+        assertEquals(ExecuteVM.Status.HALTED, cached.status, "status");
+        assertEquals("111435\n", cached.output, "output");
+        Map<String, InlineCache.State> states = new HashMap<>();
+        for (InlineCache cache : cached.vm.getInlineCaches()) {
+            states.put(program.codeMap.getFunctionName(cache.getSite()), cache.getState());
+        }
+        assertEquals(InlineCache.State.MONOMORPHIC, states.get("areaMono"), "one receiver class");
+        assertEquals(InlineCache.State.POLYMORPHIC, states.get("areaPoly"), "three receiver classes");
+        assertEquals(InlineCache.State.MEGAMORPHIC, states.get("areaMega"), "six receiver classes");
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertSameAsPlain(program, execute(program, vm -> vm.setForkJoinPool(pool)), "tasks without caches");
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
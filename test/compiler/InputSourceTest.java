@@ -0,0 +1,128 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+import svm.*;
+
+/*
+ * Input: text and binary channels, files and mapped files all give a program the integers of an
+ * in-memory source, running out of integers stops it with END_OF_INPUT and malformed integers
+ * with INVALID_INPUT. A source shared by VMs in different threads gives each integer to one VM.
+ */
+class InputSourceTest implements AllTests.TestCase {
+
+    private static final String SOURCE = """
+        let
+          fun sum:int (n:int) if (n == 0) then { 0 } else { print(read()) + sum(n - 1) };
+        in print(sum(read()));
+        """;
+
+    private static final String UNTIL_ZERO = """
+        let
+          fun sum:int (n:int) if (n == 0) then { 0 } else { n + sum(read()) };
+        in print(sum(read()));
+        """;
+
+    private static final int[] INPUT = {5, 7, -3, 2147483647, -2147483648, 0};
+
+    @Override
+    public void run() throws Exception {
+        Program program = assemble(SOURCE);
+        Execution plain = execute(program, vm -> vm.setInput(source(INPUT)));
+        assertEquals(ExecuteVM.Status.HALTED, plain.status, "plain status");
+        assertEquals("7\n-3\n2147483647\n-2147483648\n0\n3\n", plain.output, "plain output");
+
+        String text = "  5\n7\t-3   2147483647\r\n-2147483648 0\n";
+        byte[] words = ByteBuffer.allocate(INPUT.length * Integer.BYTES).putInt(5).putInt(7).putInt(-3)
+            .putInt(2147483647).putInt(-2147483648).putInt(0).array();
+        check(program, plain, stream(text.getBytes(StandardCharsets.US_ASCII), ChannelInputSource.Format.TEXT), "text");
+        check(program, plain, stream(words, ChannelInputSource.Format.BINARY), "binary");
+
+        Path file = Files.createTempFile("input", ".bin");
+        try {
+            Files.write(file, words);
+            try (ChannelInputSource in = ChannelInputSource.open(file, ChannelInputSource.Format.BINARY)) {
+                check(program, plain, in, "file");
+            }
+            try (ChannelInputSource in = ChannelInputSource.map(file, ChannelInputSource.Format.BINARY)) {
+                check(program, plain, in, "mapped file");
+            }
+        } finally {
+            Files.delete(file);
+        }
+
+        Execution missing = execute(program, vm -> vm.setInput(stream("3 1 2".getBytes(StandardCharsets.US_ASCII), ChannelInputSource.Format.TEXT)));
+        assertEquals(ExecuteVM.Status.END_OF_INPUT, missing.status, "missing input status");
+        assertTrue(missing.output.startsWith("1\n2\nEnd of input"), "missing input output");
+        assertEquals(ExecuteVM.Status.END_OF_INPUT, execute(program, vm -> vm.setInput(source())).status, "empty input status");
+        Execution invalid = execute(program, vm -> vm.setInput(stream("2 x".getBytes(StandardCharsets.US_ASCII), ChannelInputSource.Format.TEXT)));
+        assertEquals(ExecuteVM.Status.INVALID_INPUT, invalid.status, "invalid text input status");
+        assertEquals("Invalid input: integer expected at line 2 in sum\n", invalid.output, "invalid text input output");
+        Execution truncated = execute(program, vm -> vm.setInput(stream(new byte[] {0, 0, 0, 1, 0, 0}, ChannelInputSource.Format.BINARY)));
+        assertEquals(ExecuteVM.Status.INVALID_INPUT, truncated.status, "truncated binary input status");
+
+        checkShared(assemble(UNTIL_ZERO));
+    }
+
+    /*
+     * Threads running a program on one shared source read each of its integers once: each VM
+     * sums the integers it reads until a zero, the sums add up to the sum of all of them.
+     */
+    private static void checkShared(Program program) throws Exception {
+        int vms = 4, integers = 20_000;
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= integers; i++) text.append(i).append(' ');
+        for (int vm = 0; vm < vms; vm++) text.append("0\n");
+        ChannelInputSource shared = stream(text.toString().getBytes(StandardCharsets.US_ASCII), ChannelInputSource.Format.TEXT);
+        Execution[] executions = new Execution[vms];
+        Thread[] threads = new Thread[vms];
+        CyclicBarrier start = new CyclicBarrier(vms);
+        for (int vm = 0; vm < vms; vm++) {
+            int index = vm;
+            threads[vm] = new Thread(() -> executions[index] = execute(new ExecuteVM(program.code, program.data, 200_000), program, v -> {
+                v.setInput(shared);
+                try {
+                    start.await();
+                } catch (InterruptedException | BrokenBarrierException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            threads[vm].start();
+        }
+        long total = 0;
+        for (int vm = 0; vm < vms; vm++) {
+            threads[vm].join();
+            assertEquals(ExecuteVM.Status.HALTED, executions[vm].status, "shared input status");
+            String[] lines = executions[vm].output.split("\n");
+            total += Long.parseLong(lines[lines.length - 1]);
+        }
+        assertEquals((long) integers * (integers + 1) / 2, total, "shared input sum");
+    }
+
+    private static void check(Program program, Execution plain, InputSource in, String what) {
+        Execution execution = execute(program, vm -> vm.setInput(in));
+        assertEquals(plain.status, execution.status, what + " status");
+        assertEquals(plain.output, execution.output, what + " output");
+    }
+
+    private static InputSource source(int... values) {
+        int[] next = {0};
+        return () -> {
+            if (next[0] == values.length) {
+                throw new EOFException();
+            }
+            return values[next[0]++];
+        };
+    }
+
+    private static ChannelInputSource stream(byte[] bytes, ChannelInputSource.Format format) {
+        return new ChannelInputSource(Channels.newChannel(new ByteArrayInputStream(bytes)), format);
+    }
+}
@@ -0,0 +1,54 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import org.antlr.v4.runtime.*;
+
+import svm.*;
+
+/*
+ * Line info: run-time errors are reported at the FOOL line and function that caused them, and
+ * the visual VM maps every instruction to the same position as the CodeMap of the VM.
+ */
+class LineInfoTest implements AllTests.TestCase {
+
+    private static final String SOURCE = """
+        let
+          class Account (balance:int) {
+            fun share:int (parts:int)
+              balance / parts;
+          }
+          fun split:int (account:Account, parts:int)
+            if (parts == 0) then {
+              account.share(parts)
+            } else {
+              print(account.share(parts)) + split(account, parts - 1)
+            };
+        in print(split(new Account(120), 3));
+        """;
+
+    @Override
+    public void run() throws Exception {
+        Program program = assemble(SOURCE);
+        Execution execution = execute(program);
+        assertEquals(ExecuteVM.Status.DIVISION_BY_ZERO, execution.status, "status");
+        assertEquals("40\n60\n120\nDivision by zero at line 4 in Account.share\n", execution.output, "output");
+        int split = 0;
+        while (!program.codeMap.getFunctionName(split).equals("split")) {
+            split++;
+        }
+        assertEquals("line 6 in split", program.codeMap.getPosition(split), "function position");
+        assertEquals("main", program.codeMap.getFunctionName(program.mainAddress), "main name");
+
+        visualsvm.SVMLexer lexer = new visualsvm.SVMLexer(CharStreams.fromString(program.assembly));
+        visualsvm.SVMParser parser = new visualsvm.SVMParser(new CommonTokenStream(lexer));
+        parser.assembly();
+        for (int address = 0; address < program.code.length; address++) {
+            if (parser.functionNames[address] == null) {
+                continue; // label operand: never the address of the current instruction
+            }
+            assertEquals(program.codeMap.getSourceLine(address), parser.sourceLines[address], "line at " + address);
+            assertEquals(program.codeMap.getFunctionName(address), parser.functionNames[address], "function at " + address);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+import svm.ExecuteVM;
+import svm.MemoTable;
+
+/*
+ * Memoization: the results of pure functions with calls are cached, the output is unchanged;
+ * leaf bodies (getters, arithmetic) and functions that print, capture or return new objects
+ * get no memo table. Calls on objects that a pending task may move are not cached: a new
+ * object taking the address of a moved receiver gets its own result.
+ */
+class MemoizationTest implements AllTests.TestCase {
+
+    private static final String SOURCE = """
+        let
+          class P (x:int) {
+            fun sq:int () x*x;
+            fun getX:int () x;
+          }
+          fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) };
+          fun loud:int (n:int) print(n);
+          fun outer:int (k:int)
+            let
+              fun inner:int (n:int) n + k;
+            in inner(1) + inner(2);
+          fun mk:P (n:int) new P(n);
+          var p:P = new P(7);
+        in print( fib(25) + p.sq() + p.sq() + p.getX() + outer(1) + loud(3) - 3 + (if (mk(1) == mk(1)) then {1} else {0}) );
+        """;
+
+    // "use" runs inline after "fib" is forked, its Box is moved when they are joined;
+    // "sweep" then allocates Boxes all over the previous addresses, after an odd-sized Pair or not
+    private static final String MOVED = """
+        let
+          class Box (v:int) {
+            fun times:int (a:int, b:int) a * b;
+            fun sq:int () times(v, v);
+          }
+          class Pair (a:int, b:int) {}
+          fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) };
+          fun use:int (n:int) let var b:Box = new Box(n); in b.sq();
+          fun add:int (a:int, b:int) a + b;
+          fun check:int (i:int) let var b:Box = new Box(i); in b.sq() - i * i;
+          fun sweep:int (lo:int, hi:int)
+            if (lo == hi) then { check(lo) } else { sweep(lo, (lo + hi) / 2) + sweep((lo + hi) / 2 + 1, hi) };
+          fun shifted:int (p:Pair, lo:int, hi:int) sweep(lo, hi);
+        in print(par add(use(1000), fib(18))) + print(%s);
+        """;
+
+    @Override
+    public void run() {
+        Program program = assemble(SOURCE);
+        Execution plain = execute(program);
+        assertEquals(ExecuteVM.Status.HALTED, plain.status, "plain status");
+        assertEquals("3\n75135\n", plain.output, "plain output");
+        Execution memoized = execute(program, vm -> vm.setMemoization(64));
+        assertSameAsPlain(program, memoized, "memoization");
+        assertEquals(2, memoized.vm.getMemoTables().size(), "memo tables (fib and outer)");
+        long hits = 0;
+        for (MemoTable table : memoized.vm.getMemoTables()) hits += table.getHits();
+        assertTrue(hits > 0, "memo hits");
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (String sweep : new String[] {"sweep(1, 1000)", "shifted(new Pair(0, 0), 1, 1000)"}) {
+                Program moved = assemble(MOVED.formatted(sweep), false, false); // Boxes on the heap
+                Execution parallel = execute(new ExecuteVM(moved.code, moved.data, 4000), moved, vm -> {
+                    vm.setMemoization(100_000);
+                    vm.setForkJoinPool(pool);
+                });
+                assertSameAsPlain(moved, parallel, "memoization with a moved task, " + sweep);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+import javax.management.ObjectName;
+
+import compiler.exc.CompilationException;
+
+import svm.*;
+
+/*
+ * Metrics: the counters add up the instructions, allocations and output of every execution,
+ * sliced and concurrent ones included, count failures by status and compilations by outcome,
+ * and JMX reads the same values.
+ */
+class MetricsTest implements AllTests.TestCase {
+
+    @Override
+    public void run() throws Exception {
+        Metrics metrics = Metrics.get();
+        Program quicksort = assemble(ParallelArgumentsTest.QUICKSORT.formatted(60));
+        Execution profiled = execute(quicksort, vm -> vm.setProfiling(true));
+        long instructions = profiled.vm.getInstructionCount();
+        long allocations = profiled.vm.getProfile().getAllocationCounts().values().stream().mapToLong(Long::longValue).sum();
+
+        metrics.reset();
+        Execution plain = execute(quicksort);
+        assertEquals(1L, metrics.getProgramsExecuted(), "programs executed");
+        assertEquals(instructions, metrics.getInstructionsRetired(), "instructions retired");
+        assertEquals(allocations, metrics.getAllocations(), "allocations");
+        assertEquals((long) plain.output.length(), metrics.getOutputBytes(), "output bytes");
+        assertEquals((long) plain.vm.getHeapPointer(), metrics.getHeapHighWaterMark(), "heap high-water mark");
+        assertTrue(metrics.getStackHighWaterMark() > 0, "stack high-water mark");
+
+        metrics.reset();
+        ExecuteVM sliced = new ExecuteVM(quicksort.code, quicksort.data);
+        sliced.setOutput(new CollectingOutputSink());
+        while (sliced.cpu(1000) == ExecuteVM.Status.SUSPENDED) { }
+        assertEquals(ExecuteVM.Status.HALTED, sliced.getStatus(), "sliced status");
+        assertEquals(1L, metrics.getProgramsExecuted(), "sliced programs executed");
+        assertEquals(instructions, metrics.getInstructionsRetired(), "sliced instructions retired");
+
+        metrics.reset();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> execute(quicksort));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(4L, metrics.getProgramsExecuted(), "concurrent programs executed");
+        assertEquals(4 * instructions, metrics.getInstructionsRetired(), "concurrent instructions retired");
+        assertEquals(4 * allocations, metrics.getAllocations(), "concurrent allocations");
+
+        metrics.reset();
+        execute(assemble("print(1 / (2 - 2));"));
+        execute(assemble("let fun down:int (n:int) down(n + 1); in print(down(0));"));
+        assertEquals(1L, metrics.getFailures().get("DIVISION_BY_ZERO"), "division by zero failures");
+        assertEquals(1L, metrics.getFailures().get("SEGMENTATION_FAULT"), "segmentation fault failures");
+        assertEquals(2L, metrics.getProgramsExecuted(), "failed programs executed");
+
+        metrics.reset();
+        CompiledProgram.compile("print(1);");
+        assertThrows(CompilationException.class, () -> CompiledProgram.compile("print(1 +);"), "syntax error");
+        assertEquals(2L, metrics.getCompilations(), "compilations");
+        assertEquals(1L, metrics.getCompilationFailures(), "compilation failures");
+        assertEquals(2L, metrics.getPhaseLatencies().get("lexing.count"), "lexing latencies");
+        assertEquals(1L, metrics.getPhaseLatencies().get("assembly.count"), "assembly latencies");
+
+        Metrics.registerMBean();
+        Metrics.registerMBean();
+        Object compilations = ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName("fool:type=Metrics"), "Compilations");
+        assertEquals(2L, compilations, "JMX compilations");
+        assertEquals(metrics.getSnapshot().get("compilations"), compilations, "snapshot compilations");
+    }
+}
@@ -0,0 +1,37 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import svm.ExecuteVM;
+
+/*
+ * Object allocation: "alloc" lays out the fields of an object, inherited ones first,
+ * below its dispatch pointer, in one instruction.
+ */
+class ObjectAllocationTest implements AllTests.TestCase {
+
+    private static final String SOURCE = """
+        let
+          class Point (x:int, y:int) {
+            fun getX:int () x;
+            fun getY:int () y;
+          }
+          class Point3 extends Point (z:int, visible:bool) {
+            fun getZ:int () z;
+            fun isVisible:bool () visible;
+          }
+          fun sum:int (p:Point3) p.getX() + p.getY() * 10 + p.getZ() * 100;
+          fun visible:int (p:Point3) if (p.isVisible()) then {1000} else {0};
+        in print(sum(new Point3(1, 2, 3, true)) + visible(new Point3(4, 5, 6, false)) + visible(new Point3(7, 8, 9, true)));
+        """;
+
+    @Override
+    public void run() {
+        Program program = assemble(SOURCE);
+        assertTrue(program.assembly.contains("alloc 4"), "single alloc instruction");
+        Execution execution = execute(program);
+        assertEquals(ExecuteVM.Status.HALTED, execution.status, "status");
+        assertEquals("1321\n", execution.output, "output");
+        assertEquals(3 * 5, execution.vm.getHeapPointer() - program.data.length, "heap words of three objects");
+    }
+}
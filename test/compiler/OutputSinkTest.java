@@ -0,0 +1,55 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import svm.*;
+
+/*
+ * Output sinks: buffered and asynchronous sinks of any buffer size write, by the time cpu returns,
+ * the lines collected in memory by the plain run, including extreme values and error messages.
+ */
+class OutputSinkTest implements AllTests.TestCase {
+
+    private static final String SOURCE = """
+        let
+          fun show:int (n:int, step:int)
+            if (n <= 0) then { print(n) } else { print(n) + show(n - step, step) };
+          var min:int = 0 - 2147483647 - 1;
+        in print(show(2147483647, 214748364) + print(min) + show(1000, 7) / (print(0) - 0));
+        """;
+
+    @Override
+    public void run() throws Exception {
+        Program program = assemble(SOURCE);
+        Execution plain = execute(program);
+        assertEquals(ExecuteVM.Status.DIVISION_BY_ZERO, plain.status, "plain status");
+        assertTrue(plain.output.contains("-2147483648\n"), "minimum value printed");
+        String expected = plain.output.replace("\n", System.lineSeparator());
+
+        for (int size : new int[] {1, 13, 100, 8192}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ExecuteVM vm = run(program, new BufferedOutputSink(bytes, size));
+            assertEquals(plain.status, vm.getStatus(), "buffered " + size + " status");
+            assertEquals(expected, bytes.toString(StandardCharsets.UTF_8), "buffered " + size + " output");
+        }
+        for (int capacity : new int[] {1, 4}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (AsyncOutputSink sink = new AsyncOutputSink(bytes, capacity)) {
+                ExecuteVM vm = run(program, sink);
+                assertEquals(plain.status, vm.getStatus(), "async " + capacity + " status");
+                assertEquals(expected, bytes.toString(StandardCharsets.UTF_8), "async " + capacity + " output");
+            }
+        }
+    }
+
+    private static ExecuteVM run(Program program, OutputSink sink) {
+        ExecuteVM vm = new ExecuteVM(program.code, program.data);
+        vm.setOutput(sink);
+        vm.setCodeMap(program.codeMap);
+        vm.cpu();
+        return vm;
+    }
+}
@@ -0,0 +1,59 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import svm.ExecuteVM;
+
+/*
+ * Explicit parallel calls: on a pool they print what the sequential run prints, arguments
+ * that print stay in order (with a warning of the compiler), and failures of tasks stop
+ * the program with the same status.
+ */
+class ParCallTest implements AllTests.TestCase {
+
+    private static final String SOURCE = """
+        let
+          class Pair (a:int, b:int) {
+            fun sum:int (x:int, y:int) x + y + a + b;
+          }
+          fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) };
+          fun add:int (x:int, y:int) x + y;
+          var p:Pair = new Pair(1, 2);
+        in print( par add(fib(18), fib(19)) + par p.sum(fib(10), print(7)) + par add(print(3), print(4)) );
+        """;
+
+    private static final String FAILING = """
+        let
+          fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) };
+          fun ratio:int (n:int, d:int) fib(n) / d;
+          fun add:int (x:int, y:int) x + y;
+        in print( par add(ratio(15, 0), fib(16)) );
+        """;
+
+    @Override
+    public void run() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Program program = assemble(SOURCE);
+            Execution parallel = execute(program, vm -> vm.setForkJoinPool(pool));
+            assertEquals(ExecuteVM.Status.HALTED, parallel.status, "status");
+            assertEquals("7\n4\n3\n6837\n", parallel.output, "output");
+            assertSameAsPlain(program, parallel, "par calls on a pool");
+            assertEquals(List.of(
+                "Argument 2 of parallel call at line 8 may print or read: evaluated sequentially",
+                "Argument 1 of parallel call at line 8 may print or read: evaluated sequentially",
+                "Argument 2 of parallel call at line 8 may print or read: evaluated sequentially"
+            ), program.warnings, "warnings");
+
+            Program failing = assemble(FAILING);
+            Execution failed = execute(failing, vm -> vm.setForkJoinPool(pool));
+            assertEquals(ExecuteVM.Status.DIVISION_BY_ZERO, failed.status, "failed task status");
+            assertSameAsPlain(failing, failed, "failed task on a pool");
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
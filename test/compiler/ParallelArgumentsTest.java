@@ -0,0 +1,78 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import svm.ExecuteVM;
+
+/*
+ * Parallel arguments: tasks are forked only in parallel compilation mode, for arguments
+ * calling non-leaf functions, or for explicit parallel calls; the output never changes.
+ */
+class ParallelArgumentsTest implements AllTests.TestCase {
+
+    static final String QUICKSORT = """
+        let
+          class List (f:int, r:List) {
+            fun first:int() f;
+            fun rest:List() r;
+          }
+          fun mod:int (a:int, b:int) a - (a/b)*b;
+          fun build:List (n:int, seed:int)
+            if (n == 0) then {null} else {new List(mod(seed, 97), build(n - 1, mod(seed * 31 + 7, 1009)))};
+          fun append:List (l1:List, l2:List)
+              if (l1 == null) then {l2} else {new List(l1.first(), append(l1.rest(),l2))} ;
+          fun filter:List (l:List, pivot:int, before:bool)
+              let
+                fun accept:bool (cond:bool) if (before) then {cond} else {!(cond)};
+              in
+                if (l == null) then {null}
+                  else {if ( accept(l.first()<=pivot) )
+                          then { new List( l.first(), filter(l.rest(),pivot,before) ) }
+                          else { filter(l.rest(),pivot,before) } };
+          fun quicksort:List (l:List)
+              let
+                var pivot:int = if (l==null) then {0} else {l.first()};
+              in
+                if (l == null) then {null}
+                   else {append( quicksort( filter(l.rest(),pivot,true) ),
+                           new List(pivot, quicksort( filter(l.rest(),pivot,false) )) )};
+          fun check:int (l:List, prev:int, acc:int)
+            if (l == null) then {acc} else {if (prev <= l.first()) then {check(l.rest(), l.first(), acc + l.first())} else {0 - 1}};
+        in print(check(quicksort(build(%d, 5)), 0, 0));
+        """;
+
+    private static final String LEAF_ARGUMENTS = """
+        let
+          fun mod:int (a:int, b:int) a - (a/b)*b;
+          fun add:int (x:int, y:int) x + y;
+        in print(add(mod(17, 5), mod(23, 7)));
+        """;
+
+    private static final String EXPLICIT = """
+        let
+          class Pair (a:int, b:int) {
+            fun sum:int (x:int, y:int) x + y + a + b;
+          }
+          fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) };
+          fun add:int (x:int, y:int) x + y;
+          var p:Pair = new Pair(1, 2);
+        in print( par add(fib(18), fib(19)) + par p.sum(fib(10), print(7)) + par add(3, 4) );
+        """;
+
+    @Override
+    public void run() {
+        String quicksort = QUICKSORT.formatted(40);
+        assertTrue(!assemble(quicksort).assembly.contains("fork"), "no tasks by default");
+        Program parallel = assemble(quicksort, true);
+        assertTrue(parallel.assembly.contains("fork"), "tasks in parallel mode");
+        Execution sequential = execute(parallel);
+        assertEquals(ExecuteVM.Status.HALTED, sequential.status, "parallel mode status");
+        assertEquals(execute(assemble(quicksort)).output, sequential.output, "parallel mode output");
+
+        assertTrue(!assemble(LEAF_ARGUMENTS, true).assembly.contains("fork"), "no tasks for leaf calls");
+
+        Program explicit = assemble(EXPLICIT);
+        assertTrue(explicit.assembly.contains("fork"), "tasks of explicit parallel calls");
+        assertEquals("7\n6837\n", execute(explicit).output, "explicit parallel calls output");
+    }
+}
@@ -0,0 +1,110 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+import svm.*;
+
+/*
+ * Safepoints: a VM paused and resumed many times by another thread ends as the uninterrupted
+ * run, and a cancelled VM stops with status CANCELLED, also while running tasks on a pool.
+ * While it is paused, neither the VM nor its tasks execute instructions.
+ */
+class PauseCancelTest implements AllTests.TestCase {
+
+    static final String FIB = """
+        let
+          fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) };
+          fun add:int (x:int, y:int) x + y;
+        in print(par add(fib(%d), fib(%d)));
+        """;
+
+    @Override
+    public void run() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Program quicksort = assemble(ParallelArgumentsTest.QUICKSORT.formatted(100), true);
+            checkPaused(quicksort, vm -> { }, "paused");
+            checkPaused(quicksort, vm -> vm.setForkJoinPool(pool), "paused on a pool");
+
+            Program endless = assemble(FIB.formatted(40, 41));
+            checkCancelled(endless, vm -> { }, "cancelled");
+            checkCancelled(endless, vm -> vm.setForkJoinPool(pool), "cancelled on a pool");
+            checkTasksWait(endless);
+
+            ExecuteVM notRunning = new ExecuteVM(endless.code, endless.data);
+            notRunning.cancel();
+            assertEquals(ExecuteVM.Status.CANCELLED, notRunning.cpu(Long.MAX_VALUE), "cancelled before running");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void checkPaused(Program program, Consumer<ExecuteVM> mode, String what) throws Exception {
+        ExecuteVM vm = new ExecuteVM(program.code, program.data);
+        Execution[] execution = new Execution[1];
+        Thread runner = new Thread(() -> execution[0] = execute(vm, program, mode));
+        runner.start();
+        int pauses = 0;
+        while (runner.isAlive()) {
+            vm.pause();
+            pauses++;
+            vm.resume();
+            Thread.sleep(1);
+        }
+        runner.join();
+        assertTrue(pauses > 0, what + " pauses");
+        assertSameAsPlain(program, execution[0], what);
+    }
+
+    /*
+     * A paused VM waits while its tasks are running on the pool, which wait as well:
+     * no thread of the VM is runnable.
+     */
+    private static void checkTasksWait(Program program) throws Exception {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(2, p -> {
+            ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            threads.add(worker);
+            return worker;
+        }, null, false);
+        try {
+            ExecuteVM vm = new ExecuteVM(program.code, program.data);
+            Execution[] execution = new Execution[1];
+            Thread runner = new Thread(() -> execution[0] = execute(vm, program, v -> v.setForkJoinPool(pool)));
+            threads.add(runner);
+            runner.start();
+            Thread.sleep(50);
+            for (int pause = 0; pause < 3; pause++) {
+                vm.pause();
+                Thread.sleep(20);
+                for (Thread thread : threads) {
+                    assertTrue(thread.getState() != Thread.State.RUNNABLE, "paused with tasks: " + thread.getName() + " waits");
+                }
+                vm.resume();
+                Thread.sleep(20);
+            }
+            vm.cancel();
+            runner.join(10_000);
+            assertEquals(ExecuteVM.Status.CANCELLED, execution[0].status, "paused with tasks then cancelled");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void checkCancelled(Program program, Consumer<ExecuteVM> mode, String what) throws Exception {
+        ExecuteVM vm = new ExecuteVM(program.code, program.data);
+        Execution[] execution = new Execution[1];
+        Thread runner = new Thread(() -> execution[0] = execute(vm, program, mode));
+        runner.start();
+        Thread.sleep(20);
+        vm.cancel();
+        runner.join(10_000);
+        assertTrue(!runner.isAlive(), what + " stopped");
+        assertEquals(ExecuteVM.Status.CANCELLED, execution[0].status, what + " status");
+        assertEquals("", execution[0].output, what + " output");
+    }
+}
@@ -0,0 +1,105 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.antlr.v4.runtime.*;
+
+import svm.*;
+
+/*
+ * Profiling: a profiled run has the output of the plain run, its profile counts every executed
+ * instruction, tasks included, and function calls match the recursion of the program.
+ * A program running every opcode leaves a profiled VM in the state of the plain one.
+ */
+class ProfilingTest implements AllTests.TestCase {
+
+    private static final String FIB = """
+        let
+          fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) };
+        in print(fib(15));
+        """;
+
+    // "main" gets "lhp shp" spliced in: the compiler never emits them
+    private static final String OPCODES = """
+        let
+          class Box (v:int) {
+            fun get:int () v;
+          }
+          fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) };
+          fun add:int (a:int, b:int) a + b;
+          fun local:int (n:int)
+            let
+              var b:Box = new Box(n);
+            in b.get();
+          fun keep:Box (n:int) new Box(n * 2);
+          var k:Box = keep(read());
+        in print( par add(fib(12), fib(11)) - local(k.get() / 3) + (if (fib(5) == 5) then {1} else {0}) );
+        """;
+
+    @Override
+    public void run() throws Exception {
+        Program fib = assemble(FIB);
+        Execution plain = execute(fib);
+        Execution profiled = execute(fib, vm -> vm.setProfiling(true));
+        assertSameAsPlain(fib, profiled, "profiled");
+        Profile profile = profiled.vm.getProfile();
+        assertEquals(plain.vm.getInstructionCount(), profile.getInstructionCount(), "profiled instructions");
+        long calls = profile.getFunctionCalls(fib.labels).values().stream().mapToLong(Long::longValue).sum();
+        assertEquals(2L * 987 - 1, calls, "fib calls"); // fib(16) = 987
+        assertEquals(profile.getInstructionCount(),
+            profile.getLineCounts(fib.codeMap).values().stream().mapToLong(Long::longValue).sum(), "line counts");
+        assertTrue(profile.getMaxStackDepth() > 15, "max stack depth");
+
+        Program quicksort = assemble(ParallelArgumentsTest.QUICKSORT.formatted(60), true);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Execution parallel = execute(quicksort, vm -> {
+                vm.setForkJoinPool(pool);
+                vm.setProfiling(true);
+            });
+            assertSameAsPlain(quicksort, parallel, "profiled on a pool");
+            assertEquals(parallel.vm.getInstructionCount(), parallel.vm.getProfile().getInstructionCount(), "instructions on a pool");
+            assertEquals(execute(quicksort, vm -> vm.setProfiling(true)).vm.getProfile().getAllocationCounts(),
+                parallel.vm.getProfile().getAllocationCounts(), "allocations on a pool");
+        } finally {
+            pool.shutdown();
+        }
+
+        checkOpcodes();
+    }
+
+    /*
+     * Every opcode runs in the plain and in the profiled loop with the same results.
+     */
+    private static void checkOpcodes() {
+        Program compiled = assemble(OPCODES, true);
+        String main = CodeGenerationASTVisitor.MAIN_LABEL + ":";
+        String assembly = compiled.assembly.replace(main + "\n", main + "\nlhp\nshp\n");
+        SVMParser parser = new SVMParser(new CommonTokenStream(new SVMLexer(CharStreams.fromString(assembly))));
+        parser.assembly();
+        Program program = new Program(assembly, parser, List.of());
+        Execution plain = execute(program, vm -> opcodesMode(vm, false));
+        Execution profiled = execute(program, vm -> opcodesMode(vm, true));
+        assertEquals(ExecuteVM.Status.HALTED, plain.status, "opcodes status");
+        assertEquals("228\n", plain.output, "opcodes output");
+        assertEquals(plain.output, profiled.output, "profiled opcodes output");
+        assertEquals(plain.vm.getInstructionCount(), profiled.vm.getInstructionCount(), "profiled opcodes instructions");
+        assertEquals(plain.vm.getHeapPointer(), profiled.vm.getHeapPointer(), "profiled opcodes heap pointer");
+        long[] counts = profiled.vm.getProfile().getOpcodeCounts();
+        List<String> missing = new ArrayList<>();
+        for (int opcode = SVMParser.PUSH; opcode <= SVMParser.HALT; opcode++) {
+            if (counts[opcode] == 0) missing.add(SVMParser.VOCABULARY.getSymbolicName(opcode));
+        }
+        assertEquals(List.of(), missing, "opcodes not executed");
+    }
+
+    private static void opcodesMode(ExecuteVM vm, boolean profiling) {
+        vm.setInput(() -> 10);
+        vm.setMemoization(1000);
+        vm.setProfiling(profiling);
+    }
+}
@@ -0,0 +1,37 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import svm.*;
+
+/*
+ * Sampling: a sampled VM prints what a plain one prints, the samples walk the FOOL call stack.
+ */
+class SamplingProfilerTest implements AllTests.TestCase {
+
+    private static final String SOURCE = """
+        let
+          fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) };
+        in print(fib(27));
+        """;
+
+    @Override
+    public void run() {
+        Program program = assemble(SOURCE);
+        ExecuteVM vm = new ExecuteVM(program.code, program.data);
+        SamplingProfiler profiler = new SamplingProfiler(vm, program.codeMap, 10_000);
+        Execution sampled = execute(vm, program, v -> { });
+        profiler.close();
+        assertSameAsPlain(program, sampled, "sampling");
+        assertTrue(profiler.getSampleCount() > 0, "samples taken");
+        assertTrue(profiler.getStacks().keySet().stream().allMatch(stack -> stack.startsWith("main")),
+            "stacks from main: " + profiler.getStacks().keySet());
+        assertTrue(profiler.getStacks().keySet().stream().anyMatch(stack -> stack.startsWith("main;fib;fib")),
+            "recursive stacks: " + profiler.getStacks().keySet());
+
+        SamplingProfiler interrupted = new SamplingProfiler(new ExecuteVM(program.code, program.data), program.codeMap);
+        Thread.currentThread().interrupt();
+        interrupted.close();
+        assertTrue(Thread.interrupted(), "interrupt status kept by close");
+    }
+}
@@ -0,0 +1,57 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.nio.file.*;
+
+import svm.*;
+
+/*
+ * Snapshots: a VM suspended, saved and loaded in a new VM goes on printing what the
+ * uninterrupted run prints, whatever its memory size.
+ */
+class SnapshotTest implements AllTests.TestCase {
+
+    static final String PRINT_LIST = """
+        let
+          class List (f:int, r:List) {
+            fun first:int() f;
+            fun rest:List() r;
+          }
+          fun mod:int (a:int, b:int) a - (a/b)*b;
+          fun build:List (n:int, seed:int)
+            if (n == 0) then {null} else {new List(mod(seed, 97), build(n - 1, mod(seed * 31 + 7, 1009)))};
+          fun printList:List (l:List)
+              let
+                fun makeList:List (l:List, i:int) new List (i,l);
+              in
+                 if (l == null)
+                   then {null}
+                   else {makeList(printList(l.rest()),print(l.first()))};
+        in printList(build(30, 5));
+        """;
+
+    @Override
+    public void run() throws Exception {
+        Program program = assemble(PRINT_LIST);
+        for (int memorySize : new int[] {ExecuteVM.MEMSIZE, 2000}) {
+            Execution plain = execute(new ExecuteVM(program.code, program.data, memorySize), program, vm -> { });
+            assertEquals(ExecuteVM.Status.HALTED, plain.status, memorySize + " words status");
+
+            ExecuteVM first = new ExecuteVM(program.code, program.data, memorySize);
+            CollectingOutputSink firstOutput = new CollectingOutputSink();
+            first.setOutput(firstOutput);
+            assertEquals(ExecuteVM.Status.SUSPENDED, first.cpu(2000), memorySize + " words suspended");
+            Path file = Files.createTempFile("snapshot", ".bin");
+            try {
+                first.snapshot().save(file);
+                Snapshot loaded = Snapshot.load(file);
+                Execution resumed = execute(loaded.newVM(), program, vm -> { });
+                assertEquals(plain.status, resumed.status, memorySize + " words resumed status");
+                assertEquals(plain.output, firstOutput.getOutput() + resumed.output, memorySize + " words output");
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+}
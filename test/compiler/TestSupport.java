@@ -0,0 +1,176 @@
+package compiler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.function.Consumer;
+
+import org.antlr.v4.runtime.*;
+
+import compiler.AST.*;
+import compiler.lib.*;
+import svm.*;
+
+/**
+ * Helpers of the behaviour tests: each test compiles a FOOL program once and runs it
+ * in the plain sequential mode and in the mode under test, comparing status and output.
+ * <p>
+ * There is no test framework: a failed check throws an AssertionError, see AllTests.
+ */
+final class TestSupport {
+
+    /*
+     * Assembled program, ready to be loaded by any number of VMs.
+     */
+    static final class Program {
+        final String assembly;
+        final int[] code;
+        final int[] data;
+        final int codeSize; // words of code assembled
+        final CodeMap codeMap;
+        final int mainAddress; // start of the main expression
+        final SortedMap<Integer, Integer> dispatchTables;
+        final Map<String, Integer> labels;
+        final List<String> warnings; // of the purity analysis
+
+        Program(String assembly, SVMParser parser, List<String> warnings) {
+            this.assembly = assembly;
+            this.code = parser.code;
+            this.data = parser.data;
+            this.codeSize = parser.getCodeSize();
+            this.codeMap = parser.codeMap;
+            this.mainAddress = parser.getLabelAddress(CodeGenerationASTVisitor.MAIN_LABEL);
+            this.dispatchTables = parser.dispatchTables;
+            this.labels = parser.getLabels();
+            this.warnings = warnings;
+        }
+    }
+
+    /*
+     * Status and output of an execution.
+     */
+    static final class Execution {
+        final ExecuteVM vm;
+        final ExecuteVM.Status status;
+        final String output;
+
+        Execution(ExecuteVM vm, String output) {
+            this.vm = vm;
+            this.status = vm.getStatus();
+            this.output = output;
+        }
+
+        @Override
+        public String toString() {
+            return status + " " + output.replace('\n', ' ');
+        }
+    }
+
+    private TestSupport() {
+    }
+
+    /*
+     * Compiles "source" through all the phases of Test (the compiler has global state,
+     * so tests run one at a time).
+     */
+    static Program assemble(String source) {
+        return assemble(source, false);
+    }
+
+    /*
+     * In "parallel" mode pure arguments calling non-leaf functions are evaluated by tasks.
+     */
+    static Program assemble(String source, boolean parallel) {
+        return assemble(source, parallel, true);
+    }
+
+    /*
+     * Without "escapeAnalysis" all the objects are allocated on the heap.
+     */
+    static Program assemble(String source, boolean parallel, boolean escapeAnalysis) {
+        FOOLLexer lexer = new FOOLLexer(CharStreams.fromString(source));
+        FOOLParser parser = new FOOLParser(new CommonTokenStream(lexer));
+        Node ast = new ASTGenerationSTVisitor().visit(parser.prog());
+        SymbolTableASTVisitor symtableVisitor = new SymbolTableASTVisitor();
+        symtableVisitor.visit(ast);
+        int typeErrors = FOOLlib.typeErrors;
+        try {
+            new TypeCheckEASTVisitor().visit(ast);
+        } catch (Exception e) {
+            throw new AssertionError("Type checking error", e);
+        }
+        int errors = lexer.lexicalErrors + parser.getNumberOfSyntaxErrors() + symtableVisitor.stErrors
+            + FOOLlib.typeErrors - typeErrors;
+        assertEquals(0, errors, "front-end errors");
+        if (escapeAnalysis) {
+            new EscapeAnalysisEASTVisitor().visit(ast);
+        }
+        PurityAnalysisEASTVisitor purityAnalysisVisitor = new PurityAnalysisEASTVisitor(false, parallel);
+        purityAnalysisVisitor.visit(ast);
+        FOOLlib.resetCode();
+        String assembly = new CodeGenerationASTVisitor().visit(ast);
+        SVMLexer lexerASM = new SVMLexer(CharStreams.fromString(assembly));
+        SVMParser parserASM = new SVMParser(new CommonTokenStream(lexerASM));
+        parserASM.assembly();
+        assertEquals(0, lexerASM.lexicalErrors + parserASM.getNumberOfSyntaxErrors(), "assembly errors");
+        return new Program(assembly, parserASM, purityAnalysisVisitor.warnings);
+    }
+
+    /*
+     * Runs "program" to completion in a new VM, configured by "mode" before it starts.
+     */
+    static Execution execute(Program program, Consumer<ExecuteVM> mode) {
+        return execute(new ExecuteVM(program.code, program.data), program, mode);
+    }
+
+    static Execution execute(ExecuteVM vm, Program program, Consumer<ExecuteVM> mode) {
+        CollectingOutputSink out = new CollectingOutputSink();
+        vm.setOutput(out);
+        vm.setCodeMap(program.codeMap);
+        mode.accept(vm);
+        vm.cpu();
+        return new Execution(vm, out.getOutput());
+    }
+
+    static Execution execute(Program program) {
+        return execute(program, vm -> { });
+    }
+
+    /*
+     * Checks that "execution" has the status and output of the plain sequential run of "program".
+     */
+    static void assertSameAsPlain(Program program, Execution execution, String mode) {
+        Execution plain = execute(program);
+        assertEquals(plain.status, execution.status, mode + " status");
+        assertEquals(plain.output, execution.output, mode + " output");
+    }
+
+    static void assertEquals(Object expected, Object actual, String what) {
+        if (!expected.equals(actual)) {
+            throw new AssertionError(what + ": expected <" + expected + "> but was <" + actual + ">");
+        }
+    }
+
+    static void assertTrue(boolean condition, String what) {
+        if (!condition) {
+            throw new AssertionError(what);
+        }
+    }
+
+    /*
+     * Code expected to throw.
+     */
+    interface Action {
+        void run() throws Exception;
+    }
+
+    static <T extends Throwable> T assertThrows(Class<T> type, Action action, String what) {
+        try {
+            action.run();
+        } catch (Throwable e) {
+            if (type.isInstance(e)) return type.cast(e);
+            throw new AssertionError(what + ": expected " + type.getSimpleName() + " but was " + e, e);
+        }
+        throw new AssertionError(what + ": expected " + type.getSimpleName());
+    }
+}
@@ -0,0 +1,61 @@
+package compiler;
+
+import static compiler.TestSupport.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import svm.*;
+
+/*
+ * Jobs run by a VMHost, in time slices interleaved with other jobs, end with the status,
+ * output and instruction count of a plain run of the same program. Interrupting a thread
+ * closing the host cancels the jobs still running.
+ */
+class VMHostTest implements AllTests.TestCase {
+
+    private static final long LIMIT = 200_000;
+
+    private static final String[] SOURCES = {
+        SnapshotTest.PRINT_LIST,
+        "let fun down:int (n:int) if (n == 0) then {0} else {down(n - 1)}; in print(down(100000));",
+        "let fun fib:int (n:int) if (n <= 1) then { n } else { fib(n-1) + fib(n-2) }; in print(fib(30));",
+        "let var zero:int = 0; in print(1/zero);"
+    };
+
+    @Override
+    public void run() throws Exception {
+        List<Program> programs = new ArrayList<>();
+        List<Future<VMHost.Result>> results = new ArrayList<>();
+        try (VMHost host = new VMHost(ExecuteVM.MEMSIZE, LIMIT, 1000)) {
+            for (int copy = 0; copy < 4; copy++) {
+                for (String source : SOURCES) {
+                    Program program = assemble(source);
+                    programs.add(program);
+                    results.add(host.submit(program.code, program.data));
+                }
+            }
+        }
+        for (int i = 0; i < programs.size(); i++) {
+            Execution plain = execute(programs.get(i), vm -> {
+                vm.setCodeMap(null); // hosted jobs have no code map
+                vm.setInstructionLimit(LIMIT);
+            });
+            VMHost.Result result = results.get(i).get();
+            assertEquals(plain.status, result.getStatus(), "job " + i + " status");
+            assertEquals(plain.output, result.getOutput(), "job " + i + " output");
+            assertEquals(plain.vm.getInstructionCount(), result.getInstructions(), "job " + i + " instructions");
+        }
+
+        Program endless = assemble(PauseCancelTest.FIB.formatted(40, 41));
+        VMHost host = new VMHost();
+        Future<VMHost.Result> job = host.submit(endless.code, endless.data);
+        Thread closing = new Thread(host::close);
+        closing.start();
+        Thread.sleep(50);
+        closing.interrupt();
+        closing.join(10_000);
+        assertTrue(!closing.isAlive(), "close interrupted");
+        assertTrue(job.isCancelled(), "job cancelled by close");
+    }
+}